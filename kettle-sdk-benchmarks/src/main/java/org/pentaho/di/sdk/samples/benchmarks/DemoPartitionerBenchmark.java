@@ -0,0 +1,140 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pentaho.di.core.KettleEnvironment;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.sdk.samples.partitioners.demo.DemoPartitioner;
+
+/**
+ * Compares the two ways DemoPartitioner can determine the partition of a row: converting the
+ * field value to a String first ("convert", the original implementation), or reading the value
+ * straight from the row ("direct", what getPartition() does for the supported field layouts).
+ *
+ * The field types cover a String field, a String field in binary storage as produced by lazy
+ * conversion in the CSV and text file inputs, and an Integer field. The score is reported in
+ * nanoseconds per row. Run with "-prof gc" to compare the bytes allocated per row:
+ *
+ *   java -jar target/benchmarks.jar DemoPartitionerBenchmark -prof gc
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class DemoPartitionerBenchmark {
+
+  static final int ROWS = 10000;
+
+  @Param( { DemoPartitioner.MODE_LENGTH, DemoPartitioner.MODE_HASH } )
+  public String mode;
+
+  @Param( { "String", "BinaryString", "Integer" } )
+  public String fieldType;
+
+  private RowMetaInterface rowMeta;
+  private Object[][] rows;
+  private DemoPartitioner partitioner;
+
+  @Setup( Level.Trial )
+  public void setUp() throws KettleException {
+    KettleEnvironment.init( false );
+    rowMeta = createRowMeta( fieldType );
+    rows = createRows( fieldType, ROWS );
+
+    partitioner = new DemoPartitioner();
+    partitioner.setFieldName( "key" );
+    partitioner.setMode( mode );
+    partitioner.setNrPartitions( 16 );
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( ROWS )
+  public long convert() throws KettleException {
+    long sum = 0;
+    for ( Object[] row : rows ) {
+      sum += partitioner.getStringPartition( rowMeta.getString( row, 0 ) );
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( ROWS )
+  public long direct() throws KettleException {
+    long sum = 0;
+    for ( Object[] row : rows ) {
+      sum += partitioner.getPartition( rowMeta, row );
+    }
+    return sum;
+  }
+
+  static RowMetaInterface createRowMeta( String fieldType ) {
+    RowMetaInterface rowMeta = new RowMeta();
+    if ( "Integer".equals( fieldType ) ) {
+      rowMeta.addValueMeta( new ValueMetaInteger( "key" ) );
+    } else if ( "BinaryString".equals( fieldType ) ) {
+      ValueMetaString storageMeta = new ValueMetaString( "key" );
+      storageMeta.setStringEncoding( "UTF-8" );
+      ValueMetaString valueMeta = new ValueMetaString( "key" );
+      valueMeta.setStorageType( ValueMetaInterface.STORAGE_TYPE_BINARY_STRING );
+      valueMeta.setStorageMetadata( storageMeta );
+      rowMeta.addValueMeta( valueMeta );
+    } else {
+      rowMeta.addValueMeta( new ValueMetaString( "key" ) );
+    }
+    return rowMeta;
+  }
+
+  static Object[][] createRows( String fieldType, int count ) {
+    Random random = new Random( 42 );
+    Object[][] rows = new Object[count][];
+    for ( int i = 0; i < count; i++ ) {
+      long id = random.nextInt( 1000000 );
+      Object value;
+      if ( "Integer".equals( fieldType ) ) {
+        value = id;
+      } else if ( "BinaryString".equals( fieldType ) ) {
+        value = ( "customer-" + id ).getBytes( StandardCharsets.UTF_8 );
+      } else {
+        value = "customer-" + id;
+      }
+      rows[i] = new Object[] { value };
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,124 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pentaho.di.core.KettleEnvironment;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaFactory;
+import org.pentaho.di.sdk.samples.steps.demo.DemoStepMeta;
+
+/**
+ * Measures the throughput of DemoStep.processRow() for different row widths, field types,
+ * batch sizes and numbers of step copies. Each copy gets its own share of the rows and runs
+ * on its own thread, just like step copies do in a transformation.
+ * 
+ * The score is reported in rows per second. Run with "-prof gc" to also get the
+ * allocation rate and GC counts:
+ * 
+ *   java -jar target/benchmarks.jar DemoStepBenchmark -prof gc
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class DemoStepBenchmark {
+
+  static final int ROWS = 100000;
+
+  @Param( { "1", "10", "100" } )
+  public int rowWidth;
+
+  @Param( { "String", "Integer", "Number" } )
+  public String fieldType;
+
+  @Param( { "1", "100" } )
+  public int batchSize;
+
+  @Param( { "1", "4" } )
+  public int copies;
+
+  private RowMetaInterface rowMeta;
+  private List<StepHarness> harnesses;
+  private ExecutorService executor;
+
+  @Setup( Level.Trial )
+  public void setUpTrial() throws KettleException {
+    KettleEnvironment.init( false );
+    rowMeta = StepHarness.createRowMeta( rowWidth, ValueMetaFactory.getIdForValueMeta( fieldType ) );
+    executor = Executors.newFixedThreadPool( copies );
+  }
+
+  @Setup( Level.Invocation )
+  public void setUpInvocation() throws KettleException {
+    harnesses = new ArrayList<StepHarness>( copies );
+    for ( int copy = 0; copy < copies; copy++ ) {
+      DemoStepMeta meta = new DemoStepMeta();
+      meta.setDefault();
+      meta.setBatchSize( batchSize );
+      harnesses.add( new StepHarness( meta, copy, copies, rowMeta, StepHarness.createRows( rowMeta, ROWS / copies ) ) );
+    }
+  }
+
+  @TearDown( Level.Trial )
+  public void tearDownTrial() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( ROWS )
+  public long processRows() throws Exception {
+    if ( copies == 1 ) {
+      return harnesses.get( 0 ).run();
+    }
+    List<Future<Long>> results = new ArrayList<Future<Long>>( copies );
+    for ( final StepHarness harness : harnesses ) {
+      results.add( executor.submit( new Callable<Long>() {
+        public Long call() throws Exception {
+          return harness.run();
+        }
+      } ) );
+    }
+    long rows = 0;
+    for ( Future<Long> result : results ) {
+      rows += result.get();
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,47 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.pentaho.di.core.QueueRowSet;
+import org.pentaho.di.core.row.RowMetaInterface;
+
+/**
+ * An output row set that counts and drops every row it receives. Benchmarks use it
+ * as the target of the step under test, so neither queueing nor the memory held by
+ * collected rows influences the measurement.
+ */
+public class DiscardingRowSet extends QueueRowSet {
+
+  private long rows;
+
+  public boolean putRow( RowMetaInterface rowMeta, Object[] rowData ) {
+    setRowMeta( rowMeta );
+    rows++;
+    return true;
+  }
+
+  public boolean putRowWait( RowMetaInterface rowMeta, Object[] rowData, long time, TimeUnit tu ) {
+    return putRow( rowMeta, rowData );
+  }
+
+  /**
+   * @return the number of rows received so far
+   */
+  public long getRows() {
+    return rows;
+  }
+}
@@ -0,0 +1,147 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaString;
+
+/**
+ * Generates synthetic partitioning keys, one String field named "key" per row, following the
+ * distributions real keys tend to have:
+ *
+ * - uniform: every key of a large key space is equally likely
+ * - zipf: a few keys are very frequent, like customers or products ranked by popularity
+ * - lengths: keys of widely varying lengths, from 1 to 64 characters
+ * - nulls: uniform keys, a fifth of them null
+ *
+ * Keys can also be read from a file, one per line, to try the partitioners on real data.
+ * All generators use a fixed seed, so every run sees the same keys.
+ */
+final class KeyDistributions {
+
+  static final String UNIFORM = "uniform";
+  static final String ZIPF = "zipf";
+  static final String LENGTHS = "lengths";
+  static final String NULLS = "nulls";
+
+  static final String[] ALL = { UNIFORM, ZIPF, LENGTHS, NULLS };
+
+  // the number of distinct keys, and the exponent of the zipf distribution
+  static final int KEY_SPACE = 100000;
+  static final double ZIPF_EXPONENT = 1.0;
+
+  private static final char[] CHARACTERS = "abcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+
+  private KeyDistributions() {
+  }
+
+  /**
+   * @return the structure of the generated rows: a single String field named "key"
+   */
+  static RowMetaInterface createRowMeta() {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaString( "key" ) );
+    return rowMeta;
+  }
+
+  /**
+   * Generates rows with keys following a distribution.
+   *
+   * @param distribution  one of the distribution names
+   * @param count         the number of rows
+   *
+   * @return the rows
+   */
+  static Object[][] createRows( String distribution, int count ) {
+    Random random = new Random( 42 );
+    double[] zipf = ZIPF.equals( distribution ) ? zipfDistribution( KEY_SPACE, ZIPF_EXPONENT ) : null;
+    Object[][] rows = new Object[count][];
+    for ( int i = 0; i < count; i++ ) {
+      String key;
+      if ( UNIFORM.equals( distribution ) ) {
+        key = "customer-" + random.nextInt( KEY_SPACE );
+      } else if ( ZIPF.equals( distribution ) ) {
+        key = "customer-" + zipfRank( zipf, random.nextDouble() );
+      } else if ( LENGTHS.equals( distribution ) ) {
+        key = randomString( random, 1 + random.nextInt( 64 ) );
+      } else if ( NULLS.equals( distribution ) ) {
+        key = random.nextInt( 5 ) == 0 ? null : "customer-" + random.nextInt( KEY_SPACE );
+      } else {
+        throw new IllegalArgumentException( "Unknown key distribution: " + distribution );
+      }
+      rows[i] = new Object[] { key };
+    }
+    return rows;
+  }
+
+  /**
+   * Reads keys from a file, one per line, repeating them if the file has fewer lines than
+   * the number of rows. Empty lines are null keys.
+   */
+  static Object[][] readRows( Path file, int count ) throws IOException {
+    List<String> keys = Files.readAllLines( file, StandardCharsets.UTF_8 );
+    if ( keys.isEmpty() ) {
+      throw new IOException( "No keys in " + file );
+    }
+    Object[][] rows = new Object[count][];
+    for ( int i = 0; i < count; i++ ) {
+      String key = keys.get( i % keys.size() );
+      rows[i] = new Object[] { key.isEmpty() ? null : key };
+    }
+    return rows;
+  }
+
+  /**
+   * @return the cumulative probabilities of the ranks 1 .. n of a zipf distribution
+   */
+  static double[] zipfDistribution( int n, double exponent ) {
+    double[] cumulative = new double[n];
+    double sum = 0.0;
+    for ( int rank = 1; rank <= n; rank++ ) {
+      sum += 1.0 / Math.pow( rank, exponent );
+      cumulative[rank - 1] = sum;
+    }
+    for ( int i = 0; i < n; i++ ) {
+      cumulative[i] /= sum;
+    }
+    return cumulative;
+  }
+
+  /**
+   * @return the rank, starting at 1, a uniformly distributed number between 0 and 1 falls on
+   */
+  static int zipfRank( double[] cumulative, double uniform ) {
+    int index = Arrays.binarySearch( cumulative, uniform );
+    index = index < 0 ? -index - 1 : index;
+    return Math.min( index, cumulative.length - 1 ) + 1;
+  }
+
+  private static String randomString( Random random, int length ) {
+    char[] chars = new char[length];
+    for ( int i = 0; i < length; i++ ) {
+      chars[i] = CHARACTERS[random.nextInt( CHARACTERS.length )];
+    }
+    return new String( chars );
+  }
+}
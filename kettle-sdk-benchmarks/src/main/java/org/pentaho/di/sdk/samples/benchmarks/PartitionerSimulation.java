@@ -0,0 +1,136 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.benchmarks;
+
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.pentaho.di.core.KettleEnvironment;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.sdk.samples.partitioners.demo.DemoPartitioner;
+import org.pentaho.di.sdk.samples.partitioners.demo.PartitionStatistics;
+
+/**
+ * Simulates partitioning with every demo partitioning strategy, for every key distribution of
+ * KeyDistributions and for keys read from files, and writes a CSV report with one line per
+ * strategy and distribution: the nanoseconds and bytes allocated per row, and how evenly the
+ * rows were spread across the partitions.
+ *
+ * The timings are taken after a few warm-up runs, but without the care JMH takes; use
+ * PartitionerStrategyBenchmark for precise timings. Run it with:
+ *
+ *   java -cp target/benchmarks.jar org.pentaho.di.sdk.samples.benchmarks.PartitionerSimulation \
+ *     [report.csv [rows [partitions [keyfile ...]]]]
+ *
+ * Each key file holds one key per line, and is reported as a distribution named after the file.
+ */
+public class PartitionerSimulation {
+
+  static final String HEADER = "distribution,strategy,partitions,rows,ns_per_row,bytes_per_row,"
+    + "min_rows,max_rows,mean_rows,stddev_rows,imbalance,empty_partitions";
+
+  private static final int WARMUP_RUNS = 3;
+
+  public static void main( String[] args ) throws Exception {
+    Path report = Paths.get( args.length > 0 ? args[0] : "partitioner-simulation.csv" );
+    int rowCount = args.length > 1 ? Integer.parseInt( args[1] ) : 1000000;
+    int nrPartitions = args.length > 2 ? Integer.parseInt( args[2] ) : 16;
+
+    KettleEnvironment.init( false );
+    Map<String, Object[][]> distributions = new LinkedHashMap<String, Object[][]>();
+    for ( String distribution : KeyDistributions.ALL ) {
+      distributions.put( distribution, KeyDistributions.createRows( distribution, rowCount ) );
+    }
+    for ( int i = 3; i < args.length; i++ ) {
+      Path file = Paths.get( args[i] );
+      distributions.put( file.getFileName().toString(), KeyDistributions.readRows( file, rowCount ) );
+    }
+
+    try ( PrintWriter out = new PrintWriter( Files.newBufferedWriter( report, StandardCharsets.UTF_8 ) ) ) {
+      out.println( HEADER );
+      for ( Map.Entry<String, Object[][]> distribution : distributions.entrySet() ) {
+        for ( String strategy : PartitioningStrategies.ALL ) {
+          String line = simulate( distribution.getKey(), distribution.getValue(), strategy, nrPartitions );
+          out.println( line );
+          System.out.println( line );
+        }
+      }
+    }
+    System.out.println( "Report written to " + report.toAbsolutePath() );
+  }
+
+  /**
+   * Partitions the rows with a new partitioner of a strategy, after a few warm-up runs.
+   *
+   * @return the line of the report
+   */
+  static String simulate( String distribution, Object[][] rows, String strategy, int nrPartitions )
+    throws KettleException {
+    RowMetaInterface rowMeta = KeyDistributions.createRowMeta();
+    for ( int run = 0; run < WARMUP_RUNS; run++ ) {
+      partition( PartitioningStrategies.create( strategy, nrPartitions, rows ), rowMeta, rows );
+    }
+
+    DemoPartitioner partitioner = PartitioningStrategies.create( strategy, nrPartitions, rows );
+    long allocatedBefore = allocatedBytes();
+    long start = System.nanoTime();
+    partition( partitioner, rowMeta, rows );
+    long nanos = System.nanoTime() - start;
+    long allocated = allocatedBefore < 0 ? -1 : allocatedBytes() - allocatedBefore;
+
+    PartitionStatistics statistics = partitioner.getStatistics();
+    int empty = 0;
+    for ( long count : statistics.getRowCounts() ) {
+      if ( count == 0 ) {
+        empty++;
+      }
+    }
+    return String.format( Locale.US, "%s,%s,%d,%d,%.1f,%s,%d,%d,%.1f,%.1f,%.3f,%d",
+      csv( distribution ), strategy, nrPartitions, rows.length, (double) nanos / rows.length,
+      allocated < 0 ? "" : String.format( Locale.US, "%.1f", (double) allocated / rows.length ),
+      statistics.getMinRows(), statistics.getMaxRows(), statistics.getMeanRows(), statistics.getStdDevRows(),
+      statistics.getImbalance(), empty );
+  }
+
+  private static void partition( DemoPartitioner partitioner, RowMetaInterface rowMeta, Object[][] rows )
+    throws KettleException {
+    for ( Object[] row : rows ) {
+      partitioner.getPartition( rowMeta, row );
+    }
+  }
+
+  /**
+   * @return the bytes allocated by the current thread so far, or -1 if the JVM cannot tell
+   */
+  private static long allocatedBytes() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if ( bean instanceof com.sun.management.ThreadMXBean ) {
+      return ( (com.sun.management.ThreadMXBean) bean ).getThreadAllocatedBytes( Thread.currentThread().getId() );
+    }
+    return -1;
+  }
+
+  private static String csv( String value ) {
+    return value.contains( "," ) || value.contains( "\"" ) ? "\"" + value.replace( "\"", "\"\"" ) + "\"" : value;
+  }
+}
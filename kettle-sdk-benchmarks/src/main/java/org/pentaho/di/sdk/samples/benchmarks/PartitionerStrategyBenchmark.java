@@ -0,0 +1,98 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pentaho.di.core.KettleEnvironment;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.sdk.samples.partitioners.demo.DemoPartitioner;
+
+/**
+ * Measures the cost of partitioning a row with each of the demo partitioning strategies, for
+ * the key distributions of KeyDistributions. Rows are partitioned one by one with
+ * getPartition(), as the engine does, and as a batch with getPartitions().
+ *
+ * The score is reported in nanoseconds per row. Run with "-prof gc" to compare the bytes
+ * allocated per row:
+ *
+ *   java -jar target/benchmarks.jar PartitionerStrategyBenchmark -prof gc
+ *
+ * How evenly the strategies spread the rows is reported by PartitionerSimulation.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class PartitionerStrategyBenchmark {
+
+  static final int ROWS = 10000;
+
+  @Param( { PartitioningStrategies.LENGTH, PartitioningStrategies.HASH, PartitioningStrategies.CONSISTENT_HASH,
+    PartitioningStrategies.SKEW_AWARE, PartitioningStrategies.RANGE } )
+  public String strategy;
+
+  @Param( { KeyDistributions.UNIFORM, KeyDistributions.ZIPF, KeyDistributions.LENGTHS, KeyDistributions.NULLS } )
+  public String distribution;
+
+  private RowMetaInterface rowMeta;
+  private Object[][] rows;
+  private DemoPartitioner partitioner;
+
+  @Setup( Level.Trial )
+  public void setUp() throws KettleException {
+    KettleEnvironment.init( false );
+    rowMeta = KeyDistributions.createRowMeta();
+    rows = KeyDistributions.createRows( distribution, ROWS );
+  }
+
+  // the skew aware partitioner learns from the rows it sees, start every iteration afresh
+  @Setup( Level.Iteration )
+  public void createPartitioner() {
+    partitioner = PartitioningStrategies.create( strategy, 16, rows );
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( ROWS )
+  public long single() throws KettleException {
+    long sum = 0;
+    for ( Object[] row : rows ) {
+      sum += partitioner.getPartition( rowMeta, row );
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( ROWS )
+  public int[] batch() throws KettleException {
+    return partitioner.getPartitions( rowMeta, rows, ROWS );
+  }
+}
@@ -0,0 +1,92 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.pentaho.di.sdk.samples.partitioners.demo.ConsistentHashPartitioner;
+import org.pentaho.di.sdk.samples.partitioners.demo.DemoPartitioner;
+import org.pentaho.di.sdk.samples.partitioners.demo.RangePartitioner;
+import org.pentaho.di.sdk.samples.partitioners.demo.SkewAwarePartitioner;
+
+/**
+ * Creates the demo partitioners by strategy name, configured to partition on the "key" field
+ * of the rows made by KeyDistributions. The range partitioner gets boundaries that split the
+ * keys of the rows into equal parts, as derived from the data before a load.
+ */
+final class PartitioningStrategies {
+
+  static final String LENGTH = "length";
+  static final String HASH = "hash";
+  static final String CONSISTENT_HASH = "consistent-hash";
+  static final String SKEW_AWARE = "skew-aware";
+  static final String RANGE = "range";
+
+  static final String[] ALL = { LENGTH, HASH, CONSISTENT_HASH, SKEW_AWARE, RANGE };
+
+  private PartitioningStrategies() {
+  }
+
+  /**
+   * @param strategy      one of the strategy names
+   * @param nrPartitions  the number of partitions
+   * @param rows          the rows to be partitioned, with a String key
+   *
+   * @return a new partitioner
+   */
+  static DemoPartitioner create( String strategy, int nrPartitions, Object[][] rows ) {
+    DemoPartitioner partitioner;
+    if ( LENGTH.equals( strategy ) ) {
+      partitioner = new DemoPartitioner();
+      partitioner.setMode( DemoPartitioner.MODE_LENGTH );
+    } else if ( HASH.equals( strategy ) ) {
+      partitioner = new DemoPartitioner();
+      partitioner.setMode( DemoPartitioner.MODE_HASH );
+    } else if ( CONSISTENT_HASH.equals( strategy ) ) {
+      partitioner = new ConsistentHashPartitioner();
+    } else if ( SKEW_AWARE.equals( strategy ) ) {
+      partitioner = new SkewAwarePartitioner();
+    } else if ( RANGE.equals( strategy ) ) {
+      RangePartitioner rangePartitioner = new RangePartitioner();
+      rangePartitioner.setBoundaries( boundaries( rows, nrPartitions ) );
+      partitioner = rangePartitioner;
+    } else {
+      throw new IllegalArgumentException( "Unknown partitioning strategy: " + strategy );
+    }
+    partitioner.setFieldName( "key" );
+    partitioner.setNrPartitions( nrPartitions );
+    return partitioner;
+  }
+
+  /**
+   * @return the keys that split the non-null keys of the rows into equal parts
+   */
+  static String[] boundaries( Object[][] rows, int nrPartitions ) {
+    List<String> keys = new ArrayList<String>( rows.length );
+    for ( Object[] row : rows ) {
+      if ( row[0] != null ) {
+        keys.add( (String) row[0] );
+      }
+    }
+    Collections.sort( keys );
+    String[] boundaries = new String[keys.isEmpty() ? 0 : nrPartitions - 1];
+    for ( int i = 0; i < boundaries.length; i++ ) {
+      boundaries[i] = keys.get( (int) ( (long) ( i + 1 ) * keys.size() / nrPartitions ) );
+    }
+    return boundaries;
+  }
+}
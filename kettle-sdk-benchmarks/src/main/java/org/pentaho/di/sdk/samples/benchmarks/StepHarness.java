@@ -0,0 +1,142 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.pentaho.di.core.QueueRowSet;
+import org.pentaho.di.core.RowSet;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowDataUtil;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaFactory;
+import org.pentaho.di.trans.Trans;
+import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.step.BaseStep;
+import org.pentaho.di.trans.step.StepDataInterface;
+import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.step.StepMetaInterface;
+
+/**
+ * Runs a single step copy outside of a transformation thread. The step reads from an
+ * in-memory input row set that is filled before the run, and writes to a row set that
+ * discards everything, so a benchmark measures nothing but the step's processRow() loop.
+ */
+public class StepHarness {
+
+  private final StepMetaInterface meta;
+  private final StepDataInterface data;
+  private final BaseStep step;
+  private final DiscardingRowSet output;
+
+  /**
+   * Creates a step copy for the given settings and feeds it the given rows.
+   * 
+   * @param meta     the step settings
+   * @param copyNr   the copy number of the step
+   * @param copies   the number of copies configured for the step
+   * @param rowMeta  the structure of the input rows
+   * @param rows     the input rows, ownership passes to the step
+   */
+  public StepHarness( StepMetaInterface meta, int copyNr, int copies, RowMetaInterface rowMeta, List<Object[]> rows )
+    throws KettleException {
+    this.meta = meta;
+    TransMeta transMeta = new TransMeta();
+    StepMeta stepMeta = new StepMeta( "benchmark", meta );
+    stepMeta.setCopies( copies );
+    transMeta.addStep( stepMeta );
+    Trans trans = new Trans( transMeta );
+
+    data = meta.getStepData();
+    step = (BaseStep) meta.getStep( stepMeta, data, copyNr, transMeta, trans );
+
+    QueueRowSet input = new QueueRowSet();
+    for ( Object[] row : rows ) {
+      input.putRow( rowMeta, row );
+    }
+    input.setDone();
+    output = new DiscardingRowSet();
+
+    step.setInputRowSets( new ArrayList<RowSet>( Collections.singletonList( input ) ) );
+    step.setOutputRowSets( new ArrayList<RowSet>( Collections.singletonList( output ) ) );
+    if ( !step.init( meta, data ) ) {
+      throw new KettleException( "Unable to initialize step for benchmark" );
+    }
+  }
+
+  /**
+   * Calls processRow() until the step reports that it is done.
+   * 
+   * @return the number of rows the step wrote
+   */
+  public long run() throws KettleException {
+    while ( step.processRow( meta, data ) ) {
+      // keep going until the input is exhausted
+    }
+    step.dispose( meta, data );
+    return output.getRows();
+  }
+
+  /**
+   * Builds a row structure of the given width, all fields having the same type.
+   * 
+   * @param width  the number of fields
+   * @param type   the value meta type of the fields, see ValueMetaInterface.TYPE_*
+   */
+  public static RowMetaInterface createRowMeta( int width, int type ) throws KettleException {
+    RowMetaInterface rowMeta = new RowMeta();
+    for ( int i = 0; i < width; i++ ) {
+      rowMeta.addValueMeta( ValueMetaFactory.createValueMeta( "field_" + i, type ) );
+    }
+    return rowMeta;
+  }
+
+  /**
+   * Generates rows for the given row structure. Rows are allocated the way PDI input
+   * steps allocate them, including the usual spare capacity.
+   * 
+   * @param rowMeta  the structure of the rows
+   * @param count    the number of rows to generate
+   */
+  public static List<Object[]> createRows( RowMetaInterface rowMeta, int count ) {
+    List<Object[]> rows = new ArrayList<Object[]>( count );
+    for ( int r = 0; r < count; r++ ) {
+      Object[] row = RowDataUtil.allocateRowData( rowMeta.size() );
+      for ( int i = 0; i < rowMeta.size(); i++ ) {
+        row[i] = createValue( rowMeta.getValueMeta( i ).getType(), r + i );
+      }
+      rows.add( row );
+    }
+    return rows;
+  }
+
+  private static Object createValue( int type, long seed ) {
+    switch ( type ) {
+      case ValueMetaInterface.TYPE_INTEGER:
+        return seed;
+      case ValueMetaInterface.TYPE_NUMBER:
+        return seed / 7.0;
+      case ValueMetaInterface.TYPE_DATE:
+        return new Date( seed * 1000L );
+      default:
+        return "value " + seed;
+    }
+  }
+}
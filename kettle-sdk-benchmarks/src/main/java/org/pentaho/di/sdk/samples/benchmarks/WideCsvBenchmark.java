@@ -0,0 +1,152 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pentaho.di.sdk.samples.databases.demo.MappedCsvDriver;
+
+/**
+ * Reads a generated wide CSV file through the memory-mapped CSV driver of the database
+ * plug-in, with and without pushdown. With pushdown the driver skips the fields after the
+ * last column a query reads and compares the fields of the WHERE clause by their bytes,
+ * without it every field is recorded and compared as a Java value.
+ *
+ * The queries read the first three columns of every line ("projection"), two columns of the
+ * lines meeting a numeric and a text condition ("filter"), and all columns of the lines
+ * meeting a condition on one of the last columns ("lastColumn"). The columns are Integer,
+ * String and Double in turn. The score is reported in lines of the file read per second:
+ *
+ *   java -jar target/benchmarks.jar WideCsvBenchmark
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class WideCsvBenchmark {
+
+  static final int ROWS = 50000;
+
+  @Param( { "100", "300" } )
+  public int columns;
+
+  @Param( { "projection", "filter", "lastColumn" } )
+  public String query;
+
+  @Param( { "false", "true" } )
+  public boolean pushdown;
+
+  private Path directory;
+  private Connection connection;
+  private String sql;
+
+  @Setup( Level.Trial )
+  public void setUp() throws IOException, SQLException {
+    directory = Files.createTempDirectory( "widecsv" );
+    writeFile( directory.resolve( "wide.csv" ), columns, ROWS );
+
+    StringBuilder columnTypes = new StringBuilder();
+    for ( int i = 0; i < columns; i++ ) {
+      columnTypes.append( i > 0 ? "," : "" ).append( i % 3 == 0 ? "Integer" : i % 3 == 1 ? "String" : "Double" );
+    }
+    Properties properties = new Properties();
+    properties.setProperty( "columnTypes", columnTypes.toString() );
+    properties.setProperty( "pushdown", String.valueOf( pushdown ) );
+    connection = new MappedCsvDriver().connect( MappedCsvDriver.URL_PREFIX + directory, properties );
+
+    if ( "projection".equals( query ) ) {
+      sql = "SELECT c0, c1, c2 FROM wide";
+    } else if ( "filter".equals( query ) ) {
+      sql = "SELECT c0, c1 FROM wide WHERE c3 < 50000 AND c4 >= 'text5'";
+    } else {
+      sql = "SELECT * FROM wide WHERE c" + ( columns - 3 ) + " < 1000";
+    }
+  }
+
+  @TearDown( Level.Trial )
+  public void tearDown() throws IOException, SQLException {
+    connection.close();
+    Files.deleteIfExists( directory.resolve( "wide.csv" ) );
+    Files.deleteIfExists( directory );
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( ROWS )
+  public int readFile() throws SQLException {
+    int rows = 0;
+    try ( ResultSet result = connection.createStatement().executeQuery( sql ) ) {
+      while ( result.next() ) {
+        result.getString( 1 );
+        rows++;
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * Writes a CSV file with a header line of c0, c1, ... and random values: whole numbers below
+   * 100000, texts like "text123" and numbers with two decimals, in turn.
+   */
+  static void writeFile( Path file, int columns, int rows ) throws IOException {
+    Random random = new Random( 1 );
+    try ( BufferedWriter writer = Files.newBufferedWriter( file, StandardCharsets.UTF_8 ) ) {
+      for ( int i = 0; i < columns; i++ ) {
+        writer.write( ( i > 0 ? "," : "" ) + "c" + i );
+      }
+      writer.newLine();
+      for ( int row = 0; row < rows; row++ ) {
+        for ( int i = 0; i < columns; i++ ) {
+          if ( i > 0 ) {
+            writer.write( ',' );
+          }
+          if ( i % 3 == 0 ) {
+            writer.write( Integer.toString( random.nextInt( 100000 ) ) );
+          } else if ( i % 3 == 1 ) {
+            writer.write( "text" + random.nextInt( 1000 ) );
+          } else {
+            writer.write( Double.toString( random.nextInt( 10000 ) / 100.0 ) );
+          }
+        }
+        writer.newLine();
+      }
+    }
+  }
+}
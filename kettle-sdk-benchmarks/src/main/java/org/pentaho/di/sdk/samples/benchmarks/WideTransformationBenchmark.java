@@ -0,0 +1,135 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pentaho.di.core.KettleEnvironment;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.plugins.PluginRegistry;
+import org.pentaho.di.core.plugins.StepPluginType;
+import org.pentaho.di.sdk.samples.steps.demo.DemoStepMeta;
+import org.pentaho.di.trans.Trans;
+import org.pentaho.di.trans.TransHopMeta;
+import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.steps.dummytrans.DummyTransMeta;
+import org.pentaho.di.trans.steps.rowgenerator.RowGeneratorMeta;
+
+/**
+ * Runs wide transformations, generated in code the same way as in the GeneratingTransformations
+ * embedding sample: a Row Generator feeding a chain of demo steps, ending in a Dummy step.
+ * Every demo step runs in pipelined mode, so the benchmark compares the throughput of
+ * platform worker threads with virtual worker threads as the number of steps grows.
+ *
+ * The score is reported in rows per second. Run with "-prof gc" to compare memory use:
+ *
+ *   java -jar target/benchmarks.jar WideTransformationBenchmark -prof gc
+ *
+ * Virtual threads need Java 21 or later, on older runtimes both variants use platform threads.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3 )
+@Measurement( iterations = 5 )
+@Fork( 1 )
+public class WideTransformationBenchmark {
+
+  static final int ROWS = 20000;
+
+  @Param( { "10", "100", "300" } )
+  public int steps;
+
+  @Param( { "false", "true" } )
+  public boolean virtualThreads;
+
+  private TransMeta transMeta;
+
+  @Setup( Level.Trial )
+  public void setUp() throws KettleException {
+    KettleEnvironment.init( false );
+    transMeta = generateTransformation( steps, virtualThreads );
+  }
+
+  @Benchmark
+  @OperationsPerInvocation( ROWS )
+  public int runTransformation() throws KettleException {
+    Trans trans = new Trans( transMeta );
+    trans.execute( null );
+    trans.waitUntilFinished();
+    if ( trans.getErrors() > 0 ) {
+      throw new KettleException( "Benchmark transformation failed" );
+    }
+    return trans.getErrors();
+  }
+
+  /**
+   * Generates a transformation with the given number of demo steps between a Row Generator
+   * and a Dummy step.
+   *
+   * @param steps           the number of demo steps
+   * @param virtualThreads  whether the demo steps use virtual worker threads
+   *
+   * @return the generated transformation definition
+   */
+  static TransMeta generateTransformation( int steps, boolean virtualThreads ) {
+    TransMeta transMeta = new TransMeta();
+    transMeta.setName( "Wide Benchmark Transformation" );
+    PluginRegistry registry = PluginRegistry.getInstance();
+
+    RowGeneratorMeta rowGeneratorMeta = new RowGeneratorMeta();
+    rowGeneratorMeta.setRowLimit( String.valueOf( ROWS ) );
+    rowGeneratorMeta.allocate( 1 );
+    rowGeneratorMeta.setFieldName( new String[] { "id" } );
+    rowGeneratorMeta.setFieldType( new String[] { "Integer" } );
+    rowGeneratorMeta.setValue( new String[] { "1" } );
+    StepMeta previous = new StepMeta( registry.getPluginId( StepPluginType.class, rowGeneratorMeta ),
+      "Generate Rows", rowGeneratorMeta );
+    transMeta.addStep( previous );
+
+    for ( int i = 0; i < steps; i++ ) {
+      DemoStepMeta demoMeta = new DemoStepMeta();
+      demoMeta.setDefault();
+      demoMeta.setOutputField( "demo_field_" + i );
+      demoMeta.setBatchSize( 100 );
+      demoMeta.setWorkerCount( 2 );
+      demoMeta.setVirtualThreads( virtualThreads );
+      StepMeta demoStepMeta = new StepMeta( "DemoStep", "Demo " + i, demoMeta );
+      transMeta.addStep( demoStepMeta );
+      transMeta.addTransHop( new TransHopMeta( previous, demoStepMeta ) );
+      previous = demoStepMeta;
+    }
+
+    DummyTransMeta dummyMeta = new DummyTransMeta();
+    StepMeta dummyStepMeta = new StepMeta( registry.getPluginId( StepPluginType.class, dummyMeta ), "Dummy", dummyMeta );
+    transMeta.addStep( dummyStepMeta );
+    transMeta.addTransHop( new TransHopMeta( previous, dummyStepMeta ) );
+    return transMeta;
+  }
+}
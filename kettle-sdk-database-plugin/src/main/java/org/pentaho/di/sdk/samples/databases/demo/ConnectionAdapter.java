@@ -0,0 +1,272 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It implements every method of java.sql.Connection by throwing SQLFeatureNotSupportedException,
+ * so the connection of the driver only needs to implement the methods it supports, the same way
+ * a StepAdapter only implements the listener methods of interest. It is generated from the
+ * interface and not meant to be edited by hand.
+ */
+abstract class ConnectionAdapter implements Connection {
+
+  /**
+   * @return the exception thrown by the methods the driver does not support
+   */
+  static SQLFeatureNotSupportedException notSupported( String method ) {
+    return new SQLFeatureNotSupportedException( method + "() is not supported by the memory-mapped CSV driver" );
+  }
+
+  public <T> T unwrap( Class<T> iface ) throws SQLException {
+    if ( iface.isInstance( this ) ) {
+      return iface.cast( this );
+    }
+    throw new SQLException( getClass().getName() + " does not implement " + iface.getName() );
+  }
+
+  public boolean isWrapperFor( Class<?> iface ) throws SQLException {
+    return iface.isInstance( this );
+  }
+
+  public void abort( Executor executor ) throws SQLException {
+    throw notSupported( "abort" );
+  }
+
+  public void clearWarnings() throws SQLException {
+    throw notSupported( "clearWarnings" );
+  }
+
+  public void close() throws SQLException {
+    throw notSupported( "close" );
+  }
+
+  public void commit() throws SQLException {
+    throw notSupported( "commit" );
+  }
+
+  public Array createArrayOf( String typeName, Object[] elements ) throws SQLException {
+    throw notSupported( "createArrayOf" );
+  }
+
+  public Blob createBlob() throws SQLException {
+    throw notSupported( "createBlob" );
+  }
+
+  public Clob createClob() throws SQLException {
+    throw notSupported( "createClob" );
+  }
+
+  public NClob createNClob() throws SQLException {
+    throw notSupported( "createNClob" );
+  }
+
+  public SQLXML createSQLXML() throws SQLException {
+    throw notSupported( "createSQLXML" );
+  }
+
+  public Statement createStatement() throws SQLException {
+    throw notSupported( "createStatement" );
+  }
+
+  public Statement createStatement( int resultSetType, int resultSetConcurrency ) throws SQLException {
+    throw notSupported( "createStatement" );
+  }
+
+  public Statement createStatement( int resultSetType, int resultSetConcurrency, int resultSetHoldability ) throws SQLException {
+    throw notSupported( "createStatement" );
+  }
+
+  public Struct createStruct( String typeName, Object[] attributes ) throws SQLException {
+    throw notSupported( "createStruct" );
+  }
+
+  public boolean getAutoCommit() throws SQLException {
+    throw notSupported( "getAutoCommit" );
+  }
+
+  public String getCatalog() throws SQLException {
+    throw notSupported( "getCatalog" );
+  }
+
+  public Properties getClientInfo() throws SQLException {
+    throw notSupported( "getClientInfo" );
+  }
+
+  public String getClientInfo( String name ) throws SQLException {
+    throw notSupported( "getClientInfo" );
+  }
+
+  public int getHoldability() throws SQLException {
+    throw notSupported( "getHoldability" );
+  }
+
+  public DatabaseMetaData getMetaData() throws SQLException {
+    throw notSupported( "getMetaData" );
+  }
+
+  public int getNetworkTimeout() throws SQLException {
+    throw notSupported( "getNetworkTimeout" );
+  }
+
+  public String getSchema() throws SQLException {
+    throw notSupported( "getSchema" );
+  }
+
+  public int getTransactionIsolation() throws SQLException {
+    throw notSupported( "getTransactionIsolation" );
+  }
+
+  public Map<String, Class<?>> getTypeMap() throws SQLException {
+    throw notSupported( "getTypeMap" );
+  }
+
+  public SQLWarning getWarnings() throws SQLException {
+    throw notSupported( "getWarnings" );
+  }
+
+  public boolean isClosed() throws SQLException {
+    throw notSupported( "isClosed" );
+  }
+
+  public boolean isReadOnly() throws SQLException {
+    throw notSupported( "isReadOnly" );
+  }
+
+  public boolean isValid( int timeout ) throws SQLException {
+    throw notSupported( "isValid" );
+  }
+
+  public String nativeSQL( String sql ) throws SQLException {
+    throw notSupported( "nativeSQL" );
+  }
+
+  public CallableStatement prepareCall( String sql ) throws SQLException {
+    throw notSupported( "prepareCall" );
+  }
+
+  public CallableStatement prepareCall( String sql, int resultSetType, int resultSetConcurrency ) throws SQLException {
+    throw notSupported( "prepareCall" );
+  }
+
+  public CallableStatement prepareCall( String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability ) throws SQLException {
+    throw notSupported( "prepareCall" );
+  }
+
+  public PreparedStatement prepareStatement( String sql ) throws SQLException {
+    throw notSupported( "prepareStatement" );
+  }
+
+  public PreparedStatement prepareStatement( String sql, String[] columnNames ) throws SQLException {
+    throw notSupported( "prepareStatement" );
+  }
+
+  public PreparedStatement prepareStatement( String sql, int autoGeneratedKeys ) throws SQLException {
+    throw notSupported( "prepareStatement" );
+  }
+
+  public PreparedStatement prepareStatement( String sql, int[] columnIndexes ) throws SQLException {
+    throw notSupported( "prepareStatement" );
+  }
+
+  public PreparedStatement prepareStatement( String sql, int resultSetType, int resultSetConcurrency ) throws SQLException {
+    throw notSupported( "prepareStatement" );
+  }
+
+  public PreparedStatement prepareStatement( String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability ) throws SQLException {
+    throw notSupported( "prepareStatement" );
+  }
+
+  public void releaseSavepoint( Savepoint savepoint ) throws SQLException {
+    throw notSupported( "releaseSavepoint" );
+  }
+
+  public void rollback() throws SQLException {
+    throw notSupported( "rollback" );
+  }
+
+  public void rollback( Savepoint savepoint ) throws SQLException {
+    throw notSupported( "rollback" );
+  }
+
+  public void setAutoCommit( boolean autoCommit ) throws SQLException {
+    throw notSupported( "setAutoCommit" );
+  }
+
+  public void setCatalog( String catalog ) throws SQLException {
+    throw notSupported( "setCatalog" );
+  }
+
+  public void setClientInfo( Properties properties ) throws SQLClientInfoException {
+    throw new SQLClientInfoException( "setClientInfo() is not supported by the memory-mapped CSV driver", null );
+  }
+
+  public void setClientInfo( String name, String value ) throws SQLClientInfoException {
+    throw new SQLClientInfoException( "setClientInfo() is not supported by the memory-mapped CSV driver", null );
+  }
+
+  public void setHoldability( int holdability ) throws SQLException {
+    throw notSupported( "setHoldability" );
+  }
+
+  public void setNetworkTimeout( Executor executor, int milliseconds ) throws SQLException {
+    throw notSupported( "setNetworkTimeout" );
+  }
+
+  public void setReadOnly( boolean readOnly ) throws SQLException {
+    throw notSupported( "setReadOnly" );
+  }
+
+  public Savepoint setSavepoint() throws SQLException {
+    throw notSupported( "setSavepoint" );
+  }
+
+  public Savepoint setSavepoint( String name ) throws SQLException {
+    throw notSupported( "setSavepoint" );
+  }
+
+  public void setSchema( String schema ) throws SQLException {
+    throw notSupported( "setSchema" );
+  }
+
+  public void setTransactionIsolation( int level ) throws SQLException {
+    throw notSupported( "setTransactionIsolation" );
+  }
+
+  public void setTypeMap( Map<String, Class<?>> map ) throws SQLException {
+    throw notSupported( "setTypeMap" );
+  }
+}
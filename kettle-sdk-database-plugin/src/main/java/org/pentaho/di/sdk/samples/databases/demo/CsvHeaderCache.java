@@ -0,0 +1,136 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It remembers the header lines of the files read by the driver. PDI finds out whether a
+ * table or column exists, and which fields a table has, by running queries like
+ * SELECT * FROM table WHERE 1=0. Spoon runs these over and over while a transformation is
+ * edited or verified, each time on a new connection. Such queries are answered from this
+ * cache, without opening the file.
+ *
+ * The cache is shared by all connections. A header is kept for the path of a file together
+ * with its size and modification time, and read again when either has changed. The options
+ * that change how the header is read are part of the key, so connections with different
+ * options do not share headers.
+ */
+final class CsvHeaderCache {
+
+  // the number of headers kept, the least recently used ones are dropped first
+  static final int MAX_HEADERS = 1000;
+
+  private static final Map<String, Header> HEADERS = new LinkedHashMap<String, Header>( 16, 0.75f, true ) {
+    private static final long serialVersionUID = 1L;
+
+    protected boolean removeEldestEntry( Map.Entry<String, Header> eldest ) {
+      return size() > MAX_HEADERS;
+    }
+  };
+
+  private CsvHeaderCache() {
+  }
+
+  /**
+   * The header line of a file, as it was when the file had the given size and modification time
+   */
+  static final class Header {
+
+    final long size;
+    final long lastModified;
+    final String[] columnNames;
+
+    // the position of the first line after the header line
+    final long dataStart;
+
+    Header( long size, long lastModified, String[] columnNames, long dataStart ) {
+      this.size = size;
+      this.lastModified = lastModified;
+      this.columnNames = columnNames;
+      this.dataStart = dataStart;
+    }
+  }
+
+  private static String key( Path path, CsvOptions options ) {
+    return path + "|" + options.separator + "|" + options.quote + "|" + options.charset.name() + "|"
+      + options.headerLine;
+  }
+
+  /**
+   * Returns the header of a file, from the cache if the file did not change since it was
+   * read, or else by reading the file.
+   *
+   * @param path     the file
+   * @param options  the options of the connection
+   *
+   * @return the header of the file
+   */
+  static Header get( Path path, CsvOptions options ) throws SQLException {
+    BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes( path, BasicFileAttributes.class );
+    } catch ( IOException e ) {
+      throw new SQLException( "Unable to open " + path, e );
+    }
+    Header header = get( path, options, attributes.size(), attributes.lastModifiedTime().toMillis() );
+    if ( header == null ) {
+      // reading the file adds its header to the cache
+      header = MappedCsvFile.open( path, options ).getHeader();
+    }
+    return header;
+  }
+
+  /**
+   * @return the cached header of a file with the given size and modification time, or null
+   *         if there is none
+   */
+  static Header get( Path path, CsvOptions options, long size, long lastModified ) {
+    String key = key( path, options );
+    synchronized ( HEADERS ) {
+      Header header = HEADERS.get( key );
+      if ( header != null && ( header.size != size || header.lastModified != lastModified ) ) {
+        // the file has changed
+        HEADERS.remove( key );
+        header = null;
+      }
+      return header;
+    }
+  }
+
+  /**
+   * Adds the header of a file to the cache.
+   */
+  static void put( Path path, CsvOptions options, Header header ) {
+    synchronized ( HEADERS ) {
+      HEADERS.put( key( path, options ), header );
+    }
+  }
+
+  /**
+   * Empties the cache.
+   */
+  static void clear() {
+    synchronized ( HEADERS ) {
+      HEADERS.clear();
+    }
+  }
+}
@@ -0,0 +1,496 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It is the sidecar index of a CSV file, stored next to it with the extra extension .idx.
+ * With the index option on, the index of a file is built the first time a query with a
+ * WHERE clause reads the file, and built again when the size or modification time of the
+ * file, or the options it was built with, have changed.
+ *
+ * The index splits the lines of the file into blocks of indexBlockLines lines. For every
+ * block it keeps the position of its first line, and the smallest and largest value of every
+ * column. A query reads only the blocks whose values might meet all its conditions. Text
+ * values longer than 64 characters are not kept as the largest value of a block, the block
+ * is then assumed to hold any larger value too.
+ *
+ * With the indexKey option, the index also keeps the values of one column sorted, each with
+ * the position of its line. Conditions on that column are then answered by looking up the
+ * matching values and reading only their lines.
+ *
+ * Indexes are kept in memory once read. If the sidecar file cannot be written, for instance
+ * because the directory is read-only, the index is only kept in memory.
+ */
+final class CsvIndex {
+
+  static final String SUFFIX = ".idx";
+
+  // the number of indexes kept in memory, the least recently used ones are dropped first
+  static final int MAX_INDEXES = 100;
+
+  private static final int MAGIC = 0x4B435849;
+  private static final int VERSION = 1;
+  static final int MAX_TEXT_LENGTH = 64;
+
+  private static final Map<Path, CsvIndex> INDEXES = new LinkedHashMap<Path, CsvIndex>( 16, 0.75f, true ) {
+    private static final long serialVersionUID = 1L;
+
+    protected boolean removeEldestEntry( Map.Entry<Path, CsvIndex> eldest ) {
+      return size() > MAX_INDEXES;
+    }
+  };
+
+  private final long size;
+  private final long lastModified;
+
+  // the options the index was built with
+  private final String fingerprint;
+
+  private final boolean[] numeric;
+
+  // the position of the first line of every block, followed by the end of the file
+  private long[] blockStarts;
+
+  // the smallest and largest value of every column in every block, null if not known
+  private Comparable<?>[][] minimums;
+  private Comparable<?>[][] maximums;
+
+  // false for the columns of a block that are null on every line
+  private boolean[][] hasValues;
+
+  // the field of the key index, or -1 if there is none, with its values sorted and the
+  // position of the line of every value
+  private int keyField = -1;
+  private Comparable<?>[] keys;
+  private long[] keyPositions;
+
+  private CsvIndex( long size, long lastModified, String fingerprint, boolean[] numeric ) {
+    this.size = size;
+    this.lastModified = lastModified;
+    this.fingerprint = fingerprint;
+    this.numeric = numeric;
+  }
+
+  /**
+   * Returns the index of a file, building it if there is no index that is up to date.
+   *
+   * @param file       the mapped file
+   * @param options    the options of the connection
+   * @param tableName  the name of the table
+   *
+   * @return the index
+   */
+  static CsvIndex get( MappedCsvFile file, CsvOptions options, String tableName ) throws SQLException {
+    String[] columnNames = file.getColumnNames();
+    int[] types = options.getColumnTypes( tableName, columnNames.length );
+    boolean[] numeric = new boolean[types.length];
+    for ( int i = 0; i < types.length; i++ ) {
+      numeric[i] = CsvPredicate.isNumeric( types[i] );
+    }
+    String key = options.getIndexKey( tableName );
+    int keyField = key == null ? -1 : MappedCsvConnection.findColumn( columnNames, key, tableName );
+    String fingerprint = options.separator + "|" + options.quote + "|" + options.charset.name() + "|"
+      + options.headerLine + "|" + Arrays.toString( numeric ) + "|" + options.indexBlockLines + "|" + keyField;
+
+    Path path = file.getPath();
+    CsvIndex index;
+    synchronized ( INDEXES ) {
+      index = INDEXES.get( path );
+    }
+    if ( index == null || !index.isFor( file, fingerprint ) ) {
+      Path sidecar = path.resolveSibling( path.getFileName() + SUFFIX );
+      index = read( sidecar, numeric );
+      if ( index == null || !index.isFor( file, fingerprint ) ) {
+        index = build( file, options, fingerprint, numeric, keyField );
+        index.write( sidecar );
+      }
+      synchronized ( INDEXES ) {
+        INDEXES.put( path, index );
+      }
+    }
+    return index;
+  }
+
+  private boolean isFor( MappedCsvFile file, String fingerprint ) {
+    return size == file.size() && lastModified == file.getLastModified() && this.fingerprint.equals( fingerprint );
+  }
+
+  /**
+   * Builds the index of a file by reading all its lines.
+   */
+  static CsvIndex build( MappedCsvFile file, CsvOptions options, String fingerprint, boolean[] numeric,
+    int keyField ) throws SQLException {
+    CsvIndex index = new CsvIndex( file.size(), file.getLastModified(), fingerprint, numeric );
+    int nrColumns = numeric.length;
+    List<Long> blockStarts = new ArrayList<Long>();
+    List<Comparable<?>[]> minimums = new ArrayList<Comparable<?>[]>();
+    List<Comparable<?>[]> maximums = new ArrayList<Comparable<?>[]>();
+    List<boolean[]> hasValues = new ArrayList<boolean[]>();
+    List<KeyEntry> keyEntries = keyField < 0 ? null : new ArrayList<KeyEntry>();
+
+    Comparable<?>[] min = null;
+    Comparable<?>[] max = null;
+    boolean[] has = null;
+    // the columns of the block that are not numbers although they should be, or whose
+    // largest value is too long to be kept
+    boolean[] noMin = null;
+    boolean[] noMax = null;
+
+    CsvScanner scanner = new CsvScanner( file, options, file.getDataStart(), file.size() );
+    long line = 0;
+    while ( scanner.next() ) {
+      if ( line++ % options.indexBlockLines == 0 ) {
+        blockStarts.add( scanner.getLineStart() );
+        min = new Comparable<?>[nrColumns];
+        max = new Comparable<?>[nrColumns];
+        has = new boolean[nrColumns];
+        noMin = new boolean[nrColumns];
+        noMax = new boolean[nrColumns];
+        minimums.add( min );
+        maximums.add( max );
+        hasValues.add( has );
+      }
+      for ( int i = 0; i < nrColumns; i++ ) {
+        Comparable<?> value;
+        try {
+          value = CsvPredicate.valueOf( scanner, i, numeric[i] );
+        } catch ( NumberFormatException e ) {
+          has[i] = true;
+          noMin[i] = true;
+          noMax[i] = true;
+          min[i] = null;
+          max[i] = null;
+          if ( i == keyField ) {
+            keyEntries = null;
+          }
+          continue;
+        }
+        if ( value == null ) {
+          continue;
+        }
+        has[i] = true;
+        if ( i == keyField && keyEntries != null ) {
+          keyEntries.add( new KeyEntry( value, scanner.getLineStart() ) );
+        }
+        if ( !numeric[i] && ( (String) value ).length() > MAX_TEXT_LENGTH ) {
+          // a prefix is smaller than the whole value, so it can still be the smallest value
+          value = truncate( (String) value );
+          noMax[i] = true;
+          max[i] = null;
+        }
+        if ( !noMin[i] && ( min[i] == null || CsvPredicate.compare( value, min[i] ) < 0 ) ) {
+          min[i] = value;
+        }
+        if ( !noMax[i] && ( max[i] == null || CsvPredicate.compare( value, max[i] ) > 0 ) ) {
+          max[i] = value;
+        }
+      }
+    }
+
+    index.blockStarts = new long[blockStarts.size() + 1];
+    for ( int i = 0; i < blockStarts.size(); i++ ) {
+      index.blockStarts[i] = blockStarts.get( i );
+    }
+    index.blockStarts[blockStarts.size()] = file.size();
+    index.minimums = minimums.toArray( new Comparable<?>[0][] );
+    index.maximums = maximums.toArray( new Comparable<?>[0][] );
+    index.hasValues = hasValues.toArray( new boolean[0][] );
+
+    if ( keyEntries != null ) {
+      // the sort is stable, so equal values keep the order of the file
+      KeyEntry[] entries = keyEntries.toArray( new KeyEntry[0] );
+      Arrays.sort( entries, ( a, b ) -> CsvPredicate.compare( a.key, b.key ) );
+      index.keyField = keyField;
+      index.keys = new Comparable<?>[entries.length];
+      index.keyPositions = new long[entries.length];
+      for ( int i = 0; i < entries.length; i++ ) {
+        index.keys[i] = entries[i].key;
+        index.keyPositions[i] = entries[i].position;
+      }
+    }
+    return index;
+  }
+
+  private static final class KeyEntry {
+    final Comparable<?> key;
+    final long position;
+
+    KeyEntry( Comparable<?> key, long position ) {
+      this.key = key;
+      this.position = position;
+    }
+  }
+
+  /**
+   * Selects the parts of the file that might hold lines meeting all predicates.
+   *
+   * @param predicates  the predicates of the query
+   *
+   * @return the start and end position of every part, for a CsvScanner
+   */
+  long[] select( List<CsvPredicate> predicates ) {
+    if ( keyField >= 0 ) {
+      int from = 0;
+      int to = keys.length;
+      boolean seek = false;
+      for ( CsvPredicate predicate : predicates ) {
+        if ( predicate.field != keyField || predicate.operator == CsvPredicate.NOT_EQUAL ) {
+          continue;
+        }
+        seek = true;
+        int first = search( predicate.value, false );
+        int after = search( predicate.value, true );
+        switch ( predicate.operator ) {
+          case CsvPredicate.EQUAL:
+            from = Math.max( from, first );
+            to = Math.min( to, after );
+            break;
+          case CsvPredicate.LESS:
+            to = Math.min( to, first );
+            break;
+          case CsvPredicate.LESS_OR_EQUAL:
+            to = Math.min( to, after );
+            break;
+          case CsvPredicate.GREATER:
+            from = Math.max( from, after );
+            break;
+          default:
+            from = Math.max( from, first );
+            break;
+        }
+      }
+      if ( seek ) {
+        // read the matching lines in the order of the file
+        long[] positions = from < to ? Arrays.copyOfRange( keyPositions, from, to ) : new long[0];
+        Arrays.sort( positions );
+        long[] ranges = new long[positions.length * 2];
+        for ( int i = 0; i < positions.length; i++ ) {
+          ranges[i * 2] = positions[i];
+          ranges[i * 2 + 1] = positions[i] + 1;
+        }
+        return ranges;
+      }
+    }
+
+    long[] ranges = new long[blockStarts.length * 2];
+    int nrRanges = 0;
+    for ( int block = 0; block < blockStarts.length - 1; block++ ) {
+      if ( !mightMatch( block, predicates ) ) {
+        continue;
+      }
+      if ( nrRanges > 0 && ranges[nrRanges - 1] == blockStarts[block] ) {
+        // extend the previous range
+        ranges[nrRanges - 1] = blockStarts[block + 1];
+      } else {
+        ranges[nrRanges++] = blockStarts[block];
+        ranges[nrRanges++] = blockStarts[block + 1];
+      }
+    }
+    return Arrays.copyOf( ranges, nrRanges );
+  }
+
+  private boolean mightMatch( int block, List<CsvPredicate> predicates ) {
+    for ( CsvPredicate predicate : predicates ) {
+      if ( !hasValues[block][predicate.field]
+        || !predicate.mightMatch( minimums[block][predicate.field], maximums[block][predicate.field] ) ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the first MAX_TEXT_LENGTH characters of a text, or one less if the last of them
+   *         would split a surrogate pair
+   */
+  static String truncate( String text ) {
+    if ( text.length() <= MAX_TEXT_LENGTH ) {
+      return text;
+    }
+    int end = MAX_TEXT_LENGTH;
+    if ( Character.isHighSurrogate( text.charAt( end - 1 ) ) && Character.isLowSurrogate( text.charAt( end ) ) ) {
+      end--;
+    }
+    return text.substring( 0, end );
+  }
+
+  /**
+   * @return the index of the first key that is not smaller than a value, or if after is true,
+   *         of the first key that is larger
+   */
+  private int search( Comparable<?> value, boolean after ) {
+    int low = 0;
+    int high = keys.length;
+    while ( low < high ) {
+      int middle = ( low + high ) >>> 1;
+      int comparison = CsvPredicate.compare( keys[middle], value );
+      if ( comparison < 0 || after && comparison == 0 ) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @return the number of blocks of the index
+   */
+  int getBlockCount() {
+    return blockStarts.length - 1;
+  }
+
+  /**
+   * @return true if the index has a key index
+   */
+  boolean hasKeyIndex() {
+    return keyField >= 0;
+  }
+
+  /**
+   * Writes the index to its sidecar file. The index is written to a temporary file first, so
+   * that other connections never read a partly written index.
+   */
+  private void write( Path sidecar ) {
+    Path temp = null;
+    try {
+      temp = Files.createTempFile( sidecar.getParent(), sidecar.getFileName().toString(), ".tmp" );
+      try ( DataOutputStream out = new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( temp ) ) ) ) {
+        out.writeInt( MAGIC );
+        out.writeInt( VERSION );
+        out.writeLong( size );
+        out.writeLong( lastModified );
+        out.writeUTF( fingerprint );
+        out.writeInt( blockStarts.length );
+        for ( long start : blockStarts ) {
+          out.writeLong( start );
+        }
+        for ( int block = 0; block < blockStarts.length - 1; block++ ) {
+          for ( int i = 0; i < numeric.length; i++ ) {
+            out.writeBoolean( hasValues[block][i] );
+            writeValue( out, minimums[block][i] );
+            writeValue( out, maximums[block][i] );
+          }
+        }
+        out.writeInt( keyField );
+        if ( keyField >= 0 ) {
+          out.writeInt( keys.length );
+          for ( int i = 0; i < keys.length; i++ ) {
+            writeValue( out, keys[i] );
+            out.writeLong( keyPositions[i] );
+          }
+        }
+      }
+      try {
+        Files.move( temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+      } catch ( AtomicMoveNotSupportedException e ) {
+        Files.move( temp, sidecar, StandardCopyOption.REPLACE_EXISTING );
+      }
+    } catch ( IOException e ) {
+      // the index is kept in memory only
+      if ( temp != null ) {
+        try {
+          Files.deleteIfExists( temp );
+        } catch ( IOException e2 ) {
+          // ignore
+        }
+      }
+    }
+  }
+
+  private static void writeValue( DataOutputStream out, Comparable<?> value ) throws IOException {
+    if ( value == null ) {
+      out.writeInt( -1 );
+    } else {
+      byte[] bytes = value.toString().getBytes( StandardCharsets.UTF_8 );
+      out.writeInt( bytes.length );
+      out.write( bytes );
+    }
+  }
+
+  /**
+   * Reads an index from its sidecar file.
+   *
+   * @return the index, or null if there is no sidecar file or it cannot be read
+   */
+  static CsvIndex read( Path sidecar, boolean[] numeric ) {
+    if ( !Files.isRegularFile( sidecar ) ) {
+      return null;
+    }
+    try ( DataInputStream in = new DataInputStream( new BufferedInputStream( Files.newInputStream( sidecar ) ) ) ) {
+      if ( in.readInt() != MAGIC || in.readInt() != VERSION ) {
+        return null;
+      }
+      CsvIndex index = new CsvIndex( in.readLong(), in.readLong(), in.readUTF(), numeric );
+      index.blockStarts = new long[in.readInt()];
+      for ( int i = 0; i < index.blockStarts.length; i++ ) {
+        index.blockStarts[i] = in.readLong();
+      }
+      int nrBlocks = index.blockStarts.length - 1;
+      index.minimums = new Comparable<?>[nrBlocks][numeric.length];
+      index.maximums = new Comparable<?>[nrBlocks][numeric.length];
+      index.hasValues = new boolean[nrBlocks][numeric.length];
+      for ( int block = 0; block < nrBlocks; block++ ) {
+        for ( int i = 0; i < numeric.length; i++ ) {
+          index.hasValues[block][i] = in.readBoolean();
+          index.minimums[block][i] = readValue( in, numeric[i] );
+          index.maximums[block][i] = readValue( in, numeric[i] );
+        }
+      }
+      index.keyField = in.readInt();
+      if ( index.keyField >= 0 ) {
+        index.keys = new Comparable<?>[in.readInt()];
+        index.keyPositions = new long[index.keys.length];
+        for ( int i = 0; i < index.keys.length; i++ ) {
+          index.keys[i] = readValue( in, numeric[index.keyField] );
+          index.keyPositions[i] = in.readLong();
+        }
+      }
+      return index;
+    } catch ( IOException | RuntimeException e ) {
+      // a damaged or outdated index is built again
+      return null;
+    }
+  }
+
+  private static Comparable<?> readValue( DataInputStream in, boolean numeric ) throws IOException {
+    int length = in.readInt();
+    if ( length < 0 ) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    in.readFully( bytes );
+    String value = new String( bytes, StandardCharsets.UTF_8 );
+    return numeric ? new BigDecimal( value ) : value;
+  }
+}
@@ -0,0 +1,223 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.nio.charset.Charset;
+import java.sql.SQLException;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It gives access to the lines of a mapped CSV file, one line at a time. A line is kept as
+ * the positions and lengths of its fields in the file, and a field is turned into a Java
+ * value only when it is asked for, so fields that are never read cost nothing more than
+ * finding their bounds. Numbers are parsed straight from the bytes where possible.
+ *
+ * CsvScanner reads the lines of a file in one thread, ParallelCsvScan splits a file into
+ * ranges read by several threads.
+ */
+abstract class CsvLines {
+
+  static final byte QUOTED = 1;
+  static final byte ESCAPED = 2;
+
+  protected final MappedCsvFile file;
+  protected final byte quote;
+  protected final Charset charset;
+
+  // the fields of the current line are starts[first] to starts[first + fieldCount - 1], and
+  // likewise for lengths and flags
+  protected long[] starts = new long[16];
+  protected int[] lengths = new int[16];
+  protected byte[] flags = new byte[16];
+  protected int first;
+  protected int fieldCount;
+
+  private byte[] scratch = new byte[64];
+
+  // the value of the last field parsed by parseDecimal(), as unscaled value and scale
+  long decimalUnscaled;
+  int decimalScale;
+
+  CsvLines( MappedCsvFile file, CsvOptions options ) {
+    this.file = file;
+    this.quote = options.quote;
+    this.charset = options.charset;
+  }
+
+  /**
+   * Moves to the next line.
+   *
+   * @return false if there are no more lines
+   */
+  abstract boolean next() throws SQLException;
+
+  /**
+   * Stops reading, releasing whatever is used to read the lines.
+   */
+  void close() {
+  }
+
+  /**
+   * @return the number of fields of the current line
+   */
+  int getFieldCount() {
+    return fieldCount;
+  }
+
+  /**
+   * @return true if a field is missing from the current line, or empty and not quoted
+   */
+  boolean isNull( int field ) {
+    return field >= fieldCount || lengths[first + field] == 0 && flags[first + field] == 0;
+  }
+
+  /**
+   * @return the value of a field as a String, or null if it is null
+   */
+  String getString( int field ) {
+    if ( isNull( field ) ) {
+      return null;
+    }
+    int length = lengths[first + field];
+    if ( scratch.length < length ) {
+      scratch = new byte[Math.max( length, scratch.length * 2 )];
+    }
+    file.copy( starts[first + field], scratch, length );
+    String value = new String( scratch, 0, length, charset );
+    if ( ( flags[first + field] & ESCAPED ) != 0 ) {
+      String quoteString = String.valueOf( (char) quote );
+      value = value.replace( quoteString + quoteString, quoteString );
+    }
+    return value;
+  }
+
+  /**
+   * Parses a field as a whole number, straight from its bytes if it consists of up to 18
+   * digits with an optional sign and surrounding spaces.
+   *
+   * @throws NumberFormatException if the field is not a whole number
+   */
+  long getLong( int field ) {
+    long pos = starts[first + field];
+    long limit = pos + lengths[first + field];
+    while ( pos < limit && file.get( pos ) == ' ' ) {
+      pos++;
+    }
+    while ( limit > pos && file.get( limit - 1 ) == ' ' ) {
+      limit--;
+    }
+    boolean negative = false;
+    if ( pos < limit && ( file.get( pos ) == '-' || file.get( pos ) == '+' ) ) {
+      negative = file.get( pos ) == '-';
+      pos++;
+    }
+    if ( pos == limit || limit - pos > 18 ) {
+      return Long.parseLong( getString( field ).trim() );
+    }
+    long value = 0;
+    for ( ; pos < limit; pos++ ) {
+      int digit = file.get( pos ) - '0';
+      if ( digit < 0 || digit > 9 ) {
+        return Long.parseLong( getString( field ).trim() );
+      }
+      value = value * 10 + digit;
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Parses a field as a decimal number straight from its bytes, into decimalUnscaled and
+   * decimalScale. Only plain numbers with up to 18 digits, an optional sign, an optional
+   * decimal point and surrounding spaces are parsed, as their value fits a long.
+   *
+   * @return false if the field is not such a number, it must then be parsed from a String
+   */
+  boolean parseDecimal( int field ) {
+    long pos = starts[first + field];
+    long limit = pos + lengths[first + field];
+    while ( pos < limit && file.get( pos ) == ' ' ) {
+      pos++;
+    }
+    while ( limit > pos && file.get( limit - 1 ) == ' ' ) {
+      limit--;
+    }
+    boolean negative = false;
+    if ( pos < limit && ( file.get( pos ) == '-' || file.get( pos ) == '+' ) ) {
+      negative = file.get( pos ) == '-';
+      pos++;
+    }
+    long value = 0;
+    int digits = 0;
+    int scale = -1;
+    for ( ; pos < limit; pos++ ) {
+      byte b = file.get( pos );
+      if ( b == '.' && scale < 0 ) {
+        scale = 0;
+        continue;
+      }
+      int digit = b - '0';
+      if ( digit < 0 || digit > 9 || ++digits > 18 ) {
+        return false;
+      }
+      value = value * 10 + digit;
+      if ( scale >= 0 ) {
+        scale++;
+      }
+    }
+    if ( digits == 0 ) {
+      return false;
+    }
+    decimalUnscaled = negative ? -value : value;
+    decimalScale = Math.max( scale, 0 );
+    return true;
+  }
+
+  /**
+   * Compares the bytes of a field with the bytes of a value, as unsigned bytes. For UTF-8
+   * and single byte charsets this is the order of the characters. Fields with doubled quote
+   * characters in them must be compared as Strings.
+   *
+   * @param field  the field
+   * @param value  the value, in the charset of the file
+   * @param utf8   true if the file is UTF-8, to compare like String.compareTo() does
+   *
+   * @return a negative number, zero or a positive number if the field is smaller than, equal
+   *         to or larger than the value
+   */
+  int compareBytes( int field, byte[] value, boolean utf8 ) {
+    long start = starts[first + field];
+    int length = lengths[first + field];
+    int common = Math.min( length, value.length );
+    for ( int i = 0; i < common; i++ ) {
+      int a = file.get( start + i ) & 0xff;
+      int b = value[i] & 0xff;
+      if ( a != b ) {
+        // Strings compare UTF-16 chars, in which characters above U+FFFF (lead bytes from
+        // 0xF0) sort below the characters from U+E000 (lead bytes 0xEE and 0xEF)
+        if ( utf8 && ( a >= 0xF0 && ( b == 0xEE || b == 0xEF ) || b >= 0xF0 && ( a == 0xEE || a == 0xEF ) ) ) {
+          return b - a;
+        }
+        return a - b;
+      }
+    }
+    return length - value.length;
+  }
+
+  /**
+   * @return true if a field contains doubled quote characters
+   */
+  boolean isEscaped( int field ) {
+    return ( flags[first + field] & ESCAPED ) != 0;
+  }
+}
@@ -0,0 +1,220 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It holds the options of a connection, read from the connection properties. The names
+ * follow the CsvJdbc driver where the option exists there, so switching a connection
+ * between the two database types keeps its options:
+ *
+ * - separator: the field separator, "," by default
+ * - quotechar: the quote character, '"' by default
+ * - fileExtension: the extension of the table files, ".csv" by default
+ * - charset: the encoding of the files, UTF-8 by default. Only encodings that store the
+ *   ASCII characters as single bytes, like UTF-8 and ISO-8859-1, are supported.
+ * - suppressHeaders: "true" if the files have no header line, the columns are then named
+ *   COLUMN1, COLUMN2, ...
+ * - columnTypes: the types of the columns, like "Integer,String,Date", for all tables, or
+ *   columnTypes.[table] for a single table. Columns without a type are Strings.
+ *
+ * The other options tune the driver:
+ *
+ * - parallelism: the number of threads reading a file, 1 by default. 0 uses a thread per
+ *   processor. Files smaller than two splits are always read by one thread.
+ * - splitSize: the number of bytes of a file read by a thread at a time, 4 MB by default
+ * - preserveOrder: "false" to return the lines of a file read by several threads in the
+ *   order they are read, instead of the order of the file
+ * - index: "true" to keep a sidecar index next to every file queried with a WHERE clause,
+ *   see CsvIndex
+ * - indexBlockLines: the number of lines of a block of the index, 4096 by default
+ * - indexKey: the column the index keeps a sorted key index of, for all tables, or
+ *   indexKey.[table] for a single table. By default there is no key index.
+ * - pushdown: "false" to record every field of every line and to compare the fields of a
+ *   WHERE clause as Java values, instead of skipping the fields a query does not read and
+ *   comparing fields by their bytes. Only useful to measure what pushdown saves.
+ */
+final class CsvOptions {
+
+  static final String SEPARATOR = "separator";
+  static final String QUOTE_CHAR = "quotechar";
+  static final String FILE_EXTENSION = "fileExtension";
+  static final String CHARSET = "charset";
+  static final String SUPPRESS_HEADERS = "suppressHeaders";
+  static final String COLUMN_TYPES = "columnTypes";
+  static final String PARALLELISM = "parallelism";
+  static final String SPLIT_SIZE = "splitSize";
+  static final String PRESERVE_ORDER = "preserveOrder";
+  static final String INDEX = "index";
+  static final String INDEX_BLOCK_LINES = "indexBlockLines";
+  static final String INDEX_KEY = "indexKey";
+  static final String PUSHDOWN = "pushdown";
+
+  // the largest split, so that the fields of a split can be indexed with an int
+  static final long MAX_SPLIT_SIZE = 1L << 28;
+
+  final byte separator;
+  final byte quote;
+  final String fileExtension;
+  final Charset charset;
+  final boolean headerLine;
+  final int parallelism;
+  final long splitSize;
+  final boolean preserveOrder;
+  final boolean index;
+  final int indexBlockLines;
+  final boolean pushdown;
+
+  private final Properties properties;
+
+  CsvOptions( Properties properties ) throws SQLException {
+    this.properties = properties == null ? new Properties() : properties;
+    separator = getByte( SEPARATOR, ',' );
+    quote = getByte( QUOTE_CHAR, '"' );
+    fileExtension = this.properties.getProperty( FILE_EXTENSION, ".csv" );
+    headerLine = !Boolean.parseBoolean( this.properties.getProperty( SUPPRESS_HEADERS, "false" ) );
+    int threads = (int) getNumber( PARALLELISM, 1 );
+    parallelism = threads == 0 ? Runtime.getRuntime().availableProcessors() : threads;
+    splitSize = Math.min( Math.max( getNumber( SPLIT_SIZE, 4L << 20 ), 1L ), MAX_SPLIT_SIZE );
+    preserveOrder = Boolean.parseBoolean( this.properties.getProperty( PRESERVE_ORDER, "true" ) );
+    index = Boolean.parseBoolean( this.properties.getProperty( INDEX, "false" ) );
+    indexBlockLines = (int) Math.min( Math.max( getNumber( INDEX_BLOCK_LINES, 4096 ), 1 ), Integer.MAX_VALUE );
+    pushdown = Boolean.parseBoolean( this.properties.getProperty( PUSHDOWN, "true" ) );
+
+    String charsetName = this.properties.getProperty( CHARSET );
+    try {
+      charset = charsetName == null || charsetName.isEmpty() ? StandardCharsets.UTF_8 : Charset.forName( charsetName );
+    } catch ( IllegalArgumentException e ) {
+      throw new SQLException( "Unknown charset: " + charsetName, e );
+    }
+    // the files are split into lines and fields by looking at single bytes
+    byte[] ascii = "\r\n,;|\t\"'".getBytes( StandardCharsets.US_ASCII );
+    if ( !Arrays.equals( ascii, "\r\n,;|\t\"'".getBytes( charset ) ) ) {
+      throw new SQLException( "Charset " + charset.name() + " is not supported, it must store ASCII characters as single bytes" );
+    }
+  }
+
+  private byte getByte( String name, char defaultValue ) throws SQLException {
+    String value = properties.getProperty( name );
+    if ( value == null || value.isEmpty() ) {
+      return (byte) defaultValue;
+    }
+    if ( "\\t".equals( value ) ) {
+      return '\t';
+    }
+    if ( value.length() != 1 || value.charAt( 0 ) > 127 ) {
+      throw new SQLException( "The " + name + " option must be a single ASCII character: " + value );
+    }
+    return (byte) value.charAt( 0 );
+  }
+
+  private long getNumber( String name, long defaultValue ) throws SQLException {
+    String value = properties.getProperty( name );
+    if ( value == null || value.trim().isEmpty() ) {
+      return defaultValue;
+    }
+    long number;
+    try {
+      number = Long.parseLong( value.trim() );
+    } catch ( NumberFormatException e ) {
+      throw new SQLException( "The " + name + " option must be a whole number: " + value, e );
+    }
+    if ( number < 0 ) {
+      throw new SQLException( "The " + name + " option must not be negative: " + value );
+    }
+    return number;
+  }
+
+  /**
+   * @param name  the name of an option
+   *
+   * @return the value of the option, or null if it is not set
+   */
+  String getProperty( String name ) {
+    return properties.getProperty( name );
+  }
+
+  /**
+   * Returns the types of the columns of a table, as java.sql.Types constants.
+   *
+   * @param tableName  the name of the table
+   * @param nrColumns  the number of columns of the table
+   *
+   * @return the type of every column
+   */
+  int[] getColumnTypes( String tableName, int nrColumns ) throws SQLException {
+    String types = properties.getProperty( COLUMN_TYPES + "." + tableName, properties.getProperty( COLUMN_TYPES ) );
+    int[] columnTypes = new int[nrColumns];
+    Arrays.fill( columnTypes, Types.VARCHAR );
+    if ( types != null && !types.trim().isEmpty() ) {
+      String[] names = types.split( "," );
+      for ( int i = 0; i < names.length && i < nrColumns; i++ ) {
+        columnTypes[i] = parseType( names[i].trim() );
+      }
+    }
+    return columnTypes;
+  }
+
+  /**
+   * @param tableName  the name of a table
+   *
+   * @return the name of the column to keep a sorted key index of, or null if there is none
+   */
+  String getIndexKey( String tableName ) {
+    String key = properties.getProperty( INDEX_KEY + "." + tableName, properties.getProperty( INDEX_KEY ) );
+    return key == null || key.trim().isEmpty() ? null : key.trim();
+  }
+
+  /**
+   * @return the java.sql.Types constant of a type name
+   */
+  static int parseType( String name ) throws SQLException {
+    switch ( name.toLowerCase() ) {
+      case "string":
+      case "varchar":
+        return Types.VARCHAR;
+      case "byte":
+      case "short":
+      case "int":
+      case "integer":
+        return Types.INTEGER;
+      case "long":
+      case "bigint":
+        return Types.BIGINT;
+      case "float":
+      case "double":
+        return Types.DOUBLE;
+      case "bigdecimal":
+      case "decimal":
+        return Types.DECIMAL;
+      case "boolean":
+        return Types.BOOLEAN;
+      case "date":
+        return Types.DATE;
+      case "time":
+        return Types.TIME;
+      case "timestamp":
+        return Types.TIMESTAMP;
+      default:
+        throw new SQLException( "Unknown column type: " + name );
+    }
+  }
+}
@@ -0,0 +1,251 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It is a condition of a WHERE clause, resolved against the columns of a table. Columns of a
+ * numeric type (Integer, Long, Double, BigDecimal) are compared as numbers, all other columns
+ * as text. A null field meets no condition.
+ *
+ * Besides testing the lines of a file, a predicate can tell from the smallest and largest
+ * value in a block of lines whether any line of the block might meet it, which lets a
+ * CsvIndex skip blocks.
+ *
+ * A predicate that is pushed down compares fields by their bytes where it can, without
+ * turning them into Java values: numbers of up to 18 digits are compared as scaled longs,
+ * text in UTF-8 or ISO-8859-1 as unsigned bytes, which orders them like String.compareTo()
+ * does. Other fields are compared as Java values, with the same result.
+ */
+final class CsvPredicate {
+
+  static final int EQUAL = 0;
+  static final int NOT_EQUAL = 1;
+  static final int LESS = 2;
+  static final int LESS_OR_EQUAL = 3;
+  static final int GREATER = 4;
+  static final int GREATER_OR_EQUAL = 5;
+
+  private static final String[] OPERATORS = { "=", "<>", "<", "<=", ">", ">=" };
+
+  // the field of the file compared
+  final int field;
+  final int operator;
+  final boolean numeric;
+
+  // a BigDecimal for numeric columns, or else a String
+  final Comparable<?> value;
+
+  // set by pushDown(): a numeric value as unscaled value and scale, the scale being -1 if
+  // the value does not fit a long, or a text value in the charset of the file
+  private boolean pushedDown;
+  private long unscaled;
+  private int scale = -1;
+  private byte[] bytes;
+  private boolean utf8;
+
+  CsvPredicate( int field, int operator, boolean numeric, Comparable<?> value ) {
+    this.field = field;
+    this.operator = operator;
+    this.numeric = numeric;
+    this.value = value;
+  }
+
+  /**
+   * @return the constant of an operator, or -1 if it is not supported
+   */
+  static int operator( String operator ) {
+    if ( "!=".equals( operator ) ) {
+      return NOT_EQUAL;
+    }
+    for ( int i = 0; i < OPERATORS.length; i++ ) {
+      if ( OPERATORS[i].equals( operator ) ) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return true if values of a column type are compared as numbers
+   */
+  static boolean isNumeric( int type ) {
+    return type == Types.INTEGER || type == Types.BIGINT || type == Types.DOUBLE || type == Types.DECIMAL;
+  }
+
+  /**
+   * Resolves a condition against the columns of a table.
+   *
+   * @param condition    the condition
+   * @param columnNames  the names of the columns of the file
+   * @param columnTypes  the types of the columns of the file
+   * @param tableName    the name of the table
+   *
+   * @return the predicate
+   */
+  static CsvPredicate create( CsvQuery.Condition condition, String[] columnNames, int[] columnTypes,
+    String tableName ) throws SQLException {
+    int field = MappedCsvConnection.findColumn( columnNames, condition.column, tableName );
+    boolean numeric = isNumeric( columnTypes[field] );
+    Comparable<?> value = condition.value;
+    if ( numeric ) {
+      try {
+        value = new BigDecimal( condition.value.trim() );
+      } catch ( NumberFormatException e ) {
+        throw new SQLException( "Column " + columnNames[field] + " is compared with " + condition.value
+          + ", which is not a number", e );
+      }
+    }
+    return new CsvPredicate( field, operator( condition.operator ), numeric, value );
+  }
+
+  /**
+   * Lets the predicate compare fields by their bytes from now on.
+   *
+   * @param charset  the charset of the file
+   */
+  void pushDown( Charset charset ) {
+    pushedDown = true;
+    if ( numeric ) {
+      BigDecimal decimal = (BigDecimal) value;
+      if ( decimal.scale() < 0 ) {
+        decimal = decimal.setScale( 0 );
+      }
+      if ( decimal.unscaledValue().bitLength() < 64 ) {
+        unscaled = decimal.unscaledValue().longValue();
+        scale = decimal.scale();
+      }
+    } else if ( ( StandardCharsets.UTF_8.equals( charset ) || StandardCharsets.ISO_8859_1.equals( charset ) )
+      && charset.newEncoder().canEncode( (String) value ) ) {
+      bytes = ( (String) value ).getBytes( charset );
+      utf8 = StandardCharsets.UTF_8.equals( charset );
+    }
+  }
+
+  /**
+   * @return the value of a field of the current line, as a predicate on it compares it, or
+   *         null if the field is null
+   *
+   * @throws NumberFormatException if a numeric field is not a number
+   */
+  static Comparable<?> valueOf( CsvLines lines, int field, boolean numeric ) {
+    if ( lines.isNull( field ) ) {
+      return null;
+    }
+    String value = lines.getString( field );
+    return numeric ? new BigDecimal( value.trim() ) : value;
+  }
+
+  /**
+   * @return true if the current line meets the predicate
+   */
+  boolean matches( CsvLines lines ) throws SQLException {
+    if ( pushedDown ) {
+      if ( lines.isNull( field ) ) {
+        return false;
+      }
+      if ( scale >= 0 && lines.parseDecimal( field ) ) {
+        int comparison = compareDecimal( lines.decimalUnscaled, lines.decimalScale );
+        if ( comparison != Integer.MIN_VALUE ) {
+          return test( comparison );
+        }
+      } else if ( bytes != null && !lines.isEscaped( field ) ) {
+        return test( lines.compareBytes( field, bytes, utf8 ) );
+      }
+    }
+    Comparable<?> fieldValue;
+    try {
+      fieldValue = valueOf( lines, field, numeric );
+    } catch ( NumberFormatException e ) {
+      throw new SQLException( "Unable to compare " + lines.getString( field ) + " with " + value
+        + ", as it is not a number", e );
+    }
+    return fieldValue != null && test( compare( fieldValue, value ) );
+  }
+
+  /**
+   * Compares a number with the value of the predicate, bringing both to the same scale.
+   *
+   * @return the sign of the comparison, or Integer.MIN_VALUE if the numbers cannot be brought
+   *         to the same scale as longs
+   */
+  private int compareDecimal( long fieldUnscaled, int fieldScale ) {
+    long a = fieldUnscaled;
+    long b = unscaled;
+    try {
+      for ( int i = fieldScale; i < scale; i++ ) {
+        a = Math.multiplyExact( a, 10L );
+      }
+      for ( int i = scale; i < fieldScale; i++ ) {
+        b = Math.multiplyExact( b, 10L );
+      }
+    } catch ( ArithmeticException e ) {
+      return Integer.MIN_VALUE;
+    }
+    return Long.compare( a, b );
+  }
+
+  private boolean test( int comparison ) {
+    switch ( operator ) {
+      case EQUAL:
+        return comparison == 0;
+      case NOT_EQUAL:
+        return comparison != 0;
+      case LESS:
+        return comparison < 0;
+      case LESS_OR_EQUAL:
+        return comparison <= 0;
+      case GREATER:
+        return comparison > 0;
+      default:
+        return comparison >= 0;
+    }
+  }
+
+  /**
+   * Tells whether a block of lines might hold a line meeting the predicate.
+   *
+   * @param min  the smallest value of the field in the block, or null if it is not known
+   * @param max  the largest value of the field in the block, or null if it is not known
+   *
+   * @return false if no line of the block meets the predicate
+   */
+  boolean mightMatch( Comparable<?> min, Comparable<?> max ) {
+    switch ( operator ) {
+      case EQUAL:
+        return ( min == null || compare( min, value ) <= 0 ) && ( max == null || compare( max, value ) >= 0 );
+      case NOT_EQUAL:
+        return min == null || max == null || compare( min, value ) != 0 || compare( max, value ) != 0;
+      case LESS:
+        return min == null || compare( min, value ) < 0;
+      case LESS_OR_EQUAL:
+        return min == null || compare( min, value ) <= 0;
+      case GREATER:
+        return max == null || compare( max, value ) > 0;
+      default:
+        return max == null || compare( max, value ) >= 0;
+    }
+  }
+
+  @SuppressWarnings( { "unchecked", "rawtypes" } )
+  static int compare( Comparable a, Comparable b ) {
+    return a.compareTo( b );
+  }
+}
@@ -0,0 +1,207 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It parses the queries the driver understands:
+ *
+ *   SELECT * FROM table
+ *   SELECT column, column, ... FROM table
+ *   SELECT ... FROM table WHERE 1=0
+ *   SELECT ... FROM table WHERE column = value AND column >= value ...
+ *
+ * WHERE 1=0 is what PDI uses to find out the columns of a table or query. Other conditions
+ * compare a column with a number or a 'quoted string', using =, <>, !=, <, <=, > or >=, and
+ * can be combined with AND. Table and column names may be quoted with double quotes.
+ */
+final class CsvQuery {
+
+  private static final Pattern SELECT = Pattern.compile(
+    "^\\s*SELECT\\s+(.+?)\\s+FROM\\s+(\"[^\"]+\"|[^\\s;]+)(?:\\s+WHERE\\s+(.+?))?\\s*;?\\s*$",
+    Pattern.CASE_INSENSITIVE | Pattern.DOTALL );
+
+  final String tableName;
+
+  // the selected column names, or null for all columns
+  final String[] columns;
+
+  // true if the query cannot return rows
+  final boolean noRows;
+
+  // the conditions of the WHERE clause, all of which a row must meet
+  final List<Condition> conditions;
+
+  private CsvQuery( String tableName, String[] columns, boolean noRows, List<Condition> conditions ) {
+    this.tableName = tableName;
+    this.columns = columns;
+    this.noRows = noRows;
+    this.conditions = conditions;
+  }
+
+  /**
+   * A condition of the WHERE clause: column operator value
+   */
+  static final class Condition {
+
+    final String column;
+    final String operator;
+    final String value;
+
+    Condition( String column, String operator, String value ) {
+      this.column = column;
+      this.operator = operator;
+      this.value = value;
+    }
+  }
+
+  /**
+   * @param sql  the query
+   *
+   * @return the parsed query
+   */
+  static CsvQuery parse( String sql ) throws SQLException {
+    Matcher matcher = SELECT.matcher( sql );
+    if ( !matcher.matches() ) {
+      throw new SQLFeatureNotSupportedException( "Only SELECT ... FROM table queries are supported: " + sql );
+    }
+
+    String selectList = matcher.group( 1 ).trim();
+    String[] columns = null;
+    if ( !"*".equals( selectList ) ) {
+      columns = selectList.split( "," );
+      for ( int i = 0; i < columns.length; i++ ) {
+        columns[i] = unquote( columns[i].trim() );
+      }
+    }
+
+    boolean noRows = false;
+    List<Condition> conditions = Collections.emptyList();
+    String where = matcher.group( 3 );
+    if ( where != null ) {
+      if ( "1=0".equals( where.replaceAll( "\\s+", "" ) ) ) {
+        noRows = true;
+      } else {
+        conditions = parseConditions( where, sql );
+      }
+    }
+    return new CsvQuery( unquote( matcher.group( 2 ) ), columns, noRows, conditions );
+  }
+
+  /**
+   * Splits a WHERE clause into its conditions.
+   */
+  private static List<Condition> parseConditions( String where, String sql ) throws SQLException {
+    List<String> tokens = tokenize( where, sql );
+    List<Condition> conditions = new ArrayList<Condition>();
+    for ( int i = 0; i < tokens.size(); i += 4 ) {
+      boolean valid = i + 3 <= tokens.size() && isName( tokens.get( i ) ) && isOperator( tokens.get( i + 1 ) )
+        && isValue( tokens.get( i + 2 ) );
+      if ( valid && i + 3 < tokens.size() ) {
+        // the next condition follows an AND
+        valid = i + 4 < tokens.size() && "AND".equalsIgnoreCase( tokens.get( i + 3 ) );
+      }
+      if ( !valid ) {
+        throw new SQLFeatureNotSupportedException( "Only conditions like column = value, combined with AND, are "
+          + "supported: " + sql );
+      }
+      String value = tokens.get( i + 2 );
+      if ( value.startsWith( "'" ) ) {
+        value = value.substring( 1, value.length() - 1 ).replace( "''", "'" );
+      }
+      conditions.add( new Condition( unquote( tokens.get( i ) ), tokens.get( i + 1 ), value ) );
+    }
+    return conditions;
+  }
+
+  /**
+   * Splits a WHERE clause into names, operators and values. Strings keep their quotes.
+   */
+  private static List<String> tokenize( String where, String sql ) throws SQLException {
+    List<String> tokens = new ArrayList<String>();
+    int pos = 0;
+    while ( pos < where.length() ) {
+      char c = where.charAt( pos );
+      int end = pos + 1;
+      if ( Character.isWhitespace( c ) ) {
+        pos++;
+        continue;
+      } else if ( c == '\'' || c == '"' ) {
+        // a string or quoted name, with doubled quotes inside
+        while ( true ) {
+          if ( end == where.length() ) {
+            throw new SQLException( "Unterminated quote in " + sql );
+          }
+          if ( where.charAt( end ) == c ) {
+            if ( end + 1 < where.length() && where.charAt( end + 1 ) == c ) {
+              end += 2;
+              continue;
+            }
+            break;
+          }
+          end++;
+        }
+        end++;
+      } else if ( c == '<' || c == '>' || c == '!' ) {
+        if ( end < where.length() && ( where.charAt( end ) == '=' || c == '<' && where.charAt( end ) == '>' ) ) {
+          end++;
+        }
+      } else if ( c != '=' ) {
+        while ( end < where.length() && !Character.isWhitespace( where.charAt( end ) )
+          && "<>!='\"".indexOf( where.charAt( end ) ) < 0 ) {
+          end++;
+        }
+      }
+      tokens.add( where.substring( pos, end ) );
+      pos = end;
+    }
+    return tokens;
+  }
+
+  private static boolean isName( String token ) {
+    return token.startsWith( "\"" ) || Character.isLetter( token.charAt( 0 ) ) || token.charAt( 0 ) == '_';
+  }
+
+  private static boolean isOperator( String token ) {
+    return CsvPredicate.operator( token ) >= 0;
+  }
+
+  private static boolean isValue( String token ) {
+    if ( token.startsWith( "'" ) ) {
+      return true;
+    }
+    try {
+      new BigDecimal( token );
+      return true;
+    } catch ( NumberFormatException e ) {
+      return false;
+    }
+  }
+
+  static String unquote( String name ) {
+    if ( name.length() >= 2 && name.startsWith( "\"" ) && name.endsWith( "\"" ) ) {
+      return name.substring( 1, name.length() - 1 );
+    }
+    return name;
+  }
+}
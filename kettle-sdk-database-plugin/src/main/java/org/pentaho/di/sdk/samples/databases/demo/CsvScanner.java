@@ -0,0 +1,237 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.util.Arrays;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It splits a range of a mapped CSV file into lines and fields by scanning its bytes, in the
+ * thread calling next(). For every line it only records where the fields start and how long
+ * they are.
+ *
+ * Fields may be quoted, in which case they can contain separators, line breaks and doubled
+ * quote characters. Lines end with LF or CRLF, empty lines are skipped. A line belongs to
+ * the range its first byte is in, and is read to its end even if that lies beyond the range.
+ * The range must start at the start of a line. A scanner can also read several ranges one
+ * after the other, like the blocks of a file a CsvIndex selects.
+ *
+ * When a query reads only the first columns of a file, setLastField() stops the scanner from
+ * recording the fields after them. Those fields are still scanned to find the end of the
+ * line, but cost no more than that.
+ */
+final class CsvScanner extends CsvLines {
+
+  private final long fileSize;
+  private final byte separator;
+
+  // the ranges to read, as pairs of start and end positions
+  private final long[] ranges;
+  private int range;
+
+  private long position;
+  private long end;
+  private long lineStart;
+
+  // the fields after this one are skipped without recording them
+  private int lastField = Integer.MAX_VALUE;
+
+  /**
+   * @param file     the mapped file
+   * @param options  the options of the connection
+   * @param start    the position of the first line to read
+   * @param end      the position after the last line to read
+   */
+  CsvScanner( MappedCsvFile file, CsvOptions options, long start, long end ) {
+    this( file, options, new long[] { start, end } );
+  }
+
+  /**
+   * @param file     the mapped file
+   * @param options  the options of the connection
+   * @param ranges   the start and end position of every range to read, in file order
+   */
+  CsvScanner( MappedCsvFile file, CsvOptions options, long[] ranges ) {
+    super( file, options );
+    this.fileSize = file.size();
+    this.separator = options.separator;
+    this.ranges = ranges;
+    if ( ranges.length > 0 ) {
+      position = ranges[0];
+      end = Math.min( ranges[1], fileSize );
+    }
+  }
+
+  /**
+   * Only records the fields of a line up to and including a field. The fields after it read
+   * as null.
+   */
+  void setLastField( int lastField ) {
+    this.lastField = lastField;
+  }
+
+  /**
+   * Reads the next line.
+   *
+   * @return false if there are no more lines in the range
+   */
+  boolean next() {
+    long pos = position;
+    while ( true ) {
+      // skip empty lines
+      while ( pos < end ) {
+        byte b = file.get( pos );
+        if ( b != '\n' && b != '\r' ) {
+          break;
+        }
+        pos++;
+      }
+      if ( pos < end ) {
+        break;
+      }
+      if ( range + 2 >= ranges.length ) {
+        position = pos;
+        fieldCount = 0;
+        return false;
+      }
+      // continue with the next range, unless the last line read already went past its start
+      range += 2;
+      pos = Math.max( pos, ranges[range] );
+      end = Math.min( ranges[range + 1], fileSize );
+    }
+
+    lineStart = pos;
+    fieldCount = 0;
+    for ( int field = 0; ; field++ ) {
+      long start;
+      int length;
+      byte flag = 0;
+      if ( pos < fileSize && file.get( pos ) == quote ) {
+        flag = QUOTED;
+        start = ++pos;
+        while ( pos < fileSize ) {
+          if ( file.get( pos ) == quote ) {
+            if ( pos + 1 < fileSize && file.get( pos + 1 ) == quote ) {
+              flag |= ESCAPED;
+              pos += 2;
+              continue;
+            }
+            break;
+          }
+          pos++;
+        }
+        length = (int) ( pos - start );
+        // skip the closing quote, and anything up to the next separator
+        pos = skipToEndOfField( Math.min( pos + 1, fileSize ) );
+      } else {
+        start = pos;
+        pos = skipToEndOfField( pos );
+        length = (int) ( pos - start );
+      }
+      addField( start, length, flag );
+
+      if ( pos < fileSize && file.get( pos ) == separator ) {
+        pos++;
+        if ( field == lastField ) {
+          pos = skipToEndOfLine( pos );
+          break;
+        }
+        continue;
+      }
+      break;
+    }
+
+    // skip the line break
+    if ( pos < fileSize && file.get( pos ) == '\r' ) {
+      pos++;
+    }
+    if ( pos < fileSize && file.get( pos ) == '\n' ) {
+      pos++;
+    }
+    position = pos;
+    return true;
+  }
+
+  /**
+   * Skips the fields of a line that are not recorded, from the start of a field, in a single
+   * loop. Like next() it treats a quote character as a quote only at the start of a field.
+   *
+   * @return the position of the line break, or the end of the file
+   */
+  private long skipToEndOfLine( long pos ) {
+    boolean fieldStart = true;
+    while ( pos < fileSize ) {
+      byte b = file.get( pos );
+      if ( b == quote && fieldStart ) {
+        pos++;
+        while ( pos < fileSize ) {
+          if ( file.get( pos ) == quote ) {
+            if ( pos + 1 < fileSize && file.get( pos + 1 ) == quote ) {
+              pos += 2;
+              continue;
+            }
+            break;
+          }
+          pos++;
+        }
+        fieldStart = false;
+      } else if ( b == separator ) {
+        fieldStart = true;
+      } else if ( b == '\n' || b == '\r' ) {
+        break;
+      } else {
+        fieldStart = false;
+      }
+      pos++;
+    }
+    return Math.min( pos, fileSize );
+  }
+
+  private long skipToEndOfField( long pos ) {
+    while ( pos < fileSize ) {
+      byte b = file.get( pos );
+      if ( b == separator || b == '\n' || b == '\r' ) {
+        break;
+      }
+      pos++;
+    }
+    return pos;
+  }
+
+  private void addField( long start, int length, byte flag ) {
+    if ( fieldCount == starts.length ) {
+      starts = Arrays.copyOf( starts, fieldCount * 2 );
+      lengths = Arrays.copyOf( lengths, fieldCount * 2 );
+      flags = Arrays.copyOf( flags, fieldCount * 2 );
+    }
+    starts[fieldCount] = start;
+    lengths[fieldCount] = length;
+    flags[fieldCount] = flag;
+    fieldCount++;
+  }
+
+  /**
+   * @return the position after the current line
+   */
+  long getPosition() {
+    return position;
+  }
+
+  /**
+   * @return the position of the first byte of the current line
+   */
+  long getLineStart() {
+    return lineStart;
+  }
+}
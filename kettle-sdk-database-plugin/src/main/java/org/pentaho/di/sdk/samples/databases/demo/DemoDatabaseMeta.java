@@ -112,6 +112,18 @@ public class DemoDatabaseMeta extends BaseDatabaseMeta implements DatabaseInterf
    * @return the connection string based on hostname, port and databasename.
    */
   public String getURL( String hostname, String port, String databaseName ) throws KettleDatabaseException {
+    return "jdbc:relique:csv:" + getDirectory( databaseName ).getPath();
+  }
+
+  /**
+   * Resolves the directory containing the CSV files. CSV drivers require local file paths,
+   * so a VFS path is converted to the local file it points to.
+   *
+   * @param databaseName the directory entered in the connection dialog
+   *
+   * @return the local directory
+   */
+  protected File getDirectory( String databaseName ) throws KettleDatabaseException {
     File dbName = new File( databaseName );
     if ( dbName != null && !dbName.exists() ) {
       // CSV-JDBC requires local file paths
@@ -129,7 +141,7 @@ public class DemoDatabaseMeta extends BaseDatabaseMeta implements DatabaseInterf
         throw new KettleDatabaseException( e );
       }
     }
-    return "jdbc:relique:csv:" + dbName.getPath();
+    return dbName;
   }
 
   /**
@@ -0,0 +1,123 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It is a read-only result set over rows held in memory, used to answer the questions tools
+ * ask through DatabaseMetaData, like the list of tables. All columns are Strings.
+ */
+class ListResultSet extends ResultSetAdapter {
+
+  private final String[] columnNames;
+  private final List<String[]> rows;
+
+  private int rowNumber;
+  private boolean wasNull;
+  private boolean closed;
+
+  ListResultSet( String[] columnNames, List<String[]> rows ) {
+    this.columnNames = columnNames;
+    this.rows = rows;
+  }
+
+  public boolean next() throws SQLException {
+    if ( closed ) {
+      throw new SQLException( "The result set is closed" );
+    }
+    if ( rowNumber <= rows.size() ) {
+      rowNumber++;
+    }
+    return rowNumber <= rows.size();
+  }
+
+  public void close() throws SQLException {
+    closed = true;
+  }
+
+  public boolean isClosed() throws SQLException {
+    return closed;
+  }
+
+  public boolean wasNull() throws SQLException {
+    return wasNull;
+  }
+
+  public ResultSetMetaData getMetaData() throws SQLException {
+    int[] types = new int[columnNames.length];
+    Arrays.fill( types, Types.VARCHAR );
+    return new MappedCsvResultSetMetaData( "", columnNames, types );
+  }
+
+  public Statement getStatement() throws SQLException {
+    return null;
+  }
+
+  public int findColumn( String columnLabel ) throws SQLException {
+    for ( int i = 0; i < columnNames.length; i++ ) {
+      if ( columnNames[i].equalsIgnoreCase( columnLabel ) ) {
+        return i + 1;
+      }
+    }
+    throw new SQLException( "Column not found: " + columnLabel );
+  }
+
+  public String getString( int columnIndex ) throws SQLException {
+    if ( closed || rowNumber < 1 || rowNumber > rows.size() ) {
+      throw new SQLException( "The result set is not positioned on a row" );
+    }
+    if ( columnIndex < 1 || columnIndex > columnNames.length ) {
+      throw new SQLException( "Invalid column index: " + columnIndex );
+    }
+    String value = rows.get( rowNumber - 1 )[columnIndex - 1];
+    wasNull = value == null;
+    return value;
+  }
+
+  public String getString( String columnLabel ) throws SQLException {
+    return getString( findColumn( columnLabel ) );
+  }
+
+  public Object getObject( int columnIndex ) throws SQLException {
+    return getString( columnIndex );
+  }
+
+  public Object getObject( String columnLabel ) throws SQLException {
+    return getString( findColumn( columnLabel ) );
+  }
+
+  public int getType() throws SQLException {
+    return ResultSet.TYPE_FORWARD_ONLY;
+  }
+
+  public int getConcurrency() throws SQLException {
+    return ResultSet.CONCUR_READ_ONLY;
+  }
+
+  public SQLWarning getWarnings() throws SQLException {
+    return null;
+  }
+
+  public void clearWarnings() throws SQLException {
+  }
+}
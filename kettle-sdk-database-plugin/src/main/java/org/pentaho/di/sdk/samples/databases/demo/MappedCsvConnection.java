@@ -0,0 +1,340 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It is a connection to a directory of CSV files, every file being a table named after the
+ * file without its extension. The connection is read-only and has no transactions: commit()
+ * and rollback() do nothing, as there is nothing to commit.
+ *
+ * With a parallelism option above 1, the connection has a fork-join pool of that many threads
+ * to read large files with, see ParallelCsvScan. The pool is created by the first query that
+ * needs it and shut down when the connection is closed.
+ */
+class MappedCsvConnection extends ConnectionAdapter {
+
+  private final String url;
+  private final Path directory;
+  private final CsvOptions options;
+
+  private boolean closed;
+  private ForkJoinPool pool;
+
+  MappedCsvConnection( String url, Path directory, CsvOptions options ) {
+    this.url = url;
+    this.directory = directory;
+    this.options = options;
+  }
+
+  String getUrl() {
+    return url;
+  }
+
+  CsvOptions getOptions() {
+    return options;
+  }
+
+  /**
+   * @return the pool reading large files in parallel
+   */
+  synchronized ForkJoinPool getPool() {
+    if ( pool == null ) {
+      pool = new ForkJoinPool( options.parallelism );
+    }
+    return pool;
+  }
+
+  private void checkOpen() throws SQLException {
+    if ( closed ) {
+      throw new SQLException( "The connection is closed" );
+    }
+  }
+
+  /**
+   * Executes a query for a statement of this connection.
+   *
+   * @param statement  the statement executing the query
+   * @param sql        the query
+   * @param maxRows    the maximum number of rows to return, 0 for no limit
+   *
+   * @return the result set
+   */
+  ResultSet executeQuery( Statement statement, String sql, int maxRows ) throws SQLException {
+    checkOpen();
+    CsvQuery query = CsvQuery.parse( sql );
+    Path path = resolveTable( query.tableName );
+    MappedCsvFile file = null;
+    String[] fileColumns;
+    if ( query.noRows ) {
+      // the queries PDI uses to look at the layout of a table are answered from the header
+      // cache, without opening the file
+      fileColumns = CsvHeaderCache.get( path, options ).columnNames;
+    } else {
+      file = MappedCsvFile.open( path, options );
+      fileColumns = file.getColumnNames();
+    }
+    int[] fileTypes = options.getColumnTypes( query.tableName, fileColumns.length );
+    String[] names = fileColumns;
+    int[] types = fileTypes;
+    int[] fields = new int[fileColumns.length];
+    if ( query.columns == null ) {
+      for ( int i = 0; i < fields.length; i++ ) {
+        fields[i] = i;
+      }
+    } else {
+      names = new String[query.columns.length];
+      types = new int[query.columns.length];
+      fields = new int[query.columns.length];
+      for ( int i = 0; i < query.columns.length; i++ ) {
+        fields[i] = findColumn( fileColumns, query.columns[i], query.tableName );
+        names[i] = fileColumns[fields[i]];
+        types[i] = fileTypes[fields[i]];
+      }
+    }
+
+    List<CsvPredicate> predicates = new ArrayList<CsvPredicate>();
+    for ( CsvQuery.Condition condition : query.conditions ) {
+      CsvPredicate predicate = CsvPredicate.create( condition, fileColumns, fileTypes, query.tableName );
+      if ( options.pushdown ) {
+        predicate.pushDown( options.charset );
+      }
+      predicates.add( predicate );
+    }
+
+    // with pushdown, the fields after the last one the query reads are not recorded
+    int lastField = Integer.MAX_VALUE;
+    if ( options.pushdown ) {
+      lastField = -1;
+      for ( int field : fields ) {
+        lastField = Math.max( lastField, field );
+      }
+      for ( CsvPredicate predicate : predicates ) {
+        lastField = Math.max( lastField, predicate.field );
+      }
+    }
+
+    CsvLines lines = null;
+    if ( file == null ) {
+      // the query returns no rows
+    } else if ( options.index && !predicates.isEmpty() ) {
+      // read only the parts of the file the index selects
+      CsvScanner scanner =
+        new CsvScanner( file, options, CsvIndex.get( file, options, query.tableName ).select( predicates ) );
+      scanner.setLastField( lastField );
+      lines = scanner;
+    } else if ( options.parallelism > 1 ) {
+      lines = ParallelCsvScan.open( file, options, getPool(), lastField );
+    } else {
+      CsvScanner scanner = new CsvScanner( file, options, file.getDataStart(), file.size() );
+      scanner.setLastField( lastField );
+      lines = scanner;
+    }
+    return new MappedCsvResultSet( statement, query.tableName, names, types, fields, lines, predicates, maxRows );
+  }
+
+  static int findColumn( String[] columnNames, String name, String tableName ) throws SQLException {
+    for ( int i = 0; i < columnNames.length; i++ ) {
+      if ( columnNames[i].equalsIgnoreCase( name ) ) {
+        return i;
+      }
+    }
+    throw new SQLException( "Column " + name + " not found in table " + tableName );
+  }
+
+  /**
+   * Finds the file of a table: the table name with the file extension, or the table name as
+   * it is, in the directory of the connection. Names are matched case insensitively if there
+   * is no exact match.
+   *
+   * @return the file of the table
+   */
+  Path resolveTable( String tableName ) throws SQLException {
+    for ( String name : new String[] { tableName + options.fileExtension, tableName } ) {
+      Path file = directory.resolve( name ).normalize();
+      if ( directory.equals( file.getParent() ) && Files.isRegularFile( file ) ) {
+        return file;
+      }
+    }
+    for ( String name : listTables() ) {
+      if ( name.equalsIgnoreCase( tableName ) ) {
+        return directory.resolve( name + options.fileExtension );
+      }
+    }
+    throw new SQLException( "Table " + tableName + " not found in " + directory );
+  }
+
+  /**
+   * @return the names of the tables in the directory, sorted
+   */
+  List<String> listTables() throws SQLException {
+    List<String> tables = new ArrayList<String>();
+    String extension = options.fileExtension.toLowerCase();
+    try ( DirectoryStream<Path> files = Files.newDirectoryStream( directory ) ) {
+      for ( Path file : files ) {
+        String name = file.getFileName().toString();
+        if ( name.toLowerCase().endsWith( extension ) && !name.endsWith( CsvIndex.SUFFIX )
+          && Files.isRegularFile( file ) ) {
+          tables.add( name.substring( 0, name.length() - extension.length() ) );
+        }
+      }
+    } catch ( IOException e ) {
+      throw new SQLException( "Unable to list the files in " + directory, e );
+    }
+    Collections.sort( tables );
+    return tables;
+  }
+
+  public Statement createStatement() throws SQLException {
+    checkOpen();
+    return new MappedCsvStatement( this, null );
+  }
+
+  public Statement createStatement( int resultSetType, int resultSetConcurrency ) throws SQLException {
+    return createStatement();
+  }
+
+  public Statement createStatement( int resultSetType, int resultSetConcurrency, int resultSetHoldability ) throws SQLException {
+    return createStatement();
+  }
+
+  public PreparedStatement prepareStatement( String sql ) throws SQLException {
+    checkOpen();
+    CsvQuery.parse( sql );
+    return new MappedCsvStatement( this, sql );
+  }
+
+  public PreparedStatement prepareStatement( String sql, int resultSetType, int resultSetConcurrency ) throws SQLException {
+    return prepareStatement( sql );
+  }
+
+  public PreparedStatement prepareStatement( String sql, int resultSetType, int resultSetConcurrency,
+    int resultSetHoldability ) throws SQLException {
+    return prepareStatement( sql );
+  }
+
+  public PreparedStatement prepareStatement( String sql, int autoGeneratedKeys ) throws SQLException {
+    return prepareStatement( sql );
+  }
+
+  public String nativeSQL( String sql ) throws SQLException {
+    return sql;
+  }
+
+  public DatabaseMetaData getMetaData() throws SQLException {
+    checkOpen();
+    return new MappedCsvDatabaseMetaData( this );
+  }
+
+  public boolean getAutoCommit() throws SQLException {
+    return true;
+  }
+
+  public void setAutoCommit( boolean autoCommit ) throws SQLException {
+  }
+
+  public void commit() throws SQLException {
+  }
+
+  public void rollback() throws SQLException {
+  }
+
+  public int getTransactionIsolation() throws SQLException {
+    return Connection.TRANSACTION_NONE;
+  }
+
+  public void setTransactionIsolation( int level ) throws SQLException {
+  }
+
+  public boolean isReadOnly() throws SQLException {
+    return true;
+  }
+
+  public void setReadOnly( boolean readOnly ) throws SQLException {
+  }
+
+  public int getHoldability() throws SQLException {
+    return ResultSet.CLOSE_CURSORS_AT_COMMIT;
+  }
+
+  public void setHoldability( int holdability ) throws SQLException {
+  }
+
+  public String getCatalog() throws SQLException {
+    return null;
+  }
+
+  public void setCatalog( String catalog ) throws SQLException {
+  }
+
+  public String getSchema() throws SQLException {
+    return null;
+  }
+
+  public void setSchema( String schema ) throws SQLException {
+  }
+
+  public Map<String, Class<?>> getTypeMap() throws SQLException {
+    return new HashMap<String, Class<?>>();
+  }
+
+  public Properties getClientInfo() throws SQLException {
+    return new Properties();
+  }
+
+  public String getClientInfo( String name ) throws SQLException {
+    return null;
+  }
+
+  public SQLWarning getWarnings() throws SQLException {
+    return null;
+  }
+
+  public void clearWarnings() throws SQLException {
+  }
+
+  public boolean isValid( int timeout ) throws SQLException {
+    return !closed && Files.isDirectory( directory );
+  }
+
+  public synchronized void close() throws SQLException {
+    closed = true;
+    if ( pool != null ) {
+      pool.shutdown();
+    }
+  }
+
+  public boolean isClosed() throws SQLException {
+    return closed;
+  }
+}
@@ -0,0 +1,100 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import org.pentaho.di.core.database.DatabaseInterface;
+import org.pentaho.di.core.exception.KettleDatabaseException;
+import org.pentaho.di.core.plugins.DatabaseMetaPlugin;
+
+/**
+ * This class implements the PDI DatabaseInterface for the memory-mapped CSV driver that comes
+ * with this plug-in, see MappedCsvDriver.
+ *
+ * It treats a directory of csv files like DemoDatabaseMeta does, and takes the same options
+ * for the separator, quote character, file extension, charset, headers and column types. The
+ * driver scans the mapped bytes of the files instead of reading them line by line, which makes
+ * it the better choice for large files. Only simple queries are supported though: a list of
+ * columns or * from a single table, with conditions comparing columns to values, combined
+ * with AND. See CsvQuery for the details.
+ *
+ * As the driver is part of the plug-in, no additional jar files are needed.
+ */
+@DatabaseMetaPlugin(
+  type = "MAPPEDCSV",
+  typeDescription = "Memory-mapped CSV"
+  )
+public class MappedCsvDatabaseMeta extends DemoDatabaseMeta implements DatabaseInterface {
+
+  /**
+   * Returns the name of the JDBC driver class to use for this type of database
+   */
+  public String getDriverClass() {
+    return MappedCsvDriver.class.getName();
+  }
+
+  /**
+   * @param hostname     ignored in this implementation
+   * @param port         ignored in this implementation
+   * @param databaseName the directory containing CSV files.
+   *
+   * @return the connection string based on hostname, port and databasename.
+   */
+  public String getURL( String hostname, String port, String databaseName ) throws KettleDatabaseException {
+    return MappedCsvDriver.URL_PREFIX + getDirectory( databaseName ).getPath();
+  }
+
+  /**
+   * Indicates that the options of the "options" section of the database connection dialog are
+   * appended to the connection URL, so they show up in it. The driver reads them from the URL,
+   * see MappedCsvDriver. Besides the CsvJdbc options, the parallelism, splitSize and
+   * preserveOrder options tune how large files are read.
+   */
+  public boolean supportsOptionsInURL() {
+    return true;
+  }
+
+  /**
+   * The driver reads the options after a ? at the end of the URL
+   */
+  public String getExtraOptionIndicator() {
+    return "?";
+  }
+
+  /**
+   * The options in the URL are separated by &, like in the query string of a web address
+   */
+  public String getExtraOptionSeparator() {
+    return "&";
+  }
+
+  /**
+   * There is no web page describing the options of this driver, they are listed in CsvOptions.
+   */
+  public String getExtraOptionsHelpText() {
+    return null;
+  }
+
+  /**
+   * Returns reserved words for the memory-mapped CSV driver
+   */
+  public String[] getReservedWords() {
+    return new String[] { "SELECT", "FROM", "WHERE", "AND" };
+  }
+
+  /**
+   * The driver is part of the plug-in, so no jar files are required.
+   */
+  public String[] getUsedLibraries() {
+    return new String[0];
+  }
+}
@@ -0,0 +1,175 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It describes the driver and the tables of a connection to tools like the database explorer
+ * of Spoon. Features not mentioned here are reported as not supported.
+ */
+class MappedCsvDatabaseMetaData extends DatabaseMetaDataAdapter {
+
+  private final MappedCsvConnection connection;
+
+  MappedCsvDatabaseMetaData( MappedCsvConnection connection ) {
+    this.connection = connection;
+  }
+
+  public Connection getConnection() throws SQLException {
+    return connection;
+  }
+
+  public String getURL() throws SQLException {
+    return connection.getUrl();
+  }
+
+  public String getUserName() throws SQLException {
+    return "";
+  }
+
+  public String getDatabaseProductName() throws SQLException {
+    return "Memory-mapped CSV";
+  }
+
+  public String getDatabaseProductVersion() throws SQLException {
+    return MappedCsvDriver.MAJOR_VERSION + "." + MappedCsvDriver.MINOR_VERSION;
+  }
+
+  public int getDatabaseMajorVersion() throws SQLException {
+    return MappedCsvDriver.MAJOR_VERSION;
+  }
+
+  public int getDatabaseMinorVersion() throws SQLException {
+    return MappedCsvDriver.MINOR_VERSION;
+  }
+
+  public String getDriverName() throws SQLException {
+    return MappedCsvDriver.class.getName();
+  }
+
+  public String getDriverVersion() throws SQLException {
+    return getDatabaseProductVersion();
+  }
+
+  public int getDriverMajorVersion() {
+    return MappedCsvDriver.MAJOR_VERSION;
+  }
+
+  public int getDriverMinorVersion() {
+    return MappedCsvDriver.MINOR_VERSION;
+  }
+
+  public int getJDBCMajorVersion() throws SQLException {
+    return 4;
+  }
+
+  public String getIdentifierQuoteString() throws SQLException {
+    return "\"";
+  }
+
+  public String getSQLKeywords() throws SQLException {
+    return "";
+  }
+
+  public String getCatalogSeparator() throws SQLException {
+    return ".";
+  }
+
+  public String getCatalogTerm() throws SQLException {
+    return "catalog";
+  }
+
+  public String getSchemaTerm() throws SQLException {
+    return "schema";
+  }
+
+  public String getTableTerm() throws SQLException {
+    return "table";
+  }
+
+  public boolean isReadOnly() throws SQLException {
+    return true;
+  }
+
+  public int getDefaultTransactionIsolation() throws SQLException {
+    return Connection.TRANSACTION_NONE;
+  }
+
+  public boolean supportsResultSetType( int type ) throws SQLException {
+    return type == ResultSet.TYPE_FORWARD_ONLY;
+  }
+
+  public boolean supportsResultSetConcurrency( int type, int concurrency ) throws SQLException {
+    return type == ResultSet.TYPE_FORWARD_ONLY && concurrency == ResultSet.CONCUR_READ_ONLY;
+  }
+
+  /**
+   * Lists the tables of the connection, every CSV file in its directory.
+   */
+  public ResultSet getTables( String catalog, String schemaPattern, String tableNamePattern, String[] types )
+    throws SQLException {
+    List<String[]> rows = new ArrayList<String[]>();
+    boolean tables = types == null;
+    for ( int i = 0; types != null && i < types.length; i++ ) {
+      tables |= "TABLE".equalsIgnoreCase( types[i] );
+    }
+    if ( tables ) {
+      for ( String name : connection.listTables() ) {
+        if ( tableNamePattern == null || matches( name, tableNamePattern ) ) {
+          rows.add( new String[] { null, null, name, "TABLE", null, null, null, null, null, null } );
+        }
+      }
+    }
+    return new ListResultSet( new String[] { "TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "TABLE_TYPE", "REMARKS",
+      "TYPE_CAT", "TYPE_SCHEM", "TYPE_NAME", "SELF_REFERENCING_COL_NAME", "REF_GENERATION" }, rows );
+  }
+
+  public ResultSet getTableTypes() throws SQLException {
+    return new ListResultSet( new String[] { "TABLE_TYPE" }, Collections.singletonList( new String[] { "TABLE" } ) );
+  }
+
+  public ResultSet getSchemas() throws SQLException {
+    return new ListResultSet( new String[] { "TABLE_SCHEM", "TABLE_CATALOG" }, new ArrayList<String[]>() );
+  }
+
+  public ResultSet getCatalogs() throws SQLException {
+    return new ListResultSet( new String[] { "TABLE_CAT" }, new ArrayList<String[]>() );
+  }
+
+  /**
+   * @return true if a name matches a JDBC search pattern, with _ for any character and % for
+   *         any number of characters
+   */
+  static boolean matches( String name, String pattern ) {
+    StringBuilder regex = new StringBuilder();
+    for ( char c : pattern.toCharArray() ) {
+      if ( c == '%' ) {
+        regex.append( ".*" );
+      } else if ( c == '_' ) {
+        regex.append( '.' );
+      } else {
+        regex.append( Pattern.quote( String.valueOf( c ) ) );
+      }
+    }
+    return Pattern.compile( regex.toString(), Pattern.CASE_INSENSITIVE ).matcher( name ).matches();
+  }
+}
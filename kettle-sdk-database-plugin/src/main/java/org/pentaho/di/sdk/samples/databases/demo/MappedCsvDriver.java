@@ -0,0 +1,151 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Properties;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It is a JDBC driver serving the CSV files of a directory as tables, like the CsvJdbc
+ * driver used by DemoDatabaseMeta. Instead of reading the files through a Reader and
+ * splitting every line into Strings, it maps the files into memory and scans their bytes,
+ * converting a field only when its value is read. This makes a large difference for big
+ * files, which are mostly parse-bound with CsvJdbc.
+ *
+ * The URL of a connection is jdbc:demo:mappedcsv:[directory]. The options of the connection,
+ * described in CsvOptions, are passed as connection properties, or appended to the URL like
+ * jdbc:demo:mappedcsv:[directory]?parallelism=4&splitSize=8388608. Options in the URL take
+ * precedence over the properties. Option values in the URL may be URL-encoded, like
+ * separator=%26. An unencoded & only separates options when it is followed by the name of
+ * the next option and =, so separator=& and separator=; work as typed in the connection
+ * dialog of PDI too. Only simple queries are supported, see CsvQuery.
+ */
+public class MappedCsvDriver implements Driver {
+
+  /**
+   * The start of the URLs accepted by the driver
+   */
+  public static final String URL_PREFIX = "jdbc:demo:mappedcsv:";
+
+  static final int MAJOR_VERSION = 1;
+  static final int MINOR_VERSION = 0;
+
+  // an & followed by the name of an option and =, which starts the next option in a URL
+  private static final Pattern OPTION_SEPARATOR = Pattern.compile( "&(?=[A-Za-z_][\\w.]*=)" );
+
+  static {
+    try {
+      DriverManager.registerDriver( new MappedCsvDriver() );
+    } catch ( SQLException e ) {
+      throw new ExceptionInInitializerError( e );
+    }
+  }
+
+  public Connection connect( String url, Properties info ) throws SQLException {
+    if ( !acceptsURL( url ) ) {
+      return null;
+    }
+    Properties properties = new Properties();
+    if ( info != null ) {
+      properties.putAll( info );
+    }
+    String location = url.substring( URL_PREFIX.length() );
+    int optionsStart = location.indexOf( '?' );
+    if ( optionsStart >= 0 ) {
+      for ( String option : OPTION_SEPARATOR.split( location.substring( optionsStart + 1 ) ) ) {
+        int equals = option.indexOf( '=' );
+        if ( equals > 0 ) {
+          properties.setProperty( option.substring( 0, equals ), decode( option.substring( equals + 1 ), url ) );
+        } else if ( !option.isEmpty() ) {
+          throw new SQLException( "Invalid option in URL " + url + ": " + option );
+        }
+      }
+      location = location.substring( 0, optionsStart );
+    }
+    Path directory = Paths.get( location.isEmpty() ? "." : location ).toAbsolutePath().normalize();
+    if ( !Files.isDirectory( directory ) ) {
+      throw new SQLException( "Directory not found: " + directory );
+    }
+    return new MappedCsvConnection( url, directory, new CsvOptions( properties ) );
+  }
+
+  /**
+   * Decodes the URL-encoded value of an option. A + stays a +, as it is a valid separator.
+   */
+  private static String decode( String value, String url ) throws SQLException {
+    try {
+      return URLDecoder.decode( value.replace( "+", "%2B" ), StandardCharsets.UTF_8.name() );
+    } catch ( IllegalArgumentException | UnsupportedEncodingException e ) {
+      throw new SQLException( "Invalid option value in URL " + url + ": " + value, e );
+    }
+  }
+
+  public boolean acceptsURL( String url ) throws SQLException {
+    return url != null && url.startsWith( URL_PREFIX );
+  }
+
+  public DriverPropertyInfo[] getPropertyInfo( String url, Properties info ) throws SQLException {
+    String[][] options = {
+      { CsvOptions.SEPARATOR, "The field separator, ',' by default" },
+      { CsvOptions.QUOTE_CHAR, "The quote character, '\"' by default" },
+      { CsvOptions.FILE_EXTENSION, "The extension of the table files, '.csv' by default" },
+      { CsvOptions.CHARSET, "The encoding of the files, UTF-8 by default" },
+      { CsvOptions.SUPPRESS_HEADERS, "'true' if the files have no header line" },
+      { CsvOptions.COLUMN_TYPES, "The types of the columns, like 'Integer,String,Date'" },
+      { CsvOptions.PARALLELISM, "The number of threads reading a file, 1 by default, 0 for one per processor" },
+      { CsvOptions.SPLIT_SIZE, "The number of bytes of a file read by a thread at a time, 4 MB by default" },
+      { CsvOptions.PRESERVE_ORDER, "'false' to return the lines read by several threads in any order" },
+      { CsvOptions.INDEX, "'true' to keep block indexes of the files in .idx files next to them" },
+      { CsvOptions.INDEX_BLOCK_LINES, "The number of lines of an index block, 4096 by default" },
+      { CsvOptions.INDEX_KEY, "The column to keep a sorted key index of, or indexKey.[table] for a single table" },
+      { CsvOptions.PUSHDOWN, "'false' to read all fields and compare them as Java values" },
+    };
+    DriverPropertyInfo[] properties = new DriverPropertyInfo[options.length];
+    for ( int i = 0; i < options.length; i++ ) {
+      properties[i] = new DriverPropertyInfo( options[i][0], info == null ? null : info.getProperty( options[i][0] ) );
+      properties[i].description = options[i][1];
+    }
+    return properties;
+  }
+
+  public int getMajorVersion() {
+    return MAJOR_VERSION;
+  }
+
+  public int getMinorVersion() {
+    return MINOR_VERSION;
+  }
+
+  public boolean jdbcCompliant() {
+    return false;
+  }
+
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    throw new SQLFeatureNotSupportedException( "The memory-mapped CSV driver does not use java.util.logging" );
+  }
+}
@@ -0,0 +1,154 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It maps a CSV file into memory. Reading the file then means reading bytes from memory:
+ * the operating system loads the pages of the file when they are first touched and keeps
+ * them in its page cache, so repeated queries on the same file do not read the disk again,
+ * and no data is copied into Java buffers or decoded into Strings before it is needed.
+ *
+ * A single mapping is limited to 2 GB, so larger files are mapped in segments of 1 GB.
+ * The mappings are released by the garbage collector, once the file is no longer used.
+ */
+final class MappedCsvFile {
+
+  static final int SEGMENT_BITS = 30;
+  static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+  static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+  private final Path path;
+  private final long size;
+  private final long lastModified;
+  private final MappedByteBuffer[] segments;
+
+  // the names of the columns, and the position of the first data line
+  private CsvHeaderCache.Header header;
+
+  private MappedCsvFile( Path path ) throws IOException {
+    this.path = path;
+    try ( FileChannel channel = FileChannel.open( path, StandardOpenOption.READ ) ) {
+      size = channel.size();
+      lastModified = Files.getLastModifiedTime( path ).toMillis();
+      segments = new MappedByteBuffer[(int) ( ( size + SEGMENT_SIZE - 1 ) >>> SEGMENT_BITS )];
+      for ( int i = 0; i < segments.length; i++ ) {
+        long start = (long) i << SEGMENT_BITS;
+        segments[i] = channel.map( FileChannel.MapMode.READ_ONLY, start, Math.min( SEGMENT_SIZE, size - start ) );
+      }
+    }
+  }
+
+  /**
+   * Maps a CSV file and reads its header line, unless the header is in the CsvHeaderCache.
+   *
+   * @param path     the file
+   * @param options  the options of the connection
+   *
+   * @return the mapped file
+   */
+  static MappedCsvFile open( Path path, CsvOptions options ) throws SQLException {
+    MappedCsvFile file;
+    try {
+      file = new MappedCsvFile( path );
+    } catch ( IOException e ) {
+      throw new SQLException( "Unable to open " + path, e );
+    }
+
+    CsvHeaderCache.Header header = CsvHeaderCache.get( path, options, file.size, file.lastModified );
+    if ( header == null ) {
+      header = file.readHeader( options );
+      CsvHeaderCache.put( path, options, header );
+    }
+    file.header = header;
+    return file;
+  }
+
+  private CsvHeaderCache.Header readHeader( CsvOptions options ) {
+    CsvScanner scanner = new CsvScanner( this, options, 0, size );
+    if ( !scanner.next() ) {
+      return new CsvHeaderCache.Header( size, lastModified, new String[0], size );
+    }
+    String[] names = new String[scanner.getFieldCount()];
+    for ( int i = 0; i < names.length; i++ ) {
+      String name = options.headerLine ? scanner.getString( i ) : null;
+      names[i] = name == null || name.trim().isEmpty() ? "COLUMN" + ( i + 1 ) : name.trim();
+    }
+    return new CsvHeaderCache.Header( size, lastModified, names, options.headerLine ? scanner.getPosition() : 0 );
+  }
+
+  /**
+   * @return the byte at a position of the file
+   */
+  byte get( long position ) {
+    return segments[(int) ( position >>> SEGMENT_BITS )].get( (int) ( position & SEGMENT_MASK ) );
+  }
+
+  /**
+   * Copies bytes of the file to an array.
+   *
+   * @param position  the position of the first byte in the file
+   * @param target    the array to copy to, from its start
+   * @param length    the number of bytes to copy
+   */
+  void copy( long position, byte[] target, int length ) {
+    MappedByteBuffer segment = segments[(int) ( position >>> SEGMENT_BITS )];
+    int offset = (int) ( position & SEGMENT_MASK );
+    if ( offset + length <= segment.limit() ) {
+      for ( int i = 0; i < length; i++ ) {
+        target[i] = segment.get( offset + i );
+      }
+    } else {
+      // the bytes span two segments
+      for ( int i = 0; i < length; i++ ) {
+        target[i] = get( position + i );
+      }
+    }
+  }
+
+  Path getPath() {
+    return path;
+  }
+
+  long size() {
+    return size;
+  }
+
+  long getLastModified() {
+    return lastModified;
+  }
+
+  CsvHeaderCache.Header getHeader() {
+    return header;
+  }
+
+  String[] getColumnNames() {
+    return header.columnNames;
+  }
+
+  /**
+   * @return the position of the first line after the header line
+   */
+  long getDataStart() {
+    return header.dataStart;
+  }
+}
@@ -0,0 +1,406 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It is the result set of a query on a CSV file, reading the lines of the file one by one as
+ * next() is called. Values are converted to the type asked for when a getter is called, from
+ * the bytes of the field in the mapped file; columns that are not read are never converted.
+ * Empty fields are null, whatever the type of the column. Lines that do not meet the
+ * conditions of the query are skipped.
+ */
+class MappedCsvResultSet extends ResultSetAdapter {
+
+  private final Statement statement;
+  private final String tableName;
+  private final String[] columnNames;
+  private final int[] columnTypes;
+
+  // the field of the file read for each column of the result
+  private final int[] fields;
+
+  // the lines of the file, null if the query returns no rows
+  private final CsvLines lines;
+  private final CsvPredicate[] predicates;
+  private final long maxRows;
+
+  private long rowNumber;
+  private boolean onRow;
+  private boolean wasNull;
+  private boolean closed;
+  private int fetchSize;
+
+  /**
+   * @param statement    the statement that executed the query
+   * @param tableName    the name of the table queried
+   * @param columnNames  the names of the columns of the result
+   * @param columnTypes  the types of the columns, java.sql.Types constants
+   * @param fields       the field of the file read for each column
+   * @param lines        the lines of the file, or null if the query returns no rows
+   * @param predicates   the conditions the lines must meet
+   * @param maxRows      the maximum number of rows to return, 0 for no limit
+   */
+  MappedCsvResultSet( Statement statement, String tableName, String[] columnNames, int[] columnTypes, int[] fields,
+    CsvLines lines, List<CsvPredicate> predicates, long maxRows ) {
+    this.statement = statement;
+    this.tableName = tableName;
+    this.columnNames = columnNames;
+    this.columnTypes = columnTypes;
+    this.fields = fields;
+    this.lines = lines;
+    this.predicates = predicates.toArray( new CsvPredicate[0] );
+    this.maxRows = maxRows;
+  }
+
+  public boolean next() throws SQLException {
+    checkOpen();
+    onRow = false;
+    if ( lines != null && ( maxRows <= 0 || rowNumber < maxRows ) ) {
+      while ( !onRow && lines.next() ) {
+        onRow = matches();
+      }
+    }
+    if ( onRow ) {
+      rowNumber++;
+    }
+    return onRow;
+  }
+
+  private boolean matches() throws SQLException {
+    for ( CsvPredicate predicate : predicates ) {
+      if ( !predicate.matches( lines ) ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public void close() throws SQLException {
+    if ( !closed && lines != null ) {
+      lines.close();
+    }
+    closed = true;
+    onRow = false;
+  }
+
+  public boolean isClosed() throws SQLException {
+    return closed;
+  }
+
+  public boolean wasNull() throws SQLException {
+    return wasNull;
+  }
+
+  public ResultSetMetaData getMetaData() throws SQLException {
+    checkOpen();
+    return new MappedCsvResultSetMetaData( tableName, columnNames, columnTypes );
+  }
+
+  public Statement getStatement() throws SQLException {
+    return statement;
+  }
+
+  public int findColumn( String columnLabel ) throws SQLException {
+    for ( int i = 0; i < columnNames.length; i++ ) {
+      if ( columnNames[i].equalsIgnoreCase( columnLabel ) ) {
+        return i + 1;
+      }
+    }
+    throw new SQLException( "Column not found: " + columnLabel );
+  }
+
+  private void checkOpen() throws SQLException {
+    if ( closed ) {
+      throw new SQLException( "The result set is closed" );
+    }
+  }
+
+  /**
+   * Checks a column can be read, and remembers whether its value is null.
+   *
+   * @return the field of the file to read
+   */
+  private int field( int columnIndex ) throws SQLException {
+    checkOpen();
+    if ( !onRow ) {
+      throw new SQLException( "The result set is not positioned on a row" );
+    }
+    if ( columnIndex < 1 || columnIndex > fields.length ) {
+      throw new SQLException( "Invalid column index: " + columnIndex );
+    }
+    int field = fields[columnIndex - 1];
+    wasNull = lines.isNull( field );
+    return field;
+  }
+
+  private SQLException conversionError( int columnIndex, String type, RuntimeException e ) {
+    return new SQLException( "Unable to convert the value of column " + columnNames[columnIndex - 1] + " on row "
+      + rowNumber + " to " + type + ": " + lines.getString( fields[columnIndex - 1] ), e );
+  }
+
+  public String getString( int columnIndex ) throws SQLException {
+    int field = field( columnIndex );
+    return wasNull ? null : lines.getString( field );
+  }
+
+  public long getLong( int columnIndex ) throws SQLException {
+    int field = field( columnIndex );
+    if ( wasNull ) {
+      return 0L;
+    }
+    try {
+      return lines.getLong( field );
+    } catch ( NumberFormatException e ) {
+      throw conversionError( columnIndex, "a whole number", e );
+    }
+  }
+
+  public int getInt( int columnIndex ) throws SQLException {
+    return (int) getLong( columnIndex );
+  }
+
+  public short getShort( int columnIndex ) throws SQLException {
+    return (short) getLong( columnIndex );
+  }
+
+  public byte getByte( int columnIndex ) throws SQLException {
+    return (byte) getLong( columnIndex );
+  }
+
+  public double getDouble( int columnIndex ) throws SQLException {
+    int field = field( columnIndex );
+    if ( wasNull ) {
+      return 0.0;
+    }
+    try {
+      return Double.parseDouble( lines.getString( field ).trim() );
+    } catch ( NumberFormatException e ) {
+      throw conversionError( columnIndex, "a number", e );
+    }
+  }
+
+  public float getFloat( int columnIndex ) throws SQLException {
+    return (float) getDouble( columnIndex );
+  }
+
+  public BigDecimal getBigDecimal( int columnIndex ) throws SQLException {
+    int field = field( columnIndex );
+    if ( wasNull ) {
+      return null;
+    }
+    try {
+      return new BigDecimal( lines.getString( field ).trim() );
+    } catch ( NumberFormatException e ) {
+      throw conversionError( columnIndex, "a decimal number", e );
+    }
+  }
+
+  public boolean getBoolean( int columnIndex ) throws SQLException {
+    String value = getString( columnIndex );
+    if ( value == null ) {
+      return false;
+    }
+    value = value.trim();
+    return "true".equalsIgnoreCase( value ) || "y".equalsIgnoreCase( value ) || "yes".equalsIgnoreCase( value )
+      || "1".equals( value );
+  }
+
+  public Date getDate( int columnIndex ) throws SQLException {
+    String value = getString( columnIndex );
+    if ( value == null ) {
+      return null;
+    }
+    try {
+      // a timestamp is cut down to its date
+      value = value.trim();
+      return Date.valueOf( value.length() > 10 ? value.substring( 0, 10 ) : value );
+    } catch ( IllegalArgumentException e ) {
+      throw conversionError( columnIndex, "a date (yyyy-mm-dd)", e );
+    }
+  }
+
+  public Time getTime( int columnIndex ) throws SQLException {
+    String value = getString( columnIndex );
+    if ( value == null ) {
+      return null;
+    }
+    try {
+      return Time.valueOf( value.trim() );
+    } catch ( IllegalArgumentException e ) {
+      throw conversionError( columnIndex, "a time (hh:mm:ss)", e );
+    }
+  }
+
+  public Timestamp getTimestamp( int columnIndex ) throws SQLException {
+    String value = getString( columnIndex );
+    if ( value == null ) {
+      return null;
+    }
+    try {
+      // a date is read as midnight of that day
+      value = value.trim();
+      return value.length() == 10 ? new Timestamp( Date.valueOf( value ).getTime() ) : Timestamp.valueOf( value );
+    } catch ( IllegalArgumentException e ) {
+      throw conversionError( columnIndex, "a timestamp (yyyy-mm-dd hh:mm:ss)", e );
+    }
+  }
+
+  public byte[] getBytes( int columnIndex ) throws SQLException {
+    String value = getString( columnIndex );
+    return value == null ? null : value.getBytes( StandardCharsets.UTF_8 );
+  }
+
+  public Object getObject( int columnIndex ) throws SQLException {
+    field( columnIndex );
+    if ( wasNull ) {
+      return null;
+    }
+    switch ( columnTypes[columnIndex - 1] ) {
+      case Types.INTEGER:
+        return getInt( columnIndex );
+      case Types.BIGINT:
+        return getLong( columnIndex );
+      case Types.DOUBLE:
+        return getDouble( columnIndex );
+      case Types.DECIMAL:
+        return getBigDecimal( columnIndex );
+      case Types.BOOLEAN:
+        return getBoolean( columnIndex );
+      case Types.DATE:
+        return getDate( columnIndex );
+      case Types.TIME:
+        return getTime( columnIndex );
+      case Types.TIMESTAMP:
+        return getTimestamp( columnIndex );
+      default:
+        return getString( columnIndex );
+    }
+  }
+
+  public String getString( String columnLabel ) throws SQLException {
+    return getString( findColumn( columnLabel ) );
+  }
+
+  public long getLong( String columnLabel ) throws SQLException {
+    return getLong( findColumn( columnLabel ) );
+  }
+
+  public int getInt( String columnLabel ) throws SQLException {
+    return getInt( findColumn( columnLabel ) );
+  }
+
+  public short getShort( String columnLabel ) throws SQLException {
+    return getShort( findColumn( columnLabel ) );
+  }
+
+  public byte getByte( String columnLabel ) throws SQLException {
+    return getByte( findColumn( columnLabel ) );
+  }
+
+  public double getDouble( String columnLabel ) throws SQLException {
+    return getDouble( findColumn( columnLabel ) );
+  }
+
+  public float getFloat( String columnLabel ) throws SQLException {
+    return getFloat( findColumn( columnLabel ) );
+  }
+
+  public BigDecimal getBigDecimal( String columnLabel ) throws SQLException {
+    return getBigDecimal( findColumn( columnLabel ) );
+  }
+
+  public boolean getBoolean( String columnLabel ) throws SQLException {
+    return getBoolean( findColumn( columnLabel ) );
+  }
+
+  public Date getDate( String columnLabel ) throws SQLException {
+    return getDate( findColumn( columnLabel ) );
+  }
+
+  public Time getTime( String columnLabel ) throws SQLException {
+    return getTime( findColumn( columnLabel ) );
+  }
+
+  public Timestamp getTimestamp( String columnLabel ) throws SQLException {
+    return getTimestamp( findColumn( columnLabel ) );
+  }
+
+  public byte[] getBytes( String columnLabel ) throws SQLException {
+    return getBytes( findColumn( columnLabel ) );
+  }
+
+  public Object getObject( String columnLabel ) throws SQLException {
+    return getObject( findColumn( columnLabel ) );
+  }
+
+  public int getRow() throws SQLException {
+    return onRow ? (int) rowNumber : 0;
+  }
+
+  public boolean isBeforeFirst() throws SQLException {
+    return rowNumber == 0;
+  }
+
+  public int getType() throws SQLException {
+    return ResultSet.TYPE_FORWARD_ONLY;
+  }
+
+  public int getConcurrency() throws SQLException {
+    return ResultSet.CONCUR_READ_ONLY;
+  }
+
+  public int getHoldability() throws SQLException {
+    return ResultSet.CLOSE_CURSORS_AT_COMMIT;
+  }
+
+  public int getFetchDirection() throws SQLException {
+    return ResultSet.FETCH_FORWARD;
+  }
+
+  public void setFetchDirection( int direction ) throws SQLException {
+    if ( direction != ResultSet.FETCH_FORWARD ) {
+      throw notSupported( "setFetchDirection" );
+    }
+  }
+
+  public int getFetchSize() throws SQLException {
+    return fetchSize;
+  }
+
+  public void setFetchSize( int rows ) throws SQLException {
+    // the rows are read straight from the mapped file, there is nothing to fetch ahead
+    fetchSize = rows;
+  }
+
+  public SQLWarning getWarnings() throws SQLException {
+    return null;
+  }
+
+  public void clearWarnings() throws SQLException {
+  }
+}
@@ -0,0 +1,166 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.JDBCType;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It describes the columns of a result set: their names and their types, as configured with
+ * the columnTypes option. CSV files do not declare lengths or precisions, so these are
+ * reported as unknown (0).
+ */
+class MappedCsvResultSetMetaData extends ResultSetMetaDataAdapter {
+
+  private final String tableName;
+  private final String[] columnNames;
+  private final int[] columnTypes;
+
+  MappedCsvResultSetMetaData( String tableName, String[] columnNames, int[] columnTypes ) {
+    this.tableName = tableName;
+    this.columnNames = columnNames;
+    this.columnTypes = columnTypes;
+  }
+
+  private int index( int column ) throws SQLException {
+    if ( column < 1 || column > columnNames.length ) {
+      throw new SQLException( "Invalid column index: " + column );
+    }
+    return column - 1;
+  }
+
+  public int getColumnCount() throws SQLException {
+    return columnNames.length;
+  }
+
+  public String getColumnName( int column ) throws SQLException {
+    return columnNames[index( column )];
+  }
+
+  public String getColumnLabel( int column ) throws SQLException {
+    return columnNames[index( column )];
+  }
+
+  public int getColumnType( int column ) throws SQLException {
+    return columnTypes[index( column )];
+  }
+
+  public String getColumnTypeName( int column ) throws SQLException {
+    return JDBCType.valueOf( getColumnType( column ) ).getName();
+  }
+
+  public String getColumnClassName( int column ) throws SQLException {
+    switch ( getColumnType( column ) ) {
+      case Types.INTEGER:
+        return Integer.class.getName();
+      case Types.BIGINT:
+        return Long.class.getName();
+      case Types.DOUBLE:
+        return Double.class.getName();
+      case Types.DECIMAL:
+        return BigDecimal.class.getName();
+      case Types.BOOLEAN:
+        return Boolean.class.getName();
+      case Types.DATE:
+        return Date.class.getName();
+      case Types.TIME:
+        return Time.class.getName();
+      case Types.TIMESTAMP:
+        return Timestamp.class.getName();
+      default:
+        return String.class.getName();
+    }
+  }
+
+  public int getPrecision( int column ) throws SQLException {
+    index( column );
+    return 0;
+  }
+
+  public int getScale( int column ) throws SQLException {
+    index( column );
+    return 0;
+  }
+
+  public int getColumnDisplaySize( int column ) throws SQLException {
+    index( column );
+    return 0;
+  }
+
+  public int isNullable( int column ) throws SQLException {
+    index( column );
+    return ResultSetMetaData.columnNullable;
+  }
+
+  public boolean isSigned( int column ) throws SQLException {
+    int type = getColumnType( column );
+    return type == Types.INTEGER || type == Types.BIGINT || type == Types.DOUBLE || type == Types.DECIMAL;
+  }
+
+  public boolean isCaseSensitive( int column ) throws SQLException {
+    return getColumnType( column ) == Types.VARCHAR;
+  }
+
+  public boolean isAutoIncrement( int column ) throws SQLException {
+    index( column );
+    return false;
+  }
+
+  public boolean isCurrency( int column ) throws SQLException {
+    index( column );
+    return false;
+  }
+
+  public boolean isSearchable( int column ) throws SQLException {
+    index( column );
+    return true;
+  }
+
+  public boolean isReadOnly( int column ) throws SQLException {
+    index( column );
+    return true;
+  }
+
+  public boolean isWritable( int column ) throws SQLException {
+    index( column );
+    return false;
+  }
+
+  public boolean isDefinitelyWritable( int column ) throws SQLException {
+    index( column );
+    return false;
+  }
+
+  public String getTableName( int column ) throws SQLException {
+    index( column );
+    return tableName;
+  }
+
+  public String getSchemaName( int column ) throws SQLException {
+    index( column );
+    return "";
+  }
+
+  public String getCatalogName( int column ) throws SQLException {
+    index( column );
+    return "";
+  }
+}
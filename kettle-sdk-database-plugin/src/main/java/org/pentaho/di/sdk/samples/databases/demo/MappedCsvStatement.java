@@ -0,0 +1,187 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It executes queries on the CSV files of a connection. It serves as both plain and prepared
+ * statement; the driver supports no parameters, so a prepared statement merely remembers its
+ * query. The result sets are forward-only and read-only, whatever type is asked for.
+ */
+class MappedCsvStatement extends StatementAdapter {
+
+  private final MappedCsvConnection connection;
+
+  // the query of a prepared statement, null for a plain statement
+  private final String preparedSql;
+
+  private ResultSet resultSet;
+  private int maxRows;
+  private int fetchSize;
+  private int queryTimeout;
+  private boolean closed;
+
+  MappedCsvStatement( MappedCsvConnection connection, String preparedSql ) {
+    this.connection = connection;
+    this.preparedSql = preparedSql;
+  }
+
+  private void checkOpen() throws SQLException {
+    if ( closed ) {
+      throw new SQLException( "The statement is closed" );
+    }
+  }
+
+  public ResultSet executeQuery( String sql ) throws SQLException {
+    checkOpen();
+    if ( resultSet != null ) {
+      resultSet.close();
+    }
+    resultSet = connection.executeQuery( this, sql, maxRows );
+    return resultSet;
+  }
+
+  public ResultSet executeQuery() throws SQLException {
+    return executeQuery( preparedSql );
+  }
+
+  public boolean execute( String sql ) throws SQLException {
+    executeQuery( sql );
+    return true;
+  }
+
+  public boolean execute() throws SQLException {
+    return execute( preparedSql );
+  }
+
+  public ResultSetMetaData getMetaData() throws SQLException {
+    // the columns are only known once the query is executed
+    return null;
+  }
+
+  public void clearParameters() throws SQLException {
+  }
+
+  public ResultSet getResultSet() throws SQLException {
+    return resultSet;
+  }
+
+  public int getUpdateCount() throws SQLException {
+    return -1;
+  }
+
+  public boolean getMoreResults() throws SQLException {
+    if ( resultSet != null ) {
+      resultSet.close();
+      resultSet = null;
+    }
+    return false;
+  }
+
+  public int getMaxRows() throws SQLException {
+    return maxRows;
+  }
+
+  public void setMaxRows( int max ) throws SQLException {
+    maxRows = max;
+  }
+
+  public int getFetchSize() throws SQLException {
+    return fetchSize;
+  }
+
+  public void setFetchSize( int rows ) throws SQLException {
+    fetchSize = rows;
+  }
+
+  public int getFetchDirection() throws SQLException {
+    return ResultSet.FETCH_FORWARD;
+  }
+
+  public void setFetchDirection( int direction ) throws SQLException {
+  }
+
+  public int getQueryTimeout() throws SQLException {
+    return queryTimeout;
+  }
+
+  public void setQueryTimeout( int seconds ) throws SQLException {
+    queryTimeout = seconds;
+  }
+
+  public void setEscapeProcessing( boolean enable ) throws SQLException {
+  }
+
+  public int getMaxFieldSize() throws SQLException {
+    return 0;
+  }
+
+  public int getResultSetType() throws SQLException {
+    return ResultSet.TYPE_FORWARD_ONLY;
+  }
+
+  public int getResultSetConcurrency() throws SQLException {
+    return ResultSet.CONCUR_READ_ONLY;
+  }
+
+  public int getResultSetHoldability() throws SQLException {
+    return ResultSet.CLOSE_CURSORS_AT_COMMIT;
+  }
+
+  public void cancel() throws SQLException {
+  }
+
+  public void close() throws SQLException {
+    if ( resultSet != null ) {
+      resultSet.close();
+      resultSet = null;
+    }
+    closed = true;
+  }
+
+  public boolean isClosed() throws SQLException {
+    return closed;
+  }
+
+  public boolean isPoolable() throws SQLException {
+    return false;
+  }
+
+  public void setPoolable( boolean poolable ) throws SQLException {
+  }
+
+  public void closeOnCompletion() throws SQLException {
+  }
+
+  public boolean isCloseOnCompletion() throws SQLException {
+    return false;
+  }
+
+  public Connection getConnection() throws SQLException {
+    return connection;
+  }
+
+  public SQLWarning getWarnings() throws SQLException {
+    return null;
+  }
+
+  public void clearWarnings() throws SQLException {
+  }
+}
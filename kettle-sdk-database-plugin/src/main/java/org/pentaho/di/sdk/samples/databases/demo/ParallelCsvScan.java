@@ -0,0 +1,359 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It reads the lines of a large file with several threads. The file is split into ranges of
+ * about splitSize bytes that start at the start of a line, see split(). The ranges are
+ * scanned by the fork-join pool of the connection, each into a ScannedRange holding the
+ * bounds of the fields of its lines, and next() steps through the scanned ranges. The values
+ * of the fields are still converted lazily, by the thread reading the result set.
+ *
+ * With preserveOrder the ranges are returned in the order of the file, otherwise in the order
+ * their scans finish. Only a few ranges per thread are scanned ahead of the reader, so the
+ * memory used does not grow with the size of the file.
+ */
+final class ParallelCsvScan extends CsvLines {
+
+  // the number of ranges scanned ahead of the reader, per thread of the pool
+  private static final int RANGES_AHEAD = 2;
+
+  private final CsvOptions options;
+  private final ForkJoinPool pool;
+  private final long[] bounds;
+  private final int lastField;
+
+  // the scans in the order of the file if the order is preserved, or else the completed ones
+  private final ForkJoinTask<ScannedRange>[] tasks;
+  private final BlockingQueue<ScannedRange> completed;
+
+  private int submitted;
+  private int finished;
+  private ScannedRange range;
+  private int line;
+
+  @SuppressWarnings( "unchecked" )
+  private ParallelCsvScan( MappedCsvFile file, CsvOptions options, ForkJoinPool pool, long[] bounds,
+    int lastField ) {
+    super( file, options );
+    this.options = options;
+    this.pool = pool;
+    this.bounds = bounds;
+    this.lastField = lastField;
+    if ( options.preserveOrder ) {
+      tasks = new ForkJoinTask[bounds.length - 1];
+      completed = null;
+    } else {
+      tasks = null;
+      completed = new LinkedBlockingQueue<ScannedRange>();
+    }
+  }
+
+  /**
+   * Starts reading the lines of a file. Files too small to be split are read by a CsvScanner
+   * in the calling thread.
+   *
+   * @param file     the mapped file
+   * @param options  the options of the connection
+   * @param pool     the pool scanning the ranges of the file
+   *
+   * @return the lines of the file
+   */
+  static CsvLines open( MappedCsvFile file, CsvOptions options, ForkJoinPool pool ) throws SQLException {
+    return open( file, options, pool, Integer.MAX_VALUE );
+  }
+
+  /**
+   * Starts reading the lines of a file, recording only the fields up to and including a
+   * field, see CsvScanner.setLastField().
+   */
+  static CsvLines open( MappedCsvFile file, CsvOptions options, ForkJoinPool pool, int lastField )
+    throws SQLException {
+    long[] bounds = split( file, options, pool );
+    if ( bounds.length <= 2 ) {
+      CsvScanner scanner = new CsvScanner( file, options, file.getDataStart(), file.size() );
+      scanner.setLastField( lastField );
+      return scanner;
+    }
+    ParallelCsvScan scan = new ParallelCsvScan( file, options, pool, bounds, lastField );
+    int ahead = Math.min( bounds.length - 1, pool.getParallelism() * RANGES_AHEAD );
+    while ( scan.submitted < ahead ) {
+      scan.submit();
+    }
+    return scan;
+  }
+
+  /**
+   * Splits the data of a file into ranges of about splitSize bytes, each starting at the start
+   * of a line.
+   *
+   * A line break only ends a line if it is not inside a quoted field. Whether a position is
+   * inside a quoted field follows from the number of quote characters before it: doubled
+   * quotes inside a field count twice, so an odd number means the position is inside quotes.
+   * The quote characters of every split are counted in parallel, after which the first line
+   * break outside quotes after the start of every split is the start of a range.
+   *
+   * A quote character inside an unquoted field upsets this count, in which case a range may
+   * start in the middle of a line. Reading the ranges detects this, see next().
+   *
+   * @return the start of every range, followed by the end of the file
+   */
+  static long[] split( MappedCsvFile file, CsvOptions options, ForkJoinPool pool ) {
+    long start = file.getDataStart();
+    long size = file.size();
+    long nrSplits = ( size - start + options.splitSize - 1 ) / options.splitSize;
+    if ( nrSplits <= 1 ) {
+      return new long[] { start, size };
+    }
+
+    int splits = (int) Math.min( nrSplits, Integer.MAX_VALUE - 1 );
+    boolean[] oddQuotes = new boolean[splits];
+    pool.invoke( new QuoteCount( file, options.quote, start, options.splitSize, oddQuotes, 0, splits ) );
+
+    long[] bounds = new long[splits + 1];
+    int nrBounds = 0;
+    bounds[nrBounds++] = start;
+    boolean inQuotes = false;
+    for ( int i = 1; i < splits; i++ ) {
+      inQuotes ^= oddQuotes[i - 1];
+      long bound = nextLine( file, options.quote, start + i * options.splitSize, inQuotes );
+      if ( bound > bounds[nrBounds - 1] && bound < size ) {
+        bounds[nrBounds++] = bound;
+      }
+    }
+    bounds[nrBounds++] = size;
+    return Arrays.copyOf( bounds, nrBounds );
+  }
+
+  /**
+   * @return the position after the first line break outside quotes at or after a position
+   */
+  private static long nextLine( MappedCsvFile file, byte quote, long position, boolean inQuotes ) {
+    long size = file.size();
+    for ( long pos = position; pos < size; pos++ ) {
+      byte b = file.get( pos );
+      if ( b == quote ) {
+        inQuotes = !inQuotes;
+      } else if ( b == '\n' && !inQuotes ) {
+        return pos + 1;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Finds out whether the number of quote characters in each split is odd, forking a task
+   * for every half of the splits until a single split is left.
+   */
+  private static final class QuoteCount extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final MappedCsvFile file;
+    private final byte quote;
+    private final long start;
+    private final long splitSize;
+    private final boolean[] oddQuotes;
+    private final int from;
+    private final int to;
+
+    QuoteCount( MappedCsvFile file, byte quote, long start, long splitSize, boolean[] oddQuotes, int from, int to ) {
+      this.file = file;
+      this.quote = quote;
+      this.start = start;
+      this.splitSize = splitSize;
+      this.oddQuotes = oddQuotes;
+      this.from = from;
+      this.to = to;
+    }
+
+    protected void compute() {
+      if ( to - from > 1 ) {
+        int middle = ( from + to ) >>> 1;
+        invokeAll( new QuoteCount( file, quote, start, splitSize, oddQuotes, from, middle ),
+          new QuoteCount( file, quote, start, splitSize, oddQuotes, middle, to ) );
+        return;
+      }
+      long pos = start + from * splitSize;
+      long end = Math.min( pos + splitSize, file.size() );
+      boolean odd = false;
+      for ( ; pos < end; pos++ ) {
+        if ( file.get( pos ) == quote ) {
+          odd = !odd;
+        }
+      }
+      oddQuotes[from] = odd;
+    }
+  }
+
+  /**
+   * Submits the scan of the next range to the pool.
+   */
+  private void submit() throws SQLException {
+    final int index = submitted;
+    try {
+      if ( tasks != null ) {
+        tasks[index] = pool.submit( () -> scan( index ) );
+      } else {
+        pool.execute( () -> completed.add( scan( index ) ) );
+      }
+    } catch ( RejectedExecutionException e ) {
+      throw new SQLException( "The connection is closed", e );
+    }
+    submitted++;
+  }
+
+  /**
+   * Scans a range of the file, in a thread of the pool.
+   */
+  private ScannedRange scan( int index ) {
+    ScannedRange scanned = new ScannedRange( index, bounds[index + 1] - bounds[index] );
+    try {
+      CsvScanner scanner = new CsvScanner( file, options, bounds[index], bounds[index + 1] );
+      scanner.setLastField( lastField );
+      while ( scanner.next() ) {
+        scanned.add( scanner );
+      }
+      scanned.end = scanner.getPosition();
+    } catch ( RuntimeException e ) {
+      scanned.error = e;
+    }
+    return scanned;
+  }
+
+  boolean next() throws SQLException {
+    line++;
+    while ( range == null || line >= range.lines ) {
+      if ( range != null ) {
+        range = null;
+        finished++;
+        if ( submitted < bounds.length - 1 ) {
+          submit();
+        }
+      }
+      if ( finished == bounds.length - 1 ) {
+        fieldCount = 0;
+        return false;
+      }
+      range = take();
+      line = 0;
+    }
+    starts = range.starts;
+    lengths = range.lengths;
+    flags = range.flags;
+    first = range.lineFields[line];
+    fieldCount = range.lineFields[line + 1] - first;
+    return true;
+  }
+
+  /**
+   * Waits for the next range to be scanned.
+   */
+  private ScannedRange take() throws SQLException {
+    ScannedRange scanned;
+    if ( tasks != null ) {
+      scanned = tasks[finished].join();
+      tasks[finished] = null;
+    } else {
+      try {
+        scanned = completed.take();
+      } catch ( InterruptedException e ) {
+        Thread.currentThread().interrupt();
+        throw new SQLException( "Interrupted while reading " + file.getPath(), e );
+      }
+    }
+    if ( scanned.error != null ) {
+      throw new SQLException( "Unable to read " + file.getPath(), scanned.error );
+    }
+    // the last line of a range ends where the next range starts, unless the range does not
+    // start at the start of a line
+    if ( scanned.end != bounds[scanned.index + 1] ) {
+      throw new SQLException( "Unable to split " + file.getPath() + " at position " + bounds[scanned.index + 1]
+        + " as it is inside a quoted field. Set the " + CsvOptions.PARALLELISM + " option to 1 to read the file"
+        + " in one thread" );
+    }
+    return scanned;
+  }
+
+  void close() {
+    if ( tasks != null ) {
+      for ( int i = finished; i < submitted; i++ ) {
+        if ( tasks[i] != null ) {
+          tasks[i].cancel( false );
+        }
+      }
+    }
+    // no more ranges are submitted
+    submitted = bounds.length - 1;
+  }
+
+  /**
+   * The fields of the lines of a range, in the form a CsvScanner keeps them for a single line.
+   */
+  private static final class ScannedRange {
+
+    final int index;
+    long[] starts;
+    int[] lengths;
+    byte[] flags;
+    int fields;
+
+    // the fields of line i are fields lineFields[i] to lineFields[i + 1] - 1
+    int[] lineFields;
+    int lines;
+
+    // the position after the last line of the range
+    long end;
+    RuntimeException error;
+
+    ScannedRange( int index, long size ) {
+      this.index = index;
+      int expectedFields = (int) Math.min( Math.max( size / 8, 16 ), 1 << 20 );
+      starts = new long[expectedFields];
+      lengths = new int[expectedFields];
+      flags = new byte[expectedFields];
+      lineFields = new int[Math.max( expectedFields / 8, 16 )];
+    }
+
+    void add( CsvScanner scanner ) {
+      int count = scanner.fieldCount;
+      if ( fields + count > starts.length ) {
+        int capacity = Math.max( fields + count, starts.length * 2 );
+        starts = Arrays.copyOf( starts, capacity );
+        lengths = Arrays.copyOf( lengths, capacity );
+        flags = Arrays.copyOf( flags, capacity );
+      }
+      System.arraycopy( scanner.starts, 0, starts, fields, count );
+      System.arraycopy( scanner.lengths, 0, lengths, fields, count );
+      System.arraycopy( scanner.flags, 0, flags, fields, count );
+      if ( lines + 2 > lineFields.length ) {
+        lineFields = Arrays.copyOf( lineFields, lineFields.length * 2 );
+      }
+      lineFields[lines] = fields;
+      fields += count;
+      lines++;
+      lineFields[lines] = fields;
+    }
+  }
+}
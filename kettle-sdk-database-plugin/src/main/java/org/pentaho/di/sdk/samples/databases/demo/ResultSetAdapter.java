@@ -0,0 +1,822 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It implements every method of java.sql.ResultSet by throwing SQLFeatureNotSupportedException,
+ * so the result sets of the driver only need to implement the methods they support. It is
+ * generated from the interface and not meant to be edited by hand.
+ */
+abstract class ResultSetAdapter implements ResultSet {
+
+  /**
+   * @return the exception thrown by the methods the driver does not support
+   */
+  static SQLFeatureNotSupportedException notSupported( String method ) {
+    return new SQLFeatureNotSupportedException( method + "() is not supported by the memory-mapped CSV driver" );
+  }
+
+  public <T> T unwrap( Class<T> iface ) throws SQLException {
+    if ( iface.isInstance( this ) ) {
+      return iface.cast( this );
+    }
+    throw new SQLException( getClass().getName() + " does not implement " + iface.getName() );
+  }
+
+  public boolean isWrapperFor( Class<?> iface ) throws SQLException {
+    return iface.isInstance( this );
+  }
+
+  public boolean absolute( int row ) throws SQLException {
+    throw notSupported( "absolute" );
+  }
+
+  public void afterLast() throws SQLException {
+    throw notSupported( "afterLast" );
+  }
+
+  public void beforeFirst() throws SQLException {
+    throw notSupported( "beforeFirst" );
+  }
+
+  public void cancelRowUpdates() throws SQLException {
+    throw notSupported( "cancelRowUpdates" );
+  }
+
+  public void clearWarnings() throws SQLException {
+    throw notSupported( "clearWarnings" );
+  }
+
+  public void close() throws SQLException {
+    throw notSupported( "close" );
+  }
+
+  public void deleteRow() throws SQLException {
+    throw notSupported( "deleteRow" );
+  }
+
+  public int findColumn( String columnLabel ) throws SQLException {
+    throw notSupported( "findColumn" );
+  }
+
+  public boolean first() throws SQLException {
+    throw notSupported( "first" );
+  }
+
+  public Array getArray( String columnLabel ) throws SQLException {
+    throw notSupported( "getArray" );
+  }
+
+  public Array getArray( int columnIndex ) throws SQLException {
+    throw notSupported( "getArray" );
+  }
+
+  public InputStream getAsciiStream( String columnLabel ) throws SQLException {
+    throw notSupported( "getAsciiStream" );
+  }
+
+  public InputStream getAsciiStream( int columnIndex ) throws SQLException {
+    throw notSupported( "getAsciiStream" );
+  }
+
+  public BigDecimal getBigDecimal( String columnLabel ) throws SQLException {
+    throw notSupported( "getBigDecimal" );
+  }
+
+  public BigDecimal getBigDecimal( int columnIndex ) throws SQLException {
+    throw notSupported( "getBigDecimal" );
+  }
+
+  public BigDecimal getBigDecimal( String columnLabel, int scale ) throws SQLException {
+    throw notSupported( "getBigDecimal" );
+  }
+
+  public BigDecimal getBigDecimal( int columnIndex, int scale ) throws SQLException {
+    throw notSupported( "getBigDecimal" );
+  }
+
+  public InputStream getBinaryStream( String columnLabel ) throws SQLException {
+    throw notSupported( "getBinaryStream" );
+  }
+
+  public InputStream getBinaryStream( int columnIndex ) throws SQLException {
+    throw notSupported( "getBinaryStream" );
+  }
+
+  public Blob getBlob( String columnLabel ) throws SQLException {
+    throw notSupported( "getBlob" );
+  }
+
+  public Blob getBlob( int columnIndex ) throws SQLException {
+    throw notSupported( "getBlob" );
+  }
+
+  public boolean getBoolean( String columnLabel ) throws SQLException {
+    throw notSupported( "getBoolean" );
+  }
+
+  public boolean getBoolean( int columnIndex ) throws SQLException {
+    throw notSupported( "getBoolean" );
+  }
+
+  public byte getByte( String columnLabel ) throws SQLException {
+    throw notSupported( "getByte" );
+  }
+
+  public byte getByte( int columnIndex ) throws SQLException {
+    throw notSupported( "getByte" );
+  }
+
+  public byte[] getBytes( String columnLabel ) throws SQLException {
+    throw notSupported( "getBytes" );
+  }
+
+  public byte[] getBytes( int columnIndex ) throws SQLException {
+    throw notSupported( "getBytes" );
+  }
+
+  public Reader getCharacterStream( String columnLabel ) throws SQLException {
+    throw notSupported( "getCharacterStream" );
+  }
+
+  public Reader getCharacterStream( int columnIndex ) throws SQLException {
+    throw notSupported( "getCharacterStream" );
+  }
+
+  public Clob getClob( String columnLabel ) throws SQLException {
+    throw notSupported( "getClob" );
+  }
+
+  public Clob getClob( int columnIndex ) throws SQLException {
+    throw notSupported( "getClob" );
+  }
+
+  public int getConcurrency() throws SQLException {
+    throw notSupported( "getConcurrency" );
+  }
+
+  public String getCursorName() throws SQLException {
+    throw notSupported( "getCursorName" );
+  }
+
+  public Date getDate( String columnLabel ) throws SQLException {
+    throw notSupported( "getDate" );
+  }
+
+  public Date getDate( int columnIndex ) throws SQLException {
+    throw notSupported( "getDate" );
+  }
+
+  public Date getDate( String columnLabel, Calendar cal ) throws SQLException {
+    throw notSupported( "getDate" );
+  }
+
+  public Date getDate( int columnIndex, Calendar cal ) throws SQLException {
+    throw notSupported( "getDate" );
+  }
+
+  public double getDouble( String columnLabel ) throws SQLException {
+    throw notSupported( "getDouble" );
+  }
+
+  public double getDouble( int columnIndex ) throws SQLException {
+    throw notSupported( "getDouble" );
+  }
+
+  public int getFetchDirection() throws SQLException {
+    throw notSupported( "getFetchDirection" );
+  }
+
+  public int getFetchSize() throws SQLException {
+    throw notSupported( "getFetchSize" );
+  }
+
+  public float getFloat( String columnLabel ) throws SQLException {
+    throw notSupported( "getFloat" );
+  }
+
+  public float getFloat( int columnIndex ) throws SQLException {
+    throw notSupported( "getFloat" );
+  }
+
+  public int getHoldability() throws SQLException {
+    throw notSupported( "getHoldability" );
+  }
+
+  public int getInt( String columnLabel ) throws SQLException {
+    throw notSupported( "getInt" );
+  }
+
+  public int getInt( int columnIndex ) throws SQLException {
+    throw notSupported( "getInt" );
+  }
+
+  public long getLong( String columnLabel ) throws SQLException {
+    throw notSupported( "getLong" );
+  }
+
+  public long getLong( int columnIndex ) throws SQLException {
+    throw notSupported( "getLong" );
+  }
+
+  public ResultSetMetaData getMetaData() throws SQLException {
+    throw notSupported( "getMetaData" );
+  }
+
+  public Reader getNCharacterStream( String columnLabel ) throws SQLException {
+    throw notSupported( "getNCharacterStream" );
+  }
+
+  public Reader getNCharacterStream( int columnIndex ) throws SQLException {
+    throw notSupported( "getNCharacterStream" );
+  }
+
+  public NClob getNClob( String columnLabel ) throws SQLException {
+    throw notSupported( "getNClob" );
+  }
+
+  public NClob getNClob( int columnIndex ) throws SQLException {
+    throw notSupported( "getNClob" );
+  }
+
+  public String getNString( String columnLabel ) throws SQLException {
+    throw notSupported( "getNString" );
+  }
+
+  public String getNString( int columnIndex ) throws SQLException {
+    throw notSupported( "getNString" );
+  }
+
+  public Object getObject( String columnLabel ) throws SQLException {
+    throw notSupported( "getObject" );
+  }
+
+  public Object getObject( int columnIndex ) throws SQLException {
+    throw notSupported( "getObject" );
+  }
+
+  public <T> T getObject( String columnLabel, Class<T> type ) throws SQLException {
+    throw notSupported( "getObject" );
+  }
+
+  public Object getObject( String columnLabel, Map<String, Class<?>> map ) throws SQLException {
+    throw notSupported( "getObject" );
+  }
+
+  public <T> T getObject( int columnIndex, Class<T> type ) throws SQLException {
+    throw notSupported( "getObject" );
+  }
+
+  public Object getObject( int columnIndex, Map<String, Class<?>> map ) throws SQLException {
+    throw notSupported( "getObject" );
+  }
+
+  public Ref getRef( String columnLabel ) throws SQLException {
+    throw notSupported( "getRef" );
+  }
+
+  public Ref getRef( int columnIndex ) throws SQLException {
+    throw notSupported( "getRef" );
+  }
+
+  public int getRow() throws SQLException {
+    throw notSupported( "getRow" );
+  }
+
+  public RowId getRowId( String columnLabel ) throws SQLException {
+    throw notSupported( "getRowId" );
+  }
+
+  public RowId getRowId( int columnIndex ) throws SQLException {
+    throw notSupported( "getRowId" );
+  }
+
+  public SQLXML getSQLXML( String columnLabel ) throws SQLException {
+    throw notSupported( "getSQLXML" );
+  }
+
+  public SQLXML getSQLXML( int columnIndex ) throws SQLException {
+    throw notSupported( "getSQLXML" );
+  }
+
+  public short getShort( String columnLabel ) throws SQLException {
+    throw notSupported( "getShort" );
+  }
+
+  public short getShort( int columnIndex ) throws SQLException {
+    throw notSupported( "getShort" );
+  }
+
+  public Statement getStatement() throws SQLException {
+    throw notSupported( "getStatement" );
+  }
+
+  public String getString( String columnLabel ) throws SQLException {
+    throw notSupported( "getString" );
+  }
+
+  public String getString( int columnIndex ) throws SQLException {
+    throw notSupported( "getString" );
+  }
+
+  public Time getTime( String columnLabel ) throws SQLException {
+    throw notSupported( "getTime" );
+  }
+
+  public Time getTime( int columnIndex ) throws SQLException {
+    throw notSupported( "getTime" );
+  }
+
+  public Time getTime( String columnLabel, Calendar cal ) throws SQLException {
+    throw notSupported( "getTime" );
+  }
+
+  public Time getTime( int columnIndex, Calendar cal ) throws SQLException {
+    throw notSupported( "getTime" );
+  }
+
+  public Timestamp getTimestamp( String columnLabel ) throws SQLException {
+    throw notSupported( "getTimestamp" );
+  }
+
+  public Timestamp getTimestamp( int columnIndex ) throws SQLException {
+    throw notSupported( "getTimestamp" );
+  }
+
+  public Timestamp getTimestamp( String columnLabel, Calendar cal ) throws SQLException {
+    throw notSupported( "getTimestamp" );
+  }
+
+  public Timestamp getTimestamp( int columnIndex, Calendar cal ) throws SQLException {
+    throw notSupported( "getTimestamp" );
+  }
+
+  public int getType() throws SQLException {
+    throw notSupported( "getType" );
+  }
+
+  public URL getURL( String columnLabel ) throws SQLException {
+    throw notSupported( "getURL" );
+  }
+
+  public URL getURL( int columnIndex ) throws SQLException {
+    throw notSupported( "getURL" );
+  }
+
+  public InputStream getUnicodeStream( String columnLabel ) throws SQLException {
+    throw notSupported( "getUnicodeStream" );
+  }
+
+  public InputStream getUnicodeStream( int columnIndex ) throws SQLException {
+    throw notSupported( "getUnicodeStream" );
+  }
+
+  public SQLWarning getWarnings() throws SQLException {
+    throw notSupported( "getWarnings" );
+  }
+
+  public void insertRow() throws SQLException {
+    throw notSupported( "insertRow" );
+  }
+
+  public boolean isAfterLast() throws SQLException {
+    throw notSupported( "isAfterLast" );
+  }
+
+  public boolean isBeforeFirst() throws SQLException {
+    throw notSupported( "isBeforeFirst" );
+  }
+
+  public boolean isClosed() throws SQLException {
+    throw notSupported( "isClosed" );
+  }
+
+  public boolean isFirst() throws SQLException {
+    throw notSupported( "isFirst" );
+  }
+
+  public boolean isLast() throws SQLException {
+    throw notSupported( "isLast" );
+  }
+
+  public boolean last() throws SQLException {
+    throw notSupported( "last" );
+  }
+
+  public void moveToCurrentRow() throws SQLException {
+    throw notSupported( "moveToCurrentRow" );
+  }
+
+  public void moveToInsertRow() throws SQLException {
+    throw notSupported( "moveToInsertRow" );
+  }
+
+  public boolean next() throws SQLException {
+    throw notSupported( "next" );
+  }
+
+  public boolean previous() throws SQLException {
+    throw notSupported( "previous" );
+  }
+
+  public void refreshRow() throws SQLException {
+    throw notSupported( "refreshRow" );
+  }
+
+  public boolean relative( int rows ) throws SQLException {
+    throw notSupported( "relative" );
+  }
+
+  public boolean rowDeleted() throws SQLException {
+    throw notSupported( "rowDeleted" );
+  }
+
+  public boolean rowInserted() throws SQLException {
+    throw notSupported( "rowInserted" );
+  }
+
+  public boolean rowUpdated() throws SQLException {
+    throw notSupported( "rowUpdated" );
+  }
+
+  public void setFetchDirection( int direction ) throws SQLException {
+    throw notSupported( "setFetchDirection" );
+  }
+
+  public void setFetchSize( int rows ) throws SQLException {
+    throw notSupported( "setFetchSize" );
+  }
+
+  public void updateArray( String columnLabel, Array x ) throws SQLException {
+    throw notSupported( "updateArray" );
+  }
+
+  public void updateArray( int columnIndex, Array x ) throws SQLException {
+    throw notSupported( "updateArray" );
+  }
+
+  public void updateAsciiStream( String columnLabel, InputStream x ) throws SQLException {
+    throw notSupported( "updateAsciiStream" );
+  }
+
+  public void updateAsciiStream( int columnIndex, InputStream x ) throws SQLException {
+    throw notSupported( "updateAsciiStream" );
+  }
+
+  public void updateAsciiStream( String columnLabel, InputStream x, int length ) throws SQLException {
+    throw notSupported( "updateAsciiStream" );
+  }
+
+  public void updateAsciiStream( String columnLabel, InputStream x, long length ) throws SQLException {
+    throw notSupported( "updateAsciiStream" );
+  }
+
+  public void updateAsciiStream( int columnIndex, InputStream x, int length ) throws SQLException {
+    throw notSupported( "updateAsciiStream" );
+  }
+
+  public void updateAsciiStream( int columnIndex, InputStream x, long length ) throws SQLException {
+    throw notSupported( "updateAsciiStream" );
+  }
+
+  public void updateBigDecimal( String columnLabel, BigDecimal x ) throws SQLException {
+    throw notSupported( "updateBigDecimal" );
+  }
+
+  public void updateBigDecimal( int columnIndex, BigDecimal x ) throws SQLException {
+    throw notSupported( "updateBigDecimal" );
+  }
+
+  public void updateBinaryStream( String columnLabel, InputStream x ) throws SQLException {
+    throw notSupported( "updateBinaryStream" );
+  }
+
+  public void updateBinaryStream( int columnIndex, InputStream x ) throws SQLException {
+    throw notSupported( "updateBinaryStream" );
+  }
+
+  public void updateBinaryStream( String columnLabel, InputStream x, int length ) throws SQLException {
+    throw notSupported( "updateBinaryStream" );
+  }
+
+  public void updateBinaryStream( String columnLabel, InputStream x, long length ) throws SQLException {
+    throw notSupported( "updateBinaryStream" );
+  }
+
+  public void updateBinaryStream( int columnIndex, InputStream x, int length ) throws SQLException {
+    throw notSupported( "updateBinaryStream" );
+  }
+
+  public void updateBinaryStream( int columnIndex, InputStream x, long length ) throws SQLException {
+    throw notSupported( "updateBinaryStream" );
+  }
+
+  public void updateBlob( String columnLabel, Blob x ) throws SQLException {
+    throw notSupported( "updateBlob" );
+  }
+
+  public void updateBlob( String columnLabel, InputStream x ) throws SQLException {
+    throw notSupported( "updateBlob" );
+  }
+
+  public void updateBlob( int columnIndex, Blob x ) throws SQLException {
+    throw notSupported( "updateBlob" );
+  }
+
+  public void updateBlob( int columnIndex, InputStream x ) throws SQLException {
+    throw notSupported( "updateBlob" );
+  }
+
+  public void updateBlob( String columnLabel, InputStream x, long length ) throws SQLException {
+    throw notSupported( "updateBlob" );
+  }
+
+  public void updateBlob( int columnIndex, InputStream x, long length ) throws SQLException {
+    throw notSupported( "updateBlob" );
+  }
+
+  public void updateBoolean( String columnLabel, boolean x ) throws SQLException {
+    throw notSupported( "updateBoolean" );
+  }
+
+  public void updateBoolean( int columnIndex, boolean x ) throws SQLException {
+    throw notSupported( "updateBoolean" );
+  }
+
+  public void updateByte( String columnLabel, byte x ) throws SQLException {
+    throw notSupported( "updateByte" );
+  }
+
+  public void updateByte( int columnIndex, byte x ) throws SQLException {
+    throw notSupported( "updateByte" );
+  }
+
+  public void updateBytes( String columnLabel, byte[] x ) throws SQLException {
+    throw notSupported( "updateBytes" );
+  }
+
+  public void updateBytes( int columnIndex, byte[] x ) throws SQLException {
+    throw notSupported( "updateBytes" );
+  }
+
+  public void updateCharacterStream( String columnLabel, Reader x ) throws SQLException {
+    throw notSupported( "updateCharacterStream" );
+  }
+
+  public void updateCharacterStream( int columnIndex, Reader x ) throws SQLException {
+    throw notSupported( "updateCharacterStream" );
+  }
+
+  public void updateCharacterStream( String columnLabel, Reader x, int length ) throws SQLException {
+    throw notSupported( "updateCharacterStream" );
+  }
+
+  public void updateCharacterStream( String columnLabel, Reader x, long length ) throws SQLException {
+    throw notSupported( "updateCharacterStream" );
+  }
+
+  public void updateCharacterStream( int columnIndex, Reader x, int length ) throws SQLException {
+    throw notSupported( "updateCharacterStream" );
+  }
+
+  public void updateCharacterStream( int columnIndex, Reader x, long length ) throws SQLException {
+    throw notSupported( "updateCharacterStream" );
+  }
+
+  public void updateClob( String columnLabel, Clob x ) throws SQLException {
+    throw notSupported( "updateClob" );
+  }
+
+  public void updateClob( String columnLabel, Reader x ) throws SQLException {
+    throw notSupported( "updateClob" );
+  }
+
+  public void updateClob( int columnIndex, Clob x ) throws SQLException {
+    throw notSupported( "updateClob" );
+  }
+
+  public void updateClob( int columnIndex, Reader x ) throws SQLException {
+    throw notSupported( "updateClob" );
+  }
+
+  public void updateClob( String columnLabel, Reader x, long length ) throws SQLException {
+    throw notSupported( "updateClob" );
+  }
+
+  public void updateClob( int columnIndex, Reader x, long length ) throws SQLException {
+    throw notSupported( "updateClob" );
+  }
+
+  public void updateDate( String columnLabel, Date x ) throws SQLException {
+    throw notSupported( "updateDate" );
+  }
+
+  public void updateDate( int columnIndex, Date x ) throws SQLException {
+    throw notSupported( "updateDate" );
+  }
+
+  public void updateDouble( String columnLabel, double x ) throws SQLException {
+    throw notSupported( "updateDouble" );
+  }
+
+  public void updateDouble( int columnIndex, double x ) throws SQLException {
+    throw notSupported( "updateDouble" );
+  }
+
+  public void updateFloat( String columnLabel, float x ) throws SQLException {
+    throw notSupported( "updateFloat" );
+  }
+
+  public void updateFloat( int columnIndex, float x ) throws SQLException {
+    throw notSupported( "updateFloat" );
+  }
+
+  public void updateInt( String columnLabel, int x ) throws SQLException {
+    throw notSupported( "updateInt" );
+  }
+
+  public void updateInt( int columnIndex, int x ) throws SQLException {
+    throw notSupported( "updateInt" );
+  }
+
+  public void updateLong( String columnLabel, long x ) throws SQLException {
+    throw notSupported( "updateLong" );
+  }
+
+  public void updateLong( int columnIndex, long x ) throws SQLException {
+    throw notSupported( "updateLong" );
+  }
+
+  public void updateNCharacterStream( String columnLabel, Reader x ) throws SQLException {
+    throw notSupported( "updateNCharacterStream" );
+  }
+
+  public void updateNCharacterStream( int columnIndex, Reader x ) throws SQLException {
+    throw notSupported( "updateNCharacterStream" );
+  }
+
+  public void updateNCharacterStream( String columnLabel, Reader x, long length ) throws SQLException {
+    throw notSupported( "updateNCharacterStream" );
+  }
+
+  public void updateNCharacterStream( int columnIndex, Reader x, long length ) throws SQLException {
+    throw notSupported( "updateNCharacterStream" );
+  }
+
+  public void updateNClob( String columnLabel, NClob x ) throws SQLException {
+    throw notSupported( "updateNClob" );
+  }
+
+  public void updateNClob( String columnLabel, Reader x ) throws SQLException {
+    throw notSupported( "updateNClob" );
+  }
+
+  public void updateNClob( int columnIndex, NClob x ) throws SQLException {
+    throw notSupported( "updateNClob" );
+  }
+
+  public void updateNClob( int columnIndex, Reader x ) throws SQLException {
+    throw notSupported( "updateNClob" );
+  }
+
+  public void updateNClob( String columnLabel, Reader x, long length ) throws SQLException {
+    throw notSupported( "updateNClob" );
+  }
+
+  public void updateNClob( int columnIndex, Reader x, long length ) throws SQLException {
+    throw notSupported( "updateNClob" );
+  }
+
+  public void updateNString( String columnLabel, String x ) throws SQLException {
+    throw notSupported( "updateNString" );
+  }
+
+  public void updateNString( int columnIndex, String x ) throws SQLException {
+    throw notSupported( "updateNString" );
+  }
+
+  public void updateNull( String columnLabel ) throws SQLException {
+    throw notSupported( "updateNull" );
+  }
+
+  public void updateNull( int columnIndex ) throws SQLException {
+    throw notSupported( "updateNull" );
+  }
+
+  public void updateObject( String columnLabel, Object x ) throws SQLException {
+    throw notSupported( "updateObject" );
+  }
+
+  public void updateObject( int columnIndex, Object x ) throws SQLException {
+    throw notSupported( "updateObject" );
+  }
+
+  public void updateObject( String columnLabel, Object x, int scaleOrLength ) throws SQLException {
+    throw notSupported( "updateObject" );
+  }
+
+  public void updateObject( int columnIndex, Object x, int scaleOrLength ) throws SQLException {
+    throw notSupported( "updateObject" );
+  }
+
+  public void updateRef( String columnLabel, Ref x ) throws SQLException {
+    throw notSupported( "updateRef" );
+  }
+
+  public void updateRef( int columnIndex, Ref x ) throws SQLException {
+    throw notSupported( "updateRef" );
+  }
+
+  public void updateRow() throws SQLException {
+    throw notSupported( "updateRow" );
+  }
+
+  public void updateRowId( String columnLabel, RowId x ) throws SQLException {
+    throw notSupported( "updateRowId" );
+  }
+
+  public void updateRowId( int columnIndex, RowId x ) throws SQLException {
+    throw notSupported( "updateRowId" );
+  }
+
+  public void updateSQLXML( String columnLabel, SQLXML x ) throws SQLException {
+    throw notSupported( "updateSQLXML" );
+  }
+
+  public void updateSQLXML( int columnIndex, SQLXML x ) throws SQLException {
+    throw notSupported( "updateSQLXML" );
+  }
+
+  public void updateShort( String columnLabel, short x ) throws SQLException {
+    throw notSupported( "updateShort" );
+  }
+
+  public void updateShort( int columnIndex, short x ) throws SQLException {
+    throw notSupported( "updateShort" );
+  }
+
+  public void updateString( String columnLabel, String x ) throws SQLException {
+    throw notSupported( "updateString" );
+  }
+
+  public void updateString( int columnIndex, String x ) throws SQLException {
+    throw notSupported( "updateString" );
+  }
+
+  public void updateTime( String columnLabel, Time x ) throws SQLException {
+    throw notSupported( "updateTime" );
+  }
+
+  public void updateTime( int columnIndex, Time x ) throws SQLException {
+    throw notSupported( "updateTime" );
+  }
+
+  public void updateTimestamp( String columnLabel, Timestamp x ) throws SQLException {
+    throw notSupported( "updateTimestamp" );
+  }
+
+  public void updateTimestamp( int columnIndex, Timestamp x ) throws SQLException {
+    throw notSupported( "updateTimestamp" );
+  }
+
+  public boolean wasNull() throws SQLException {
+    throw notSupported( "wasNull" );
+  }
+}
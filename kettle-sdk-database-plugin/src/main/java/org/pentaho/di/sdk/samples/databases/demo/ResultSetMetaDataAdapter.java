@@ -0,0 +1,132 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It implements every method of java.sql.ResultSetMetaData by throwing
+ * SQLFeatureNotSupportedException, so the result set metadata of the driver only needs to
+ * implement the methods it supports. It is generated from the interface and not meant to be
+ * edited by hand.
+ */
+abstract class ResultSetMetaDataAdapter implements ResultSetMetaData {
+
+  /**
+   * @return the exception thrown by the methods the driver does not support
+   */
+  static SQLFeatureNotSupportedException notSupported( String method ) {
+    return new SQLFeatureNotSupportedException( method + "() is not supported by the memory-mapped CSV driver" );
+  }
+
+  public <T> T unwrap( Class<T> iface ) throws SQLException {
+    if ( iface.isInstance( this ) ) {
+      return iface.cast( this );
+    }
+    throw new SQLException( getClass().getName() + " does not implement " + iface.getName() );
+  }
+
+  public boolean isWrapperFor( Class<?> iface ) throws SQLException {
+    return iface.isInstance( this );
+  }
+
+  public String getCatalogName( int column ) throws SQLException {
+    throw notSupported( "getCatalogName" );
+  }
+
+  public String getColumnClassName( int column ) throws SQLException {
+    throw notSupported( "getColumnClassName" );
+  }
+
+  public int getColumnCount() throws SQLException {
+    throw notSupported( "getColumnCount" );
+  }
+
+  public int getColumnDisplaySize( int column ) throws SQLException {
+    throw notSupported( "getColumnDisplaySize" );
+  }
+
+  public String getColumnLabel( int column ) throws SQLException {
+    throw notSupported( "getColumnLabel" );
+  }
+
+  public String getColumnName( int column ) throws SQLException {
+    throw notSupported( "getColumnName" );
+  }
+
+  public int getColumnType( int column ) throws SQLException {
+    throw notSupported( "getColumnType" );
+  }
+
+  public String getColumnTypeName( int column ) throws SQLException {
+    throw notSupported( "getColumnTypeName" );
+  }
+
+  public int getPrecision( int column ) throws SQLException {
+    throw notSupported( "getPrecision" );
+  }
+
+  public int getScale( int column ) throws SQLException {
+    throw notSupported( "getScale" );
+  }
+
+  public String getSchemaName( int column ) throws SQLException {
+    throw notSupported( "getSchemaName" );
+  }
+
+  public String getTableName( int column ) throws SQLException {
+    throw notSupported( "getTableName" );
+  }
+
+  public boolean isAutoIncrement( int column ) throws SQLException {
+    throw notSupported( "isAutoIncrement" );
+  }
+
+  public boolean isCaseSensitive( int column ) throws SQLException {
+    throw notSupported( "isCaseSensitive" );
+  }
+
+  public boolean isCurrency( int column ) throws SQLException {
+    throw notSupported( "isCurrency" );
+  }
+
+  public boolean isDefinitelyWritable( int column ) throws SQLException {
+    throw notSupported( "isDefinitelyWritable" );
+  }
+
+  public int isNullable( int column ) throws SQLException {
+    throw notSupported( "isNullable" );
+  }
+
+  public boolean isReadOnly( int column ) throws SQLException {
+    throw notSupported( "isReadOnly" );
+  }
+
+  public boolean isSearchable( int column ) throws SQLException {
+    throw notSupported( "isSearchable" );
+  }
+
+  public boolean isSigned( int column ) throws SQLException {
+    throw notSupported( "isSigned" );
+  }
+
+  public boolean isWritable( int column ) throws SQLException {
+    throw notSupported( "isWritable" );
+  }
+}
@@ -0,0 +1,456 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+/**
+ * This class is part of the memory-mapped CSV driver of the demo database plug-in.
+ *
+ * It implements every method of java.sql.PreparedStatement, and so of java.sql.Statement, by
+ * throwing SQLFeatureNotSupportedException, so the statement of the driver only needs to
+ * implement the methods it supports. It is generated from the interface and not meant to be
+ * edited by hand.
+ */
+abstract class StatementAdapter implements PreparedStatement {
+
+  /**
+   * @return the exception thrown by the methods the driver does not support
+   */
+  static SQLFeatureNotSupportedException notSupported( String method ) {
+    return new SQLFeatureNotSupportedException( method + "() is not supported by the memory-mapped CSV driver" );
+  }
+
+  public <T> T unwrap( Class<T> iface ) throws SQLException {
+    if ( iface.isInstance( this ) ) {
+      return iface.cast( this );
+    }
+    throw new SQLException( getClass().getName() + " does not implement " + iface.getName() );
+  }
+
+  public boolean isWrapperFor( Class<?> iface ) throws SQLException {
+    return iface.isInstance( this );
+  }
+
+  public void addBatch() throws SQLException {
+    throw notSupported( "addBatch" );
+  }
+
+  public void addBatch( String sql ) throws SQLException {
+    throw notSupported( "addBatch" );
+  }
+
+  public void cancel() throws SQLException {
+    throw notSupported( "cancel" );
+  }
+
+  public void clearBatch() throws SQLException {
+    throw notSupported( "clearBatch" );
+  }
+
+  public void clearParameters() throws SQLException {
+    throw notSupported( "clearParameters" );
+  }
+
+  public void clearWarnings() throws SQLException {
+    throw notSupported( "clearWarnings" );
+  }
+
+  public void close() throws SQLException {
+    throw notSupported( "close" );
+  }
+
+  public void closeOnCompletion() throws SQLException {
+    throw notSupported( "closeOnCompletion" );
+  }
+
+  public boolean execute() throws SQLException {
+    throw notSupported( "execute" );
+  }
+
+  public boolean execute( String sql ) throws SQLException {
+    throw notSupported( "execute" );
+  }
+
+  public boolean execute( String sql, String[] columnNames ) throws SQLException {
+    throw notSupported( "execute" );
+  }
+
+  public boolean execute( String sql, int autoGeneratedKeys ) throws SQLException {
+    throw notSupported( "execute" );
+  }
+
+  public boolean execute( String sql, int[] columnIndexes ) throws SQLException {
+    throw notSupported( "execute" );
+  }
+
+  public int[] executeBatch() throws SQLException {
+    throw notSupported( "executeBatch" );
+  }
+
+  public ResultSet executeQuery() throws SQLException {
+    throw notSupported( "executeQuery" );
+  }
+
+  public ResultSet executeQuery( String sql ) throws SQLException {
+    throw notSupported( "executeQuery" );
+  }
+
+  public int executeUpdate() throws SQLException {
+    throw notSupported( "executeUpdate" );
+  }
+
+  public int executeUpdate( String sql ) throws SQLException {
+    throw notSupported( "executeUpdate" );
+  }
+
+  public int executeUpdate( String sql, String[] columnNames ) throws SQLException {
+    throw notSupported( "executeUpdate" );
+  }
+
+  public int executeUpdate( String sql, int autoGeneratedKeys ) throws SQLException {
+    throw notSupported( "executeUpdate" );
+  }
+
+  public int executeUpdate( String sql, int[] columnIndexes ) throws SQLException {
+    throw notSupported( "executeUpdate" );
+  }
+
+  public Connection getConnection() throws SQLException {
+    throw notSupported( "getConnection" );
+  }
+
+  public int getFetchDirection() throws SQLException {
+    throw notSupported( "getFetchDirection" );
+  }
+
+  public int getFetchSize() throws SQLException {
+    throw notSupported( "getFetchSize" );
+  }
+
+  public ResultSet getGeneratedKeys() throws SQLException {
+    throw notSupported( "getGeneratedKeys" );
+  }
+
+  public int getMaxFieldSize() throws SQLException {
+    throw notSupported( "getMaxFieldSize" );
+  }
+
+  public int getMaxRows() throws SQLException {
+    throw notSupported( "getMaxRows" );
+  }
+
+  public ResultSetMetaData getMetaData() throws SQLException {
+    throw notSupported( "getMetaData" );
+  }
+
+  public boolean getMoreResults() throws SQLException {
+    throw notSupported( "getMoreResults" );
+  }
+
+  public boolean getMoreResults( int current ) throws SQLException {
+    throw notSupported( "getMoreResults" );
+  }
+
+  public ParameterMetaData getParameterMetaData() throws SQLException {
+    throw notSupported( "getParameterMetaData" );
+  }
+
+  public int getQueryTimeout() throws SQLException {
+    throw notSupported( "getQueryTimeout" );
+  }
+
+  public ResultSet getResultSet() throws SQLException {
+    throw notSupported( "getResultSet" );
+  }
+
+  public int getResultSetConcurrency() throws SQLException {
+    throw notSupported( "getResultSetConcurrency" );
+  }
+
+  public int getResultSetHoldability() throws SQLException {
+    throw notSupported( "getResultSetHoldability" );
+  }
+
+  public int getResultSetType() throws SQLException {
+    throw notSupported( "getResultSetType" );
+  }
+
+  public int getUpdateCount() throws SQLException {
+    throw notSupported( "getUpdateCount" );
+  }
+
+  public SQLWarning getWarnings() throws SQLException {
+    throw notSupported( "getWarnings" );
+  }
+
+  public boolean isCloseOnCompletion() throws SQLException {
+    throw notSupported( "isCloseOnCompletion" );
+  }
+
+  public boolean isClosed() throws SQLException {
+    throw notSupported( "isClosed" );
+  }
+
+  public boolean isPoolable() throws SQLException {
+    throw notSupported( "isPoolable" );
+  }
+
+  public void setArray( int parameterIndex, Array x ) throws SQLException {
+    throw notSupported( "setArray" );
+  }
+
+  public void setAsciiStream( int parameterIndex, InputStream x ) throws SQLException {
+    throw notSupported( "setAsciiStream" );
+  }
+
+  public void setAsciiStream( int parameterIndex, InputStream x, int length ) throws SQLException {
+    throw notSupported( "setAsciiStream" );
+  }
+
+  public void setAsciiStream( int parameterIndex, InputStream x, long length ) throws SQLException {
+    throw notSupported( "setAsciiStream" );
+  }
+
+  public void setBigDecimal( int parameterIndex, BigDecimal x ) throws SQLException {
+    throw notSupported( "setBigDecimal" );
+  }
+
+  public void setBinaryStream( int parameterIndex, InputStream x ) throws SQLException {
+    throw notSupported( "setBinaryStream" );
+  }
+
+  public void setBinaryStream( int parameterIndex, InputStream x, int length ) throws SQLException {
+    throw notSupported( "setBinaryStream" );
+  }
+
+  public void setBinaryStream( int parameterIndex, InputStream x, long length ) throws SQLException {
+    throw notSupported( "setBinaryStream" );
+  }
+
+  public void setBlob( int parameterIndex, Blob x ) throws SQLException {
+    throw notSupported( "setBlob" );
+  }
+
+  public void setBlob( int parameterIndex, InputStream x ) throws SQLException {
+    throw notSupported( "setBlob" );
+  }
+
+  public void setBlob( int parameterIndex, InputStream x, long length ) throws SQLException {
+    throw notSupported( "setBlob" );
+  }
+
+  public void setBoolean( int parameterIndex, boolean x ) throws SQLException {
+    throw notSupported( "setBoolean" );
+  }
+
+  public void setByte( int parameterIndex, byte x ) throws SQLException {
+    throw notSupported( "setByte" );
+  }
+
+  public void setBytes( int parameterIndex, byte[] x ) throws SQLException {
+    throw notSupported( "setBytes" );
+  }
+
+  public void setCharacterStream( int parameterIndex, Reader x ) throws SQLException {
+    throw notSupported( "setCharacterStream" );
+  }
+
+  public void setCharacterStream( int parameterIndex, Reader x, int length ) throws SQLException {
+    throw notSupported( "setCharacterStream" );
+  }
+
+  public void setCharacterStream( int parameterIndex, Reader x, long length ) throws SQLException {
+    throw notSupported( "setCharacterStream" );
+  }
+
+  public void setClob( int parameterIndex, Clob x ) throws SQLException {
+    throw notSupported( "setClob" );
+  }
+
+  public void setClob( int parameterIndex, Reader x ) throws SQLException {
+    throw notSupported( "setClob" );
+  }
+
+  public void setClob( int parameterIndex, Reader x, long length ) throws SQLException {
+    throw notSupported( "setClob" );
+  }
+
+  public void setCursorName( String name ) throws SQLException {
+    throw notSupported( "setCursorName" );
+  }
+
+  public void setDate( int parameterIndex, Date x ) throws SQLException {
+    throw notSupported( "setDate" );
+  }
+
+  public void setDate( int parameterIndex, Date x, Calendar cal ) throws SQLException {
+    throw notSupported( "setDate" );
+  }
+
+  public void setDouble( int parameterIndex, double x ) throws SQLException {
+    throw notSupported( "setDouble" );
+  }
+
+  public void setEscapeProcessing( boolean enable ) throws SQLException {
+    throw notSupported( "setEscapeProcessing" );
+  }
+
+  public void setFetchDirection( int direction ) throws SQLException {
+    throw notSupported( "setFetchDirection" );
+  }
+
+  public void setFetchSize( int rows ) throws SQLException {
+    throw notSupported( "setFetchSize" );
+  }
+
+  public void setFloat( int parameterIndex, float x ) throws SQLException {
+    throw notSupported( "setFloat" );
+  }
+
+  public void setInt( int parameterIndex, int x ) throws SQLException {
+    throw notSupported( "setInt" );
+  }
+
+  public void setLong( int parameterIndex, long x ) throws SQLException {
+    throw notSupported( "setLong" );
+  }
+
+  public void setMaxFieldSize( int max ) throws SQLException {
+    throw notSupported( "setMaxFieldSize" );
+  }
+
+  public void setMaxRows( int max ) throws SQLException {
+    throw notSupported( "setMaxRows" );
+  }
+
+  public void setNCharacterStream( int parameterIndex, Reader x ) throws SQLException {
+    throw notSupported( "setNCharacterStream" );
+  }
+
+  public void setNCharacterStream( int parameterIndex, Reader x, long length ) throws SQLException {
+    throw notSupported( "setNCharacterStream" );
+  }
+
+  public void setNClob( int parameterIndex, NClob x ) throws SQLException {
+    throw notSupported( "setNClob" );
+  }
+
+  public void setNClob( int parameterIndex, Reader x ) throws SQLException {
+    throw notSupported( "setNClob" );
+  }
+
+  public void setNClob( int parameterIndex, Reader x, long length ) throws SQLException {
+    throw notSupported( "setNClob" );
+  }
+
+  public void setNString( int parameterIndex, String x ) throws SQLException {
+    throw notSupported( "setNString" );
+  }
+
+  public void setNull( int parameterIndex, int sqlType ) throws SQLException {
+    throw notSupported( "setNull" );
+  }
+
+  public void setNull( int parameterIndex, int sqlType, String typeName ) throws SQLException {
+    throw notSupported( "setNull" );
+  }
+
+  public void setObject( int parameterIndex, Object x ) throws SQLException {
+    throw notSupported( "setObject" );
+  }
+
+  public void setObject( int parameterIndex, Object x, int targetSqlType ) throws SQLException {
+    throw notSupported( "setObject" );
+  }
+
+  public void setObject( int parameterIndex, Object x, int targetSqlType, int scaleOrLength ) throws SQLException {
+    throw notSupported( "setObject" );
+  }
+
+  public void setPoolable( boolean poolable ) throws SQLException {
+    throw notSupported( "setPoolable" );
+  }
+
+  public void setQueryTimeout( int seconds ) throws SQLException {
+    throw notSupported( "setQueryTimeout" );
+  }
+
+  public void setRef( int parameterIndex, Ref x ) throws SQLException {
+    throw notSupported( "setRef" );
+  }
+
+  public void setRowId( int parameterIndex, RowId x ) throws SQLException {
+    throw notSupported( "setRowId" );
+  }
+
+  public void setSQLXML( int parameterIndex, SQLXML x ) throws SQLException {
+    throw notSupported( "setSQLXML" );
+  }
+
+  public void setShort( int parameterIndex, short x ) throws SQLException {
+    throw notSupported( "setShort" );
+  }
+
+  public void setString( int parameterIndex, String x ) throws SQLException {
+    throw notSupported( "setString" );
+  }
+
+  public void setTime( int parameterIndex, Time x ) throws SQLException {
+    throw notSupported( "setTime" );
+  }
+
+  public void setTime( int parameterIndex, Time x, Calendar cal ) throws SQLException {
+    throw notSupported( "setTime" );
+  }
+
+  public void setTimestamp( int parameterIndex, Timestamp x ) throws SQLException {
+    throw notSupported( "setTimestamp" );
+  }
+
+  public void setTimestamp( int parameterIndex, Timestamp x, Calendar cal ) throws SQLException {
+    throw notSupported( "setTimestamp" );
+  }
+
+  public void setURL( int parameterIndex, URL x ) throws SQLException {
+    throw notSupported( "setURL" );
+  }
+
+  public void setUnicodeStream( int parameterIndex, InputStream x, int length ) throws SQLException {
+    throw notSupported( "setUnicodeStream" );
+  }
+}
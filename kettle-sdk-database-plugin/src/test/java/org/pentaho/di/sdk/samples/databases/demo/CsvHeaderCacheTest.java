@@ -0,0 +1,112 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CsvHeaderCacheTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Before
+  public void setUp() {
+    CsvHeaderCache.clear();
+  }
+
+  private Path write( String name, String content ) throws Exception {
+    File file = new File( folder.getRoot(), name );
+    Files.write( file.toPath(), content.getBytes( StandardCharsets.UTF_8 ) );
+    return file.toPath();
+  }
+
+  private CsvOptions options( String separator ) throws Exception {
+    Properties properties = new Properties();
+    properties.setProperty( CsvOptions.SEPARATOR, separator );
+    return new CsvOptions( properties );
+  }
+
+  @Test
+  public void testCached() throws Exception {
+    Path path = write( "people.csv", "id;name\n1;Steve\n" );
+    CsvHeaderCache.Header header = CsvHeaderCache.get( path, options( ";" ) );
+    assertArrayEquals( new String[] { "id", "name" }, header.columnNames );
+    assertEquals( 8, header.dataStart );
+    assertSame( header, CsvHeaderCache.get( path, options( ";" ) ) );
+
+    // mapping the file uses the cached header
+    MappedCsvFile file = MappedCsvFile.open( path, options( ";" ) );
+    assertSame( header.columnNames, file.getColumnNames() );
+  }
+
+  @Test
+  public void testOptions() throws Exception {
+    Path path = write( "people.csv", "id;name\n1;Steve\n" );
+    CsvHeaderCache.Header header = CsvHeaderCache.get( path, options( ";" ) );
+    CsvHeaderCache.Header other = CsvHeaderCache.get( path, options( "," ) );
+    assertNotSame( header, other );
+    assertArrayEquals( new String[] { "id;name" }, other.columnNames );
+  }
+
+  @Test
+  public void testChangedFile() throws Exception {
+    Path path = write( "people.csv", "id;name\n1;Steve\n" );
+    FileTime time = Files.getLastModifiedTime( path );
+    CsvHeaderCache.Header header = CsvHeaderCache.get( path, options( ";" ) );
+
+    // same size, other modification time
+    write( "people.csv", "ID;NAME\n1;Steve\n" );
+    Files.setLastModifiedTime( path, FileTime.fromMillis( time.toMillis() + 2000 ) );
+    CsvHeaderCache.Header changed = CsvHeaderCache.get( path, options( ";" ) );
+    assertNotSame( header, changed );
+    assertArrayEquals( new String[] { "ID", "NAME" }, changed.columnNames );
+
+    // same modification time, other size
+    write( "people.csv", "id;name;age\n1;Steve;42\n" );
+    Files.setLastModifiedTime( path, FileTime.fromMillis( time.toMillis() + 2000 ) );
+    assertArrayEquals( new String[] { "id", "name", "age" }, CsvHeaderCache.get( path, options( ";" ) ).columnNames );
+  }
+
+  @Test
+  public void testProbe() throws Exception {
+    write( "people.csv", "id,name\n1,Steve\n" );
+    Connection connection = new MappedCsvDriver().connect( MappedCsvDriver.URL_PREFIX + folder.getRoot().getPath(),
+      new Properties() );
+    ResultSet result = connection.createStatement().executeQuery( "SELECT name FROM people WHERE 1=0" );
+    assertEquals( "name", result.getMetaData().getColumnName( 1 ) );
+    result.close();
+
+    Path path = write( "people.csv", "id,name,age\n1,Steve,42\n" );
+    Files.setLastModifiedTime( path, FileTime.fromMillis( System.currentTimeMillis() + 2000 ) );
+    result = connection.createStatement().executeQuery( "SELECT * FROM people WHERE 1=0" );
+    assertEquals( 3, result.getMetaData().getColumnCount() );
+    connection.close();
+  }
+}
@@ -0,0 +1,193 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CsvIndexTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path write( int nrLines ) throws Exception {
+    StringBuilder content = new StringBuilder( "id,code,amount\n" );
+    for ( int i = 0; i < nrLines; i++ ) {
+      content.append( i ).append( ",C" ).append( ( i * 7919 ) % nrLines ).append( ',' );
+      if ( i % 10 != 0 ) {
+        content.append( i % 100 ).append( '.' ).append( i % 7 );
+      }
+      content.append( '\n' );
+    }
+    Path path = new File( folder.getRoot(), "sales.csv" ).toPath();
+    Files.write( path, content.toString().getBytes( StandardCharsets.UTF_8 ) );
+    return path;
+  }
+
+  private Properties properties( String... options ) {
+    Properties properties = new Properties();
+    properties.setProperty( CsvOptions.COLUMN_TYPES, "Integer,String,Double" );
+    properties.setProperty( CsvOptions.INDEX, "true" );
+    properties.setProperty( CsvOptions.INDEX_BLOCK_LINES, "100" );
+    for ( int i = 0; i < options.length; i += 2 ) {
+      properties.setProperty( options[i], options[i + 1] );
+    }
+    return properties;
+  }
+
+  private List<String> query( String sql, Properties properties ) throws Exception {
+    Connection connection = new MappedCsvDriver().connect( MappedCsvDriver.URL_PREFIX + folder.getRoot().getPath(),
+      properties );
+    ResultSet result = connection.createStatement().executeQuery( sql );
+    List<String> rows = new ArrayList<String>();
+    while ( result.next() ) {
+      rows.add( result.getString( 1 ) + "|" + result.getString( 2 ) + "|" + result.getString( 3 ) );
+    }
+    connection.close();
+    return rows;
+  }
+
+  /**
+   * Queries with and without the index must return the same rows.
+   */
+  @Test
+  public void testSameRows() throws Exception {
+    write( 5000 );
+    String[] queries = {
+      "SELECT * FROM sales WHERE id = 4321",
+      "SELECT * FROM sales WHERE id >= 1000 AND id < 1250",
+      "SELECT * FROM sales WHERE amount > 98.5",
+      "SELECT * FROM sales WHERE code = 'C17'",
+      "SELECT * FROM sales WHERE code <= 'C1' AND id <> 0",
+      "SELECT * FROM sales WHERE id > 100000",
+    };
+    for ( String sql : queries ) {
+      Properties noIndex = properties();
+      noIndex.setProperty( CsvOptions.INDEX, "false" );
+      List<String> expected = query( sql, noIndex );
+      assertEquals( sql, expected, query( sql, properties() ) );
+      assertEquals( sql, expected, query( sql, properties( CsvOptions.INDEX_KEY, "code" ) ) );
+      assertEquals( sql, expected, query( sql, properties( CsvOptions.INDEX_KEY + ".sales", "amount" ) ) );
+    }
+  }
+
+  @Test
+  public void testSkipBlocks() throws Exception {
+    Path path = write( 5000 );
+    CsvOptions options = new CsvOptions( properties() );
+    MappedCsvFile file = MappedCsvFile.open( path, options );
+    CsvIndex index = CsvIndex.get( file, options, "sales" );
+    assertEquals( 50, index.getBlockCount() );
+    assertFalse( index.hasKeyIndex() );
+    assertTrue( Files.exists( path.resolveSibling( "sales.csv" + CsvIndex.SUFFIX ) ) );
+
+    // the ids are in file order, so a single block holds id 4321
+    List<CsvPredicate> predicates = new ArrayList<CsvPredicate>();
+    predicates.add( new CsvPredicate( 0, CsvPredicate.EQUAL, true, new BigDecimal( 4321 ) ) );
+    long[] ranges = index.select( predicates );
+    assertEquals( 2, ranges.length );
+
+    // no block holds a negative id
+    predicates.set( 0, new CsvPredicate( 0, CsvPredicate.LESS, true, BigDecimal.ZERO ) );
+    assertEquals( 0, index.select( predicates ).length );
+  }
+
+  @Test
+  public void testKeyIndex() throws Exception {
+    Path path = write( 5000 );
+    CsvOptions options = new CsvOptions( properties( CsvOptions.INDEX_KEY, "code" ) );
+    CsvIndex index = CsvIndex.get( MappedCsvFile.open( path, options ), options, "sales" );
+    assertTrue( index.hasKeyIndex() );
+
+    List<CsvPredicate> predicates = new ArrayList<CsvPredicate>();
+    predicates.add( new CsvPredicate( 1, CsvPredicate.EQUAL, false, "C17" ) );
+    // a single line is read
+    assertEquals( 2, index.select( predicates ).length );
+  }
+
+  @Test
+  public void testSidecar() throws Exception {
+    Path path = write( 1000 );
+    CsvOptions options = new CsvOptions( properties( CsvOptions.INDEX_KEY, "id" ) );
+    MappedCsvFile file = MappedCsvFile.open( path, options );
+    CsvIndex.get( file, options, "sales" );
+
+    boolean[] numeric = { true, false, true };
+    CsvIndex index = CsvIndex.read( path.resolveSibling( "sales.csv" + CsvIndex.SUFFIX ), numeric );
+    assertEquals( 10, index.getBlockCount() );
+    assertTrue( index.hasKeyIndex() );
+    List<CsvPredicate> predicates = new ArrayList<CsvPredicate>();
+    predicates.add( new CsvPredicate( 0, CsvPredicate.GREATER_OR_EQUAL, true, new BigDecimal( 998 ) ) );
+    assertEquals( 4, index.select( predicates ).length );
+  }
+
+  @Test
+  public void testChangedFile() throws Exception {
+    Path path = write( 1000 );
+    assertEquals( 1, query( "SELECT * FROM sales WHERE id = 999", properties() ).size() );
+
+    // the index is built again for the new file
+    path = write( 2000 );
+    Files.setLastModifiedTime( path, FileTime.fromMillis( System.currentTimeMillis() + 2000 ) );
+    assertEquals( 1, query( "SELECT * FROM sales WHERE id = 1999", properties() ).size() );
+    CsvOptions options = new CsvOptions( properties() );
+    assertEquals( 20, CsvIndex.get( MappedCsvFile.open( path, options ), options, "sales" ).getBlockCount() );
+  }
+
+  /**
+   * Long texts must not be cut between the two chars of a surrogate pair.
+   */
+  @Test
+  public void testTruncate() throws Exception {
+    StringBuilder prefix = new StringBuilder();
+    for ( int i = 1; i < CsvIndex.MAX_TEXT_LENGTH; i++ ) {
+      prefix.append( 'a' );
+    }
+    // the pair would be split after its first char
+    assertEquals( prefix.toString(), CsvIndex.truncate( prefix + "\ud83d\ude00b" ) );
+    // the pair fits as a whole
+    assertEquals( "a\ud83d\ude00" + prefix.substring( 2 ),
+      CsvIndex.truncate( "a\ud83d\ude00" + prefix + "b" ) );
+    assertEquals( "short", CsvIndex.truncate( "short" ) );
+  }
+
+  @Test
+  public void testTables() throws Exception {
+    write( 10 );
+    query( "SELECT * FROM sales WHERE id = 1", properties() );
+    Connection connection = new MappedCsvDriver().connect( MappedCsvDriver.URL_PREFIX + folder.getRoot().getPath(),
+      properties( CsvOptions.FILE_EXTENSION, "" ) );
+    ResultSet tables = connection.getMetaData().getTables( null, null, "%", null );
+    assertTrue( tables.next() );
+    assertEquals( "sales.csv", tables.getString( "TABLE_NAME" ) );
+    assertFalse( tables.next() );
+    connection.close();
+  }
+}
@@ -0,0 +1,123 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CsvScannerTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private MappedCsvFile open( String content, Properties properties ) throws Exception {
+    File file = folder.newFile( "test.csv" );
+    Files.write( file.toPath(), content.getBytes( StandardCharsets.UTF_8 ) );
+    return MappedCsvFile.open( file.toPath(), new CsvOptions( properties ) );
+  }
+
+  private List<String> readAll( MappedCsvFile file, CsvOptions options, long start, long end ) {
+    List<String> lines = new ArrayList<String>();
+    CsvScanner scanner = new CsvScanner( file, options, start, end );
+    while ( scanner.next() ) {
+      StringBuilder line = new StringBuilder();
+      for ( int i = 0; i < scanner.getFieldCount(); i++ ) {
+        line.append( i > 0 ? "|" : "" ).append( scanner.isNull( i ) ? "<null>" : scanner.getString( i ) );
+      }
+      lines.add( line.toString() );
+    }
+    return lines;
+  }
+
+  @Test
+  public void testHeader() throws Exception {
+    MappedCsvFile file = open( "id,\"the name\"\n1,a\n", new Properties() );
+    assertEquals( 2, file.getColumnNames().length );
+    assertEquals( "id", file.getColumnNames()[0] );
+    assertEquals( "the name", file.getColumnNames()[1] );
+    assertEquals( 14, file.getDataStart() );
+  }
+
+  @Test
+  public void testSuppressHeaders() throws Exception {
+    Properties properties = new Properties();
+    properties.setProperty( CsvOptions.SUPPRESS_HEADERS, "true" );
+    MappedCsvFile file = open( "1,a\n2,b\n", properties );
+    assertEquals( "COLUMN1", file.getColumnNames()[0] );
+    assertEquals( "COLUMN2", file.getColumnNames()[1] );
+    assertEquals( 0, file.getDataStart() );
+  }
+
+  @Test
+  public void testFields() throws Exception {
+    Properties properties = new Properties();
+    properties.setProperty( CsvOptions.SEPARATOR, ";" );
+    CsvOptions options = new CsvOptions( properties );
+    MappedCsvFile file = open( "a;b;c\r\n1;\"x;y\";\r\n\n2;\"say \"\"hi\"\"\";\"\"\r\n-3;\u00e9", properties );
+    List<String> lines = readAll( file, options, file.getDataStart(), file.size() );
+    assertEquals( 3, lines.size() );
+    assertEquals( "1|x;y|<null>", lines.get( 0 ) );
+    assertEquals( "2|say \"hi\"|", lines.get( 1 ) );
+    assertEquals( "-3|\u00e9", lines.get( 2 ) );
+  }
+
+  @Test
+  public void testLastField() throws Exception {
+    CsvOptions options = new CsvOptions( new Properties() );
+    MappedCsvFile file = open( "a,b,c,d\n1,\"x,\ny\",3,4\n5,6\n7,8,\"9\"\"\",10\n", new Properties() );
+    CsvScanner scanner = new CsvScanner( file, options, file.getDataStart(), file.size() );
+    scanner.setLastField( 1 );
+    String[] expected = { "1|x,\ny", "5|6", "7|8" };
+    for ( String line : expected ) {
+      assertTrue( scanner.next() );
+      assertEquals( 2, scanner.getFieldCount() );
+      assertEquals( line, scanner.getString( 0 ) + "|" + scanner.getString( 1 ) );
+      assertTrue( scanner.isNull( 2 ) );
+    }
+    assertFalse( scanner.next() );
+  }
+
+  @Test
+  public void testLong() throws Exception {
+    CsvOptions options = new CsvOptions( new Properties() );
+    MappedCsvFile file = open( "n\n0\n-42\n9223372036854775807\n+7\n", new Properties() );
+    CsvScanner scanner = new CsvScanner( file, options, file.getDataStart(), file.size() );
+    long[] expected = { 0L, -42L, Long.MAX_VALUE, 7L };
+    for ( long value : expected ) {
+      assertTrue( scanner.next() );
+      assertEquals( value, scanner.getLong( 0 ) );
+    }
+    assertFalse( scanner.next() );
+  }
+
+  @Test( expected = NumberFormatException.class )
+  public void testBadLong() throws Exception {
+    CsvOptions options = new CsvOptions( new Properties() );
+    MappedCsvFile file = open( "n\n12x\n", new Properties() );
+    CsvScanner scanner = new CsvScanner( file, options, file.getDataStart(), file.size() );
+    assertTrue( scanner.next() );
+    scanner.getLong( 0 );
+  }
+}
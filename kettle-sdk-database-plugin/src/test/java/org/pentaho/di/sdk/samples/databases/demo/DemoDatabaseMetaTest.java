@@ -15,6 +15,7 @@
 package org.pentaho.di.sdk.samples.databases.demo;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import java.io.File;
 import org.apache.commons.vfs2.FileObject;
 import org.apache.commons.vfs2.FileSystemException;
@@ -51,4 +52,14 @@ public class DemoDatabaseMetaTest {
     url = dbMeta.getURL( null, null, vfsFile.getURL().toString() );
     assertEquals( prefix + System.getProperty( "user.dir" ), url );
   }
+
+  @Test
+  public void testMappedCsvUrl() throws KettleException {
+    MappedCsvDatabaseMeta dbMeta = new MappedCsvDatabaseMeta();
+    assertEquals( MappedCsvDriver.class.getName(), dbMeta.getDriverClass() );
+    assertEquals( 0, dbMeta.getUsedLibraries().length );
+    assertTrue( dbMeta.supportsOptionsInURL() );
+    String url = dbMeta.getURL( null, null, new File( "target" ).getAbsolutePath() );
+    assertEquals( MappedCsvDriver.URL_PREFIX + System.getProperty( "user.dir" ) + Const.FILE_SEPARATOR + "target", url );
+  }
 }
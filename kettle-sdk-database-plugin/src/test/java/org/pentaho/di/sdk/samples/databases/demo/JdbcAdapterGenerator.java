@@ -0,0 +1,458 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import java.io.File;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Generates the JDBC adapters of the memory-mapped CSV driver: ConnectionAdapter,
+ * DatabaseMetaDataAdapter, ResultSetAdapter, ResultSetMetaDataAdapter and StatementAdapter.
+ *
+ * The driver implements the JDBC interfaces, which have about 550 methods between them, and
+ * supports only a few of them. The adapters implement all other methods, by throwing
+ * SQLFeatureNotSupportedException or, for DatabaseMetaData, by reporting the feature as not
+ * supported. They are generated from the interfaces with reflection, so they never have to be
+ * edited by hand. Only the abstract methods are implemented, the default methods added in later
+ * Java versions keep their defaults.
+ *
+ * Reflection does not see the parameter names of the JDK, so they are derived from the naming
+ * conventions of the interfaces, and taken from a table for all other methods.
+ *
+ * Run the main method from the module directory to regenerate the adapters after changing this
+ * class. JdbcAdapterGeneratorTest fails if the adapters in the source tree are out of date.
+ */
+class JdbcAdapterGenerator {
+
+  static final String SOURCE_DIR = "src/main/java/org/pentaho/di/sdk/samples/databases/demo";
+
+  static final String HEADER = "/*! ******************************************************************************\n"
+    + " *\n"
+    + " * Pentaho\n"
+    + " *\n"
+    + " * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com\n"
+    + " *\n"
+    + " * Use of this software is governed by the Business Source License included\n"
+    + " * in the LICENSE.TXT file.\n"
+    + " *\n"
+    + " * Change Date: 2030-06-15\n"
+    + " ******************************************************************************/\n"
+    + "\n\n\n";
+
+  static final String NOT_SUPPORTED = " is not supported by the memory-mapped CSV driver";
+
+  /**
+   * The adapters to generate, by class name: the interface and the class comment.
+   */
+  static final Map<String, Object[]> ADAPTERS = new LinkedHashMap<String, Object[]>();
+
+  static {
+    ADAPTERS.put( "ConnectionAdapter", new Object[] { Connection.class,
+      " * It implements every method of java.sql.Connection by throwing SQLFeatureNotSupportedException,\n"
+      + " * so the connection of the driver only needs to implement the methods it supports, the same way\n"
+      + " * a StepAdapter only implements the listener methods of interest. It is generated from the\n"
+      + " * interface and not meant to be edited by hand.\n" } );
+    ADAPTERS.put( "DatabaseMetaDataAdapter", new Object[] { DatabaseMetaData.class,
+      " * It implements every method of java.sql.DatabaseMetaData. Unlike the other adapters it does not\n"
+      + " * throw for most methods, as tools ask a database about many features before using it: every\n"
+      + " * feature is reported as not supported, every limit as unknown (0), and every name as null.\n"
+      + " * Only the methods returning result sets throw SQLFeatureNotSupportedException. It is generated\n"
+      + " * from the interface and not meant to be edited by hand.\n" } );
+    ADAPTERS.put( "ResultSetAdapter", new Object[] { ResultSet.class,
+      " * It implements every method of java.sql.ResultSet by throwing SQLFeatureNotSupportedException,\n"
+      + " * so the result sets of the driver only need to implement the methods they support. It is\n"
+      + " * generated from the interface and not meant to be edited by hand.\n" } );
+    ADAPTERS.put( "ResultSetMetaDataAdapter", new Object[] { ResultSetMetaData.class,
+      " * It implements every method of java.sql.ResultSetMetaData by throwing\n"
+      + " * SQLFeatureNotSupportedException, so the result set metadata of the driver only needs to\n"
+      + " * implement the methods it supports. It is generated from the interface and not meant to be\n"
+      + " * edited by hand.\n" } );
+    ADAPTERS.put( "StatementAdapter", new Object[] { PreparedStatement.class,
+      " * It implements every method of java.sql.PreparedStatement, and so of java.sql.Statement, by\n"
+      + " * throwing SQLFeatureNotSupportedException, so the statement of the driver only needs to\n"
+      + " * implement the methods it supports. It is generated from the interface and not meant to be\n"
+      + " * edited by hand.\n" } );
+  }
+
+  /**
+   * The parameter names of the methods not following the naming conventions, by method name
+   * and parameter types.
+   */
+  static final Map<String, String> PARAMETER_NAMES = new HashMap<String, String>();
+
+  static {
+    // Connection
+    names( "abort(Executor)", "executor" );
+    names( "createArrayOf(String,Object[])", "typeName elements" );
+    names( "createStatement(int,int)", "resultSetType resultSetConcurrency" );
+    names( "createStatement(int,int,int)", "resultSetType resultSetConcurrency resultSetHoldability" );
+    names( "createStruct(String,Object[])", "typeName attributes" );
+    names( "getClientInfo(String)", "name" );
+    names( "isValid(int)", "timeout" );
+    names( "nativeSQL(String)", "sql" );
+    names( "prepareCall(String)", "sql" );
+    names( "prepareCall(String,int,int)", "sql resultSetType resultSetConcurrency" );
+    names( "prepareCall(String,int,int,int)", "sql resultSetType resultSetConcurrency resultSetHoldability" );
+    names( "prepareStatement(String)", "sql" );
+    names( "prepareStatement(String,int)", "sql autoGeneratedKeys" );
+    names( "prepareStatement(String,int[])", "sql columnIndexes" );
+    names( "prepareStatement(String,String[])", "sql columnNames" );
+    names( "prepareStatement(String,int,int)", "sql resultSetType resultSetConcurrency" );
+    names( "prepareStatement(String,int,int,int)", "sql resultSetType resultSetConcurrency resultSetHoldability" );
+    names( "releaseSavepoint(Savepoint)", "savepoint" );
+    names( "rollback(Savepoint)", "savepoint" );
+    names( "setAutoCommit(boolean)", "autoCommit" );
+    names( "setCatalog(String)", "catalog" );
+    names( "setClientInfo(String,String)", "name value" );
+    names( "setClientInfo(Properties)", "properties" );
+    names( "setHoldability(int)", "holdability" );
+    names( "setNetworkTimeout(Executor,int)", "executor milliseconds" );
+    names( "setReadOnly(boolean)", "readOnly" );
+    names( "setSavepoint(String)", "name" );
+    names( "setSchema(String)", "schema" );
+    names( "setTransactionIsolation(int)", "level" );
+
+    // DatabaseMetaData
+    for ( String method : new String[] { "deletesAreDetected", "insertsAreDetected", "updatesAreDetected",
+      "othersDeletesAreVisible", "othersInsertsAreVisible", "othersUpdatesAreVisible", "ownDeletesAreVisible",
+      "ownInsertsAreVisible", "ownUpdatesAreVisible", "supportsResultSetType" } ) {
+      names( method + "(int)", "type" );
+    }
+    names( "getAttributes(String,String,String,String)", "catalog schemaPattern typeNamePattern attributeNamePattern" );
+    names( "getBestRowIdentifier(String,String,String,int,boolean)", "catalog schema table scope nullable" );
+    names( "getColumnPrivileges(String,String,String,String)", "catalog schema table columnNamePattern" );
+    names( "getColumns(String,String,String,String)", "catalog schemaPattern tableNamePattern columnNamePattern" );
+    names( "getCrossReference(String,String,String,String,String,String)",
+      "parentCatalog parentSchema parentTable foreignCatalog foreignSchema foreignTable" );
+    names( "getExportedKeys(String,String,String)", "catalog schema table" );
+    names( "getFunctionColumns(String,String,String,String)",
+      "catalog schemaPattern functionNamePattern columnNamePattern" );
+    names( "getFunctions(String,String,String)", "catalog schemaPattern functionNamePattern" );
+    names( "getImportedKeys(String,String,String)", "catalog schema table" );
+    names( "getIndexInfo(String,String,String,boolean,boolean)", "catalog schema table unique approximate" );
+    names( "getPrimaryKeys(String,String,String)", "catalog schema table" );
+    names( "getProcedureColumns(String,String,String,String)",
+      "catalog schemaPattern procedureNamePattern columnNamePattern" );
+    names( "getProcedures(String,String,String)", "catalog schemaPattern procedureNamePattern" );
+    names( "getPseudoColumns(String,String,String,String)",
+      "catalog schemaPattern tableNamePattern columnNamePattern" );
+    names( "getSchemas(String,String)", "catalog schemaPattern" );
+    names( "getSuperTables(String,String,String)", "catalog schemaPattern tableNamePattern" );
+    names( "getSuperTypes(String,String,String)", "catalog schemaPattern typeNamePattern" );
+    names( "getTablePrivileges(String,String,String)", "catalog schemaPattern tableNamePattern" );
+    names( "getTables(String,String,String,String[])", "catalog schemaPattern tableNamePattern types" );
+    names( "getUDTs(String,String,String,int[])", "catalog schemaPattern typeNamePattern types" );
+    names( "getVersionColumns(String,String,String)", "catalog schema table" );
+    names( "supportsConvert(int,int)", "fromType toType" );
+    names( "supportsResultSetConcurrency(int,int)", "type concurrency" );
+    names( "supportsResultSetHoldability(int)", "holdability" );
+    names( "supportsTransactionIsolationLevel(int)", "level" );
+
+    // Statement and PreparedStatement
+    names( "addBatch(String)", "sql" );
+    names( "execute(String)", "sql" );
+    names( "execute(String,int)", "sql autoGeneratedKeys" );
+    names( "execute(String,int[])", "sql columnIndexes" );
+    names( "execute(String,String[])", "sql columnNames" );
+    names( "executeQuery(String)", "sql" );
+    names( "executeUpdate(String)", "sql" );
+    names( "executeUpdate(String,int)", "sql autoGeneratedKeys" );
+    names( "executeUpdate(String,int[])", "sql columnIndexes" );
+    names( "executeUpdate(String,String[])", "sql columnNames" );
+    names( "getMoreResults(int)", "current" );
+    names( "setCursorName(String)", "name" );
+    names( "setEscapeProcessing(boolean)", "enable" );
+    names( "setMaxFieldSize(int)", "max" );
+    names( "setMaxRows(int)", "max" );
+    names( "setPoolable(boolean)", "poolable" );
+    names( "setQueryTimeout(int)", "seconds" );
+    names( "setNull(int,int)", "parameterIndex sqlType" );
+    names( "setNull(int,int,String)", "parameterIndex sqlType typeName" );
+    names( "setObject(int,Object,int)", "parameterIndex x targetSqlType" );
+    names( "setObject(int,Object,int,int)", "parameterIndex x targetSqlType scaleOrLength" );
+
+    // Statement and ResultSet
+    names( "setFetchDirection(int)", "direction" );
+    names( "setFetchSize(int)", "rows" );
+
+    // ResultSet
+    names( "absolute(int)", "row" );
+    names( "relative(int)", "rows" );
+    names( "getBigDecimal(int,int)", "columnIndex scale" );
+    names( "getBigDecimal(String,int)", "columnLabel scale" );
+    names( "updateObject(int,Object,int)", "columnIndex x scaleOrLength" );
+    names( "updateObject(String,Object,int)", "columnLabel x scaleOrLength" );
+  }
+
+  private static void names( String signature, String names ) {
+    PARAMETER_NAMES.put( signature, names );
+  }
+
+  public static void main( String[] args ) throws Exception {
+    File dir = new File( args.length > 0 ? args[0] : SOURCE_DIR );
+    for ( String className : ADAPTERS.keySet() ) {
+      File file = new File( dir, className + ".java" );
+      Files.write( file.toPath(), generate( className ).getBytes( StandardCharsets.US_ASCII ) );
+      System.out.println( "Generated " + file );
+    }
+  }
+
+  /**
+   * Generates the source of an adapter.
+   *
+   * @param className  the class name of the adapter
+   *
+   * @return the source code
+   */
+  static String generate( String className ) {
+    Class<?> iface = (Class<?>) ADAPTERS.get( className )[0];
+    String comment = (String) ADAPTERS.get( className )[1];
+
+    TreeSet<String> imports = new TreeSet<String>();
+    imports.add( iface.getName() );
+    imports.add( SQLException.class.getName() );
+    imports.add( SQLFeatureNotSupportedException.class.getName() );
+
+    StringBuilder methods = new StringBuilder();
+    for ( Method method : abstractMethods( iface ) ) {
+      if ( method.getDeclaringClass().getName().equals( "java.sql.Wrapper" ) ) {
+        continue;
+      }
+      methods.append( '\n' ).append( generate( iface, method, imports ) );
+    }
+
+    StringBuilder source = new StringBuilder( HEADER );
+    source.append( "package " ).append( JdbcAdapterGenerator.class.getPackage().getName() ).append( ";\n\n" );
+    for ( String name : imports ) {
+      source.append( "import " ).append( name ).append( ";\n" );
+    }
+    source.append( "\n/**\n" );
+    source.append( " * This class is part of the memory-mapped CSV driver of the demo database plug-in.\n" );
+    source.append( " *\n" );
+    source.append( comment );
+    source.append( " */\n" );
+    source.append( "abstract class " ).append( className ).append( " implements " ).append( iface.getSimpleName() )
+      .append( " {\n\n" );
+    source.append( "  /**\n" );
+    source.append( "   * @return the exception thrown by the methods the driver does not support\n" );
+    source.append( "   */\n" );
+    source.append( "  static SQLFeatureNotSupportedException notSupported( String method ) {\n" );
+    source.append( "    return new SQLFeatureNotSupportedException( method + \"()" ).append( NOT_SUPPORTED )
+      .append( "\" );\n" );
+    source.append( "  }\n\n" );
+    source.append( "  public <T> T unwrap( Class<T> iface ) throws SQLException {\n" );
+    source.append( "    if ( iface.isInstance( this ) ) {\n" );
+    source.append( "      return iface.cast( this );\n" );
+    source.append( "    }\n" );
+    source.append( "    throw new SQLException( getClass().getName() + \" does not implement \" + iface.getName() );\n" );
+    source.append( "  }\n\n" );
+    source.append( "  public boolean isWrapperFor( Class<?> iface ) throws SQLException {\n" );
+    source.append( "    return iface.isInstance( this );\n" );
+    source.append( "  }\n" );
+    source.append( methods );
+    source.append( "}\n" );
+    return source.toString();
+  }
+
+  /**
+   * @return the abstract methods of an interface and the interfaces it extends, by name and
+   *         then by parameter count and types
+   */
+  static List<Method> abstractMethods( Class<?> iface ) {
+    Map<String, Method> methods = new HashMap<String, Method>();
+    for ( Method method : iface.getMethods() ) {
+      if ( !method.isDefault() && !Modifier.isStatic( method.getModifiers() ) ) {
+        methods.put( signature( method ), method );
+      }
+    }
+    List<Method> sorted = new ArrayList<Method>( methods.values() );
+    Collections.sort( sorted, new Comparator<Method>() {
+      public int compare( Method a, Method b ) {
+        int result = a.getName().compareTo( b.getName() );
+        if ( result == 0 ) {
+          result = a.getParameterCount() - b.getParameterCount();
+        }
+        return result == 0 ? signature( a ).compareTo( signature( b ) ) : result;
+      }
+    } );
+    return sorted;
+  }
+
+  /**
+   * @return the method name and the simple names of its parameter types, as in the parameter name table
+   */
+  static String signature( Method method ) {
+    StringBuilder signature = new StringBuilder( method.getName() ).append( '(' );
+    Class<?>[] types = method.getParameterTypes();
+    for ( int i = 0; i < types.length; i++ ) {
+      signature.append( i > 0 ? "," : "" ).append( types[i].getSimpleName() );
+    }
+    return signature.append( ')' ).toString();
+  }
+
+  private static String generate( Class<?> iface, Method method, TreeSet<String> imports ) {
+    StringBuilder code = new StringBuilder( "  public " );
+    TypeVariable<Method>[] typeParameters = method.getTypeParameters();
+    if ( typeParameters.length > 0 ) {
+      code.append( '<' );
+      for ( int i = 0; i < typeParameters.length; i++ ) {
+        code.append( i > 0 ? ", " : "" ).append( typeParameters[i].getName() );
+      }
+      code.append( "> " );
+    }
+    code.append( typeName( method.getGenericReturnType(), imports ) ).append( ' ' ).append( method.getName() );
+
+    Type[] types = method.getGenericParameterTypes();
+    String[] names = parameterNames( iface, method );
+    code.append( types.length == 0 ? "()" : "( " );
+    for ( int i = 0; i < types.length; i++ ) {
+      code.append( i > 0 ? ", " : "" ).append( typeName( types[i], imports ) ).append( ' ' ).append( names[i] );
+    }
+    code.append( types.length == 0 ? "" : " )" );
+
+    Class<?>[] exceptions = method.getExceptionTypes();
+    for ( int i = 0; i < exceptions.length; i++ ) {
+      code.append( i == 0 ? " throws " : ", " ).append( typeName( exceptions[i], imports ) );
+    }
+    code.append( " {\n" );
+    code.append( "    " ).append( body( iface, method ) ).append( '\n' );
+    code.append( "  }\n" );
+    return code.toString();
+  }
+
+  /**
+   * @return the statement implementing a method
+   */
+  private static String body( Class<?> iface, Method method ) {
+    Class<?> returnType = method.getReturnType();
+    if ( iface == DatabaseMetaData.class && returnType != ResultSet.class ) {
+      if ( returnType == boolean.class ) {
+        return "return false;";
+      }
+      return returnType == int.class ? "return 0;" : "return null;";
+    }
+    for ( Class<?> exception : method.getExceptionTypes() ) {
+      if ( exception == SQLException.class ) {
+        return "throw notSupported( \"" + method.getName() + "\" );";
+      }
+    }
+    // the client info methods may only throw SQLClientInfoException
+    return "throw new " + SQLClientInfoException.class.getSimpleName() + "( \"" + method.getName() + "()"
+      + NOT_SUPPORTED + "\", null );";
+  }
+
+  /**
+   * Determines the parameter names of a method, from the table or the naming conventions of the interfaces.
+   *
+   * @throws IllegalStateException if a parameter cannot be named, so a new interface method has to
+   *           be added to the table
+   */
+  static String[] parameterNames( Class<?> iface, Method method ) {
+    String names = PARAMETER_NAMES.get( signature( method ) );
+    if ( names != null ) {
+      return names.split( " " );
+    }
+    Class<?>[] types = method.getParameterTypes();
+    String[] result = new String[types.length];
+    String name = method.getName();
+    boolean setter = name.startsWith( "set" ) || name.startsWith( "update" );
+    for ( int i = 0; i < types.length; i++ ) {
+      Class<?> type = types[i];
+      if ( type == Class.class ) {
+        result[i] = "type";
+      } else if ( type == Map.class ) {
+        result[i] = "map";
+      } else if ( type.getSimpleName().equals( "Calendar" ) ) {
+        result[i] = "cal";
+      } else if ( iface == ResultSetMetaData.class && type == int.class ) {
+        result[i] = "column";
+      } else if ( i == 0 && iface == ResultSet.class && type == int.class ) {
+        result[i] = "columnIndex";
+      } else if ( i == 0 && iface == ResultSet.class && type == String.class ) {
+        result[i] = "columnLabel";
+      } else if ( i == 0 && method.getDeclaringClass() == PreparedStatement.class && type == int.class ) {
+        result[i] = "parameterIndex";
+      } else if ( i == 1 && setter ) {
+        result[i] = "x";
+      } else if ( i == 2 && setter && ( type == int.class || type == long.class ) ) {
+        result[i] = "length";
+      } else {
+        throw new IllegalStateException( "No name for parameter " + i + " of " + iface.getName() + "."
+          + signature( method ) );
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return the name of a type in the source, adding the import it needs
+   */
+  private static String typeName( Type type, TreeSet<String> imports ) {
+    if ( type instanceof Class ) {
+      Class<?> c = (Class<?>) type;
+      if ( c.isArray() ) {
+        return typeName( c.getComponentType(), imports ) + "[]";
+      }
+      if ( !c.isPrimitive() && !c.getPackage().getName().equals( "java.lang" ) ) {
+        imports.add( c.getName() );
+      }
+      return c.getSimpleName();
+    }
+    if ( type instanceof ParameterizedType ) {
+      ParameterizedType parameterized = (ParameterizedType) type;
+      StringBuilder name = new StringBuilder( typeName( parameterized.getRawType(), imports ) ).append( '<' );
+      Type[] arguments = parameterized.getActualTypeArguments();
+      for ( int i = 0; i < arguments.length; i++ ) {
+        name.append( i > 0 ? ", " : "" ).append( typeName( arguments[i], imports ) );
+      }
+      return name.append( '>' ).toString();
+    }
+    if ( type instanceof WildcardType ) {
+      Type[] upper = ( (WildcardType) type ).getUpperBounds();
+      if ( upper.length == 0 || upper[0] == Object.class ) {
+        return "?";
+      }
+      return "? extends " + typeName( upper[0], imports );
+    }
+    if ( type instanceof GenericArrayType ) {
+      return typeName( ( (GenericArrayType) type ).getGenericComponentType(), imports ) + "[]";
+    }
+    return ( (TypeVariable<?>) type ).getName();
+  }
+}
@@ -0,0 +1,46 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.ResultSet;
+
+import org.junit.Test;
+
+public class JdbcAdapterGeneratorTest {
+
+  // The adapters in the source tree must be the ones the generator produces, so they are
+  // never edited by hand. Run JdbcAdapterGenerator.main() to regenerate them.
+  @Test
+  public void testAdaptersUpToDate() throws Exception {
+    for ( String className : JdbcAdapterGenerator.ADAPTERS.keySet() ) {
+      File file = new File( JdbcAdapterGenerator.SOURCE_DIR, className + ".java" );
+      String source = new String( Files.readAllBytes( file.toPath() ), StandardCharsets.US_ASCII );
+      assertEquals( className + " is out of date", JdbcAdapterGenerator.generate( className ), source );
+    }
+  }
+
+  // Every parameter must get a name from the conventions of the interfaces or the table
+  @Test
+  public void testParameterNames() throws Exception {
+    assertArrayEquals( new String[] { "columnIndex", "x", "length" }, JdbcAdapterGenerator.parameterNames(
+      ResultSet.class, ResultSet.class.getMethod( "updateAsciiStream", int.class, java.io.InputStream.class, long.class ) ) );
+    assertArrayEquals( new String[] { "columnLabel", "scale" }, JdbcAdapterGenerator.parameterNames(
+      ResultSet.class, ResultSet.class.getMethod( "getBigDecimal", String.class, int.class ) ) );
+  }
+}
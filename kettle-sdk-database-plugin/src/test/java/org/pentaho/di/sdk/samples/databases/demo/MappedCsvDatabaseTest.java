@@ -0,0 +1,147 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.pentaho.di.core.KettleClientEnvironment;
+import org.pentaho.di.core.database.Database;
+import org.pentaho.di.core.database.DatabaseMeta;
+import org.pentaho.di.core.exception.KettleDatabaseException;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.logging.LoggingObject;
+import org.pentaho.di.core.plugins.DatabasePluginType;
+import org.pentaho.di.core.plugins.PluginRegistry;
+import org.pentaho.di.core.row.RowMetaInterface;
+
+public class MappedCsvDatabaseTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @BeforeClass
+  public static void setUpOnce() throws KettleException {
+    // Register custom DatabaseMeta class
+    DatabasePluginType dbPluginType = (DatabasePluginType) PluginRegistry.getInstance().getPluginType( DatabasePluginType.class );
+    dbPluginType.registerCustom( MappedCsvDatabaseMeta.class, null, "MAPPEDCSV", "Memory-mapped CSV", null, null );
+
+    KettleClientEnvironment.init();
+  }
+
+  @Test
+  public void testReadDataIT() throws KettleDatabaseException, SQLException {
+    MappedCsvDatabaseMeta demoMeta = new MappedCsvDatabaseMeta();
+    demoMeta.setPluginId( "MAPPEDCSV" );
+    DatabaseMeta dbMeta = new DatabaseMeta();
+    dbMeta.setDatabaseInterface( demoMeta );
+    dbMeta.addExtraOption( "MAPPEDCSV", "separator", ";" );
+    dbMeta.addExtraOption( "MAPPEDCSV", "columnTypes.small_dataset", "Integer,String" );
+    dbMeta.setDBName( "demo_transform" );
+
+    Database db = new Database( new LoggingObject( this ), dbMeta );
+    db.connect();
+    ResultSet result = db.openQuery( "SELECT * FROM small_dataset" );
+    assertNotNull( result );
+
+    Object[] row = db.getRow( result );
+    RowMetaInterface meta = db.getMetaFromRow( row, result.getMetaData() );
+    assertNotNull( row );
+    assertNotNull( meta );
+    assertEquals( 2, meta.size() );
+    assertEquals( 1L, row[0] );
+    assertEquals( "Steve", row[1] );
+
+    row = db.getRow( result );
+    assertNotNull( row );
+    assertEquals( 2L, row[0] );
+    assertEquals( "Clara", row[1] );
+
+    row = db.getRow( result );
+    assertNotNull( row );
+    assertEquals( 3L, row[0] );
+    assertEquals( "Megan", row[1] );
+
+    row = db.getRow( result );
+    assertNull( row );
+    db.disconnect();
+  }
+
+  @Test
+  public void testQueryFieldsIT() throws KettleDatabaseException {
+    MappedCsvDatabaseMeta demoMeta = new MappedCsvDatabaseMeta();
+    demoMeta.setPluginId( "MAPPEDCSV" );
+    DatabaseMeta dbMeta = new DatabaseMeta();
+    dbMeta.setDatabaseInterface( demoMeta );
+    dbMeta.addExtraOption( "MAPPEDCSV", "separator", ";" );
+    dbMeta.setDBName( "demo_transform" );
+
+    Database db = new Database( new LoggingObject( this ), dbMeta );
+    db.connect();
+    RowMetaInterface meta = db.getTableFields( "small_dataset" );
+    assertNotNull( meta );
+    assertEquals( 2, meta.size() );
+    assertEquals( "id", meta.getValueMeta( 0 ).getName() );
+    assertEquals( "name", meta.getValueMeta( 1 ).getName() );
+    db.disconnect();
+  }
+
+  /**
+   * The options of the connection dialog end up in the URL PDI builds, which the driver must
+   * be able to take apart again, whatever the separator.
+   */
+  @Test
+  public void testOptionsInUrl() throws Exception {
+    String[] separators = { ";", "&", "=" };
+    for ( String separator : separators ) {
+      File directory = folder.newFolder();
+      Files.write( new File( directory, "people.csv" ).toPath(),
+        ( "id" + separator + "name\n1" + separator + "Steve\n" ).getBytes( StandardCharsets.UTF_8 ) );
+
+      MappedCsvDatabaseMeta demoMeta = new MappedCsvDatabaseMeta();
+      demoMeta.setPluginId( "MAPPEDCSV" );
+      DatabaseMeta dbMeta = new DatabaseMeta();
+      dbMeta.setDatabaseInterface( demoMeta );
+      dbMeta.addExtraOption( "MAPPEDCSV", "separator", separator );
+      dbMeta.addExtraOption( "MAPPEDCSV", "columnTypes.people", "Integer,String" );
+      dbMeta.setDBName( directory.getAbsolutePath() );
+
+      String url = dbMeta.getURL();
+      assertTrue( url, url.startsWith( MappedCsvDriver.URL_PREFIX + directory.getPath() + "?" ) );
+      try ( Connection connection = new MappedCsvDriver().connect( url, null ) ) {
+        ResultSet result = connection.createStatement().executeQuery( "SELECT * FROM people" );
+        assertEquals( url, 2, result.getMetaData().getColumnCount() );
+        assertEquals( Types.INTEGER, result.getMetaData().getColumnType( 1 ) );
+        assertTrue( result.next() );
+        assertEquals( 1, result.getInt( 1 ) );
+        assertEquals( "Steve", result.getString( 2 ) );
+      }
+    }
+  }
+}
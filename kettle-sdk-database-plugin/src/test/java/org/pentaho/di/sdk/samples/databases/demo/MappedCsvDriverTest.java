@@ -0,0 +1,287 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedCsvDriverTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Connection connect( String content, String... options ) throws Exception {
+    File file = folder.newFile( "people.csv" );
+    Files.write( file.toPath(), content.getBytes( StandardCharsets.UTF_8 ) );
+    Properties properties = new Properties();
+    for ( int i = 0; i < options.length; i += 2 ) {
+      properties.setProperty( options[i], options[i + 1] );
+    }
+    return new MappedCsvDriver().connect( MappedCsvDriver.URL_PREFIX + folder.getRoot().getPath(), properties );
+  }
+
+  @Test
+  public void testAcceptsURL() throws SQLException {
+    MappedCsvDriver driver = new MappedCsvDriver();
+    assertTrue( driver.acceptsURL( "jdbc:demo:mappedcsv:/tmp" ) );
+    assertFalse( driver.acceptsURL( "jdbc:relique:csv:/tmp" ) );
+    assertNull( driver.connect( "jdbc:relique:csv:/tmp", new Properties() ) );
+    assertTrue( DriverManager.getDriver( "jdbc:demo:mappedcsv:/tmp" ) instanceof MappedCsvDriver );
+  }
+
+  @Test
+  public void testSelectAll() throws Exception {
+    Connection connection = connect( "id;name;score\n1;Steve;1.5\n2;\"Clara\";\n", "separator", ";",
+      "columnTypes", "Integer,String,BigDecimal" );
+    Statement statement = connection.createStatement();
+    ResultSet result = statement.executeQuery( "SELECT * FROM people" );
+    ResultSetMetaData meta = result.getMetaData();
+    assertEquals( 3, meta.getColumnCount() );
+    assertEquals( "id", meta.getColumnName( 1 ) );
+    assertEquals( Types.INTEGER, meta.getColumnType( 1 ) );
+    assertEquals( Types.VARCHAR, meta.getColumnType( 2 ) );
+    assertEquals( Types.DECIMAL, meta.getColumnType( 3 ) );
+
+    assertTrue( result.next() );
+    assertEquals( 1, result.getInt( 1 ) );
+    assertEquals( "Steve", result.getString( "NAME" ) );
+    assertEquals( new BigDecimal( "1.5" ), result.getBigDecimal( 3 ) );
+    assertTrue( result.next() );
+    assertEquals( Integer.valueOf( 2 ), result.getObject( "id" ) );
+    assertEquals( "Clara", result.getObject( 2 ) );
+    assertNull( result.getBigDecimal( 3 ) );
+    assertTrue( result.wasNull() );
+    assertFalse( result.next() );
+    result.close();
+    connection.close();
+  }
+
+  @Test
+  public void testProjection() throws Exception {
+    Connection connection = connect( "id,name\n1,Steve\n2,Clara\n" );
+    ResultSet result = connection.prepareStatement( "SELECT name, \"id\" FROM people" ).executeQuery();
+    assertEquals( 2, result.getMetaData().getColumnCount() );
+    assertEquals( "name", result.getMetaData().getColumnLabel( 1 ) );
+    assertTrue( result.next() );
+    assertEquals( "Steve", result.getString( 1 ) );
+    assertEquals( "1", result.getString( 2 ) );
+    connection.close();
+  }
+
+  @Test
+  public void testNoRows() throws Exception {
+    Connection connection = connect( "id,name\n1,Steve\n" );
+    ResultSet result = connection.createStatement().executeQuery( "SELECT * FROM people WHERE 1=0" );
+    assertEquals( 2, result.getMetaData().getColumnCount() );
+    assertFalse( result.next() );
+    connection.close();
+  }
+
+  @Test
+  public void testMaxRows() throws Exception {
+    Connection connection = connect( "id\n1\n2\n3\n" );
+    Statement statement = connection.createStatement();
+    statement.setMaxRows( 2 );
+    ResultSet result = statement.executeQuery( "SELECT * FROM people" );
+    assertTrue( result.next() );
+    assertTrue( result.next() );
+    assertFalse( result.next() );
+    connection.close();
+  }
+
+  @Test( expected = SQLFeatureNotSupportedException.class )
+  public void testCondition() throws Exception {
+    connect( "id\n1\n" ).createStatement().executeQuery( "SELECT * FROM people WHERE id = 1 OR id = 2" );
+  }
+
+  @Test
+  public void testWhere() throws Exception {
+    Connection connection = connect( "id,name,city\n1,Steve,Orlando\n2,Clara,\n3,Megan,O'Hare\n10,Bob,Orlando\n",
+      "columnTypes", "Integer" );
+    ResultSet result = connection.createStatement().executeQuery(
+      "SELECT name FROM people WHERE id >= 2 AND city <> 'Orlando'" );
+    assertTrue( result.next() );
+    assertEquals( "Megan", result.getString( 1 ) );
+    assertFalse( result.next() );
+
+    // numeric columns compare as numbers, others as text
+    result = connection.createStatement().executeQuery( "SELECT name FROM people WHERE id > 2 AND name < 'C'" );
+    assertTrue( result.next() );
+    assertEquals( "Bob", result.getString( 1 ) );
+    assertFalse( result.next() );
+
+    result = connection.createStatement().executeQuery( "SELECT id FROM people WHERE \"city\" = 'O''Hare'" );
+    assertTrue( result.next() );
+    assertEquals( 3, result.getInt( 1 ) );
+    assertFalse( result.next() );
+    connection.close();
+  }
+
+  @Test
+  public void testPushdown() throws Exception {
+    String content = "id,name,score,city\n1,Steve,1.50,Orlando\n2,\"Cl\"\"ara\",-0.5,\n3,Megan,,Ohare\n"
+      + "10,\u00e9mile,12345678901234567890,\"Orlando\"\n11,\ud83d\ude00,1e2,\uff21\n";
+    String[] queries = {
+      "SELECT name FROM people WHERE score >= 1.5",
+      "SELECT name FROM people WHERE score < 0 AND id <> 1",
+      "SELECT id FROM people WHERE score > 99999999999999999",
+      "SELECT id FROM people WHERE score = 100",
+      "SELECT id FROM people WHERE name = 'Cl\"ara'",
+      "SELECT id FROM people WHERE name > 'Megan'",
+      "SELECT id FROM people WHERE city = 'Orlando'",
+      "SELECT score, id FROM people WHERE id < 3.5",
+      // characters above U+FFFF sort below U+FF21 in Java, unlike their UTF-8 bytes
+      "SELECT id FROM people WHERE name < '\uff21'",
+      "SELECT id FROM people WHERE city >= '\ud83d\ude00'",
+    };
+    Connection pushed = connect( content, "columnTypes", "Integer,String,BigDecimal" );
+    Properties properties = new Properties();
+    properties.setProperty( CsvOptions.COLUMN_TYPES, "Integer,String,BigDecimal" );
+    properties.setProperty( CsvOptions.PUSHDOWN, "false" );
+    Connection plain =
+      new MappedCsvDriver().connect( MappedCsvDriver.URL_PREFIX + folder.getRoot().getPath(), properties );
+    for ( String query : queries ) {
+      assertEquals( query, readAll( plain.createStatement().executeQuery( query ) ),
+        readAll( pushed.createStatement().executeQuery( query ) ) );
+    }
+    assertEquals( "[1|Steve, 10|\u00e9mile, 11|\ud83d\ude00]",
+      readAll( pushed.createStatement().executeQuery( "SELECT id, name FROM people WHERE score >= 1.5" ) ) );
+    assertEquals( "[1, 10, 11]",
+      readAll( pushed.createStatement().executeQuery( "SELECT id FROM people WHERE name > 'Megan'" ) ) );
+    pushed.close();
+    plain.close();
+  }
+
+  private static String readAll( ResultSet result ) throws SQLException {
+    List<String> rows = new ArrayList<String>();
+    int columns = result.getMetaData().getColumnCount();
+    while ( result.next() ) {
+      StringBuilder row = new StringBuilder();
+      for ( int i = 1; i <= columns; i++ ) {
+        row.append( i > 1 ? "|" : "" ).append( result.getString( i ) );
+      }
+      rows.add( row.toString() );
+    }
+    result.close();
+    return rows.toString();
+  }
+
+  @Test( expected = SQLException.class )
+  public void testUnknownTable() throws Exception {
+    connect( "id\n1\n" ).createStatement().executeQuery( "SELECT * FROM nobody" );
+  }
+
+  @Test( expected = SQLException.class )
+  public void testUnknownColumn() throws Exception {
+    connect( "id\n1\n" ).createStatement().executeQuery( "SELECT age FROM people" );
+  }
+
+  @Test( expected = SQLException.class )
+  public void testBadNumber() throws Exception {
+    ResultSet result = connect( "id\nabc\n" ).createStatement().executeQuery( "SELECT * FROM people" );
+    assertTrue( result.next() );
+    result.getLong( 1 );
+  }
+
+  @Test
+  public void testUrlOptions() throws Exception {
+    File file = folder.newFile( "people.csv" );
+    Files.write( file.toPath(), "id;name\n1;Steve\n".getBytes( StandardCharsets.UTF_8 ) );
+    Properties properties = new Properties();
+    properties.setProperty( "separator", "," );
+    Connection connection = DriverManager.getConnection( MappedCsvDriver.URL_PREFIX + folder.getRoot().getPath()
+      + "?separator=;&columnTypes=Integer", properties );
+    ResultSet result = connection.createStatement().executeQuery( "SELECT * FROM people" );
+    assertEquals( 2, result.getMetaData().getColumnCount() );
+    assertEquals( Types.INTEGER, result.getMetaData().getColumnType( 1 ) );
+    assertTrue( result.next() );
+    assertEquals( "Steve", result.getString( 2 ) );
+    connection.close();
+  }
+
+  @Test
+  public void testEncodedUrlOptions() throws Exception {
+    File file = folder.newFile( "people.csv" );
+    Files.write( file.toPath(), "id&name\n1&Steve +1\n".getBytes( StandardCharsets.UTF_8 ) );
+    String[] urls = {
+      "?separator=%26&columnTypes=Integer",
+      "?separator=&&columnTypes=Integer",
+      "?columnTypes=Integer&separator=&",
+    };
+    for ( String options : urls ) {
+      Connection connection = DriverManager.getConnection( MappedCsvDriver.URL_PREFIX + folder.getRoot().getPath()
+        + options, new Properties() );
+      ResultSet result = connection.createStatement().executeQuery( "SELECT * FROM people" );
+      assertEquals( options, 2, result.getMetaData().getColumnCount() );
+      assertEquals( Types.INTEGER, result.getMetaData().getColumnType( 1 ) );
+      assertTrue( result.next() );
+      assertEquals( "Steve +1", result.getString( 2 ) );
+      connection.close();
+    }
+  }
+
+  @Test( expected = SQLException.class )
+  public void testBadParallelism() throws Exception {
+    connect( "id\n1\n", "parallelism", "many" );
+  }
+
+  @Test
+  public void testParallel() throws Exception {
+    StringBuilder content = new StringBuilder( "id,name\n" );
+    for ( int i = 0; i < 10000; i++ ) {
+      content.append( i ).append( ",\"name\n" ).append( i ).append( "\"\n" );
+    }
+    Connection connection = connect( content.toString(), "parallelism", "4", "splitSize", "4096",
+      "columnTypes", "Integer" );
+    ResultSet result = connection.createStatement().executeQuery( "SELECT * FROM people" );
+    for ( int i = 0; i < 10000; i++ ) {
+      assertTrue( result.next() );
+      assertEquals( i, result.getInt( 1 ) );
+      assertEquals( "name\n" + i, result.getString( 2 ) );
+    }
+    assertFalse( result.next() );
+    connection.close();
+  }
+
+  @Test
+  public void testTables() throws Exception {
+    Connection connection = connect( "id\n1\n" );
+    ResultSet tables = connection.getMetaData().getTables( null, null, "%", null );
+    assertTrue( tables.next() );
+    assertEquals( "people", tables.getString( "TABLE_NAME" ) );
+    assertFalse( tables.next() );
+    connection.close();
+  }
+}
@@ -0,0 +1,154 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+package org.pentaho.di.sdk.samples.databases.demo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParallelCsvScanTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private ForkJoinPool pool = new ForkJoinPool( 4 );
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  private MappedCsvFile open( String content ) throws Exception {
+    File file = folder.newFile( "test.csv" );
+    Files.write( file.toPath(), content.getBytes( StandardCharsets.UTF_8 ) );
+    return MappedCsvFile.open( file.toPath(), new CsvOptions( new Properties() ) );
+  }
+
+  private CsvOptions options( long splitSize, boolean preserveOrder ) throws SQLException {
+    Properties properties = new Properties();
+    properties.setProperty( CsvOptions.PARALLELISM, "4" );
+    properties.setProperty( CsvOptions.SPLIT_SIZE, String.valueOf( splitSize ) );
+    properties.setProperty( CsvOptions.PRESERVE_ORDER, String.valueOf( preserveOrder ) );
+    return new CsvOptions( properties );
+  }
+
+  /**
+   * @return lines with quoted fields, some of them containing line breaks and quotes
+   */
+  private String content( int nrLines ) {
+    StringBuilder content = new StringBuilder( "id,text,number\n" );
+    for ( int i = 0; i < nrLines; i++ ) {
+      content.append( i ).append( ',' );
+      if ( i % 3 == 0 ) {
+        content.append( "\"line\n" ).append( i ).append( " \"\"quoted\"\"\"" );
+      } else {
+        content.append( "text " ).append( i );
+      }
+      content.append( ',' ).append( i * 7 ).append( i % 5 == 0 ? "\r\n" : "\n" );
+    }
+    return content.toString();
+  }
+
+  private List<String> readAll( CsvLines lines ) throws SQLException {
+    List<String> result = new ArrayList<String>();
+    while ( lines.next() ) {
+      result.add( lines.getLong( 0 ) + "|" + lines.getString( 1 ) + "|" + lines.getLong( 2 ) );
+    }
+    lines.close();
+    return result;
+  }
+
+  @Test
+  public void testSplit() throws Exception {
+    MappedCsvFile file = open( content( 200 ) );
+    Set<Long> lineStarts = new HashSet<Long>();
+    CsvScanner scanner = new CsvScanner( file, options( 1, true ), file.getDataStart(), file.size() );
+    while ( scanner.next() ) {
+      lineStarts.add( scanner.getLineStart() );
+    }
+
+    for ( long splitSize = 1; splitSize < 200; splitSize += 7 ) {
+      long[] bounds = ParallelCsvScan.split( file, options( splitSize, true ), pool );
+      assertEquals( file.getDataStart(), bounds[0] );
+      assertEquals( file.size(), bounds[bounds.length - 1] );
+      for ( int i = 1; i < bounds.length - 1; i++ ) {
+        assertTrue( bounds[i] > bounds[i - 1] );
+        assertTrue( "split size " + splitSize + ", bound " + bounds[i], lineStarts.contains( bounds[i] ) );
+      }
+    }
+  }
+
+  @Test
+  public void testSmallFile() throws Exception {
+    MappedCsvFile file = open( content( 10 ) );
+    CsvLines lines = ParallelCsvScan.open( file, options( file.size(), true ), pool );
+    assertTrue( lines instanceof CsvScanner );
+  }
+
+  @Test
+  public void testPreserveOrder() throws Exception {
+    MappedCsvFile file = open( content( 5000 ) );
+    List<String> expected = readAll( new CsvScanner( file, options( 1, true ), file.getDataStart(), file.size() ) );
+    assertEquals( 5000, expected.size() );
+
+    CsvLines lines = ParallelCsvScan.open( file, options( 1000, true ), pool );
+    assertTrue( lines instanceof ParallelCsvScan );
+    assertEquals( expected, readAll( lines ) );
+  }
+
+  @Test
+  public void testAnyOrder() throws Exception {
+    MappedCsvFile file = open( content( 5000 ) );
+    List<String> expected = readAll( new CsvScanner( file, options( 1, true ), file.getDataStart(), file.size() ) );
+
+    List<String> lines = readAll( ParallelCsvScan.open( file, options( 1000, false ), pool ) );
+    Collections.sort( expected );
+    Collections.sort( lines );
+    assertEquals( expected, lines );
+  }
+
+  @Test
+  public void testClose() throws Exception {
+    MappedCsvFile file = open( content( 5000 ) );
+    CsvLines lines = ParallelCsvScan.open( file, options( 1000, true ), pool );
+    assertTrue( lines.next() );
+    assertEquals( 0L, lines.getLong( 0 ) );
+    lines.close();
+  }
+
+  /**
+   * A quote character inside an unquoted field makes the splits start inside quoted fields,
+   * which must be reported rather than returning broken lines.
+   */
+  @Test( expected = SQLException.class )
+  public void testStrayQuote() throws Exception {
+    MappedCsvFile file = open( "id,text\n0,5\" pipe\n" + content( 2000 ).substring( 15 ) );
+    readAll( ParallelCsvScan.open( file, options( 500, true ), pool ) );
+  }
+}
@@ -25,9 +25,15 @@ import org.pentaho.di.core.Const;
 import org.pentaho.di.core.util.HttpClientManager;
 import org.pentaho.di.core.util.HttpClientUtil;
 import org.pentaho.di.www.GetTransStatusServlet;
+import org.pentaho.di.www.SlaveServerTransStatus;
 
 public class GetTransStatusSample extends AbstractSample {
 
+  // the text the partition statistics log lines of the demo partitioners start with, the same as
+  // PartitionStatistics.LOG_PREFIX. The statistics are only available as log text, so the sample
+  // matches it instead of depending on the partitioner plug-in.
+  private static final String PARTITION_STATISTICS_PREFIX = "Partition statistics";
+
   public static void main( String[] args ) throws Exception {
     if ( args.length < 5 ) {
       System.out.println( " You must specify the following parameters Carte_host Carte_port "
@@ -70,5 +76,28 @@ public class GetTransStatusSample extends AbstractSample {
     }
     System.out.println( "Server response:" );
     System.out.println( response );
+    if ( code < HttpStatus.SC_BAD_REQUEST ) {
+      printPartitionStatistics( response );
+    }
+  }
+
+  /**
+   * Prints the partition statistics logged by the demo partitioners, if the transformation
+   * uses them. They are part of the transformation log included in the status, and are
+   * found by the text their log lines start with.
+   */
+  public static void printPartitionStatistics( String response ) throws Exception {
+    SlaveServerTransStatus status = SlaveServerTransStatus.fromXML( response );
+    boolean first = true;
+    for ( String line : Const.NVL( status.getLoggingString(), "" ).split( "\\r?\\n" ) ) {
+      int start = line.indexOf( PARTITION_STATISTICS_PREFIX );
+      if ( start >= 0 ) {
+        if ( first ) {
+          System.out.println( PARTITION_STATISTICS_PREFIX + ":" );
+          first = false;
+        }
+        System.out.println( line.substring( start ) );
+      }
+    }
   }
 }
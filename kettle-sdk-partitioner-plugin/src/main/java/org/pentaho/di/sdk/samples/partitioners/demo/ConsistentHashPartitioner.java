@@ -0,0 +1,218 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.partitioners.demo;
+
+import java.util.Arrays;
+
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.annotations.PartitionerPlugin;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.exception.KettleXMLException;
+import org.pentaho.di.core.xml.XMLHandler;
+import org.pentaho.di.repository.ObjectId;
+import org.pentaho.di.repository.Repository;
+import org.pentaho.di.trans.Partitioner;
+import org.w3c.dom.Node;
+
+/**
+ * This class is part of the demo partitioner plug-in implementation.
+ * It demonstrates a partitioner that keeps most rows in their partition when the
+ * number of partitions changes.
+ * 
+ * The hash mode of the demo partitioner divides the hash range into equal shares, one
+ * per partition. Adding a partition changes the boundaries of all shares, so most keys
+ * move to a different partition. Downstream steps that keep per-partition state, like
+ * caches, then have to reload almost everything.
+ * 
+ * This partitioner uses consistent hashing instead. Every partition is placed on a ring
+ * of hash values a number of times, at positions that only depend on the partition
+ * number. These positions are called virtual nodes. A row goes to the partition owning
+ * the first virtual node at or after the hash of its key. When a partition is added,
+ * only the keys that now fall before one of its virtual nodes move, which is about 1/N
+ * of all keys. More virtual nodes per partition give a more even spread.
+ * 
+ * The ring is kept as a sorted array of positions with a matching array of partition
+ * numbers, so the lookup is a binary search. It is built once for every combination of
+ * number of partitions and virtual nodes the partitioner is used with.
+ * 
+ * Keys are read and hashed the same way as in the hash mode of the demo partitioner.
+ */
+
+@PartitionerPlugin (
+    id = "ConsistentHashPartitioner",
+    name = "Consistent Hash Partitioner",
+    description = "Partition by consistent hash of a field"
+  )
+public class ConsistentHashPartitioner extends DemoPartitioner {
+
+  /**
+   * The default number of virtual nodes per partition
+   */
+  public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+  // the number of virtual nodes per partition
+  private int virtualNodes = DEFAULT_VIRTUAL_NODES;
+
+  // the ring, built for the current number of partitions and virtual nodes
+  private Ring ring;
+
+  public ConsistentHashPartitioner() {
+    super();
+    setMode( MODE_HASH );
+  }
+
+  /**
+   * Returns a new instance of the partitioner, taking over the id and description from the
+   * object it is called on.
+   */
+  public Partitioner getInstance() {
+    Partitioner partitioner = new ConsistentHashPartitioner();
+    partitioner.setId( getId() );
+    partitioner.setDescription( getDescription() );
+    return partitioner;
+  }
+
+  /**
+   * Generates a deep copy of the partitioner. The ring is never changed once built, so
+   * copies may share it.
+   */
+  public ConsistentHashPartitioner clone() {
+    ConsistentHashPartitioner partitioner = (ConsistentHashPartitioner) super.clone();
+    partitioner.virtualNodes = virtualNodes;
+    return partitioner;
+  }
+
+  public String getDialogClassName() {
+    return ConsistentHashPartitionerDialog.class.getName();
+  }
+
+  /**
+   * Looks up the partition of a key hash on the ring.
+   * 
+   * @param hash  the hash of the UTF-8 form of the field value
+   * 
+   * @return the partition owning the first virtual node at or after the hash
+   */
+  @Override
+  protected int hashPartition( int hash ) {
+    Ring current = ring;
+    if ( current == null || current.nrPartitions != nrPartitions || current.virtualNodes != virtualNodes ) {
+      current = new Ring( nrPartitions, virtualNodes );
+      ring = current;
+    }
+    return current.lookup( hash );
+  }
+
+  public String getDescription() {
+    String description = "Consistent hash demo partitioner";
+    return description + describeKeyFields();
+  }
+
+  public String getXML() {
+    StringBuilder xml = new StringBuilder( super.getXML() );
+    xml.append( "           " ).append( XMLHandler.addTagValue( "virtual_nodes", virtualNodes ) );
+    return xml.toString();
+  }
+
+  public void loadXML( Node partitioningMethodNode ) throws KettleXMLException {
+    super.loadXML( partitioningMethodNode );
+    virtualNodes = Const.toInt( XMLHandler.getTagValue( partitioningMethodNode, "virtual_nodes" ), DEFAULT_VIRTUAL_NODES );
+  }
+
+  public void saveRep( Repository rep, ObjectId id_transformation, ObjectId id_step ) throws KettleException {
+    super.saveRep( rep, id_transformation, id_step );
+    rep.saveStepAttribute( id_transformation, id_step, "PARTITIONING_VIRTUAL_NODES", virtualNodes );
+  }
+
+  public void loadRep( Repository rep, ObjectId id_step ) throws KettleException {
+    super.loadRep( rep, id_step );
+    virtualNodes = (int) rep.getStepAttributeInteger( id_step, "PARTITIONING_VIRTUAL_NODES" );
+    if ( virtualNodes == 0 ) {
+      // not saved in the repository yet
+      virtualNodes = DEFAULT_VIRTUAL_NODES;
+    }
+  }
+
+  public int getVirtualNodes() {
+    return virtualNodes;
+  }
+
+  public void setVirtualNodes( int virtualNodes ) {
+    this.virtualNodes = virtualNodes;
+  }
+
+  /**
+   * The hash ring: the positions of all virtual nodes in ascending order, and the partition
+   * owning each of them.
+   */
+  static final class Ring {
+
+    final int nrPartitions;
+    final int virtualNodes;
+    final int[] positions;
+    final int[] partitions;
+
+    Ring( int nrPartitions, int virtualNodes ) {
+      this.nrPartitions = nrPartitions;
+      this.virtualNodes = virtualNodes;
+      int nodes = Math.max( 1, virtualNodes );
+      int size = Math.max( 1, nrPartitions ) * nodes;
+
+      // sort the virtual nodes by position, packing position and partition into one long
+      long[] ring = new long[size];
+      byte[] node = new byte[8];
+      for ( int partition = 0; partition < nrPartitions; partition++ ) {
+        for ( int i = 0; i < nodes; i++ ) {
+          ring[partition * nodes + i] = (long) nodePosition( node, partition, i ) << 32 | partition;
+        }
+      }
+      Arrays.sort( ring );
+
+      positions = new int[size];
+      partitions = new int[size];
+      for ( int i = 0; i < size; i++ ) {
+        positions[i] = (int) ( ring[i] >> 32 );
+        partitions[i] = (int) ring[i];
+      }
+    }
+
+    /**
+     * Computes the position of a virtual node. The position only depends on the partition
+     * and the node number, never on the number of partitions.
+     */
+    static int nodePosition( byte[] node, int partition, int nodeNr ) {
+      for ( int b = 0; b < 4; b++ ) {
+        node[b] = (byte) ( partition >>> ( b << 3 ) );
+        node[b + 4] = (byte) ( nodeNr >>> ( b << 3 ) );
+      }
+      return DemoHash.murmur3( node, 0, node.length, DemoHash.SEED );
+    }
+
+    int lookup( int hash ) {
+      if ( nrPartitions <= 0 ) {
+        return 0;
+      }
+      int index = Arrays.binarySearch( positions, hash );
+      if ( index < 0 ) {
+        // not on a node: take the next node, wrapping around at the end of the ring
+        index = -index - 1;
+        if ( index == positions.length ) {
+          index = 0;
+        }
+      }
+      return partitions[index];
+    }
+  }
+}
@@ -0,0 +1,230 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.partitioners.demo;
+
+/**
+ * This class is part of the demo partitioner plug-in implementation.
+ *
+ * It provides the hash function used by the hash based partitioning modes. The function
+ * is the 32 bit variant of MurmurHash3, which spreads similar keys (like "customer-1",
+ * "customer-2", ...) evenly over the whole int range. Java's String.hashCode() does not:
+ * keys that differ in the last character only get consecutive hash codes.
+ *
+ * The hash of a row value must not depend on the JVM or on the step copy computing it,
+ * otherwise rows with the same key could end up in different partitions. All hashes are
+ * therefore computed with a fixed seed.
+ *
+ * Partitioning keys are hashed in their UTF-8 form. Besides hashing bytes, this class can
+ * hash strings and whole numbers directly: the UTF-8 bytes of a string and the decimal
+ * digits of a number are generated one by one and mixed into the hash as they come. The
+ * result is the same as hashing value.getBytes( UTF_8 ) or Long.toString( value ).getBytes(),
+ * but no byte array or string needs to be allocated for each row.
+ */
+public final class DemoHash {
+
+  /**
+   * The seed used for all partitioning hashes
+   */
+  public static final int SEED = 0x9747b28c;
+
+  private static final int C1 = 0xcc9e2d51;
+  private static final int C2 = 0x1b873593;
+
+  private DemoHash() {
+  }
+
+  /**
+   * Computes the MurmurHash3 (x86, 32 bit) hash of a range of bytes.
+   *
+   * @param data    the bytes to hash
+   * @param offset  the index of the first byte to hash
+   * @param length  the number of bytes to hash
+   * @param seed    the seed of the hash
+   *
+   * @return the hash of the bytes
+   */
+  public static int murmur3( byte[] data, int offset, int length, int seed ) {
+    int h = seed;
+    int end = offset + ( length & ~3 );
+
+    // the body: mix in 4 bytes at a time
+    for ( int i = offset; i < end; i += 4 ) {
+      int k = ( data[i] & 0xff )
+        | ( data[i + 1] & 0xff ) << 8
+        | ( data[i + 2] & 0xff ) << 16
+        | ( data[i + 3] & 0xff ) << 24;
+      h = mixH( h, mixK( k ) );
+    }
+
+    // the tail: mix in the remaining 1 to 3 bytes
+    int k = 0;
+    switch ( length & 3 ) {
+      case 3:
+        k ^= ( data[end + 2] & 0xff ) << 16;
+      case 2:
+        k ^= ( data[end + 1] & 0xff ) << 8;
+      case 1:
+        k ^= data[end] & 0xff;
+        h ^= mixK( k );
+      default:
+        break;
+    }
+
+    return fmix( h ^ length );
+  }
+
+  /**
+   * Computes the MurmurHash3 hash of the UTF-8 form of a string, without encoding the
+   * string into a byte array first. Unpaired surrogates are hashed as '?', just like
+   * String.getBytes() encodes them.
+   *
+   * @param value  the string to hash
+   * @param seed   the seed of the hash
+   *
+   * @return the same hash as murmur3( value.getBytes( UTF_8 ), ... )
+   */
+  public static int hashUtf8( CharSequence value, int seed ) {
+    int h = seed;
+    int word = 0;
+    int length = 0;
+    int n = value.length();
+
+    for ( int i = 0; i < n; i++ ) {
+      int c = value.charAt( i );
+
+      // encode the character into 1 to 4 bytes, packed into an int, first byte lowest
+      int bytes;
+      int count;
+      if ( c < 0x80 ) {
+        bytes = c;
+        count = 1;
+      } else if ( c < 0x800 ) {
+        bytes = ( 0xc0 | c >>> 6 ) | ( 0x80 | c & 0x3f ) << 8;
+        count = 2;
+      } else if ( Character.isSurrogate( (char) c ) ) {
+        if ( Character.isHighSurrogate( (char) c ) && i + 1 < n && Character.isLowSurrogate( value.charAt( i + 1 ) ) ) {
+          int cp = Character.toCodePoint( (char) c, value.charAt( ++i ) );
+          bytes = ( 0xf0 | cp >>> 18 )
+            | ( 0x80 | cp >>> 12 & 0x3f ) << 8
+            | ( 0x80 | cp >>> 6 & 0x3f ) << 16
+            | ( 0x80 | cp & 0x3f ) << 24;
+          count = 4;
+        } else {
+          bytes = '?';
+          count = 1;
+        }
+      } else {
+        bytes = ( 0xe0 | c >>> 12 ) | ( 0x80 | c >>> 6 & 0x3f ) << 8 | ( 0x80 | c & 0x3f ) << 16;
+        count = 3;
+      }
+
+      // mix the bytes into the hash, a word of 4 bytes at a time
+      for ( int b = 0; b < count; b++ ) {
+        word |= ( bytes >>> ( b << 3 ) & 0xff ) << ( ( length & 3 ) << 3 );
+        length++;
+        if ( ( length & 3 ) == 0 ) {
+          h = mixH( h, mixK( word ) );
+          word = 0;
+        }
+      }
+    }
+
+    if ( ( length & 3 ) != 0 ) {
+      h ^= mixK( word );
+    }
+    return fmix( h ^ length );
+  }
+
+  /**
+   * Computes the MurmurHash3 hash of the decimal form of a whole number, without
+   * formatting the number into a string first.
+   *
+   * @param value  the number to hash
+   * @param seed   the seed of the hash
+   *
+   * @return the same hash as murmur3( Long.toString( value ).getBytes(), ... )
+   */
+  public static int hashDecimal( long value, int seed ) {
+    int h = seed;
+    int word = 0;
+    int length = 0;
+
+    // work on the negative value, so Long.MIN_VALUE needs no special case
+    long negative = value < 0 ? value : -value;
+    if ( value < 0 ) {
+      word = '-';
+      length = 1;
+    }
+    long divisor = 1;
+    while ( negative / divisor <= -10 ) {
+      divisor *= 10;
+    }
+
+    while ( divisor != 0 ) {
+      int digit = '0' - (int) ( negative / divisor );
+      negative %= divisor;
+      divisor /= 10;
+
+      word |= digit << ( ( length & 3 ) << 3 );
+      length++;
+      if ( ( length & 3 ) == 0 ) {
+        h = mixH( h, mixK( word ) );
+        word = 0;
+      }
+    }
+
+    if ( ( length & 3 ) != 0 ) {
+      h ^= mixK( word );
+    }
+    return fmix( h ^ length );
+  }
+
+  /**
+   * Maps a hash to a partition number. Every partition gets an equal share of the
+   * hash range, which keeps the spread uniform for any number of partitions.
+   *
+   * @param hash          the hash of the partitioning key
+   * @param nrPartitions  the number of partitions
+   *
+   * @return a partition number between 0 and nrPartitions - 1
+   */
+  public static int toPartition( int hash, int nrPartitions ) {
+    return (int) ( ( ( hash & 0xffffffffL ) * nrPartitions ) >>> 32 );
+  }
+
+  static int mixK( int k ) {
+    k *= C1;
+    k = Integer.rotateLeft( k, 15 );
+    return k * C2;
+  }
+
+  static int mixH( int h, int k ) {
+    h ^= k;
+    h = Integer.rotateLeft( h, 13 );
+    return h * 5 + 0xe6546b64;
+  }
+
+  /**
+   * The final avalanche step of MurmurHash3: every input bit affects every output bit.
+   */
+  static int fmix( int h ) {
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+}
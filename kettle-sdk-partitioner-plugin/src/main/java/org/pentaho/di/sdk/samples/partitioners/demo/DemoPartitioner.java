@@ -14,17 +14,28 @@
 
 package org.pentaho.di.sdk.samples.partitioners.demo;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.pentaho.di.core.Const;
+import org.pentaho.di.core.RowSet;
 import org.pentaho.di.core.annotations.PartitionerPlugin;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.exception.KettleStepException;
+import org.pentaho.di.core.exception.KettleValueException;
 import org.pentaho.di.core.exception.KettleXMLException;
 import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.xml.XMLHandler;
 import org.pentaho.di.repository.ObjectId;
 import org.pentaho.di.repository.Repository;
 import org.pentaho.di.trans.BasePartitioner;
 import org.pentaho.di.trans.Partitioner;
+import org.pentaho.di.trans.step.BaseStep;
 import org.w3c.dom.Node;
 
 /**
@@ -35,6 +46,14 @@ import org.w3c.dom.Node;
  * supplied string field. Longer strings will get increasingly higher
  * partition numbers. For string lengths 20 and above, the maximum
  * partition number will be used.    
+ * 
+ * Since the length of real keys tends to vary little, the length based mode puts most
+ * rows in a few partitions. The partitioner therefore also offers a hash based mode,
+ * which hashes the field value and spreads the rows evenly across all partitions.
+ * 
+ * The partitioning key may consist of several fields, like tenant + date + region.
+ * In hash mode the hashes of the fields are combined, in length mode their lengths
+ * are added up. A key of a single field is partitioned exactly like before.
  *   
  * This class is the implementation of the Partitioner interface. Implementations
  * of this interface are typically based on the BasePartitioner class, which 
@@ -65,11 +84,44 @@ public class DemoPartitioner extends BasePartitioner implements Partitioner {
    */
   private static final Class<?> PKG = DemoPartitionerDialog.class; // for i18n purposes $NON-NLS-1$
 
-  // the field name to partition on
-  private String fieldName;
+  /**
+   * Partitioning mode: partition by the length of the field value
+   */
+  public static final String MODE_LENGTH = "length";
+
+  /**
+   * Partitioning mode: partition by a hash of the field value
+   */
+  public static final String MODE_HASH = "hash";
+
+  // the names of the fields to partition on, in key order
+  private String[] fieldNames = new String[0];
+
+  // the partitioning mode, one of the MODE_ constants
+  private String mode = MODE_LENGTH;
+
+  // the key layout of the row structure seen last
+  private volatile KeyLayout lastKeyLayout;
+
+  // the key layouts of all row structures seen, shared by the step copies using this instance
+  private ConcurrentHashMap<RowMetaInterface, KeyLayout> keyLayouts = new ConcurrentHashMap<RowMetaInterface, KeyLayout>();
+
+  // the number of row structures to keep key layouts for, more are only seen with steps that
+  // create a new row structure for every row
+  static final int MAX_CACHED_LAYOUTS = 64;
+
+  // the distribution of the rows over the partitions, created for the current number of partitions
+  private volatile PartitionStatistics statistics;
 
-  // the index of the field to partition on
-  protected int partitionColumnIndex = -1;
+  // returned for null values by keyHash() and keyLength()
+  static final int NULL_KEY = -1;
+
+  // ways of reading a field value, see getKeyAccess()
+  static final int KEY_CONVERT = 0;
+  static final int KEY_STRING = 1;
+  static final int KEY_UTF8_BYTES = 2;
+  static final int KEY_ASCII_BYTES = 3;
+  static final int KEY_INTEGER = 4;
 
   /**
    * The No-Arguments constructor of a partitioner
@@ -93,10 +145,17 @@ public class DemoPartitioner extends BasePartitioner implements Partitioner {
   /**
    * The clone() method is generating a deep copy of a partitioner. This method is called
    * when steps are duplicated in Spoon.
+   * 
+   * The copy resolves its key fields itself: its field names can be changed independently,
+   * so it must not share the key layouts of this partitioner.
    */
   public DemoPartitioner clone() {
     DemoPartitioner demoPartitioner = (DemoPartitioner) super.clone();
-    demoPartitioner.fieldName = fieldName;
+    demoPartitioner.fieldNames = fieldNames.clone();
+    demoPartitioner.mode = mode;
+    demoPartitioner.lastKeyLayout = null;
+    demoPartitioner.keyLayouts = new ConcurrentHashMap<RowMetaInterface, KeyLayout>();
+    demoPartitioner.statistics = null;
 
     return demoPartitioner;
   }
@@ -110,8 +169,9 @@ public class DemoPartitioner extends BasePartitioner implements Partitioner {
   }
 
   /**
-   * The getPartition() method is used during the execution of the transformation. It is
-   * implementing the actual partitioning algorithm. 
+   * The getPartition() method is used during the execution of the transformation. It
+   * decides which partition a row should go to using selectPartition(), and counts the
+   * row in the partition statistics.
    * 
    * @return the partition number the row should go to
    */
@@ -121,29 +181,456 @@ public class DemoPartitioner extends BasePartitioner implements Partitioner {
     // initialized
     init( rowMeta );
 
-    // determine the index of the field the partitioner uses for partitioning 
-    if ( partitionColumnIndex < 0 ) {
-      partitionColumnIndex = rowMeta.indexOfValue( fieldName );
-      if ( partitionColumnIndex < 0 ) {
-        throw new KettleStepException( "Unable to find partitioning field name [" + fieldName + "] in the output row..." + rowMeta );
+    int partition = selectPartition( rowMeta, row );
+    getStatisticsFor( nrPartitions ).record( partition, rowMeta, row );
+    return partition;
+  }
+
+  /**
+   * The selectPartition() method is implementing the actual partitioning algorithm. It is
+   * called by getPartition() after init(), and is the method to override in subclasses that
+   * partition differently.
+   * 
+   * Partitioning runs for every row passing a partitioned hop, so this method avoids
+   * converting the field value to a String where it can. For the common field layouts
+   * it reads the value straight from the row:
+   * 
+   * - String fields in normal storage: the String in the row is used as it is
+   * - String fields in binary storage (lazy conversion): the bytes read from the file are
+   *   used, provided they are UTF-8 or plain ASCII text and no trimming is configured
+   * - Integer fields in normal storage without a format mask: the digits are generated
+   *   from the long value
+   * 
+   * All other values are converted to a String first, as before. Either way a value ends
+   * up in the same partition: the direct paths compute the same lengths and hashes as the
+   * String conversion would.
+   * 
+   * @return the partition number the row should go to
+   */
+  protected int selectPartition( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
+
+    // determine the indexes of the fields the partitioner uses for partitioning 
+    return partitionOf( getKeyLayout( rowMeta ), rowMeta, row );
+  }
+
+  /**
+   * The getPartitions() method decides the partitions of a batch of rows at once, for steps
+   * that write their output in batches rather than row by row. The key fields are looked up
+   * once for the whole batch, and the rows are counted in the partition statistics like
+   * getPartition() does.
+   * 
+   * @param rowMeta   the structure of the rows, shared by all rows of the batch
+   * @param rows      the rows
+   * @param rowCount  the number of rows to partition, from the start of the array
+   * 
+   * @return the partition number of every row
+   */
+  public int[] getPartitions( RowMetaInterface rowMeta, Object[][] rows, int rowCount ) throws KettleException {
+    init( rowMeta );
+
+    int[] partitions = new int[rowCount];
+    selectPartitions( rowMeta, rows, rowCount, partitions );
+
+    getStatisticsFor( nrPartitions ).record( partitions, rowMeta, rows, rowCount );
+    return partitions;
+  }
+
+  /**
+   * Decides the partitions of a batch of rows, called by getPartitions() after init(). The
+   * key layout is determined once, after which a single loop partitions all rows. Subclasses
+   * that override selectPartition() must override this method as well.
+   */
+  protected void selectPartitions( RowMetaInterface rowMeta, Object[][] rows, int rowCount, int[] partitions )
+    throws KettleException {
+    KeyLayout layout = getKeyLayout( rowMeta );
+    for ( int i = 0; i < rowCount; i++ ) {
+      partitions[i] = partitionOf( layout, rowMeta, rows[i] );
+    }
+  }
+
+  /**
+   * Hands a batch of rows to the row sets of the partitions, for instance from a step that
+   * collects its output rows before writing them. The rows are partitioned with
+   * getPartitions(), then grouped by partition, so the rows of a partition are written to
+   * its row set in one run instead of alternating between the row sets row by row. This
+   * keeps the step from waiting on a full row set for every few rows, and lets the reading
+   * step copy take the rows without competing with the writer for each one.
+   * 
+   * Within a partition the rows keep their order. Every row is written with putRowTo() of
+   * the step, the same as putRow() does after choosing a row set: the row listeners of the
+   * step see the row, it counts as a line written, and a full row set is waited on until
+   * the step is stopped.
+   * 
+   * @param step      the step writing the rows
+   * @param rowMeta   the structure of the rows
+   * @param rows      the rows
+   * @param rowCount  the number of rows to write, from the start of the array
+   * @param rowSets   the row set of every partition, in partition order
+   */
+  public void putRows( BaseStep step, RowMetaInterface rowMeta, Object[][] rows, int rowCount,
+    List<RowSet> rowSets ) throws KettleException {
+    init( rowMeta );
+    if ( rowSets.size() != nrPartitions ) {
+      throw new KettleException( "Expected " + nrPartitions + " row sets to partition to, got " + rowSets.size() );
+    }
+    int[] partitions = getPartitions( rowMeta, rows, rowCount );
+
+    // a counting sort: the rows of partition p go to order[start[p]] .. order[start[p + 1] - 1]
+    int[] start = new int[nrPartitions + 1];
+    for ( int i = 0; i < rowCount; i++ ) {
+      start[partitions[i] + 1]++;
+    }
+    for ( int p = 0; p < nrPartitions; p++ ) {
+      start[p + 1] += start[p];
+    }
+    int[] next = Arrays.copyOf( start, nrPartitions );
+    int[] order = new int[rowCount];
+    for ( int i = 0; i < rowCount; i++ ) {
+      order[next[partitions[i]]++] = i;
+    }
+
+    for ( int p = 0; p < nrPartitions; p++ ) {
+      RowSet rowSet = rowSets.get( p );
+      for ( int i = start[p]; i < start[p + 1]; i++ ) {
+        if ( step.isStopped() ) {
+          return;
+        }
+        step.putRowTo( rowMeta, rows[order[i]], rowSet );
+      }
+    }
+  }
+
+  /**
+   * Decides the partition of a row, once the key layout of its structure is known.
+   */
+  private int partitionOf( KeyLayout layout, RowMetaInterface rowMeta, Object[] row ) throws KettleValueException {
+    if ( MODE_HASH.equals( mode ) ) {
+      if ( layout.indexes.length == 1 ) {
+        // null values go into partition [0]
+        long hash = keyHash( layout, rowMeta, row, 0 );
+        return hash == NULL_KEY ? nullHashPartition() : hashPartition( (int) hash );
+      }
+
+      // combine the hashes of all key fields, the same way MurmurHash3 combines the words of its input
+      int hash = DemoHash.SEED;
+      for ( int key = 0; key < layout.indexes.length; key++ ) {
+        hash = DemoHash.mixH( hash, DemoHash.mixK( (int) keyHash( layout, rowMeta, row, key ) ) );
+      }
+      return hashPartition( DemoHash.fmix( hash ^ layout.indexes.length ) );
+    }
+
+    // add up the lengths of all key fields, null values count as 0
+    int length = 0;
+    for ( int key = 0; key < layout.indexes.length; key++ ) {
+      length += Math.max( 0, keyLength( layout, rowMeta, row, key ) );
+    }
+    return lengthPartition( length );
+  }
+
+  /**
+   * Returns the distribution of the rows partitioned since the transformation started, or
+   * since resetStatistics() was called. The figures keep changing while rows are partitioned.
+   * 
+   * @return the partition statistics, empty if no rows were partitioned yet
+   */
+  public PartitionStatistics getStatistics() {
+    PartitionStatistics current = statistics;
+    return current == null ? new PartitionStatistics( Math.max( 0, nrPartitions ) ) : current;
+  }
+
+  /**
+   * Starts counting the rows of the partitions from zero, for instance when the transformation
+   * is started again.
+   */
+  public void resetStatistics() {
+    statistics = null;
+  }
+
+  /**
+   * Returns the statistics for a number of partitions, replacing the current ones when the
+   * number of partitions changed.
+   */
+  private PartitionStatistics getStatisticsFor( int partitions ) {
+    PartitionStatistics current = statistics;
+    if ( current == null || current.getNrPartitions() != partitions ) {
+      synchronized ( this ) {
+        current = statistics;
+        if ( current == null || current.getNrPartitions() != partitions ) {
+          current = new PartitionStatistics( partitions );
+          statistics = current;
+        }
       }
     }
+    return current;
+  }
+
+  /**
+   * Returns the key layout of a row structure: the indexes of the key fields, and how
+   * their values are read. The key fields are looked up once for every row structure.
+   * 
+   * A partitioner instance can be used by several step copies at the same time, and rows
+   * of different structures can pass the same partitioner, for instance after a step
+   * that changes its output structure. Key layouts are therefore never changed once
+   * created, and kept per row structure object. The layout used last is checked first,
+   * as nearly all rows of a step copy share the same row structure object.
+   * 
+   * @param rowMeta  the structure of the rows
+   * 
+   * @return the key layout of the row structure
+   */
+  protected KeyLayout getKeyLayout( RowMetaInterface rowMeta ) throws KettleStepException {
+    KeyLayout layout = lastKeyLayout;
+    if ( layout != null && layout.rowMeta == rowMeta ) {
+      return layout;
+    }
+
+    layout = keyLayouts.get( rowMeta );
+    if ( layout == null ) {
+      layout = new KeyLayout( rowMeta, fieldNames );
+      if ( keyLayouts.size() >= MAX_CACHED_LAYOUTS ) {
+        keyLayouts.clear();
+      }
+      keyLayouts.put( rowMeta, layout );
+    }
+    lastKeyLayout = layout;
+    return layout;
+  }
+
+  /**
+   * Forgets all key layouts, after the key fields changed.
+   */
+  private void resetKeyLayouts() {
+    lastKeyLayout = null;
+    keyLayouts.clear();
+  }
+
+  /**
+   * Computes the hash of the UTF-8 form of a key field value.
+   * 
+   * @param layout   the key layout of the row structure
+   * @param rowMeta  the structure of the row
+   * @param row      the row
+   * @param key      the number of the key field
+   * 
+   * @return the hash as an unsigned int value, or NULL_KEY for null values
+   */
+  protected long keyHash( KeyLayout layout, RowMetaInterface rowMeta, Object[] row, int key ) throws KettleValueException {
+    int index = layout.indexes[key];
+    Object value = row[index];
+    if ( value == null ) {
+      return NULL_KEY;
+    }
+
+    switch ( layout.accesses[key] ) {
+      case KEY_STRING:
+        return DemoHash.hashUtf8( (String) value, DemoHash.SEED ) & 0xffffffffL;
+      case KEY_ASCII_BYTES:
+        if ( !isAscii( (byte[]) value ) ) {
+          break;
+        }
+        // plain ASCII is valid UTF-8
+      case KEY_UTF8_BYTES:
+        byte[] bytes = (byte[]) value;
+        if ( bytes.length == 0 ) {
+          // leave empty values to the conversion, which may turn them into nulls
+          break;
+        }
+        return DemoHash.murmur3( bytes, 0, bytes.length, DemoHash.SEED ) & 0xffffffffL;
+      case KEY_INTEGER:
+        return DemoHash.hashDecimal( (Long) value, DemoHash.SEED ) & 0xffffffffL;
+      default:
+        break;
+    }
 
     // get the string representation of the field (conversion to string is done if necessary)
-    String value = rowMeta.getString( row, partitionColumnIndex );
+    String string = rowMeta.getString( row, index );
+    return string == null ? NULL_KEY : DemoHash.hashUtf8( string, DemoHash.SEED ) & 0xffffffffL;
+  }
 
-    // Determine the length of the string value and cap it at 20
-    int len = 0;
-    if ( value != null ) {
-      len = Math.min( value.length(), 20 );
+  /**
+   * Determines the length of the string representation of a key field value.
+   * 
+   * @param layout   the key layout of the row structure
+   * @param rowMeta  the structure of the row
+   * @param row      the row
+   * @param key      the number of the key field
+   * 
+   * @return the length, or NULL_KEY for null values
+   */
+  protected int keyLength( KeyLayout layout, RowMetaInterface rowMeta, Object[] row, int key ) throws KettleValueException {
+    int index = layout.indexes[key];
+    Object value = row[index];
+    if ( value == null ) {
+      return NULL_KEY;
     }
 
+    switch ( layout.accesses[key] ) {
+      case KEY_STRING:
+        return ( (String) value ).length();
+      case KEY_ASCII_BYTES:
+        if ( !isAscii( (byte[]) value ) ) {
+          break;
+        }
+        // plain ASCII is valid UTF-8
+      case KEY_UTF8_BYTES:
+        byte[] bytes = (byte[]) value;
+        if ( bytes.length == 0 ) {
+          // leave empty values to the conversion, which may turn them into nulls
+          break;
+        }
+        return utf8Length( bytes );
+      case KEY_INTEGER:
+        return decimalLength( (Long) value );
+      default:
+        break;
+    }
+
+    // get the string representation of the field (conversion to string is done if necessary)
+    String string = rowMeta.getString( row, index );
+    return string == null ? NULL_KEY : string.length();
+  }
+
+  /**
+   * Determines the partition of a field value from its string representation. This is
+   * the partitioning algorithm in its plain form, used for all values that cannot be
+   * read directly from the row.
+   * 
+   * @param value  the string representation of the field value
+   * 
+   * @return the partition number the row should go to
+   */
+  public int getStringPartition( String value ) {
+    if ( MODE_HASH.equals( mode ) ) {
+      return value == null ? nullHashPartition() : hashPartition( DemoHash.hashUtf8( value, DemoHash.SEED ) );
+    }
+    return value == null ? 0 : lengthPartition( value.length() );
+  }
+
+  /**
+   * Partitions a value by its length.
+   * 
+   * @param length  the length of the string representation of the field value
+   * 
+   * @return the partition number the row should go to
+   */
+  protected int lengthPartition( int length ) {
+    // Cap the length of the string value at 20
+    int len = Math.min( length, 20 );
+
     // partition based on string length:
     // short strings go into partition [0], long strings (20 chars+) go into partition [nrPartitions-1]
     // The variable nrPartitions is provided by BasePartitioner
     return (int) Math.round( len / 20.0 * ( nrPartitions - 1 ) );
   }
 
+  /**
+   * Partitions a value by its hash. The value is hashed in its UTF-8 form, so the same
+   * value always goes to the same partition.
+   * 
+   * @param hash  the hash of the UTF-8 form of the field value
+   * 
+   * @return the partition number the row should go to
+   */
+  protected int hashPartition( int hash ) {
+    return DemoHash.toPartition( hash, nrPartitions );
+  }
+
+  /**
+   * Partitions a single null key in hash mode.
+   * 
+   * @return the partition number the row should go to, partition 0
+   */
+  protected int nullHashPartition() {
+    return 0;
+  }
+
+  /**
+   * Decides how the values of the partitioning field can be read from the rows. A value
+   * may only be read directly if that gives the same result as converting it to a String.
+   * 
+   * @param valueMeta  the description of the partitioning field
+   * 
+   * @return one of the KEY_ constants
+   */
+  static int getKeyAccess( ValueMetaInterface valueMeta ) {
+    if ( valueMeta.isOutputPaddingEnabled() && valueMeta.getLength() > 0 ) {
+      // the string representation is padded to the field length
+      return KEY_CONVERT;
+    }
+    if ( valueMeta.isString() && valueMeta.isStorageNormal() ) {
+      // getString() trims the value according to the trim type, the raw String is only
+      // the same when no trimming is configured
+      return valueMeta.getTrimType() == ValueMetaInterface.TRIM_TYPE_NONE ? KEY_STRING : KEY_CONVERT;
+    }
+    if ( valueMeta.isString() && valueMeta.isStorageBinaryString() ) {
+      ValueMetaInterface storageMeta = valueMeta.getStorageMetadata();
+      if ( storageMeta == null
+        || valueMeta.getTrimType() != ValueMetaInterface.TRIM_TYPE_NONE
+        || storageMeta.getTrimType() != ValueMetaInterface.TRIM_TYPE_NONE ) {
+        return KEY_CONVERT;
+      }
+      Charset charset;
+      try {
+        charset = Utils.isEmpty( storageMeta.getStringEncoding() )
+          ? Charset.defaultCharset() : Charset.forName( storageMeta.getStringEncoding() );
+      } catch ( IllegalArgumentException e ) {
+        return KEY_CONVERT;
+      }
+      if ( StandardCharsets.UTF_8.equals( charset ) ) {
+        return KEY_UTF8_BYTES;
+      }
+      if ( StandardCharsets.US_ASCII.equals( charset ) || StandardCharsets.ISO_8859_1.equals( charset ) ) {
+        return KEY_ASCII_BYTES;
+      }
+      return KEY_CONVERT;
+    }
+    if ( valueMeta.isInteger() && valueMeta.isStorageNormal() && Utils.isEmpty( valueMeta.getConversionMask() ) ) {
+      return KEY_INTEGER;
+    }
+    return KEY_CONVERT;
+  }
+
+  /**
+   * @return true if all bytes are 7 bit ASCII characters
+   */
+  static boolean isAscii( byte[] bytes ) {
+    for ( byte b : bytes ) {
+      if ( b < 0 ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Determines the length of the String decoded from UTF-8 bytes: every byte except
+   * continuation bytes starts a character, and characters of 4 bytes take two chars.
+   * 
+   * @return the same value as new String( bytes, UTF_8 ).length() for valid UTF-8
+   */
+  static int utf8Length( byte[] bytes ) {
+    int length = 0;
+    for ( byte b : bytes ) {
+      if ( ( b & 0xc0 ) != 0x80 ) {
+        length += ( b & 0xf8 ) == 0xf0 ? 2 : 1;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * @return the same value as Long.toString( value ).length()
+   */
+  static int decimalLength( long value ) {
+    int length = value < 0 ? 2 : 1;
+    long negative = value < 0 ? value : -value;
+    while ( negative <= -10 ) {
+      negative /= 10;
+      length++;
+    }
+    return length;
+  }
+
   /**
    *  This method is called when Spoon needs to display the name
    *  of the partitioner on dialogs etc. 
@@ -151,11 +638,15 @@ public class DemoPartitioner extends BasePartitioner implements Partitioner {
    *  @return a string containing a descriptive string for the partitioner 
    */
   public String getDescription() {
-    String description = "String length based demo partitioner";
-    if ( !Const.isEmpty( fieldName ) ) {
-      description += " (" + fieldName + ")";
-    }
-    return description;
+    String description = MODE_HASH.equals( mode ) ? "Hash based demo partitioner" : "String length based demo partitioner";
+    return description + describeKeyFields();
+  }
+
+  /**
+   * @return the key fields for use in descriptions, like " (tenant, region)", or an empty string
+   */
+  protected String describeKeyFields() {
+    return fieldNames.length == 0 ? "" : " (" + String.join( ", ", fieldNames ) + ")";
   }
 
   /**
@@ -168,27 +659,148 @@ public class DemoPartitioner extends BasePartitioner implements Partitioner {
    */
   public String getXML() {
     StringBuilder xml = new StringBuilder();
-    xml.append( "           " ).append( XMLHandler.addTagValue( "field_name", fieldName ) );
+    // the first key field is stored like before, so single field keys look the same as in older versions
+    xml.append( "           " ).append( XMLHandler.addTagValue( "field_name", getFieldName() ) );
+    if ( fieldNames.length > 1 ) {
+      xml.append( "           " ).append( XMLHandler.openTag( "key_fields" ) );
+      for ( String name : fieldNames ) {
+        xml.append( XMLHandler.addTagValue( "key_field", name, false ) );
+      }
+      xml.append( XMLHandler.closeTag( "key_fields" ) ).append( Const.CR );
+    }
+    if ( isModeConfigurable() ) {
+      xml.append( "           " ).append( XMLHandler.addTagValue( "partitioning_mode", mode ) );
+    }
     return xml.toString();
   }
 
   public void loadXML( Node partitioningMethodNode ) throws KettleXMLException {
-    fieldName = XMLHandler.getTagValue( partitioningMethodNode, "field_name" );
+    Node keyFieldsNode = XMLHandler.getSubNode( partitioningMethodNode, "key_fields" );
+    if ( keyFieldsNode != null ) {
+      int nrFields = XMLHandler.countNodes( keyFieldsNode, "key_field" );
+      fieldNames = new String[nrFields];
+      for ( int i = 0; i < nrFields; i++ ) {
+        fieldNames[i] = XMLHandler.getNodeValue( XMLHandler.getSubNodeByNr( keyFieldsNode, "key_field", i ) );
+      }
+    } else {
+      setFieldName( XMLHandler.getTagValue( partitioningMethodNode, "field_name" ) );
+    }
+    resetKeyLayouts();
+    if ( isModeConfigurable() ) {
+      // transformations saved before the mode was introduced partition by length
+      mode = Const.NVL( XMLHandler.getTagValue( partitioningMethodNode, "partitioning_mode" ), MODE_LENGTH );
+    }
   }
 
   public void saveRep( Repository rep, ObjectId id_transformation, ObjectId id_step ) throws KettleException {
-    rep.saveStepAttribute( id_transformation, id_step, "PARTITIONING_FIELDNAME", fieldName ); // The fieldname to partition on
+    rep.saveStepAttribute( id_transformation, id_step, "PARTITIONING_FIELDNAME", getFieldName() ); // The fieldname to partition on
+    if ( fieldNames.length > 1 ) {
+      for ( int i = 0; i < fieldNames.length; i++ ) {
+        rep.saveStepAttribute( id_transformation, id_step, i, "PARTITIONING_KEY_FIELD", fieldNames[i] ); // The key fields, in order
+      }
+    }
+    if ( isModeConfigurable() ) {
+      rep.saveStepAttribute( id_transformation, id_step, "PARTITIONING_MODE", mode ); // The partitioning mode
+    }
   }
 
   public void loadRep( Repository rep, ObjectId id_step ) throws KettleException {
-    fieldName = rep.getStepAttributeString( id_step, "PARTITIONING_FIELDNAME" );
+    int nrFields = rep.countNrStepAttributes( id_step, "PARTITIONING_KEY_FIELD" );
+    if ( nrFields > 0 ) {
+      fieldNames = new String[nrFields];
+      for ( int i = 0; i < nrFields; i++ ) {
+        fieldNames[i] = rep.getStepAttributeString( id_step, i, "PARTITIONING_KEY_FIELD" );
+      }
+    } else {
+      setFieldName( rep.getStepAttributeString( id_step, "PARTITIONING_FIELDNAME" ) );
+    }
+    resetKeyLayouts();
+    if ( isModeConfigurable() ) {
+      mode = Const.NVL( rep.getStepAttributeString( id_step, "PARTITIONING_MODE" ), MODE_LENGTH );
+    }
   }
 
+  /**
+   * @return the name of the first key field, null if there are no key fields
+   */
   public String getFieldName() {
-    return fieldName;
+    return fieldNames.length == 0 ? null : fieldNames[0];
   }
 
+  /**
+   * Makes the partitioner use a single key field.
+   * 
+   * @param fieldName  the name of the key field, null for no key fields
+   */
   public void setFieldName( String fieldName ) {
-    this.fieldName = fieldName;
+    this.fieldNames = fieldName == null ? new String[0] : new String[] { fieldName };
+    resetKeyLayouts();
+  }
+
+  /**
+   * @return the names of the key fields, in key order
+   */
+  public String[] getFieldNames() {
+    return fieldNames;
+  }
+
+  public void setFieldNames( String[] fieldNames ) {
+    this.fieldNames = fieldNames == null ? new String[0] : fieldNames;
+    resetKeyLayouts();
+  }
+
+  /**
+   * @return true if the partitioning mode is part of the configuration, which is saved and
+   *         loaded. Subclasses that always work in one mode return false.
+   */
+  protected boolean isModeConfigurable() {
+    return true;
+  }
+
+  public String getMode() {
+    return mode;
+  }
+
+  public void setMode( String mode ) {
+    this.mode = mode;
+  }
+
+  /**
+   * The positions of the key fields in one row structure, and how their values are read.
+   * Never changed once created, so step copies can share it without locking.
+   */
+  protected static final class KeyLayout {
+
+    // the row structure the layout was created for
+    final RowMetaInterface rowMeta;
+
+    // the indexes of the key fields
+    final int[] indexes;
+
+    // how the values of the key fields are read from the rows, KEY_ constants
+    final int[] accesses;
+
+    KeyLayout( RowMetaInterface rowMeta, String[] fieldNames ) throws KettleStepException {
+      if ( fieldNames.length == 0 ) {
+        throw new KettleStepException( "No partitioning field specified" );
+      }
+      this.rowMeta = rowMeta;
+      indexes = new int[fieldNames.length];
+      accesses = new int[fieldNames.length];
+      for ( int i = 0; i < fieldNames.length; i++ ) {
+        indexes[i] = rowMeta.indexOfValue( fieldNames[i] );
+        if ( indexes[i] < 0 ) {
+          throw new KettleStepException( "Unable to find partitioning field name [" + fieldNames[i] + "] in the output row..." + rowMeta );
+        }
+        accesses[i] = getKeyAccess( rowMeta.getValueMeta( indexes[i] ) );
+      }
+    }
+
+    /**
+     * @return the indexes of the key fields, in key order
+     */
+    public int[] getIndexes() {
+      return indexes.clone();
+    }
   }
 }
@@ -33,6 +33,7 @@ import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.TableItem;
 import org.pentaho.di.core.Const;
 import org.pentaho.di.core.exception.KettleStepException;
 import org.pentaho.di.core.row.RowMetaInterface;
@@ -42,7 +43,10 @@ import org.pentaho.di.trans.step.BaseStepMeta;
 import org.pentaho.di.trans.step.StepDialogInterface;
 import org.pentaho.di.trans.step.StepMeta;
 import org.pentaho.di.trans.step.StepPartitioningMeta;
+import org.pentaho.di.ui.core.PropsUI;
 import org.pentaho.di.ui.core.dialog.ErrorDialog;
+import org.pentaho.di.ui.core.widget.ColumnInfo;
+import org.pentaho.di.ui.core.widget.TableView;
 import org.pentaho.di.ui.trans.step.BaseStepDialog;
 
 public class DemoPartitionerDialog extends BaseStepDialog implements StepDialogInterface {
@@ -57,18 +61,28 @@ public class DemoPartitionerDialog extends BaseStepDialog implements StepDialogI
   private StepPartitioningMeta partitioningMeta;
   private StepMeta stepMeta;
   private DemoPartitioner partitioner;
-  private String fieldName;
+  private String[] fieldNames;
+  private String mode;
 
-  private Label wlFieldname;
-  private CCombo wFieldname;
-  private FormData fdlFieldname, fdFieldname;
+  private Label wlFields;
+  private TableView wFields;
+  private FormData fdlFields, fdFields;
+
+  private Label wlMode;
+  private CCombo wMode;
+  private FormData fdlMode, fdMode;
+
+  // the partitioning modes and their descriptions, in the order shown in the dialog
+  private static final String[] MODES = { DemoPartitioner.MODE_LENGTH, DemoPartitioner.MODE_HASH };
+  private static final String[] MODE_DESCRIPTIONS = { "Length of the field value", "Hash of the field value" };
 
   public DemoPartitionerDialog( Shell parent, StepMeta stepMeta, StepPartitioningMeta partitioningMeta, TransMeta transMeta ) {
     super( parent, (BaseStepMeta) stepMeta.getStepMetaInterface(), transMeta, partitioningMeta.getPartitioner().getDescription() );
     this.stepMeta = stepMeta;
     this.partitioningMeta = partitioningMeta;
     partitioner = (DemoPartitioner) partitioningMeta.getPartitioner();
-    fieldName = partitioner.getFieldName();
+    fieldNames = partitioner.getFieldNames();
+    mode = partitioner.getMode();
   }
 
   public String open() {
@@ -97,34 +111,23 @@ public class DemoPartitionerDialog extends BaseStepDialog implements StepDialogI
 
     int middle = props.getMiddlePct();
 
-    wlFieldname = new Label( shell, SWT.RIGHT );
-    wlFieldname.setText( "Fieldname" ); //$NON-NLS-1$
-    props.setLook( wlFieldname );
-    fdlFieldname = new FormData();
-    fdlFieldname.left = new FormAttachment( 0, 0 );
-    fdlFieldname.right = new FormAttachment( middle, -margin );
-    fdlFieldname.top = new FormAttachment( 0, margin );
-    wlFieldname.setLayoutData( fdlFieldname );
-    wFieldname = new CCombo( shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
-    wFieldname.setText( fieldName == null ? "" : fieldName );
-    props.setLook( wFieldname );
-    wFieldname.addModifyListener( lsMod );
-    fdFieldname = new FormData();
-    fdFieldname.left = new FormAttachment( middle, 0 );
-    fdFieldname.top = new FormAttachment( 0, margin );
-    fdFieldname.right = new FormAttachment( 100, 0 );
-    wFieldname.setLayoutData( fdFieldname );
-
-    try {
-      RowMetaInterface inputFields = transMeta.getPrevStepFields( stepMeta );
-      if ( inputFields != null ) {
-        String[] fieldNames = inputFields.getFieldNames();
-        Arrays.sort( fieldNames );
-        wFieldname.setItems( fieldNames );
-      }
-    } catch ( KettleStepException e ) {
-      new ErrorDialog( shell, "Error", "Error obtaining list of input fields:", e );
-    }
+    wlMode = new Label( shell, SWT.RIGHT );
+    wlMode.setText( "Partition by" ); //$NON-NLS-1$
+    props.setLook( wlMode );
+    fdlMode = new FormData();
+    fdlMode.left = new FormAttachment( 0, 0 );
+    fdlMode.right = new FormAttachment( middle, -margin );
+    fdlMode.top = new FormAttachment( 0, margin );
+    wlMode.setLayoutData( fdlMode );
+    wMode = new CCombo( shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER | SWT.READ_ONLY );
+    wMode.setItems( MODE_DESCRIPTIONS );
+    props.setLook( wMode );
+    wMode.addModifyListener( lsMod );
+    fdMode = new FormData();
+    fdMode.left = new FormAttachment( middle, 0 );
+    fdMode.top = new FormAttachment( 0, margin );
+    fdMode.right = new FormAttachment( 100, 0 );
+    wMode.setLayoutData( fdMode );
 
     // Some buttons
     wOK = new Button( shell, SWT.PUSH );
@@ -135,6 +138,21 @@ public class DemoPartitionerDialog extends BaseStepDialog implements StepDialogI
 
     setButtonPositions(  new Button[] { wOK, wCancel }, margin, null );
 
+    wlFields = new Label( shell, SWT.LEFT );
+    wlFields.setText( "Key fields" ); //$NON-NLS-1$
+    props.setLook( wlFields );
+    fdlFields = new FormData();
+    fdlFields.left = new FormAttachment( 0, 0 );
+    fdlFields.top = new FormAttachment( wMode, margin );
+    wlFields.setLayoutData( fdlFields );
+    wFields = createKeyFieldsTable( shell, props, transMeta, stepMeta, lsMod, fieldNames.length );
+    fdFields = new FormData();
+    fdFields.left = new FormAttachment( 0, 0 );
+    fdFields.top = new FormAttachment( wlFields, margin );
+    fdFields.right = new FormAttachment( 100, 0 );
+    fdFields.bottom = new FormAttachment( wOK, -2 * margin );
+    wFields.setLayoutData( fdFields );
+
     // Add listeners
     lsCancel = new Listener() {
       public void handleEvent( Event e ) {
@@ -185,7 +203,57 @@ public class DemoPartitionerDialog extends BaseStepDialog implements StepDialogI
    * Copy information from the meta-data input to the dialog fields.
    */
   public void getData() {
-    wFieldname.setText( fieldName == null ? "" : fieldName );
+    setKeyFields( wFields, fieldNames );
+    int modeIndex = Arrays.asList( MODES ).indexOf( mode );
+    wMode.select( modeIndex < 0 ? 0 : modeIndex );
+  }
+
+  /**
+   * Creates the table for editing the key fields, offering the fields of the previous steps
+   * to choose from. The dialogs of the other demo partitioners use it too.
+   */
+  static TableView createKeyFieldsTable( Shell shell, PropsUI props, TransMeta transMeta, StepMeta stepMeta,
+    ModifyListener lsMod, int nrFields ) {
+    String[] inputFieldNames = new String[0];
+    try {
+      RowMetaInterface inputFields = transMeta.getPrevStepFields( stepMeta );
+      if ( inputFields != null ) {
+        inputFieldNames = inputFields.getFieldNames();
+        Arrays.sort( inputFieldNames );
+      }
+    } catch ( KettleStepException e ) {
+      new ErrorDialog( shell, "Error", "Error obtaining list of input fields:", e );
+    }
+
+    ColumnInfo[] columns = {
+      new ColumnInfo( "Fieldname", ColumnInfo.COLUMN_TYPE_CCOMBO, inputFieldNames, false ) //$NON-NLS-1$
+    };
+    return new TableView( transMeta, shell, SWT.BORDER | SWT.FULL_SELECTION | SWT.MULTI, columns,
+      Math.max( 1, nrFields ), lsMod, props );
+  }
+
+  /**
+   * Copies the key fields to the table, which must have been created with room for them.
+   */
+  static void setKeyFields( TableView table, String[] fieldNames ) {
+    for ( int i = 0; i < fieldNames.length; i++ ) {
+      TableItem item = table.table.getItem( i );
+      item.setText( 1, Const.NVL( fieldNames[i], "" ) );
+    }
+    table.setRowNums();
+    table.optWidth( true );
+  }
+
+  /**
+   * @return the key fields entered in the table, in key order
+   */
+  static String[] getKeyFields( TableView table ) {
+    int nrFields = table.nrNonEmpty();
+    String[] fieldNames = new String[nrFields];
+    for ( int i = 0; i < nrFields; i++ ) {
+      fieldNames[i] = table.getNonEmpty( i ).getText( 1 );
+    }
+    return fieldNames;
   }
 
   private void cancel() {
@@ -195,8 +263,10 @@ public class DemoPartitionerDialog extends BaseStepDialog implements StepDialogI
   }
 
   private void ok() {
-    fieldName = wFieldname.getText();
-    partitioner.setFieldName( fieldName );
+    fieldNames = getKeyFields( wFields );
+    partitioner.setFieldNames( fieldNames );
+    mode = MODES[Math.max( 0, wMode.getSelectionIndex() )];
+    partitioner.setMode( mode );
     dispose();
   }
 }
@@ -0,0 +1,283 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.partitioners.demo;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.pentaho.di.core.row.RowMetaInterface;
+
+/**
+ * This class is part of the demo partitioner plug-in implementation.
+ * 
+ * It shows how rows are spread across partitions: the number of rows and an estimate of
+ * the bytes sent to each partition, and the smallest, largest, average and standard
+ * deviation of the row counts. With these figures the number of partitions, or the
+ * partitioning method, can be tuned to the data instead of guessed.
+ * 
+ * A partitioner is called by all copies of the steps before the partitioned step, so every
+ * step copy counts in counters of its own, which only its thread writes to. Counting a row
+ * takes no locks, compare-and-swap or random numbers; the counters of the copies are only
+ * summed up when the figures are read. The byte estimate is taken from every 16th row of a
+ * partition, as it has to look at every value of the row.
+ * 
+ * The figures read while rows are being partitioned are eventually consistent: they may
+ * lag a little behind the step copies. Once the step copies have finished, they are exact.
+ */
+public class PartitionStatistics {
+
+  /**
+   * The text every log line of the statistics starts with. The statistics are only published
+   * in the log, where tools like the Carte status sample find them by this text, so keep it stable.
+   */
+  public static final String LOG_PREFIX = "Partition statistics";
+
+  // one in this many rows of a partition is measured for the byte estimate, a power of 2
+  static final int BYTES_SAMPLE_RATE = 16;
+
+  private final int nrPartitions;
+
+  // the counters of all threads that recorded rows
+  private final Queue<Counters> copies = new ConcurrentLinkedQueue<Counters>();
+
+  // the counters of the current thread
+  private final ThreadLocal<Counters> local = new ThreadLocal<Counters>() {
+    @Override
+    protected Counters initialValue() {
+      Counters counters = new Counters( nrPartitions );
+      copies.add( counters );
+      return counters;
+    }
+  };
+
+  /**
+   * @param nrPartitions  the number of partitions
+   */
+  public PartitionStatistics( int nrPartitions ) {
+    this.nrPartitions = nrPartitions;
+  }
+
+  /**
+   * Counts a row sent to a partition.
+   * 
+   * @param partition  the partition the row is sent to
+   * @param rowMeta    the structure of the row
+   * @param row        the row
+   */
+  void record( int partition, RowMetaInterface rowMeta, Object[] row ) {
+    local.get().record( partition, rowMeta, row );
+  }
+
+  /**
+   * Counts a batch of rows, looking up the counters of the thread once.
+   * 
+   * @param partitions  the partition of every row
+   * @param rowMeta     the structure of the rows
+   * @param rows        the rows
+   * @param rowCount    the number of rows to count, from the start of the arrays
+   */
+  void record( int[] partitions, RowMetaInterface rowMeta, Object[][] rows, int rowCount ) {
+    Counters counters = local.get();
+    for ( int i = 0; i < rowCount; i++ ) {
+      counters.record( partitions[i], rowMeta, rows[i] );
+    }
+  }
+
+  /**
+   * Estimates the memory taken by a row: the row array plus its values, assuming
+   * typical object sizes of a 64 bit JVM.
+   * 
+   * @return the estimated number of bytes
+   */
+  static long estimateBytes( RowMetaInterface rowMeta, Object[] row ) {
+    long size = 16 + 4L * row.length;
+    int nrFields = Math.min( rowMeta.size(), row.length );
+    for ( int i = 0; i < nrFields; i++ ) {
+      Object value = row[i];
+      if ( value == null ) {
+        continue;
+      }
+      if ( value instanceof String ) {
+        size += 40 + ( (String) value ).length();
+      } else if ( value instanceof byte[] ) {
+        size += 16 + ( (byte[]) value ).length;
+      } else if ( value instanceof Date || value instanceof BigDecimal ) {
+        size += 40;
+      } else {
+        size += 16;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * @return the number of partitions
+   */
+  public int getNrPartitions() {
+    return nrPartitions;
+  }
+
+  /**
+   * @param partition  the partition number
+   * @return the number of rows sent to the partition
+   */
+  public long getRows( int partition ) {
+    long sum = 0;
+    for ( Counters counters : copies ) {
+      sum += counters.rows.get( partition );
+    }
+    return sum;
+  }
+
+  /**
+   * @param partition  the partition number
+   * @return the estimated number of bytes sent to the partition
+   */
+  public long getBytes( int partition ) {
+    long sum = 0;
+    for ( Counters counters : copies ) {
+      sum += counters.bytes.get( partition );
+    }
+    return sum;
+  }
+
+  /**
+   * @return the number of rows sent to each partition
+   */
+  public long[] getRowCounts() {
+    long[] counts = new long[nrPartitions];
+    for ( Counters counters : copies ) {
+      for ( int i = 0; i < counts.length; i++ ) {
+        counts[i] += counters.rows.get( i );
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * @return the number of rows sent to all partitions
+   */
+  public long getTotalRows() {
+    long total = 0;
+    for ( long count : getRowCounts() ) {
+      total += count;
+    }
+    return total;
+  }
+
+  /**
+   * @return the number of rows of the emptiest partition
+   */
+  public long getMinRows() {
+    long[] counts = getRowCounts();
+    long min = counts.length == 0 ? 0 : Long.MAX_VALUE;
+    for ( long count : counts ) {
+      min = Math.min( min, count );
+    }
+    return min;
+  }
+
+  /**
+   * @return the number of rows of the fullest partition
+   */
+  public long getMaxRows() {
+    long max = 0;
+    for ( long count : getRowCounts() ) {
+      max = Math.max( max, count );
+    }
+    return max;
+  }
+
+  /**
+   * @return the average number of rows per partition
+   */
+  public double getMeanRows() {
+    return nrPartitions == 0 ? 0.0 : (double) getTotalRows() / nrPartitions;
+  }
+
+  /**
+   * @return the standard deviation of the number of rows per partition
+   */
+  public double getStdDevRows() {
+    long[] counts = getRowCounts();
+    if ( counts.length == 0 ) {
+      return 0.0;
+    }
+    double mean = getMeanRows();
+    double sum = 0.0;
+    for ( long count : counts ) {
+      sum += ( count - mean ) * ( count - mean );
+    }
+    return Math.sqrt( sum / counts.length );
+  }
+
+  /**
+   * @return the number of rows of the fullest partition divided by the average, 1.0 for a
+   *         perfectly even spread
+   */
+  public double getImbalance() {
+    double mean = getMeanRows();
+    return mean == 0.0 ? 1.0 : getMaxRows() / mean;
+  }
+
+  /**
+   * Describes the statistics in a few lines of text, for the log: a summary line followed
+   * by a line for every partition.
+   * 
+   * @param name  the name of the partitioned step
+   * 
+   * @return the lines of text
+   */
+  public String[] toLogLines( String name ) {
+    String[] lines = new String[nrPartitions + 1];
+    lines[0] = String.format( Locale.US,
+      "%s [%s]: %d partitions, %d rows, min %d, max %d, mean %.1f, stddev %.1f, imbalance %.2f",
+      LOG_PREFIX, name, nrPartitions, getTotalRows(), getMinRows(), getMaxRows(), getMeanRows(), getStdDevRows(),
+      getImbalance() );
+    for ( int i = 0; i < nrPartitions; i++ ) {
+      lines[i + 1] = String.format( Locale.US, "%s [%s]: partition %d, %d rows, ~%d bytes",
+        LOG_PREFIX, name, i, getRows( i ), getBytes( i ) );
+    }
+    return lines;
+  }
+
+  /**
+   * The counters of a single step copy. Only the thread of the copy writes to them, so a
+   * count is increased with a plain read and an ordered write instead of an atomic update.
+   */
+  private static final class Counters {
+
+    final AtomicLongArray rows;
+    final AtomicLongArray bytes;
+
+    Counters( int nrPartitions ) {
+      rows = new AtomicLongArray( nrPartitions );
+      bytes = new AtomicLongArray( nrPartitions );
+    }
+
+    void record( int partition, RowMetaInterface rowMeta, Object[] row ) {
+      long count = rows.get( partition ) + 1;
+      rows.lazySet( partition, count );
+      // measure the first row of the partition, and every BYTES_SAMPLE_RATE-th one after it
+      if ( ( count & ( BYTES_SAMPLE_RATE - 1 ) ) == 1 ) {
+        bytes.lazySet( partition, bytes.get( partition ) + estimateBytes( rowMeta, row ) * BYTES_SAMPLE_RATE );
+      }
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.partitioners.demo;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.extension.ExtensionPoint;
+import org.pentaho.di.core.extension.ExtensionPointInterface;
+import org.pentaho.di.core.logging.LogChannelInterface;
+import org.pentaho.di.trans.Partitioner;
+import org.pentaho.di.trans.Trans;
+import org.pentaho.di.trans.step.StepAdapter;
+import org.pentaho.di.trans.step.StepInterface;
+import org.pentaho.di.trans.step.StepMeta;
+
+/**
+ * This class is part of the demo partitioner plug-in implementation.
+ * 
+ * It logs the partition statistics of the demo partitioners when a transformation runs.
+ * Partitioners have no part in the life cycle of a transformation, so this extension
+ * point is called when the step threads are started instead. For every step partitioned
+ * by one of the demo partitioners, it starts the statistics from zero and waits for all
+ * copies of the step to finish. By then all rows have been partitioned, and the statistics
+ * are written to the log of the step copy that finished last.
+ * 
+ * As the statistics end up in the transformation log, they are also part of the status
+ * returned by a Carte server, as retrieved by the GetTransStatusSample embedding sample.
+ * Each line starts with PartitionStatistics.LOG_PREFIX.
+ */
+@ExtensionPoint(
+  id = "DemoPartitionStatistics",
+  extensionPointId = "TransformationStartThreads",
+  description = "Logs the partition statistics of the demo partitioners when a partitioned step finishes"
+  )
+public class PartitionStatisticsExtensionPoint implements ExtensionPointInterface {
+
+  public void callExtensionPoint( LogChannelInterface log, Object object ) throws KettleException {
+    if ( !( object instanceof Trans ) ) {
+      return;
+    }
+    Trans trans = (Trans) object;
+    for ( StepMeta stepMeta : trans.getTransMeta().getSteps() ) {
+      if ( !stepMeta.isPartitioned() ) {
+        continue;
+      }
+      Partitioner partitioner = stepMeta.getStepPartitioningMeta().getPartitioner();
+      if ( partitioner instanceof DemoPartitioner ) {
+        watch( trans, stepMeta, (DemoPartitioner) partitioner );
+      }
+    }
+  }
+
+  /**
+   * Resets the statistics of a partitioner and logs them once all copies of its step finished.
+   */
+  private void watch( Trans trans, StepMeta stepMeta, final DemoPartitioner partitioner ) {
+    List<StepInterface> copies = trans.findStepInterfaces( stepMeta.getName() );
+    if ( copies == null || copies.isEmpty() ) {
+      return;
+    }
+    partitioner.resetStatistics();
+
+    final AtomicInteger running = new AtomicInteger( copies.size() );
+    for ( StepInterface copy : copies ) {
+      copy.addStepListener( new StepAdapter() {
+        @Override
+        public void stepFinished( Trans trans, StepMeta stepMeta, StepInterface step ) {
+          if ( running.decrementAndGet() == 0 ) {
+            for ( String line : partitioner.getStatistics().toLogLines( stepMeta.getName() ) ) {
+              step.getLogChannel().logBasic( line );
+            }
+          }
+        }
+      } );
+    }
+  }
+}
@@ -0,0 +1,272 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.partitioners.demo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.annotations.PartitionerPlugin;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.exception.KettleXMLException;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.core.xml.XMLHandler;
+import org.pentaho.di.repository.ObjectId;
+import org.pentaho.di.repository.Repository;
+import org.pentaho.di.trans.Partitioner;
+import org.w3c.dom.Node;
+
+/**
+ * This class is part of the demo partitioner plug-in implementation.
+ * It demonstrates range partitioning.
+ * 
+ * Every partition gets a contiguous range of key values: partition 0 the lowest keys,
+ * the last partition the highest. This suits sorted bulk loads, where each step copy
+ * writes one key range, for instance into its own table partition.
+ * 
+ * The ranges are defined by a sorted array of boundaries. A key belongs to the partition
+ * numbered after the count of boundaries that are lower than or equal to it, found with a
+ * binary search. With N partitions there are exactly N - 1 boundaries: keys below the first
+ * boundary go to partition 0, keys from the last boundary on go to partition N - 1. Any other
+ * number of boundaries is rejected on the first row, as fewer would leave partitions empty
+ * and more would merge ranges into the last partition without notice. Keys
+ * are compared with the comparator of the key field's value metadata, so the ranges work
+ * for all data types, with null values sorting first.
+ * 
+ * The boundaries are configured as text, which is converted to the type of the key field.
+ * They have to be configured: a partitioner decides on every row as it comes, so it cannot
+ * hold rows back until a sample of the keys is complete. Routing the sampled rows before the
+ * boundaries are known would break their ranges, and with sorted input a sample of the first
+ * rows says nothing about the keys that follow. Derive the boundaries from the data
+ * beforehand instead, for instance from the quantiles of the key column in the source.
+ * 
+ * Only the first key field determines the range. Any further key fields are ignored, a
+ * composite key has to be combined into one field first. The partitioning mode of the demo
+ * partitioner does not apply and is not saved.
+ */
+
+@PartitionerPlugin (
+    id = "RangePartitioner",
+    name = "Range Partitioner",
+    description = "Partition by ranges of field values"
+  )
+public class RangePartitioner extends DemoPartitioner {
+
+  // the configured boundaries, as text
+  private String[] boundaries = new String[0];
+
+  // the metadata used for comparing keys: the key field in normal storage
+  private ValueMetaInterface compareMeta;
+
+  // the boundaries in the type of the key field, null until the first row
+  private volatile Object[] boundaryValues;
+
+  public RangePartitioner() {
+    super();
+  }
+
+  public Partitioner getInstance() {
+    Partitioner partitioner = new RangePartitioner();
+    partitioner.setId( getId() );
+    partitioner.setDescription( getDescription() );
+    return partitioner;
+  }
+
+  /**
+   * Generates a deep copy of the partitioner. The copy converts its boundaries from scratch.
+   */
+  public RangePartitioner clone() {
+    RangePartitioner partitioner = (RangePartitioner) super.clone();
+    partitioner.boundaries = boundaries.clone();
+    partitioner.compareMeta = null;
+    partitioner.boundaryValues = null;
+    return partitioner;
+  }
+
+  public String getDialogClassName() {
+    return RangePartitionerDialog.class.getName();
+  }
+
+  /**
+   * Always partitions by range.
+   */
+  @Override
+  protected boolean isModeConfigurable() {
+    return false;
+  }
+
+  /**
+   * Determines the partitions of a batch of rows, comparing the key of every row to the
+   * boundaries.
+   */
+  @Override
+  protected void selectPartitions( RowMetaInterface rowMeta, Object[][] rows, int rowCount, int[] partitions )
+    throws KettleException {
+    for ( int i = 0; i < rowCount; i++ ) {
+      partitions[i] = selectPartition( rowMeta, rows[i] );
+    }
+  }
+
+  /**
+   * Determines the partition of a row by comparing its first key field to the boundaries.
+   */
+  @Override
+  protected int selectPartition( RowMetaInterface rowMeta, Object[] row ) throws KettleException {
+    int index = getKeyLayout( rowMeta ).indexes[0];
+    ValueMetaInterface keyMeta = rowMeta.getValueMeta( index );
+    Object key = keyMeta.isStorageNormal() ? row[index] : keyMeta.convertToNormalStorageType( row[index] );
+
+    Object[] values = boundaryValues;
+    if ( values == null ) {
+      values = prepareBoundaries( keyMeta );
+    }
+    return findRange( values, key );
+  }
+
+  /**
+   * Converts the configured boundaries to the type of the key field.
+   * 
+   * @throws KettleException if the number of boundaries does not match the number of partitions
+   */
+  private synchronized Object[] prepareBoundaries( ValueMetaInterface keyMeta ) throws KettleException {
+    if ( boundaryValues != null ) {
+      return boundaryValues;
+    }
+    if ( boundaries.length != nrPartitions - 1 ) {
+      throw new KettleException( "The range partitioner needs " + ( nrPartitions - 1 )
+        + " range boundaries for " + nrPartitions + " partitions, " + boundaries.length + " are configured" );
+    }
+    compareMeta = keyMeta.clone();
+    compareMeta.setStorageType( ValueMetaInterface.STORAGE_TYPE_NORMAL );
+    compareMeta.setStorageMetadata( null );
+    boundaryValues = convertBoundaries();
+    return boundaryValues;
+  }
+
+  /**
+   * Converts the configured boundaries to the type of the key field, in ascending order.
+   */
+  private Object[] convertBoundaries() throws KettleValueException {
+    ValueMetaInterface textMeta = new ValueMetaString( "boundary" );
+    List<Object> values = new ArrayList<Object>( boundaries.length );
+    for ( String boundary : boundaries ) {
+      values.add( compareMeta.convertDataFromString( boundary, textMeta, null, null, ValueMetaInterface.TRIM_TYPE_NONE ) );
+    }
+    sort( values );
+    return values.toArray();
+  }
+
+  /**
+   * Drops the converted boundaries, so that the next row converts the configured ones again.
+   */
+  private synchronized void resetBoundaries() {
+    boundaryValues = null;
+    compareMeta = null;
+  }
+
+  private void sort( List<Object> values ) throws KettleValueException {
+    try {
+      Collections.sort( values, new Comparator<Object>() {
+        public int compare( Object a, Object b ) {
+          try {
+            return compareMeta.compare( a, b );
+          } catch ( KettleValueException e ) {
+            throw new IllegalArgumentException( e );
+          }
+        }
+      } );
+    } catch ( IllegalArgumentException e ) {
+      throw (KettleValueException) e.getCause();
+    }
+  }
+
+  /**
+   * Finds the range of a key with a binary search.
+   * 
+   * @return the number of boundaries lower than or equal to the key
+   */
+  private int findRange( Object[] values, Object key ) throws KettleValueException {
+    int low = 0;
+    int high = values.length;
+    while ( low < high ) {
+      int middle = ( low + high ) >>> 1;
+      if ( compareMeta.compare( values[middle], key ) <= 0 ) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  public String getDescription() {
+    return "Range demo partitioner" + describeKeyFields();
+  }
+
+  public String getXML() {
+    StringBuilder xml = new StringBuilder( super.getXML() );
+    xml.append( "           " ).append( XMLHandler.openTag( "boundaries" ) );
+    for ( String boundary : boundaries ) {
+      xml.append( XMLHandler.addTagValue( "boundary", boundary, false ) );
+    }
+    xml.append( XMLHandler.closeTag( "boundaries" ) ).append( Const.CR );
+    return xml.toString();
+  }
+
+  public void loadXML( Node partitioningMethodNode ) throws KettleXMLException {
+    super.loadXML( partitioningMethodNode );
+    Node boundariesNode = XMLHandler.getSubNode( partitioningMethodNode, "boundaries" );
+    int nrBoundaries = XMLHandler.countNodes( boundariesNode, "boundary" );
+    boundaries = new String[nrBoundaries];
+    for ( int i = 0; i < nrBoundaries; i++ ) {
+      boundaries[i] = XMLHandler.getNodeValue( XMLHandler.getSubNodeByNr( boundariesNode, "boundary", i ) );
+    }
+    resetBoundaries();
+  }
+
+  public void saveRep( Repository rep, ObjectId id_transformation, ObjectId id_step ) throws KettleException {
+    super.saveRep( rep, id_transformation, id_step );
+    for ( int i = 0; i < boundaries.length; i++ ) {
+      rep.saveStepAttribute( id_transformation, id_step, i, "PARTITIONING_BOUNDARY", boundaries[i] );
+    }
+  }
+
+  public void loadRep( Repository rep, ObjectId id_step ) throws KettleException {
+    super.loadRep( rep, id_step );
+    int nrBoundaries = rep.countNrStepAttributes( id_step, "PARTITIONING_BOUNDARY" );
+    boundaries = new String[nrBoundaries];
+    for ( int i = 0; i < nrBoundaries; i++ ) {
+      boundaries[i] = rep.getStepAttributeString( id_step, i, "PARTITIONING_BOUNDARY" );
+    }
+    resetBoundaries();
+  }
+
+  /**
+   * @return the configured boundaries as text
+   */
+  public String[] getBoundaries() {
+    return boundaries;
+  }
+
+  public void setBoundaries( String[] boundaries ) {
+    this.boundaries = boundaries == null ? new String[0] : boundaries;
+    resetBoundaries();
+  }
+}
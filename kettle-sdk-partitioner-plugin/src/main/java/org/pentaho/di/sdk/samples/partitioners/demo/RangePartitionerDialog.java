@@ -0,0 +1,226 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.partitioners.demo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.ModifyEvent;
+import org.eclipse.swt.events.ModifyListener;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.events.ShellAdapter;
+import org.eclipse.swt.events.ShellEvent;
+import org.eclipse.swt.layout.FormAttachment;
+import org.eclipse.swt.layout.FormData;
+import org.eclipse.swt.layout.FormLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.util.Utils;
+import org.pentaho.di.i18n.BaseMessages;
+import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.step.BaseStepMeta;
+import org.pentaho.di.trans.step.StepDialogInterface;
+import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.step.StepPartitioningMeta;
+import org.pentaho.di.ui.core.widget.TableView;
+import org.pentaho.di.ui.trans.step.BaseStepDialog;
+
+/**
+ * This class is part of the demo partitioner plug-in implementation.
+ * It is the dialog for the settings of the range partitioner: the key field and the
+ * boundaries of the ranges.
+ */
+public class RangePartitionerDialog extends BaseStepDialog implements StepDialogInterface {
+
+  /**
+   *  The PKG member is used when looking up internationalized strings.
+   *  The properties file with localized keys is expected to reside in 
+   *  {the package of the class specified}/messages/messages_{locale}.properties   
+   */
+  private static final Class<?> PKG = RangePartitionerDialog.class; // for i18n purposes $NON-NLS-1$
+
+  private StepPartitioningMeta partitioningMeta;
+  private StepMeta stepMeta;
+  private RangePartitioner partitioner;
+  private String[] fieldNames;
+  private String[] boundaries;
+
+  private Label wlFields;
+  private TableView wFields;
+  private FormData fdlFields, fdFields;
+
+  private Label wlBoundaries;
+  private Text wBoundaries;
+  private FormData fdlBoundaries, fdBoundaries;
+
+  public RangePartitionerDialog( Shell parent, StepMeta stepMeta, StepPartitioningMeta partitioningMeta, TransMeta transMeta ) {
+    super( parent, (BaseStepMeta) stepMeta.getStepMetaInterface(), transMeta, partitioningMeta.getPartitioner().getDescription() );
+    this.stepMeta = stepMeta;
+    this.partitioningMeta = partitioningMeta;
+    partitioner = (RangePartitioner) partitioningMeta.getPartitioner();
+    fieldNames = partitioner.getFieldNames();
+    boundaries = partitioner.getBoundaries();
+  }
+
+  public String open() {
+    Shell parent = getParent();
+    Display display = parent.getDisplay();
+
+    shell = new Shell( parent, SWT.DIALOG_TRIM | SWT.RESIZE | SWT.MIN | SWT.MAX );
+    props.setLook( shell );
+    setShellImage( shell, stepMeta.getStepMetaInterface() );
+
+    ModifyListener lsMod = new ModifyListener() {
+      public void modifyText( ModifyEvent e ) {
+        partitioningMeta.hasChanged( true );
+      }
+    };
+    changed = partitioningMeta.hasChanged();
+
+    FormLayout formLayout = new FormLayout();
+    formLayout.marginWidth = Const.FORM_MARGIN;
+    formLayout.marginHeight = Const.FORM_MARGIN;
+
+    shell.setLayout( formLayout );
+    shell.setText( partitioner.getDescription() ); //$NON-NLS-1$
+
+    int margin = Const.MARGIN;
+
+    int middle = props.getMiddlePct();
+
+    wlBoundaries = new Label( shell, SWT.RIGHT );
+    wlBoundaries.setText( "Range boundaries (one per line, one less than the partitions)" ); //$NON-NLS-1$
+    props.setLook( wlBoundaries );
+    fdlBoundaries = new FormData();
+    fdlBoundaries.left = new FormAttachment( 0, 0 );
+    fdlBoundaries.right = new FormAttachment( middle, -margin );
+    fdlBoundaries.top = new FormAttachment( 0, margin );
+    wlBoundaries.setLayoutData( fdlBoundaries );
+    wBoundaries = new Text( shell, SWT.MULTI | SWT.LEFT | SWT.BORDER | SWT.V_SCROLL );
+    props.setLook( wBoundaries );
+    wBoundaries.addModifyListener( lsMod );
+    fdBoundaries = new FormData();
+    fdBoundaries.left = new FormAttachment( middle, 0 );
+    fdBoundaries.top = new FormAttachment( 0, margin );
+    fdBoundaries.right = new FormAttachment( 100, 0 );
+    fdBoundaries.height = 100;
+    wBoundaries.setLayoutData( fdBoundaries );
+
+    // Some buttons
+    wOK = new Button( shell, SWT.PUSH );
+    wOK.setText( BaseMessages.getString( PKG, "System.Button.OK" ) ); //$NON-NLS-1$
+    wCancel = new Button( shell, SWT.PUSH );
+    wCancel.setText( BaseMessages.getString( PKG, "System.Button.Cancel" ) ); //$NON-NLS-1$
+    fdOK = new FormData();
+
+    setButtonPositions(  new Button[] { wOK, wCancel }, margin, null );
+
+    wlFields = new Label( shell, SWT.LEFT );
+    wlFields.setText( "Key field (only the first field determines the range)" ); //$NON-NLS-1$
+    props.setLook( wlFields );
+    fdlFields = new FormData();
+    fdlFields.left = new FormAttachment( 0, 0 );
+    fdlFields.top = new FormAttachment( wBoundaries, margin );
+    wlFields.setLayoutData( fdlFields );
+    wFields = DemoPartitionerDialog.createKeyFieldsTable( shell, props, transMeta, stepMeta, lsMod, fieldNames.length );
+    fdFields = new FormData();
+    fdFields.left = new FormAttachment( 0, 0 );
+    fdFields.top = new FormAttachment( wlFields, margin );
+    fdFields.right = new FormAttachment( 100, 0 );
+    fdFields.bottom = new FormAttachment( wOK, -2 * margin );
+    wFields.setLayoutData( fdFields );
+
+    // Add listeners
+    lsCancel = new Listener() {
+      public void handleEvent( Event e ) {
+        cancel();
+      }
+    };
+    lsOK = new Listener() {
+      public void handleEvent( Event e ) {
+        ok();
+      }
+    };
+
+    wCancel.addListener( SWT.Selection, lsCancel );
+    wOK.addListener( SWT.Selection, lsOK );
+
+    lsDef = new SelectionAdapter() {
+      public void widgetDefaultSelected( SelectionEvent e ) {
+        ok();
+      }
+    };
+
+    // Detect X or ALT-F4 or something that kills this window...
+    shell.addShellListener(
+      new ShellAdapter() {
+        public void shellClosed( ShellEvent e ) {
+          cancel();
+        }
+      }
+    );
+
+    // Set the shell size, based upon previous time...
+    setSize();
+    getData();
+    partitioningMeta.hasChanged( changed );
+
+    setSize();
+
+    shell.open();
+    while ( !shell.isDisposed() ) {
+      if ( !display.readAndDispatch() ) {
+        display.sleep();
+      }
+    }
+    return stepname;
+  }
+
+  /**
+   * Copy information from the meta-data input to the dialog fields.
+   */
+  public void getData() {
+    DemoPartitionerDialog.setKeyFields( wFields, fieldNames );
+    wBoundaries.setText( String.join( Text.DELIMITER, boundaries ) );
+  }
+
+  private void cancel() {
+    stepname = null;
+    partitioningMeta.hasChanged( changed );
+    dispose();
+  }
+
+  private void ok() {
+    fieldNames = DemoPartitionerDialog.getKeyFields( wFields );
+    partitioner.setFieldNames( fieldNames );
+    List<String> lines = new ArrayList<String>();
+    for ( String line : wBoundaries.getText().split( "\\r?\\n" ) ) {
+      if ( !Utils.isEmpty( line ) ) {
+        lines.add( line );
+      }
+    }
+    boundaries = lines.toArray( new String[lines.size()] );
+    partitioner.setBoundaries( boundaries );
+    dispose();
+  }
+}
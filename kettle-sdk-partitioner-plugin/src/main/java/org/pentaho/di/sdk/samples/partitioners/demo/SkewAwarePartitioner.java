@@ -0,0 +1,396 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.partitioners.demo;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.annotations.PartitionerPlugin;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.exception.KettleXMLException;
+import org.pentaho.di.core.xml.XMLHandler;
+import org.pentaho.di.repository.ObjectId;
+import org.pentaho.di.repository.Repository;
+import org.pentaho.di.trans.Partitioner;
+import org.w3c.dom.Node;
+
+/**
+ * This class is part of the demo partitioner plug-in implementation.
+ * It demonstrates a partitioner that adapts to the data it sees.
+ * 
+ * With hash partitioning, all rows with the same key go to the same partition. If a few
+ * keys account for a large share of the rows, the step copies handling those partitions
+ * get far more work than the others, and the whole transformation waits for them.
+ * 
+ * This partitioner hashes keys like the hash mode of the demo partitioner, but it also
+ * counts how often it sees each key. The counts are kept in a count-min sketch: a small
+ * table of counters indexed by several hashes of the key. A key's count is estimated as
+ * the smallest of its counters, which may overestimate but never underestimates. Once the
+ * first rows (the sample size) have been counted, a key is considered hot if its count is
+ * above half the share of rows a partition would get with a perfectly even spread. The
+ * rows of hot keys are spread round robin across several partitions, starting at the
+ * partition the key hashes to. All other keys stay in their hashed partition. Null keys
+ * are counted like any other key: they go to partition 0 unless they are hot.
+ * 
+ * A partitioner is called by all copies of the steps before the partitioned step. Like the
+ * partition statistics, every step copy counts in a sketch of its own, which only its thread
+ * writes to, so frequent keys do not make the copies contend for the same counters. A copy
+ * first checks a key against its own sketch and row count. Only keys that are hot within the
+ * copy are checked against the sketches of all copies added up, which decides whether the
+ * key is hot. A key that is hot overall but rare in one copy is not spread by that copy,
+ * which sends few of its rows anyway.
+ * 
+ * The partitioner always hashes, the mode of the demo partitioner does not apply to it.
+ * 
+ * Note that the rows of a hot key no longer all end up in the same partition. Use this
+ * partitioner only where the steps after it do not rely on that, for instance for a lookup
+ * or join against data that is available to every step copy.
+ * 
+ * The partition statistics of the demo partitioner show the remaining imbalance, which can also be
+ * checked with getPartitionRowCounts() and getImbalance().
+ */
+
+@PartitionerPlugin (
+    id = "SkewAwarePartitioner",
+    name = "Skew Aware Partitioner",
+    description = "Partition by hash of a field, spreading frequent values across partitions"
+  )
+public class SkewAwarePartitioner extends DemoPartitioner {
+
+  /**
+   * The default number of rows counted before keys can be considered hot
+   */
+  public static final int DEFAULT_SAMPLE_SIZE = 10000;
+
+  // the hash a single null key is counted under
+  static final int NULL_HASH = 0x6e756c6c;
+
+  // the dimensions of the count-min sketch: with 4 x 2048 counters, the estimate is off by
+  // less than 0.2% of all rows in more than 98% of the cases
+  static final int SKETCH_DEPTH = 4;
+  static final int SKETCH_WIDTH = 2048;
+
+  // the number of rows counted before keys can be considered hot
+  private int sampleSize = DEFAULT_SAMPLE_SIZE;
+
+  // the number of partitions the rows of a hot key are spread across, 0 for all partitions
+  private int spreadPartitions;
+
+  // the counters, created for the current number of partitions
+  private volatile Counters counters;
+
+  public SkewAwarePartitioner() {
+    super();
+    setMode( MODE_HASH );
+  }
+
+  public Partitioner getInstance() {
+    Partitioner partitioner = new SkewAwarePartitioner();
+    partitioner.setId( getId() );
+    partitioner.setDescription( getDescription() );
+    return partitioner;
+  }
+
+  /**
+   * Generates a deep copy of the partitioner. The copy starts counting from scratch.
+   */
+  public SkewAwarePartitioner clone() {
+    SkewAwarePartitioner partitioner = (SkewAwarePartitioner) super.clone();
+    partitioner.sampleSize = sampleSize;
+    partitioner.spreadPartitions = spreadPartitions;
+    partitioner.counters = null;
+    return partitioner;
+  }
+
+  public String getDialogClassName() {
+    return SkewAwarePartitionerDialog.class.getName();
+  }
+
+  /**
+   * Counts the key and determines its partition: the hashed partition for normal keys, one
+   * of several partitions for hot keys.
+   */
+  @Override
+  protected int hashPartition( int hash ) {
+    return spread( super.hashPartition( hash ), hash );
+  }
+
+  /**
+   * Counts a null key, which goes to partition 0 unless it is hot.
+   */
+  @Override
+  protected int nullHashPartition() {
+    return spread( super.nullHashPartition(), NULL_HASH );
+  }
+
+  /**
+   * Always partitions by hash.
+   */
+  @Override
+  protected boolean isModeConfigurable() {
+    return false;
+  }
+
+  /**
+   * The skew aware partitioner always partitions by hash, other modes are ignored.
+   */
+  @Override
+  public void setMode( String mode ) {
+    super.setMode( MODE_HASH );
+  }
+
+  /**
+   * Counts a key and spreads its rows if it is hot.
+   * 
+   * @param partition  the partition of the key
+   * @param hash       the hash of the key
+   * 
+   * @return the partition the row should go to
+   */
+  private int spread( int partition, int hash ) {
+    Counters current = getCounters();
+    Sketch sketch = current.local.get();
+
+    long estimate = sketch.add( hash );
+    long copyRows = sketch.countRow();
+    // a key is hot if it would fill more than half of the fair share of a partition, after
+    // the sample. Keys that are not even hot within this copy are settled without reading
+    // the sketches of the other copies, which only the frequent keys need.
+    if ( nrPartitions <= 1 || estimate * 2L * nrPartitions <= copyRows ) {
+      return partition;
+    }
+    long rows = current.getRows();
+    if ( rows <= sampleSize || current.estimate( hash ) * 2L * nrPartitions <= rows ) {
+      return partition;
+    }
+    sketch.hotKeyRows.lazySet( sketch.hotKeyRows.get() + 1 );
+    int spread = spreadPartitions <= 0 ? nrPartitions : Math.min( spreadPartitions, nrPartitions );
+    int offset = (int) ( ( sketch.nextSpread++ & Long.MAX_VALUE ) % spread );
+    return ( partition + offset ) % nrPartitions;
+  }
+
+  private Counters getCounters() {
+    Counters current = counters;
+    if ( current == null || current.nrPartitions != nrPartitions ) {
+      synchronized ( this ) {
+        current = counters;
+        if ( current == null || current.nrPartitions != nrPartitions ) {
+          current = new Counters( nrPartitions );
+          counters = current;
+        }
+      }
+    }
+    return current;
+  }
+
+  /**
+   * @return the number of rows sent to each partition so far
+   */
+  public long[] getPartitionRowCounts() {
+    return getStatistics().getRowCounts();
+  }
+
+  /**
+   * @return the number of rows of hot keys that were spread across partitions
+   */
+  public long getHotKeyRows() {
+    Counters current = counters;
+    return current == null ? 0 : current.getHotKeyRows();
+  }
+
+  /**
+   * @return the number of rows of the fullest partition divided by the average, 1.0 for a
+   *         perfectly even spread
+   */
+  public double getImbalance() {
+    return getStatistics().getImbalance();
+  }
+
+  public String getDescription() {
+    String description = "Skew aware demo partitioner";
+    return description + describeKeyFields();
+  }
+
+  public String getXML() {
+    StringBuilder xml = new StringBuilder( super.getXML() );
+    xml.append( "           " ).append( XMLHandler.addTagValue( "sample_size", sampleSize ) );
+    xml.append( "           " ).append( XMLHandler.addTagValue( "spread_partitions", spreadPartitions ) );
+    return xml.toString();
+  }
+
+  public void loadXML( Node partitioningMethodNode ) throws KettleXMLException {
+    super.loadXML( partitioningMethodNode );
+    sampleSize = Const.toInt( XMLHandler.getTagValue( partitioningMethodNode, "sample_size" ), DEFAULT_SAMPLE_SIZE );
+    spreadPartitions = Const.toInt( XMLHandler.getTagValue( partitioningMethodNode, "spread_partitions" ), 0 );
+  }
+
+  public void saveRep( Repository rep, ObjectId id_transformation, ObjectId id_step ) throws KettleException {
+    super.saveRep( rep, id_transformation, id_step );
+    rep.saveStepAttribute( id_transformation, id_step, "PARTITIONING_SAMPLE_SIZE", sampleSize );
+    rep.saveStepAttribute( id_transformation, id_step, "PARTITIONING_SPREAD_PARTITIONS", spreadPartitions );
+  }
+
+  public void loadRep( Repository rep, ObjectId id_step ) throws KettleException {
+    super.loadRep( rep, id_step );
+    sampleSize = (int) rep.getStepAttributeInteger( id_step, "PARTITIONING_SAMPLE_SIZE" );
+    if ( sampleSize == 0 ) {
+      // not saved in the repository yet
+      sampleSize = DEFAULT_SAMPLE_SIZE;
+    }
+    spreadPartitions = (int) rep.getStepAttributeInteger( id_step, "PARTITIONING_SPREAD_PARTITIONS" );
+  }
+
+  public int getSampleSize() {
+    return sampleSize;
+  }
+
+  public void setSampleSize( int sampleSize ) {
+    this.sampleSize = sampleSize;
+  }
+
+  public int getSpreadPartitions() {
+    return spreadPartitions;
+  }
+
+  public void setSpreadPartitions( int spreadPartitions ) {
+    this.spreadPartitions = spreadPartitions;
+  }
+
+  /**
+   * The counters of the partitioner: a sketch for every step copy that partitioned rows.
+   * The sketches are only added up when a key may be hot, or when the figures are read.
+   */
+  static final class Counters {
+
+    final int nrPartitions;
+
+    // the sketches of all threads that partitioned rows
+    final Queue<Sketch> copies = new ConcurrentLinkedQueue<Sketch>();
+
+    // the sketch of the current thread
+    final ThreadLocal<Sketch> local = new ThreadLocal<Sketch>() {
+      @Override
+      protected Sketch initialValue() {
+        Sketch sketch = new Sketch();
+        copies.add( sketch );
+        return sketch;
+      }
+    };
+
+    Counters( int nrPartitions ) {
+      this.nrPartitions = nrPartitions;
+    }
+
+    /**
+     * Estimates how often a key was seen by all copies, from the sum of their sketches.
+     * 
+     * @param hash  the hash of the key
+     * 
+     * @return the estimated number of times the key was seen
+     */
+    long estimate( int hash ) {
+      long estimate = Long.MAX_VALUE;
+      for ( int d = 0; d < SKETCH_DEPTH; d++ ) {
+        int index = Sketch.index( d, hash );
+        long sum = 0;
+        for ( Sketch sketch : copies ) {
+          sum += sketch.sketch.get( index );
+        }
+        estimate = Math.min( estimate, sum );
+      }
+      return estimate;
+    }
+
+    /**
+     * @return the number of rows counted by all copies
+     */
+    long getRows() {
+      long sum = 0;
+      for ( Sketch sketch : copies ) {
+        sum += sketch.rows.get();
+      }
+      return sum;
+    }
+
+    /**
+     * @return the number of rows of hot keys spread by all copies
+     */
+    long getHotKeyRows() {
+      long sum = 0;
+      for ( Sketch sketch : copies ) {
+        sum += sketch.hotKeyRows.get();
+      }
+      return sum;
+    }
+  }
+
+  /**
+   * The counters of one step copy. Only the thread of the copy writes to them, so they are
+   * updated without compare-and-swap, but other threads may read them. The counts are longs,
+   * so that a key seen more than 2^31 times stays hot.
+   */
+  static final class Sketch {
+
+    final AtomicLongArray sketch = new AtomicLongArray( SKETCH_DEPTH * SKETCH_WIDTH );
+    final AtomicLong rows = new AtomicLong();
+    final AtomicLong hotKeyRows = new AtomicLong();
+
+    // the next offset for spreading a hot key, only used by the thread of the copy
+    long nextSpread;
+
+    /**
+     * Determines the counter of a key in a row of the sketch.
+     * 
+     * @param d     the row of the sketch
+     * @param hash  the hash of the key
+     */
+    static int index( int d, int hash ) {
+      // derive an independent hash for every row of the sketch
+      return d * SKETCH_WIDTH + ( DemoHash.fmix( hash + d * 0x9e3779b9 ) & ( SKETCH_WIDTH - 1 ) );
+    }
+
+    /**
+     * Counts a key in the sketch.
+     * 
+     * @param hash  the hash of the key
+     * 
+     * @return the estimated number of times this copy saw the key, including this time
+     */
+    long add( int hash ) {
+      long estimate = Long.MAX_VALUE;
+      for ( int d = 0; d < SKETCH_DEPTH; d++ ) {
+        int index = index( d, hash );
+        long count = sketch.get( index ) + 1;
+        sketch.lazySet( index, count );
+        estimate = Math.min( estimate, count );
+      }
+      return estimate;
+    }
+
+    /**
+     * Counts a row.
+     * 
+     * @return the number of rows this copy counted, including this one
+     */
+    long countRow() {
+      long count = rows.get() + 1;
+      rows.lazySet( count );
+      return count;
+    }
+  }
+}
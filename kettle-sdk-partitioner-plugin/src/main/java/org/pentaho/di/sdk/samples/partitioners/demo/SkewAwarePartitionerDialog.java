@@ -0,0 +1,242 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.partitioners.demo;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.ModifyEvent;
+import org.eclipse.swt.events.ModifyListener;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.events.ShellAdapter;
+import org.eclipse.swt.events.ShellEvent;
+import org.eclipse.swt.layout.FormAttachment;
+import org.eclipse.swt.layout.FormData;
+import org.eclipse.swt.layout.FormLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+import org.pentaho.di.core.Const;
+import org.pentaho.di.i18n.BaseMessages;
+import org.pentaho.di.trans.TransMeta;
+import org.pentaho.di.trans.step.BaseStepMeta;
+import org.pentaho.di.trans.step.StepDialogInterface;
+import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.step.StepPartitioningMeta;
+import org.pentaho.di.ui.core.widget.TableView;
+import org.pentaho.di.ui.trans.step.BaseStepDialog;
+
+/**
+ * This class is part of the demo partitioner plug-in implementation.
+ * It is the dialog for the settings of the skew aware partitioner: the field to
+ * partition on, the number of rows to count before keys can be hot, and the number of
+ * partitions to spread hot keys across.
+ */
+public class SkewAwarePartitionerDialog extends BaseStepDialog implements StepDialogInterface {
+
+  /**
+   *  The PKG member is used when looking up internationalized strings.
+   *  The properties file with localized keys is expected to reside in 
+   *  {the package of the class specified}/messages/messages_{locale}.properties   
+   */
+  private static final Class<?> PKG = SkewAwarePartitionerDialog.class; // for i18n purposes $NON-NLS-1$
+
+  private StepPartitioningMeta partitioningMeta;
+  private StepMeta stepMeta;
+  private SkewAwarePartitioner partitioner;
+  private String[] fieldNames;
+  private int sampleSize;
+  private int spreadPartitions;
+
+  private Label wlFields;
+  private TableView wFields;
+  private FormData fdlFields, fdFields;
+
+  private Label wlSampleSize;
+  private Text wSampleSize;
+  private FormData fdlSampleSize, fdSampleSize;
+
+  private Label wlSpreadPartitions;
+  private Text wSpreadPartitions;
+  private FormData fdlSpreadPartitions, fdSpreadPartitions;
+
+  public SkewAwarePartitionerDialog( Shell parent, StepMeta stepMeta, StepPartitioningMeta partitioningMeta, TransMeta transMeta ) {
+    super( parent, (BaseStepMeta) stepMeta.getStepMetaInterface(), transMeta, partitioningMeta.getPartitioner().getDescription() );
+    this.stepMeta = stepMeta;
+    this.partitioningMeta = partitioningMeta;
+    partitioner = (SkewAwarePartitioner) partitioningMeta.getPartitioner();
+    fieldNames = partitioner.getFieldNames();
+    sampleSize = partitioner.getSampleSize();
+    spreadPartitions = partitioner.getSpreadPartitions();
+  }
+
+  public String open() {
+    Shell parent = getParent();
+    Display display = parent.getDisplay();
+
+    shell = new Shell( parent, SWT.DIALOG_TRIM | SWT.RESIZE | SWT.MIN | SWT.MAX );
+    props.setLook( shell );
+    setShellImage( shell, stepMeta.getStepMetaInterface() );
+
+    ModifyListener lsMod = new ModifyListener() {
+      public void modifyText( ModifyEvent e ) {
+        partitioningMeta.hasChanged( true );
+      }
+    };
+    changed = partitioningMeta.hasChanged();
+
+    FormLayout formLayout = new FormLayout();
+    formLayout.marginWidth = Const.FORM_MARGIN;
+    formLayout.marginHeight = Const.FORM_MARGIN;
+
+    shell.setLayout( formLayout );
+    shell.setText( partitioner.getDescription() ); //$NON-NLS-1$
+
+    int margin = Const.MARGIN;
+
+    int middle = props.getMiddlePct();
+
+    wlSampleSize = new Label( shell, SWT.RIGHT );
+    wlSampleSize.setText( "Rows to sample before spreading" ); //$NON-NLS-1$
+    props.setLook( wlSampleSize );
+    fdlSampleSize = new FormData();
+    fdlSampleSize.left = new FormAttachment( 0, 0 );
+    fdlSampleSize.right = new FormAttachment( middle, -margin );
+    fdlSampleSize.top = new FormAttachment( 0, margin );
+    wlSampleSize.setLayoutData( fdlSampleSize );
+    wSampleSize = new Text( shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( wSampleSize );
+    wSampleSize.addModifyListener( lsMod );
+    fdSampleSize = new FormData();
+    fdSampleSize.left = new FormAttachment( middle, 0 );
+    fdSampleSize.top = new FormAttachment( 0, margin );
+    fdSampleSize.right = new FormAttachment( 100, 0 );
+    wSampleSize.setLayoutData( fdSampleSize );
+
+    wlSpreadPartitions = new Label( shell, SWT.RIGHT );
+    wlSpreadPartitions.setText( "Partitions per hot key (0 = all)" ); //$NON-NLS-1$
+    props.setLook( wlSpreadPartitions );
+    fdlSpreadPartitions = new FormData();
+    fdlSpreadPartitions.left = new FormAttachment( 0, 0 );
+    fdlSpreadPartitions.right = new FormAttachment( middle, -margin );
+    fdlSpreadPartitions.top = new FormAttachment( wSampleSize, margin );
+    wlSpreadPartitions.setLayoutData( fdlSpreadPartitions );
+    wSpreadPartitions = new Text( shell, SWT.SINGLE | SWT.LEFT | SWT.BORDER );
+    props.setLook( wSpreadPartitions );
+    wSpreadPartitions.addModifyListener( lsMod );
+    fdSpreadPartitions = new FormData();
+    fdSpreadPartitions.left = new FormAttachment( middle, 0 );
+    fdSpreadPartitions.top = new FormAttachment( wSampleSize, margin );
+    fdSpreadPartitions.right = new FormAttachment( 100, 0 );
+    wSpreadPartitions.setLayoutData( fdSpreadPartitions );
+
+    // Some buttons
+    wOK = new Button( shell, SWT.PUSH );
+    wOK.setText( BaseMessages.getString( PKG, "System.Button.OK" ) ); //$NON-NLS-1$
+    wCancel = new Button( shell, SWT.PUSH );
+    wCancel.setText( BaseMessages.getString( PKG, "System.Button.Cancel" ) ); //$NON-NLS-1$
+    fdOK = new FormData();
+
+    setButtonPositions(  new Button[] { wOK, wCancel }, margin, null );
+
+    wlFields = new Label( shell, SWT.LEFT );
+    wlFields.setText( "Key fields" ); //$NON-NLS-1$
+    props.setLook( wlFields );
+    fdlFields = new FormData();
+    fdlFields.left = new FormAttachment( 0, 0 );
+    fdlFields.top = new FormAttachment( wSpreadPartitions, margin );
+    wlFields.setLayoutData( fdlFields );
+    wFields = DemoPartitionerDialog.createKeyFieldsTable( shell, props, transMeta, stepMeta, lsMod, fieldNames.length );
+    fdFields = new FormData();
+    fdFields.left = new FormAttachment( 0, 0 );
+    fdFields.top = new FormAttachment( wlFields, margin );
+    fdFields.right = new FormAttachment( 100, 0 );
+    fdFields.bottom = new FormAttachment( wOK, -2 * margin );
+    wFields.setLayoutData( fdFields );
+
+    // Add listeners
+    lsCancel = new Listener() {
+      public void handleEvent( Event e ) {
+        cancel();
+      }
+    };
+    lsOK = new Listener() {
+      public void handleEvent( Event e ) {
+        ok();
+      }
+    };
+
+    wCancel.addListener( SWT.Selection, lsCancel );
+    wOK.addListener( SWT.Selection, lsOK );
+
+    lsDef = new SelectionAdapter() {
+      public void widgetDefaultSelected( SelectionEvent e ) {
+        ok();
+      }
+    };
+
+    // Detect X or ALT-F4 or something that kills this window...
+    shell.addShellListener(
+      new ShellAdapter() {
+        public void shellClosed( ShellEvent e ) {
+          cancel();
+        }
+      }
+    );
+
+    // Set the shell size, based upon previous time...
+    setSize();
+    getData();
+    partitioningMeta.hasChanged( changed );
+
+    setSize();
+
+    shell.open();
+    while ( !shell.isDisposed() ) {
+      if ( !display.readAndDispatch() ) {
+        display.sleep();
+      }
+    }
+    return stepname;
+  }
+
+  /**
+   * Copy information from the meta-data input to the dialog fields.
+   */
+  public void getData() {
+    DemoPartitionerDialog.setKeyFields( wFields, fieldNames );
+    wSampleSize.setText( Integer.toString( sampleSize ) );
+    wSpreadPartitions.setText( Integer.toString( spreadPartitions ) );
+  }
+
+  private void cancel() {
+    stepname = null;
+    partitioningMeta.hasChanged( changed );
+    dispose();
+  }
+
+  private void ok() {
+    fieldNames = DemoPartitionerDialog.getKeyFields( wFields );
+    partitioner.setFieldNames( fieldNames );
+    sampleSize = Const.toInt( wSampleSize.getText(), SkewAwarePartitioner.DEFAULT_SAMPLE_SIZE );
+    partitioner.setSampleSize( sampleSize );
+    spreadPartitions = Const.toInt( wSpreadPartitions.getText(), 0 );
+    partitioner.setSpreadPartitions( spreadPartitions );
+    dispose();
+  }
+}
@@ -0,0 +1,134 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.partitioners.demo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.trans.LoadSaveTester;
+
+public class ConsistentHashPartitionerTest {
+
+	private static final int KEYS = 100000;
+
+	private static int[] partitionKeys( DemoPartitioner p, int nrPartitions ) throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "testfield" ) );
+		p.setNrPartitions( nrPartitions );
+		p.setFieldName( "testfield" );
+
+		int[] partitions = new int[KEYS];
+		for ( int i = 0; i < KEYS; i++ ) {
+			partitions[i] = p.getPartition( rowMeta, new Object[] { "key-" + i } );
+		}
+		return partitions;
+	}
+
+	// All partitions must get a fair share of the keys
+	@Test
+	public void testDistribution() throws KettleException {
+		int nrPartitions = 8;
+		int[] partitions = partitionKeys( new ConsistentHashPartitioner(), nrPartitions );
+
+		long[] counts = new long[nrPartitions];
+		for ( int partition : partitions ) {
+			counts[partition]++;
+		}
+		double mean = (double) KEYS / nrPartitions;
+		for ( long count : counts ) {
+			assertTrue( "unbalanced partitions: " + Arrays.toString( counts ), count > mean * 0.7 && count < mean * 1.3 );
+		}
+	}
+
+	// Adding a partition must only move about 1/N of the keys, and only to the new partition
+	@Test
+	public void testAddingPartition() throws KettleException {
+		int[] before = partitionKeys( new ConsistentHashPartitioner(), 8 );
+		int[] after = partitionKeys( new ConsistentHashPartitioner(), 9 );
+
+		int moved = 0;
+		for ( int i = 0; i < KEYS; i++ ) {
+			if ( before[i] != after[i] ) {
+				assertEquals( 8, after[i] );
+				moved++;
+			}
+		}
+		assertTrue( "too many keys moved: " + moved, moved < KEYS * 1.5 / 9 );
+		assertTrue( "too few keys moved: " + moved, moved > KEYS * 0.5 / 9 );
+
+		// in comparison, the plain hash mode moves most keys
+		DemoPartitioner hashBefore = new DemoPartitioner();
+		hashBefore.setMode( DemoPartitioner.MODE_HASH );
+		DemoPartitioner hashAfter = new DemoPartitioner();
+		hashAfter.setMode( DemoPartitioner.MODE_HASH );
+		before = partitionKeys( hashBefore, 8 );
+		after = partitionKeys( hashAfter, 9 );
+		int hashMoved = 0;
+		for ( int i = 0; i < KEYS; i++ ) {
+			if ( before[i] != after[i] ) {
+				hashMoved++;
+			}
+		}
+		assertTrue( hashMoved > moved * 3 );
+	}
+
+	// Changing the number of virtual nodes must rebuild the ring
+	@Test
+	public void testChangingVirtualNodes() throws KettleException {
+		ConsistentHashPartitioner p = new ConsistentHashPartitioner();
+		p.setVirtualNodes( 1 );
+		int[] few = partitionKeys( p, 8 );
+		p.setVirtualNodes( 256 );
+		int[] many = partitionKeys( p, 8 );
+
+		ConsistentHashPartitioner fresh = new ConsistentHashPartitioner();
+		fresh.setVirtualNodes( 256 );
+		assertTrue( Arrays.equals( partitionKeys( fresh, 8 ), many ) );
+		assertTrue( !Arrays.equals( few, many ) );
+	}
+
+	// The ring must be sorted, and lookups must find the next node
+	@Test
+	public void testRing() {
+		ConsistentHashPartitioner.Ring ring = new ConsistentHashPartitioner.Ring( 3, 4 );
+		assertEquals( 12, ring.positions.length );
+		for ( int i = 1; i < ring.positions.length; i++ ) {
+			assertTrue( ring.positions[i - 1] <= ring.positions[i] );
+		}
+		// a hash beyond the last node wraps around to the first node
+		if ( ring.positions[11] < Integer.MAX_VALUE ) {
+			assertEquals( ring.partitions[0], ring.lookup( ring.positions[11] + 1 ) );
+		}
+		// a hash on a node goes to the partition owning it
+		assertEquals( ring.partitions[5], ring.lookup( ring.positions[5] ) );
+	}
+
+	@Test
+	public void testSerialization() throws KettleException {
+		List<String> attributes = Arrays.asList( "FieldName", "Mode", "VirtualNodes" );
+
+		LoadSaveTester<ConsistentHashPartitioner> tester =
+			new LoadSaveTester<ConsistentHashPartitioner>( ConsistentHashPartitioner.class, attributes );
+
+		tester.testSerialization();
+	}
+}
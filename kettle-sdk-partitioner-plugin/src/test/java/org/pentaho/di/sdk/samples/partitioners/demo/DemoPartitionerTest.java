@@ -15,15 +15,32 @@
 package org.pentaho.di.sdk.samples.partitioners.demo;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
+import org.pentaho.di.core.QueueRowSet;
+import org.pentaho.di.core.RowSet;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
 import org.pentaho.di.core.row.value.ValueMetaString;
 import org.pentaho.di.trans.LoadSaveTester;
+import org.pentaho.di.trans.step.BaseStep;
+import org.pentaho.di.trans.step.RowAdapter;
+import org.pentaho.di.trans.step.StepDataInterface;
+import org.pentaho.di.trans.step.StepMetaInterface;
+import org.pentaho.di.trans.steps.mock.StepMockHelper;
 
 public class DemoPartitionerTest {
 
@@ -51,9 +68,327 @@ public class DemoPartitionerTest {
 		assertEquals( p.getPartition( rowMeta, row3 ), 2 );
 	}
 
+	// Hash mode must keep every partition within 10% of the mean,
+	// for small and large numbers of partitions alike
+	@Test
+	public void testHashModeSkew() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "testfield" ) );
+		int rows = 200000;
+
+		for ( int nrPartitions : new int[] { 3, 7, 32, 64 } ) {
+			DemoPartitioner p = new DemoPartitioner();
+			p.setNrPartitions( nrPartitions );
+			p.setFieldName( "testfield" );
+			p.setMode( DemoPartitioner.MODE_HASH );
+
+			long[] counts = new long[nrPartitions];
+			for ( int i = 0; i < rows; i++ ) {
+				counts[p.getPartition( rowMeta, new Object[] { "customer-" + i } )]++;
+			}
+
+			double mean = (double) rows / nrPartitions;
+			long min = Long.MAX_VALUE;
+			long max = 0;
+			for ( long count : counts ) {
+				min = Math.min( min, count );
+				max = Math.max( max, count );
+			}
+			String distribution = nrPartitions + " partitions: min=" + min + " max=" + max
+				+ " mean=" + Math.round( mean ) + " distribution=" + Arrays.toString( counts );
+
+			assertTrue( "partition too small, " + distribution, min > mean * 0.9 );
+			assertTrue( "partition too large, " + distribution, max < mean * 1.1 );
+		}
+	}
+
+	// The same value must always go to the same partition, nulls go to partition 0
+	@Test
+	public void testHashModeStable() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "testfield" ) );
+		DemoPartitioner p = new DemoPartitioner();
+		p.setNrPartitions( 5 );
+		p.setFieldName( "testfield" );
+		p.setMode( DemoPartitioner.MODE_HASH );
+
+		int partition = p.getPartition( rowMeta, new Object[] { "key" } );
+		DemoPartitioner other = (DemoPartitioner) p.clone();
+		assertEquals( partition, other.getPartition( rowMeta, new Object[] { "key" } ) );
+		assertEquals( 0, p.getPartition( rowMeta, new Object[] { null } ) );
+	}
+
+	// Values read directly from the row must go to the same partition as their string representation
+	@Test
+	public void testDirectKeyAccess() throws KettleException {
+		String[] strings = { "a", "abcdefghijk", "abcdefghijklmnopqrstuvwxyz", "gr\u00fc\u00dfe", "\u20ac 10", "\ud83d\ude00 smile" };
+		long[] numbers = { 0L, 7L, -42L, 1234567890L, Long.MIN_VALUE, Long.MAX_VALUE };
+
+		RowMeta stringMeta = new RowMeta();
+		stringMeta.addValueMeta( new ValueMetaString( "testfield" ) );
+
+		ValueMetaString storageMeta = new ValueMetaString( "testfield" );
+		storageMeta.setStringEncoding( "UTF-8" );
+		ValueMetaString binaryField = new ValueMetaString( "testfield" );
+		binaryField.setStorageType( ValueMetaInterface.STORAGE_TYPE_BINARY_STRING );
+		binaryField.setStorageMetadata( storageMeta );
+		RowMeta binaryMeta = new RowMeta();
+		binaryMeta.addValueMeta( binaryField );
+
+		RowMeta integerMeta = new RowMeta();
+		integerMeta.addValueMeta( new ValueMetaInteger( "testfield" ) );
+
+		for ( String mode : new String[] { DemoPartitioner.MODE_LENGTH, DemoPartitioner.MODE_HASH } ) {
+			DemoPartitioner stringPartitioner = createPartitioner( mode );
+			DemoPartitioner binaryPartitioner = createPartitioner( mode );
+			DemoPartitioner integerPartitioner = createPartitioner( mode );
+
+			for ( String value : strings ) {
+				int expected = stringPartitioner.getStringPartition( value );
+				assertEquals( expected, stringPartitioner.getPartition( stringMeta, new Object[] { value } ) );
+				assertEquals( expected, binaryPartitioner.getPartition( binaryMeta, new Object[] { value.getBytes( StandardCharsets.UTF_8 ) } ) );
+			}
+			for ( long value : numbers ) {
+				int expected = integerPartitioner.getStringPartition( Long.toString( value ) );
+				assertEquals( expected, integerPartitioner.getPartition( integerMeta, new Object[] { value } ) );
+			}
+			assertEquals( DemoPartitioner.KEY_STRING, stringPartitioner.getKeyLayout( stringMeta ).accesses[0] );
+			assertEquals( DemoPartitioner.KEY_UTF8_BYTES, binaryPartitioner.getKeyLayout( binaryMeta ).accesses[0] );
+			assertEquals( DemoPartitioner.KEY_INTEGER, integerPartitioner.getKeyLayout( integerMeta ).accesses[0] );
+
+			// trimmed String fields must be converted, so padded values land where their trimmed value does
+			String[] padded = { "  abc", "abc  ", "  abc  ", " gr\u00fc\u00dfe ", "plain" };
+			for ( int trimType : new int[] { ValueMetaInterface.TRIM_TYPE_LEFT, ValueMetaInterface.TRIM_TYPE_RIGHT,
+				ValueMetaInterface.TRIM_TYPE_BOTH } ) {
+				ValueMetaString trimmedField = new ValueMetaString( "testfield" );
+				trimmedField.setTrimType( trimType );
+				RowMeta trimmedMeta = new RowMeta();
+				trimmedMeta.addValueMeta( trimmedField );
+				DemoPartitioner trimmedPartitioner = createPartitioner( mode );
+
+				for ( String value : padded ) {
+					int expected = trimmedPartitioner.getStringPartition( trimmedField.getString( value ) );
+					assertEquals( "trim type " + trimType + ", value '" + value + "'", expected,
+						trimmedPartitioner.getPartition( trimmedMeta, new Object[] { value } ) );
+				}
+				assertEquals( DemoPartitioner.KEY_CONVERT, trimmedPartitioner.getKeyLayout( trimmedMeta ).accesses[0] );
+			}
+		}
+	}
+
+	private static DemoPartitioner createPartitioner( String mode ) {
+		DemoPartitioner p = new DemoPartitioner();
+		p.setNrPartitions( 7 );
+		p.setFieldName( "testfield" );
+		p.setMode( mode );
+		return p;
+	}
+
+	// Composite keys must combine all key fields: rows differing in any field spread out,
+	// equal rows stay together, and null fields are allowed
+	@Test
+	public void testCompositeKey() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "tenant" ) );
+		rowMeta.addValueMeta( new ValueMetaString( "other" ) );
+		rowMeta.addValueMeta( new ValueMetaInteger( "day" ) );
+		rowMeta.addValueMeta( new ValueMetaString( "region" ) );
+
+		DemoPartitioner p = new DemoPartitioner();
+		p.setNrPartitions( 8 );
+		p.setFieldNames( new String[] { "tenant", "day", "region" } );
+		p.setMode( DemoPartitioner.MODE_HASH );
+
+		// one tenant, many days and regions: the rows must use all partitions
+		long[] counts = new long[8];
+		for ( int i = 0; i < 10000; i++ ) {
+			counts[p.getPartition( rowMeta, new Object[] { "acme", "x" + i, (long) ( i % 365 ), "region-" + ( i / 365 ) } )]++;
+		}
+		for ( long count : counts ) {
+			assertTrue( Arrays.toString( counts ), count > 1000 );
+		}
+
+		// fields that are not part of the key must not matter
+		assertEquals( p.getPartition( rowMeta, new Object[] { "acme", "a", 1L, null } ),
+			p.getPartition( rowMeta, new Object[] { "acme", "b", 1L, null } ) );
+
+		// the order of the key fields is part of the key
+		DemoPartitioner swapped = new DemoPartitioner();
+		swapped.setNrPartitions( 1024 );
+		swapped.setFieldNames( new String[] { "tenant", "region" } );
+		swapped.setMode( DemoPartitioner.MODE_HASH );
+		DemoPartitioner ordered = (DemoPartitioner) swapped.clone();
+		int differences = 0;
+		for ( int i = 0; i < 100; i++ ) {
+			Object[] row = { "t" + i, null, null, "r" + i };
+			Object[] reversed = { "r" + i, null, null, "t" + i };
+			if ( ordered.getPartition( rowMeta, row ) != swapped.getPartition( rowMeta, reversed ) ) {
+				differences++;
+			}
+		}
+		assertTrue( differences > 90 );
+
+		// in length mode the lengths of the key fields are added up
+		DemoPartitioner length = new DemoPartitioner();
+		length.setNrPartitions( 3 );
+		length.setFieldNames( new String[] { "tenant", "region" } );
+		assertEquals( length.getStringPartition( "abcdefghijk" ), length.getPartition( rowMeta, new Object[] { "abcde", null, null, "fghijk" } ) );
+	}
+
+	// A key of one field must go to the same partition, whether it is set as a list or a single field
+	@Test
+	public void testSingleFieldList() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "testfield" ) );
+		DemoPartitioner single = createPartitioner( DemoPartitioner.MODE_HASH );
+		DemoPartitioner list = createPartitioner( DemoPartitioner.MODE_HASH );
+		list.setFieldNames( new String[] { "testfield" } );
+		for ( int i = 0; i < 1000; i++ ) {
+			Object[] row = { "key-" + i };
+			assertEquals( single.getStringPartition( "key-" + i ), list.getPartition( rowMeta, row ) );
+		}
+		assertEquals( "testfield", list.getFieldName() );
+	}
+
+	// A clone must resolve its own key fields, even if the original already resolved them
+	@Test
+	public void testCloneAfterUse() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "short" ) );
+		rowMeta.addValueMeta( new ValueMetaString( "long" ) );
+		Object[] row = { "a", "abcdefghijklmnopqrstuvwxyz" };
+
+		DemoPartitioner p = createPartitioner( DemoPartitioner.MODE_LENGTH );
+		p.setNrPartitions( 3 );
+		p.setFieldName( "short" );
+		assertEquals( 0, p.getPartition( rowMeta, row ) );
+
+		DemoPartitioner clone = p.clone();
+		clone.setFieldName( "long" );
+		assertEquals( 2, clone.getPartition( rowMeta, row ) );
+		assertEquals( 0, p.getPartition( rowMeta, row ) );
+	}
+
+	// Many threads sharing one partitioner, with rows of different layouts, must all get
+	// the partitions a partitioner of their own would give them
+	@Test
+	public void testConcurrentLayouts() throws Exception {
+		final RowMeta keyFirst = new RowMeta();
+		keyFirst.addValueMeta( new ValueMetaString( "testfield" ) );
+		keyFirst.addValueMeta( new ValueMetaString( "other" ) );
+		final RowMeta keyLast = new RowMeta();
+		keyLast.addValueMeta( new ValueMetaString( "other" ) );
+		keyLast.addValueMeta( new ValueMetaInteger( "number" ) );
+		keyLast.addValueMeta( new ValueMetaString( "testfield" ) );
+
+		final DemoPartitioner shared = createPartitioner( DemoPartitioner.MODE_HASH );
+		final DemoPartitioner reference = createPartitioner( DemoPartitioner.MODE_HASH );
+
+		ExecutorService executor = Executors.newFixedThreadPool( 8 );
+		try {
+			List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+			for ( int t = 0; t < 8; t++ ) {
+				final int thread = t;
+				results.add( executor.submit( new Callable<Integer>() {
+					public Integer call() throws KettleException {
+						int errors = 0;
+						for ( int i = 0; i < 20000; i++ ) {
+							String key = "key-" + thread + "-" + i;
+							int expected = reference.getStringPartition( key );
+							// alternate between the layouts, and between shared and new row structure objects
+							RowMetaInterface rowMeta = i % 3 == 0 ? keyFirst : i % 3 == 1 ? keyLast : keyLast.clone();
+							Object[] row = rowMeta.size() == 2 ? new Object[] { key, "x" } : new Object[] { "x", 1L, key };
+							if ( shared.getPartition( rowMeta, row ) != expected ) {
+								errors++;
+							}
+						}
+						return errors;
+					}
+				} ) );
+			}
+			for ( Future<Integer> result : results ) {
+				assertEquals( 0, (int) result.get() );
+			}
+			// no row may be lost by the statistics counters of the threads
+			assertEquals( 8 * 20000, shared.getStatistics().getTotalRows() );
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// A batch must be partitioned exactly like the same rows one by one
+	@Test
+	public void testBatchPartitions() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "testfield" ) );
+		Object[][] rows = new Object[1000][];
+		for ( int i = 0; i < rows.length; i++ ) {
+			rows[i] = new Object[] { i % 10 == 0 ? null : "key-" + ( i * 7919 ) };
+		}
+
+		for ( String mode : new String[] { DemoPartitioner.MODE_LENGTH, DemoPartitioner.MODE_HASH } ) {
+			DemoPartitioner single = createPartitioner( mode );
+			DemoPartitioner batch = createPartitioner( mode );
+			int[] partitions = batch.getPartitions( rowMeta, rows, 900 );
+			assertEquals( 900, partitions.length );
+			for ( int i = 0; i < partitions.length; i++ ) {
+				assertEquals( single.getPartition( rowMeta, rows[i] ), partitions[i] );
+			}
+			assertEquals( 900, batch.getStatistics().getTotalRows() );
+		}
+	}
+
+	// Every row set must receive exactly the rows of its partition, in their original order,
+	// written by the step like putRow() would: seen by its row listeners and counted as written
+	@Test
+	public void testPutRows() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "testfield" ) );
+		Object[][] rows = new Object[500][];
+		for ( int i = 0; i < rows.length; i++ ) {
+			rows[i] = new Object[] { "key-" + i };
+		}
+
+		DemoPartitioner p = createPartitioner( DemoPartitioner.MODE_HASH );
+		List<RowSet> rowSets = new ArrayList<RowSet>();
+		for ( int i = 0; i < 7; i++ ) {
+			rowSets.add( new QueueRowSet() );
+		}
+		StepMockHelper<StepMetaInterface, StepDataInterface> helper =
+			new StepMockHelper<StepMetaInterface, StepDataInterface>( "partitioned", StepMetaInterface.class,
+				StepDataInterface.class );
+		final List<Object[]> written = new ArrayList<Object[]>();
+		try {
+			BaseStep step = new BaseStep( helper.stepMeta, helper.stepDataInterface, 0, helper.transMeta, helper.trans );
+			step.addRowListener( new RowAdapter() {
+				@Override
+				public void rowWrittenEvent( RowMetaInterface rowMeta, Object[] row ) {
+					written.add( row );
+				}
+			} );
+			p.putRows( step, rowMeta, rows, rows.length, rowSets );
+			assertEquals( rows.length, step.getLinesWritten() );
+			assertEquals( rows.length, written.size() );
+		} finally {
+			helper.cleanUp();
+		}
+
+		DemoPartitioner reference = createPartitioner( DemoPartitioner.MODE_HASH );
+		int[] next = new int[7];
+		for ( Object[] row : rows ) {
+			int partition = reference.getPartition( rowMeta, row );
+			assertTrue( row == rowSets.get( partition ).getRow() );
+			next[partition]++;
+		}
+		for ( int i = 0; i < 7; i++ ) {
+			assertEquals( next[i], p.getStatistics().getRows( i ) );
+			assertTrue( rowSets.get( i ).getRow() == null );
+		}
+	}
+
 	@Test
 	public void testSerialization() throws KettleException {
-	  List<String> attributes = Arrays.asList( "FieldName" );
+	  List<String> attributes = Arrays.asList( "FieldNames", "Mode" );
 
 	  LoadSaveTester<DemoPartitioner> tester = new LoadSaveTester<DemoPartitioner>( DemoPartitioner.class, attributes );
 
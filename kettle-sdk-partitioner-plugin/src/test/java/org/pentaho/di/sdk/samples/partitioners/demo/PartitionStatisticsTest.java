@@ -0,0 +1,92 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.partitioners.demo;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.value.ValueMetaString;
+
+public class PartitionStatisticsTest {
+
+	@Test
+	public void testFigures() {
+		RowMeta rowMeta = new RowMeta();
+		PartitionStatistics statistics = new PartitionStatistics( 4 );
+		int[] rows = { 10, 20, 30, 40 };
+		for ( int partition = 0; partition < rows.length; partition++ ) {
+			for ( int i = 0; i < rows[partition]; i++ ) {
+				statistics.record( partition, rowMeta, new Object[0] );
+			}
+		}
+
+		assertArrayEquals( new long[] { 10, 20, 30, 40 }, statistics.getRowCounts() );
+		assertEquals( 100, statistics.getTotalRows() );
+		assertEquals( 10, statistics.getMinRows() );
+		assertEquals( 40, statistics.getMaxRows() );
+		assertEquals( 25.0, statistics.getMeanRows(), 0.0001 );
+		assertEquals( Math.sqrt( 125.0 ), statistics.getStdDevRows(), 0.0001 );
+		assertEquals( 1.6, statistics.getImbalance(), 0.0001 );
+		assertEquals( 5, statistics.toLogLines( "step" ).length );
+		assertTrue( statistics.toLogLines( "step" )[0].startsWith( PartitionStatistics.LOG_PREFIX + " [step]" ) );
+	}
+
+	// Every 16th row of each partition is measured, whatever order the rows come in
+	@Test
+	public void testByteEstimate() {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "testfield" ) );
+		Object[] row = new Object[] { "abcd" };
+		PartitionStatistics statistics = new PartitionStatistics( 4 );
+		for ( int i = 0; i < 1600; i++ ) {
+			statistics.record( i % 4, rowMeta, row );
+		}
+
+		for ( int partition = 0; partition < 4; partition++ ) {
+			assertEquals( 400 * PartitionStatistics.estimateBytes( rowMeta, row ), statistics.getBytes( partition ) );
+		}
+	}
+
+	@Test
+	public void testEmpty() {
+		PartitionStatistics statistics = new PartitionStatistics( 0 );
+		assertEquals( 0, statistics.getMinRows() );
+		assertEquals( 0.0, statistics.getStdDevRows(), 0.0 );
+		assertEquals( 1.0, statistics.getImbalance(), 0.0 );
+	}
+
+	// The partitioner must count every row in the partition it returned, and start over after a reset
+	@Test
+	public void testPartitionerStatistics() throws KettleException {
+		DemoPartitioner p = new DemoPartitioner();
+		p.setNrPartitions( 3 );
+		p.setFieldName( "testfield" );
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "testfield" ) );
+
+		long[] expected = new long[3];
+		for ( int i = 0; i < 1000; i++ ) {
+			expected[p.getPartition( rowMeta, new Object[] { "abcdefghijklmnopqrstuvwxyz".substring( i % 26 ) } )]++;
+		}
+		assertArrayEquals( expected, p.getStatistics().getRowCounts() );
+
+		p.resetStatistics();
+		assertEquals( 0, p.getStatistics().getTotalRows() );
+	}
+}
@@ -0,0 +1,143 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.partitioners.demo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.trans.LoadSaveTester;
+
+public class RangePartitionerTest {
+
+	private static RangePartitioner createPartitioner( int nrPartitions, String... boundaries ) {
+		RangePartitioner p = new RangePartitioner();
+		p.setNrPartitions( nrPartitions );
+		p.setFieldName( "testfield" );
+		p.setBoundaries( boundaries );
+		return p;
+	}
+
+	// Configured boundaries must be converted to the key type and compared as such
+	@Test
+	public void testConfiguredBoundaries() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaInteger( "testfield" ) );
+		// the boundaries are sorted as numbers, not as text
+		RangePartitioner p = createPartitioner( 4, "30", "100", "20" );
+
+		assertEquals( 0, p.getPartition( rowMeta, new Object[] { 5L } ) );
+		assertEquals( 0, p.getPartition( rowMeta, new Object[] { 19L } ) );
+		assertEquals( 1, p.getPartition( rowMeta, new Object[] { 20L } ) );
+		assertEquals( 1, p.getPartition( rowMeta, new Object[] { 29L } ) );
+		assertEquals( 2, p.getPartition( rowMeta, new Object[] { 30L } ) );
+		assertEquals( 3, p.getPartition( rowMeta, new Object[] { 100L } ) );
+		assertEquals( 3, p.getPartition( rowMeta, new Object[] { 1000000L } ) );
+		assertEquals( 0, p.getPartition( rowMeta, new Object[] { -1000000L } ) );
+		// null values sort first
+		assertEquals( 0, p.getPartition( rowMeta, new Object[] { null } ) );
+	}
+
+	// More boundaries than partitions would merge ranges into the last partition, which must fail
+	@Test( expected = KettleException.class )
+	public void testTooManyBoundaries() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "testfield" ) );
+		createPartitioner( 2, "b", "d", "f" ).getPartition( rowMeta, new Object[] { "a" } );
+	}
+
+	// Fewer boundaries than partitions would leave partitions empty, which must fail
+	@Test( expected = KettleException.class )
+	public void testTooFewBoundaries() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "testfield" ) );
+		createPartitioner( 4, "b", "d" ).getPartition( rowMeta, new Object[] { "a" } );
+	}
+
+	// New boundaries must replace the ones converted for earlier rows
+	@Test
+	public void testChangedBoundaries() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaInteger( "testfield" ) );
+		RangePartitioner p = createPartitioner( 2, "10" );
+		assertEquals( 1, p.getPartition( rowMeta, new Object[] { 15L } ) );
+
+		p.setBoundaries( new String[] { "20" } );
+		assertEquals( 0, p.getPartition( rowMeta, new Object[] { 15L } ) );
+		assertEquals( 1, p.getPartition( rowMeta, new Object[] { 25L } ) );
+	}
+
+	// Sorted input, as in a bulk load, must give every partition one contiguous range
+	@Test
+	public void testSortedInput() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaInteger( "testfield" ) );
+		RangePartitioner p = createPartitioner( 4, "25000", "50000", "75000" );
+
+		long[] first = { -1, -1, -1, -1 };
+		long[] counts = new long[4];
+		int previous = 0;
+		for ( long key = 0; key < 100000; key++ ) {
+			int partition = p.getPartition( rowMeta, new Object[] { key } );
+			// the partitions follow each other, so no partition gets keys from two ranges
+			assertTrue( "key " + key, partition == previous || partition == previous + 1 );
+			if ( first[partition] < 0 ) {
+				first[partition] = key;
+			}
+			counts[partition]++;
+			previous = partition;
+		}
+		assertEquals( "[0, 25000, 50000, 75000]", Arrays.toString( first ) );
+		assertEquals( "[25000, 25000, 25000, 25000]", Arrays.toString( counts ) );
+	}
+
+	// Several partitions without boundaries cannot be ranges, which must fail rather than
+	// send all rows to one partition
+	@Test( expected = KettleException.class )
+	public void testNoBoundaries() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaInteger( "testfield" ) );
+		createPartitioner( 4 ).getPartition( rowMeta, new Object[] { 1L } );
+	}
+
+	// Only the first key field determines the range
+	@Test
+	public void testFirstKeyField() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaInteger( "testfield" ) );
+		rowMeta.addValueMeta( new ValueMetaInteger( "otherfield" ) );
+		RangePartitioner p = createPartitioner( 2, "10" );
+		p.setFieldNames( new String[] { "testfield", "otherfield" } );
+
+		assertEquals( 0, p.getPartition( rowMeta, new Object[] { 5L, 100L } ) );
+		assertEquals( 1, p.getPartition( rowMeta, new Object[] { 15L, 0L } ) );
+	}
+
+	@Test
+	public void testSerialization() throws KettleException {
+		List<String> attributes = Arrays.asList( "FieldNames", "Boundaries" );
+
+		LoadSaveTester<RangePartitioner> tester = new LoadSaveTester<RangePartitioner>( RangePartitioner.class, attributes );
+
+		tester.testSerialization();
+	}
+}
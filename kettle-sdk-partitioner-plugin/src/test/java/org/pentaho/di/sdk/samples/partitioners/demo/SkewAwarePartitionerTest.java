@@ -0,0 +1,217 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.partitioners.demo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.trans.LoadSaveTester;
+
+public class SkewAwarePartitionerTest {
+
+	private static final int ROWS = 100000;
+
+	// half of the rows have the same key, the others all have different keys
+	private static void partitionSkewedKeys( DemoPartitioner p, long[] counts ) throws KettleException {
+		partitionSkewedKeys( p, counts, "hot" );
+	}
+
+	private static void partitionSkewedKeys( DemoPartitioner p, long[] counts, String hotKey ) throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "testfield" ) );
+		p.setNrPartitions( counts.length );
+		p.setFieldName( "testfield" );
+		for ( int i = 0; i < ROWS; i++ ) {
+			String key = i % 2 == 0 ? hotKey : "key-" + i;
+			counts[p.getPartition( rowMeta, new Object[] { key } )]++;
+		}
+	}
+
+	private static double imbalance( long[] counts ) {
+		long max = 0;
+		for ( long count : counts ) {
+			max = Math.max( max, count );
+		}
+		return (double) max * counts.length / ROWS;
+	}
+
+	// The rows of a hot key must be spread, leaving far less imbalance than plain hashing
+	@Test
+	public void testHotKeySpreading() throws KettleException {
+		DemoPartitioner hash = new DemoPartitioner();
+		hash.setMode( DemoPartitioner.MODE_HASH );
+		long[] hashCounts = new long[8];
+		partitionSkewedKeys( hash, hashCounts );
+
+		SkewAwarePartitioner skewAware = new SkewAwarePartitioner();
+		long[] skewAwareCounts = new long[8];
+		partitionSkewedKeys( skewAware, skewAwareCounts );
+
+		assertTrue( "hash: " + Arrays.toString( hashCounts ), imbalance( hashCounts ) > 3.0 );
+		assertTrue( "skew aware: " + Arrays.toString( skewAwareCounts ), imbalance( skewAwareCounts ) < 1.6 );
+
+		// the partitioner must report what it did
+		assertTrue( Arrays.equals( skewAwareCounts, skewAware.getPartitionRowCounts() ) );
+		assertEquals( imbalance( skewAwareCounts ), skewAware.getImbalance(), 0.0001 );
+		assertEquals( ( ROWS - SkewAwarePartitioner.DEFAULT_SAMPLE_SIZE ) / 2, skewAware.getHotKeyRows() );
+	}
+
+	// Null keys must be counted and spread like any other hot key
+	@Test
+	public void testNullKeySpreading() throws KettleException {
+		SkewAwarePartitioner skewAware = new SkewAwarePartitioner();
+		long[] counts = new long[8];
+		partitionSkewedKeys( skewAware, counts, null );
+
+		assertTrue( "skew aware: " + Arrays.toString( counts ), imbalance( counts ) < 1.6 );
+		assertEquals( ( ROWS - SkewAwarePartitioner.DEFAULT_SAMPLE_SIZE ) / 2, skewAware.getHotKeyRows() );
+	}
+
+	// The sketch must keep counting past the range of an int
+	@Test
+	public void testCounterOverflow() {
+		SkewAwarePartitioner.Sketch sketch = new SkewAwarePartitioner.Sketch();
+		for ( int i = 0; i < sketch.sketch.length(); i++ ) {
+			sketch.sketch.set( i, Integer.MAX_VALUE );
+		}
+		assertEquals( Integer.MAX_VALUE + 1L, sketch.add( 42 ) );
+	}
+
+	// Every thread must count in a sketch of its own, and the estimate must add them up
+	@Test
+	public void testSketchPerThread() throws InterruptedException {
+		final SkewAwarePartitioner.Counters counters = new SkewAwarePartitioner.Counters( 8 );
+		counters.local.get().add( 42 );
+		counters.local.get().countRow();
+		Thread other = new Thread() {
+			public void run() {
+				counters.local.get().add( 42 );
+				counters.local.get().add( 42 );
+				counters.local.get().countRow();
+				counters.local.get().countRow();
+			}
+		};
+		other.start();
+		other.join();
+
+		assertEquals( 2, counters.copies.size() );
+		assertEquals( 1, counters.local.get().sketch.get( SkewAwarePartitioner.Sketch.index( 0, 42 ) ) );
+		assertEquals( 3, counters.estimate( 42 ) );
+		assertEquals( 3, counters.getRows() );
+	}
+
+	// A hot key must be spread when several step copies partition the rows together
+	@Test
+	public void testConcurrentCopies() throws Exception {
+		final RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "testfield" ) );
+		final SkewAwarePartitioner skewAware = new SkewAwarePartitioner();
+		skewAware.setNrPartitions( 8 );
+		skewAware.setFieldName( "testfield" );
+
+		final int copies = 4;
+		Thread[] threads = new Thread[copies];
+		final Exception[] failure = new Exception[1];
+		for ( int c = 0; c < copies; c++ ) {
+			final int copy = c;
+			threads[c] = new Thread() {
+				public void run() {
+					try {
+						for ( int i = copy; i < ROWS; i += copies ) {
+							skewAware.getPartition( rowMeta, new Object[] { i % 2 == 0 ? "hot" : "key-" + i } );
+						}
+					} catch ( KettleException e ) {
+						failure[0] = e;
+					}
+				}
+			};
+			threads[c].start();
+		}
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		if ( failure[0] != null ) {
+			throw failure[0];
+		}
+
+		long[] counts = skewAware.getPartitionRowCounts();
+		assertTrue( "skew aware: " + Arrays.toString( counts ), imbalance( counts ) < 1.6 );
+		assertTrue( skewAware.getHotKeyRows() > 0 );
+	}
+
+	// The partitioner always hashes, whatever mode is set or loaded
+	@Test
+	public void testHashModeOnly() throws KettleException {
+		SkewAwarePartitioner skewAware = new SkewAwarePartitioner();
+		skewAware.setMode( DemoPartitioner.MODE_LENGTH );
+		assertEquals( DemoPartitioner.MODE_HASH, skewAware.getMode() );
+		assertFalse( skewAware.getXML().contains( "partitioning_mode" ) );
+	}
+
+	// Hot keys must only be spread across the configured number of partitions
+	@Test
+	public void testSpreadPartitions() throws KettleException {
+		SkewAwarePartitioner skewAware = new SkewAwarePartitioner();
+		skewAware.setSpreadPartitions( 2 );
+		long[] counts = new long[8];
+		partitionSkewedKeys( skewAware, counts );
+
+		int heavy = 0;
+		for ( long count : counts ) {
+			if ( count > ROWS / 8 ) {
+				heavy++;
+			}
+		}
+		assertEquals( 2, heavy );
+	}
+
+	// Without hot keys the partitioner must behave like the hash mode
+	@Test
+	public void testUniformKeys() throws KettleException {
+		RowMeta rowMeta = new RowMeta();
+		rowMeta.addValueMeta( new ValueMetaString( "testfield" ) );
+		DemoPartitioner hash = new DemoPartitioner();
+		hash.setMode( DemoPartitioner.MODE_HASH );
+		hash.setNrPartitions( 8 );
+		hash.setFieldName( "testfield" );
+		SkewAwarePartitioner skewAware = new SkewAwarePartitioner();
+		skewAware.setNrPartitions( 8 );
+		skewAware.setFieldName( "testfield" );
+
+		for ( int i = 0; i < ROWS; i++ ) {
+			Object[] row = { "key-" + i };
+			assertEquals( hash.getPartition( rowMeta, row ), skewAware.getPartition( rowMeta, row ) );
+		}
+		assertEquals( 0, skewAware.getHotKeyRows() );
+	}
+
+	@Test
+	public void testSerialization() throws KettleException {
+		List<String> attributes = Arrays.asList( "FieldName", "SampleSize", "SpreadPartitions" );
+
+		LoadSaveTester<SkewAwarePartitioner> tester =
+			new LoadSaveTester<SkewAwarePartitioner>( SkewAwarePartitioner.class, attributes );
+
+		tester.testSerialization();
+	}
+}
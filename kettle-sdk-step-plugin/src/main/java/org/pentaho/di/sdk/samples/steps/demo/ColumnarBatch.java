@@ -0,0 +1,368 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.steps.demo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.pentaho.di.core.exception.KettleValueException;
+import org.pentaho.di.core.row.RowDataUtil;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+
+/**
+ * This class is part of the demo step plug-in implementation.
+ *
+ * PDI passes rows between steps as Object[] arrays, described by a RowMetaInterface.
+ * Every number is boxed and the values of a field are scattered across the heap. A
+ * columnar batch stores a number of rows column by column instead:
+ *
+ * - Integer fields are kept in long[] arrays
+ * - Number fields are kept in double[] arrays
+ * - String fields are dictionary encoded: every distinct value is stored once, rows refer to it by int code
+ * - all other types are kept as objects
+ *
+ * Null values are tracked in a bitmap per column. Steps can convert the rows they read
+ * to a batch, work on the primitive arrays in simple loops, and convert the batch back
+ * to rows before passing them on.
+ */
+public class ColumnarBatch {
+
+  private final RowMetaInterface rowMeta;
+  private final List<Column> columns;
+  private final int capacity;
+  private int rowCount;
+
+  /**
+   * Creates an empty batch for rows of the given structure. All fields of the batch
+   * use normal storage, regardless of the storage type of the given row structure.
+   *
+   * @param rowMeta   the structure of the rows
+   * @param capacity  the maximum number of rows in the batch
+   */
+  public ColumnarBatch( RowMetaInterface rowMeta, int capacity ) {
+    this.rowMeta = new RowMeta();
+    this.columns = new ArrayList<Column>( rowMeta.size() );
+    this.capacity = capacity;
+    for ( ValueMetaInterface valueMeta : rowMeta.getValueMetaList() ) {
+      addColumn( valueMeta );
+    }
+  }
+
+  /**
+   * Converts rows to a columnar batch.
+   *
+   * @param rowMeta  the structure of the rows
+   * @param rows     the rows to convert
+   * @param count    the number of rows to take from the array
+   *
+   * @return a batch holding the values of the rows
+   */
+  public static ColumnarBatch fromRows( RowMetaInterface rowMeta, Object[][] rows, int count )
+    throws KettleValueException {
+    ColumnarBatch batch = new ColumnarBatch( rowMeta, count );
+    for ( int c = 0; c < batch.columns.size(); c++ ) {
+      ValueMetaInterface valueMeta = rowMeta.getValueMeta( c );
+      Column column = batch.columns.get( c );
+      for ( int r = 0; r < count; r++ ) {
+        // the value meta takes care of binary string storage and lazy conversion
+        column.set( r, valueMeta, rows[r][c] );
+      }
+    }
+    batch.rowCount = count;
+    return batch;
+  }
+
+  /**
+   * Converts the batch back to rows. The rows are allocated with the usual spare room,
+   * so steps further downstream can add fields without resizing them.
+   *
+   * @return the rows held by the batch
+   */
+  public Object[][] toRows() {
+    Object[][] rows = new Object[rowCount][];
+    toRows( rows );
+    return rows;
+  }
+
+  /**
+   * Writes the values of the batch into existing rows, for instance the rows the batch was
+   * created from. Rows that are too small for all columns are replaced by resized copies,
+   * missing rows are allocated with the usual spare room.
+   *
+   * @param rows  the rows to write to, at least as many as the batch holds
+   *
+   * @return the number of rows that had to be resized
+   */
+  public int toRows( Object[][] rows ) {
+    int resized = 0;
+    int size = columns.size();
+    for ( int r = 0; r < rowCount; r++ ) {
+      if ( rows[r] == null ) {
+        rows[r] = RowDataUtil.allocateRowData( size );
+      } else if ( rows[r].length < size ) {
+        rows[r] = RowDataUtil.resizeArray( rows[r], size );
+        resized++;
+      }
+    }
+    for ( int c = 0; c < size; c++ ) {
+      Column column = columns.get( c );
+      for ( int r = 0; r < rowCount; r++ ) {
+        rows[r][c] = column.get( r );
+      }
+    }
+    return resized;
+  }
+
+  /**
+   * Adds a column to the batch. Steps use this to append the fields they generate.
+   *
+   * @param valueMeta  the description of the new field
+   *
+   * @return the new column, having room for as many rows as the batch
+   */
+  public Column addColumn( ValueMetaInterface valueMeta ) {
+    ValueMetaInterface normal = valueMeta.clone();
+    normal.setStorageType( ValueMetaInterface.STORAGE_TYPE_NORMAL );
+    normal.setStorageMetadata( null );
+    rowMeta.addValueMeta( normal );
+
+    Column column;
+    switch ( normal.getType() ) {
+      case ValueMetaInterface.TYPE_INTEGER:
+        column = new LongColumn( capacity );
+        break;
+      case ValueMetaInterface.TYPE_NUMBER:
+        column = new DoubleColumn( capacity );
+        break;
+      case ValueMetaInterface.TYPE_STRING:
+        column = new StringColumn( capacity );
+        break;
+      default:
+        column = new ObjectColumn( capacity );
+        break;
+    }
+    columns.add( column );
+    return column;
+  }
+
+  /**
+   * @return the structure of the rows in the batch, all fields use normal storage
+   */
+  public RowMetaInterface getRowMeta() {
+    return rowMeta;
+  }
+
+  /**
+   * @param index  the index of the field
+   * @return the column holding the values of the field
+   */
+  public Column getColumn( int index ) {
+    return columns.get( index );
+  }
+
+  /**
+   * @return the number of rows in the batch
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * @return the maximum number of rows in the batch
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Base class of all columns. Keeps track of null values in a bitmap, one bit per row.
+   */
+  public abstract static class Column {
+
+    protected final long[] nulls;
+
+    protected Column( int capacity ) {
+      nulls = new long[( capacity + 63 ) >>> 6];
+    }
+
+    public boolean isNull( int row ) {
+      return ( nulls[row >>> 6] & ( 1L << row ) ) != 0;
+    }
+
+    public void setNull( int row ) {
+      nulls[row >>> 6] |= 1L << row;
+    }
+
+    /**
+     * Stores a value taken from a row.
+     *
+     * @param row        the row number in the batch
+     * @param valueMeta  the description of the value, used for conversion
+     * @param value      the value as found in the row
+     */
+    abstract void set( int row, ValueMetaInterface valueMeta, Object value ) throws KettleValueException;
+
+    /**
+     * @param row  the row number in the batch
+     * @return the value of the row in normal storage, null for null values
+     */
+    public abstract Object get( int row );
+  }
+
+  /**
+   * Column holding Integer values as primitive longs.
+   */
+  public static class LongColumn extends Column {
+
+    private final long[] values;
+
+    LongColumn( int capacity ) {
+      super( capacity );
+      values = new long[capacity];
+    }
+
+    public long[] getValues() {
+      return values;
+    }
+
+    void set( int row, ValueMetaInterface valueMeta, Object value ) throws KettleValueException {
+      Long l = valueMeta.getInteger( value );
+      if ( l == null ) {
+        setNull( row );
+      } else {
+        values[row] = l;
+      }
+    }
+
+    public Object get( int row ) {
+      return isNull( row ) ? null : values[row];
+    }
+  }
+
+  /**
+   * Column holding Number values as primitive doubles.
+   */
+  public static class DoubleColumn extends Column {
+
+    private final double[] values;
+
+    DoubleColumn( int capacity ) {
+      super( capacity );
+      values = new double[capacity];
+    }
+
+    public double[] getValues() {
+      return values;
+    }
+
+    void set( int row, ValueMetaInterface valueMeta, Object value ) throws KettleValueException {
+      Double d = valueMeta.getNumber( value );
+      if ( d == null ) {
+        setNull( row );
+      } else {
+        values[row] = d;
+      }
+    }
+
+    public Object get( int row ) {
+      return isNull( row ) ? null : values[row];
+    }
+  }
+
+  /**
+   * Column holding String values, dictionary encoded. Each distinct string is stored
+   * once, rows hold the code of their string.
+   */
+  public static class StringColumn extends Column {
+
+    private final int[] codes;
+    private final List<String> dictionary = new ArrayList<String>();
+    private final Map<String, Integer> lookup = new HashMap<String, Integer>();
+
+    StringColumn( int capacity ) {
+      super( capacity );
+      codes = new int[capacity];
+    }
+
+    public int[] getCodes() {
+      return codes;
+    }
+
+    public List<String> getDictionary() {
+      return dictionary;
+    }
+
+    /**
+     * Returns the code of a string, adding it to the dictionary if it is not known yet.
+     *
+     * @param value  the string
+     * @return the dictionary code of the string
+     */
+    public int encode( String value ) {
+      Integer code = lookup.get( value );
+      if ( code == null ) {
+        code = dictionary.size();
+        dictionary.add( value );
+        lookup.put( value, code );
+      }
+      return code;
+    }
+
+    void set( int row, ValueMetaInterface valueMeta, Object value ) throws KettleValueException {
+      // getString() would apply the trim type and format of the field, which rows passed on
+      // by the row path do not get, so only binary storage is converted
+      String s = (String) valueMeta.convertToNormalStorageType( value );
+      if ( s == null ) {
+        setNull( row );
+      } else {
+        codes[row] = encode( s );
+      }
+    }
+
+    public Object get( int row ) {
+      return isNull( row ) ? null : dictionary.get( codes[row] );
+    }
+  }
+
+  /**
+   * Column holding values of all other types as objects.
+   */
+  public static class ObjectColumn extends Column {
+
+    private final Object[] values;
+
+    ObjectColumn( int capacity ) {
+      super( capacity );
+      values = new Object[capacity];
+    }
+
+    void set( int row, ValueMetaInterface valueMeta, Object value ) throws KettleValueException {
+      Object converted = valueMeta.convertToNormalStorageType( value );
+      if ( converted == null ) {
+        setNull( row );
+      } else {
+        values[row] = converted;
+      }
+    }
+
+    public Object get( int row ) {
+      return isNull( row ) ? null : values[row];
+    }
+  }
+}
@@ -14,9 +14,24 @@
 
 package org.pentaho.di.sdk.samples.steps.demo;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+import org.pentaho.di.core.Const;
+import org.pentaho.di.core.RowSet;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.row.RowDataUtil;
+import org.pentaho.di.core.row.RowMeta;
 import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.i18n.BaseMessages;
 import org.pentaho.di.trans.Trans;
 import org.pentaho.di.trans.TransMeta;
@@ -24,6 +39,7 @@ import org.pentaho.di.trans.step.BaseStep;
 import org.pentaho.di.trans.step.StepDataInterface;
 import org.pentaho.di.trans.step.StepInterface;
 import org.pentaho.di.trans.step.StepMeta;
+import org.pentaho.di.trans.step.StepMetaDataCombi;
 import org.pentaho.di.trans.step.StepMetaInterface;
 
 /**
@@ -31,7 +47,8 @@ import org.pentaho.di.trans.step.StepMetaInterface;
  * It demonstrates the basics of developing a plug-in step for PDI. 
  * 
  * The demo step adds a new string field to the row stream and sets its
- * value to "Hello World!". The user may select the name of the new field.
+ * value to a constant, "Hello World!" by default. The user may select the
+ * name of the new field and its value.
  *   
  * This class is the implementation of StepInterface.
  * Classes implementing this interface need to:
@@ -90,10 +107,66 @@ public class DemoStep extends BaseStep implements StepInterface {
       return false;
     }
 
-    // Add any step-specific initialization that may be needed here
+    // resolve variables and trim the output value once, so every row can simply reference it
+    data.outputValue = Const.trim( environmentSubstitute( Const.NVL( meta.getOutputValue(),
+      DemoStepMeta.DEFAULT_OUTPUT_VALUE ) ) );
+
+    // PDI creates a separate step and data object for every step copy, so everything kept
+    // in the data object is local to this copy and needs no synchronization
+    data.copyNr = getCopy();
+    data.copyCount = Math.max( 1, getStepMeta().getCopies() );
+
+    // in pipelined mode, batches are transformed by a pool of worker threads
+    if ( meta.getWorkerCount() > 1 ) {
+      data.workers = createWorkers( meta, data );
+      data.queueSize = Math.max( 1, meta.getQueueSize() );
+    }
     return true;
   }
 
+  /**
+   * Creates the worker threads for the pipelined mode.
+   * 
+   * Virtual threads are cheap to create and do not hold on to a platform thread while they wait,
+   * which helps transformations with many pipelined steps. They are only available on Java 21
+   * and later, so they are looked up reflectively. On older runtimes a fixed pool of platform
+   * threads is used instead.
+   * 
+   * A virtual thread is started for every batch, but the transformation of a batch is CPU-bound,
+   * so running more of them at once than there are workers gains nothing. A semaphore with one
+   * permit per worker limits how many transform at the same time, see submitBatch().
+   * 
+   * Only the workers can switch to virtual threads. PDI starts the thread running processRow()
+   * itself, a step cannot choose its type.
+   * 
+   * @param meta  the step settings
+   * @param data  the step's runtime information, receiving the permits of virtual workers
+   * 
+   * @return the executor running the worker tasks
+   */
+  private ExecutorService createWorkers( DemoStepMeta meta, DemoStepData data ) {
+    if ( meta.isVirtualThreads() ) {
+      try {
+        Method factory = Executors.class.getMethod( "newVirtualThreadPerTaskExecutor" );
+        ExecutorService executor = (ExecutorService) factory.invoke( null );
+        // the executor has no pool size, the permits limit the batches transformed at once
+        data.workerPermits = new Semaphore( meta.getWorkerCount() );
+        return executor;
+      } catch ( ReflectiveOperationException e ) {
+        logBasic( BaseMessages.getString( PKG, "DemoStep.VirtualThreadsUnavailable" ) );
+      }
+    }
+    return Executors.newFixedThreadPool( meta.getWorkerCount(), new ThreadFactory() {
+      private int nr;
+
+      public synchronized Thread newThread( Runnable runnable ) {
+        Thread thread = new Thread( runnable, getStepname() + "." + getCopy() + " worker " + nr++ );
+        thread.setDaemon( true );
+        return thread;
+      }
+    } );
+  }
+
   /**
    * Once the transformation starts executing, the processRow() method is called repeatedly
    * by PDI for as long as it returns true. To indicate that a step has finished processing rows
@@ -110,6 +183,15 @@ public class DemoStep extends BaseStep implements StepInterface {
    * pass the new row on. Above process may happen in a loop to generate multiple rows,
    * at the end of which processRow() would call setOutputDone() and return false;
    * 
+   * The demo step reads up to "batch size" rows per call, transforms them in one loop
+   * and writes them out afterwards. This saves the per-call overhead when large numbers
+   * of rows are processed.
+   * 
+   * In pipelined mode, the batches are transformed by a pool of worker threads while the
+   * step thread keeps reading. The step thread writes the transformed batches out in the
+   * order they were read. This lets one step copy use several cores for expensive
+   * transformations.
+   * 
    * @param smi the step meta interface containing the step settings
    * @param sdi the step data interface that should be used to store
    * 
@@ -121,53 +203,347 @@ public class DemoStep extends BaseStep implements StepInterface {
     DemoStepMeta meta = (DemoStepMeta) smi;
     DemoStepData data = (DemoStepData) sdi;
 
+    // the time spent reading and writing rows is measured once per batch, which keeps the overhead negligible
+    long readStart = System.nanoTime();
+
     // get incoming row, getRow() potentially blocks waiting for more rows, returns null if no more rows expected
-    Object[] r = getRow();
+    // a row left over from the previous call, having a different structure than its batch, goes first
+    Object[] r = data.pendingRow;
+    data.pendingRow = null;
+    if ( r == null ) {
+      r = getRow();
+    }
 
     // if no more rows are expected, indicate step is finished and processRow() should not be called again
     if ( r == null ) {
+      // pass on the batches the worker threads are still transforming
+      while ( !data.pipeline.isEmpty() ) {
+        writePipelinedBatch( data );
+      }
+      data.metrics.stop();
       setOutputDone();
       return false;
     }
 
     // the "first" flag is inherited from the base step implementation
-    // it is used to guard some processing tasks, like figuring out field indexes
-    // in the row structure that only need to be done once
+    // it is used to guard some processing tasks that only need to be done once
     if ( first ) {
       first = false;
-      // clone the input row structure and place it in our data object
-      data.outputRowMeta = (RowMetaInterface) getInputRowMeta().clone();
-      // use meta.getFields() to change it, so it reflects the output row structure 
-      meta.getFields( data.outputRowMeta, getStepname(), null, null, this, null, null );
-
-      // Locate the row index for this step's field
-      // If less than 0, the field was not found.
-      data.outputFieldIndex = data.outputRowMeta.indexOfValue( meta.getOutputField() );
-      if ( data.outputFieldIndex < 0 ) {
-        log.logError( BaseMessages.getString( PKG, "DemoStep.Error.NoOutputField" ) );
-        setErrors( 1L );
-        setOutputDone();
-        return false;
-      }
+
+      // allocate the batch buffer once, it is reused for every call to processRow()
+      data.batch = new Object[Math.max( 1, meta.getBatchSize() )][];
+
+      // start measuring the throughput of this copy
+      data.metrics.start();
     }
 
-    // safely add the string "Hello World!" at the end of the output row
-    // the row array will be resized if necessary 
-    Object[] outputRow = RowDataUtil.resizeArray( r, data.outputRowMeta.size() );
-    outputRow[data.outputFieldIndex] = "Hello World!";
+    // figure out the output row structure and field indexes whenever the input row structure changes
+    // this happens on the first row, and when rows with different structures arrive through different hops
+    if ( getInputRowMeta() != data.inputRowMeta && !resolveOutputLayout( meta, data ) ) {
+      setErrors( 1L );
+      setOutputDone();
+      return false;
+    }
 
-    // put the row to the output row stream
-    putRow( data.outputRowMeta, outputRow );
+    // in pipelined mode previous batches may still be in flight, so every batch gets its own buffer
+    Object[][] batch = data.workers == null ? data.batch : new Object[data.batch.length][];
 
-    // log progress if it is time to to so
-    if ( checkFeedback( getLinesRead() ) ) {
-      logBasic( BaseMessages.getString( PKG, "DemoStep.Linenr", getLinesRead() ) ); // Some basic logging
+    // collect up to batch size rows, the first one has been read already
+    // getRow() is still used for every row, so row listeners, line counters and
+    // stop requests are handled by the base step as usual
+    batch[0] = r;
+    int batchRows = 1;
+    logFeedback();
+    while ( batchRows < batch.length && ( r = getRow() ) != null ) {
+      logFeedback();
+      // all rows of a batch share the same structure, a row with a different one starts the next batch
+      if ( getInputRowMeta() != data.inputRowMeta ) {
+        data.pendingRow = r;
+        break;
+      }
+      batch[batchRows++] = r;
     }
 
+    long readEnd = System.nanoTime();
+    long writeStart;
+
+    if ( data.workers == null && meta.isColumnar() ) {
+      // convert the batch to columns and add the fields to them, then copy the values back into
+      // the rows of the batch, which are written with the structure cached for the layout
+      ColumnarBatch columns = processBatch( meta, data, ColumnarBatch.fromRows( data.inputRowMeta, batch, batchRows ) );
+      data.metrics.addResizedRows( columns.toRows( batch ) );
+      writeStart = System.nanoTime();
+      writeBatch( data.layout.columnarRowMeta, batch, batchRows );
+    } else if ( data.workers == null ) {
+      // transform the whole batch in a tight loop and write it out
+      data.metrics.addResizedRows( transformBatch( data, data.layout, batch, batchRows, data.copyRows ) );
+      data.copyRows += batchRows;
+      writeStart = System.nanoTime();
+      writeBatch( data.outputRowMeta, batch, batchRows );
+    } else {
+      // hand the batch to the worker threads, remembering the order of the batches
+      data.pipeline.add( submitBatch( data, batch, batchRows ) );
+      data.copyRows += batchRows;
+      // once enough batches are in flight, write out the oldest ones, in input order
+      writeStart = System.nanoTime();
+      while ( data.pipeline.size() > data.queueSize ) {
+        writePipelinedBatch( data );
+      }
+    }
+    long writeEnd = System.nanoTime();
+
+    data.metrics.record( batchRows, readEnd - readStart, writeEnd - writeStart, writeEnd - readStart,
+      bufferedRows( getInputRowSets() ), bufferedRows( getOutputRowSets() ) );
+
     // indicate that processRow() should be called again
+    // if the input ran dry while filling the batch, the next call to getRow() returns null and ends the step
     return true;
   }
 
+  /**
+   * Adds the fields of this step to a batch of rows. This method only reads settings that are
+   * fixed during init() and the given layout, so worker threads can call it concurrently.
+   * 
+   * @param data      the step's runtime information
+   * @param layout    the output layout of the rows in the batch
+   * @param batch     the rows to transform, rows may be replaced by resized copies
+   * @param count     the number of rows in the batch
+   * @param firstRow  the number of rows this copy processed before this batch
+   * 
+   * @return the number of rows that had to be resized
+   */
+  private static int transformBatch( DemoStepData data, DemoStepData.OutputLayout layout, Object[][] batch, int count,
+    long firstRow ) {
+    int resized = 0;
+    for ( int i = 0; i < count; i++ ) {
+      // rows coming from upstream are usually allocated with some spare room, so the new
+      // field fits into the existing array, only rows that are too small are resized 
+      Object[] outputRow = batch[i];
+      if ( outputRow.length < layout.outputRowSize ) {
+        outputRow = RowDataUtil.resizeArray( outputRow, layout.outputRowSize );
+        resized++;
+      }
+      // safely add the constant value at the end of the output row
+      outputRow[layout.outputFieldIndex] = data.outputValue;
+      // if a single upstream step copy hands out the rows round robin, the n-th row of this
+      // copy was row number n * copies + copy in the original stream, see DemoStepMeta
+      if ( layout.sequenceFieldIndex >= 0 ) {
+        outputRow[layout.sequenceFieldIndex] = ( firstRow + i ) * data.copyCount + data.copyNr;
+      }
+      batch[i] = outputRow;
+    }
+    return resized;
+  }
+
+  /**
+   * Puts a batch of rows to the output row stream, releasing them from the buffer.
+   */
+  private void writeBatch( RowMetaInterface outputRowMeta, Object[][] batch, int count ) throws KettleException {
+    for ( int i = 0; i < count; i++ ) {
+      putRow( outputRowMeta, batch[i] );
+      batch[i] = null;
+    }
+  }
+
+  /**
+   * Hands a batch to the worker threads for transformation.
+   */
+  private DemoStepData.PipelinedBatch submitBatch( final DemoStepData data, final Object[][] batch, final int count ) {
+    final DemoStepData.OutputLayout layout = data.layout;
+    final long firstRow = data.copyRows;
+    final Semaphore permits = data.workerPermits;
+    DemoStepData.PipelinedBatch pipelined = new DemoStepData.PipelinedBatch();
+    pipelined.rows = batch;
+    pipelined.count = count;
+    pipelined.outputRowMeta = layout.outputRowMeta;
+    pipelined.resized = data.workers.submit( new Callable<Integer>() {
+      public Integer call() throws InterruptedException {
+        if ( permits == null ) {
+          return transformBatch( data, layout, batch, count, firstRow );
+        }
+        // a virtual thread waits for a permit without blocking a platform thread
+        permits.acquire();
+        try {
+          return transformBatch( data, layout, batch, count, firstRow );
+        } finally {
+          permits.release();
+        }
+      }
+    } );
+    return pipelined;
+  }
+
+  /**
+   * Waits for the oldest batch in the pipeline to be transformed, and writes it out.
+   * Only the step thread calls putRow(), so rows leave the step in the order they came in.
+   */
+  private void writePipelinedBatch( DemoStepData data ) throws KettleException {
+    DemoStepData.PipelinedBatch pipelined = data.pipeline.poll();
+    try {
+      data.metrics.addResizedRows( pipelined.resized.get() );
+    } catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new KettleException( e );
+    } catch ( ExecutionException e ) {
+      throw new KettleException( e.getCause() );
+    }
+    writeBatch( pipelined.outputRowMeta, pipelined.rows, pipelined.count );
+  }
+
+  /**
+   * Determines the output row structure and field indexes for the current input row structure.
+   * The results are cached per input row structure, so switching between the structures of
+   * several incoming hops only costs a lookup when the structure changes.
+   * 
+   * @param meta  the step settings
+   * @param data  the runtime information to update
+   * 
+   * @return true if the output layout was determined, false if the output field could not be found
+   */
+  private boolean resolveOutputLayout( DemoStepMeta meta, DemoStepData data ) throws KettleException {
+    RowMetaInterface inputRowMeta = getInputRowMeta();
+
+    // steps usually pass on the same row structure object for every row, so check identity first
+    DemoStepData.OutputLayout layout = data.layoutsByIdentity.get( inputRowMeta );
+    if ( layout == null ) {
+      // a new object may still describe a known structure
+      String structure = DemoStepData.structureKey( inputRowMeta );
+      layout = data.layoutsByStructure.get( structure );
+      if ( layout == null ) {
+        layout = createOutputLayout( meta, inputRowMeta );
+        if ( layout == null ) {
+          return false;
+        }
+        data.layoutsByStructure.put( structure, layout );
+      }
+      // do not let the identity cache grow if upstream creates a new row structure object per row
+      if ( data.layoutsByIdentity.size() >= DemoStepData.MAX_CACHED_LAYOUTS ) {
+        data.layoutsByIdentity.clear();
+      }
+      data.layoutsByIdentity.put( inputRowMeta, layout );
+    }
+    data.useLayout( inputRowMeta, layout );
+    return true;
+  }
+
+  /**
+   * Derives the output row structure and field indexes from an input row structure.
+   * 
+   * @return the output layout, or null if the output field could not be found
+   */
+  private DemoStepData.OutputLayout createOutputLayout( DemoStepMeta meta, RowMetaInterface inputRowMeta )
+    throws KettleException {
+    DemoStepData.OutputLayout layout = new DemoStepData.OutputLayout();
+
+    // clone the input row structure
+    layout.outputRowMeta = (RowMetaInterface) inputRowMeta.clone();
+    // use meta.getFields() to change it, so it reflects the output row structure 
+    meta.getFields( layout.outputRowMeta, getStepname(), null, null, this, null, null );
+
+    // Locate the row index for this step's field
+    // If less than 0, the field was not found.
+    layout.outputFieldIndex = layout.outputRowMeta.indexOfValue( meta.getOutputField() );
+    if ( layout.outputFieldIndex < 0 ) {
+      log.logError( BaseMessages.getString( PKG, "DemoStep.Error.NoOutputField" ) );
+      return null;
+    }
+
+    // Locate the row index of the optional sequence field
+    if ( !Utils.isEmpty( meta.getSequenceField() ) ) {
+      layout.sequenceFieldIndex = layout.outputRowMeta.indexOfValue( meta.getSequenceField() );
+    }
+
+    // the output row width is determined once per layout
+    layout.outputRowSize = layout.outputRowMeta.size();
+    layout.columnarRowMeta = normalStorage( layout.outputRowMeta );
+    return layout;
+  }
+
+  /**
+   * Describes a row structure with all fields in normal storage, as columnar batches hold them.
+   * 
+   * @return the row structure itself if all its fields use normal storage already, a converted copy otherwise
+   */
+  private static RowMetaInterface normalStorage( RowMetaInterface rowMeta ) {
+    boolean normal = true;
+    for ( ValueMetaInterface valueMeta : rowMeta.getValueMetaList() ) {
+      normal &= valueMeta.isStorageNormal();
+    }
+    if ( normal ) {
+      return rowMeta;
+    }
+    RowMetaInterface converted = new RowMeta();
+    for ( ValueMetaInterface valueMeta : rowMeta.getValueMetaList() ) {
+      ValueMetaInterface copy = valueMeta.clone();
+      copy.setStorageType( ValueMetaInterface.STORAGE_TYPE_NORMAL );
+      copy.setStorageMetadata( null );
+      converted.addValueMeta( copy );
+    }
+    return converted;
+  }
+
+  /**
+   * This method is the columnar counterpart of processRow(). It adds the fields of this
+   * step to a batch of rows stored column by column. Steps that work on columnar batches
+   * can use it to avoid converting every row to an Object[] array in between. The step
+   * itself uses it for every batch when columnar processing is configured, outside of
+   * pipelined mode.
+   * 
+   * The constant output value needs a single dictionary entry, all rows refer to it.
+   * 
+   * @param smi    the step meta interface containing the step settings
+   * @param sdi    the step data interface holding the runtime information, must have been initialized
+   * @param batch  the batch to add the fields to
+   * 
+   * @return the batch, having the fields of this step appended 
+   */
+  public ColumnarBatch processBatch( StepMetaInterface smi, StepDataInterface sdi, ColumnarBatch batch )
+    throws KettleException {
+    DemoStepMeta meta = (DemoStepMeta) smi;
+    DemoStepData data = (DemoStepData) sdi;
+
+    // the fields this step adds do not depend on the input, so they are determined once
+    if ( data.addedRowMeta == null ) {
+      RowMetaInterface added = new RowMeta();
+      meta.getFields( added, getStepname(), null, null, this, null, null );
+      data.addedRowMeta = added;
+    }
+    RowMetaInterface added = data.addedRowMeta;
+
+    // all codes of a new column are 0, which is the code of the first dictionary entry
+    ColumnarBatch.StringColumn valueColumn = (ColumnarBatch.StringColumn) batch.addColumn( added.getValueMeta( 0 ) );
+    valueColumn.encode( data.outputValue );
+
+    if ( added.size() > 1 ) {
+      long[] sequence = ( (ColumnarBatch.LongColumn) batch.addColumn( added.getValueMeta( 1 ) ) ).getValues();
+      for ( int i = 0; i < batch.getRowCount(); i++ ) {
+        sequence[i] = ( data.copyRows + i ) * data.copyCount + data.copyNr;
+      }
+    }
+    data.copyRows += batch.getRowCount();
+    return batch;
+  }
+
+  /**
+   * Counts the rows waiting in a list of row sets.
+   */
+  private static int bufferedRows( List<RowSet> rowSets ) {
+    int rows = 0;
+    for ( int i = 0; i < rowSets.size(); i++ ) {
+      rows += rowSets.get( i ).size();
+    }
+    return rows;
+  }
+
+  /**
+   * Logs progress if it is time to do so, based on the number of rows read.
+   */
+  private void logFeedback() {
+    if ( checkFeedback( getLinesRead() ) ) {
+      logBasic( BaseMessages.getString( PKG, "DemoStep.Linenr", getLinesRead() ) ); // Some basic logging
+    }
+  }
+
   /**
    * This method is called by PDI once the step is done processing. 
    * 
@@ -188,9 +564,53 @@ public class DemoStep extends BaseStep implements StepInterface {
     DemoStepMeta meta = (DemoStepMeta) smi;
     DemoStepData data = (DemoStepData) sdi;
 
-    // Add any step-specific initialization that may be needed here
+    // report how many rows did not have room for the output field
+    if ( data.outputRowMeta != null && log.isDetailed() ) {
+      logDetailed( BaseMessages.getString( PKG, "DemoStep.ResizedRows", data.metrics.getResizedRows(), getLinesWritten() ) );
+    }
+
+    // report the throughput of this step copy, and where it spent its time
+    data.metrics.stop();
+    if ( data.metrics.getRows() > 0 && log.isBasic() ) {
+      logBasic( BaseMessages.getString( PKG, "DemoStep.CopyThroughput", data.copyNr, data.metrics.getRows(),
+        Math.round( data.metrics.getRowsPerSecond() ) ) );
+      logBasic( BaseMessages.getString( PKG, "DemoStep.CopyTimes", data.copyNr,
+        Math.round( data.metrics.getNanosPerProcessRow() ), data.metrics.getGetRowNanos() / 1000000L,
+        data.metrics.getPutRowNanos() / 1000000L ) );
+    }
+
+    // stop the worker threads of the pipelined mode
+    if ( data.workers != null ) {
+      data.workers.shutdownNow();
+      data.workers = null;
+    }
 
     // Call superclass dispose()
     super.dispose( meta, data );
   }
+
+  /**
+   * Collects the number of rows processed by every copy of a demo step. This allows
+   * embedding applications to merge the per-copy figures once the transformation has run.
+   * 
+   * @param trans     the transformation executing the step
+   * @param stepname  the name of the demo step
+   * 
+   * @return the number of rows processed, indexed by step copy
+   */
+  public static long[] getRowsPerCopy( Trans trans, String stepname ) {
+    List<StepMetaDataCombi> copies = new ArrayList<StepMetaDataCombi>();
+    for ( StepMetaDataCombi combi : trans.getSteps() ) {
+      if ( combi.stepname.equals( stepname ) && combi.data instanceof DemoStepData ) {
+        copies.add( combi );
+      }
+    }
+    long[] rows = new long[copies.size()];
+    for ( StepMetaDataCombi combi : copies ) {
+      if ( combi.copy < rows.length ) {
+        rows[combi.copy] = ( (DemoStepData) combi.data ).copyRows;
+      }
+    }
+    return rows;
+  }
 }
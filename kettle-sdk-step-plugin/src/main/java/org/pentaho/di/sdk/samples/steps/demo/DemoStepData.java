@@ -14,7 +14,17 @@
 
 package org.pentaho.di.sdk.samples.steps.demo;
 
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
 import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
 import org.pentaho.di.trans.step.BaseStepData;
 import org.pentaho.di.trans.step.StepDataInterface;
 
@@ -23,7 +33,8 @@ import org.pentaho.di.trans.step.StepDataInterface;
  * It demonstrates the basics of developing a plug-in step for PDI. 
  * 
  * The demo step adds a new string field to the row stream and sets its
- * value to "Hello World!". The user may select the name of the new field.
+ * value to a constant, "Hello World!" by default. The user may select the
+ * name of the new field and its value.
  *   
  * This class is the implementation of StepDataInterface.
  *   
@@ -34,16 +45,121 @@ import org.pentaho.di.trans.step.StepDataInterface;
  * per-thread resources during step execution. Typical examples are:
  * result sets, temporary data, caching indexes, etc.
  *   
- * The implementation for the demo step stores the output row structure in 
- * the data class. 
+ * The implementation for the demo step stores the output row structure and
+ * the buffer used for batch processing in the data class. 
  *   
  */
 public class DemoStepData extends BaseStepData implements StepDataInterface {
 
+  // the number of input row structure objects remembered by identity
+  static final int MAX_CACHED_LAYOUTS = 64;
+
+  // the input row structure the fields below were resolved for
+  RowMetaInterface inputRowMeta;
+
+  // the output layout for the input row structure above, its fields are repeated below for convenience
+  OutputLayout layout;
+
   RowMetaInterface outputRowMeta;
   int outputFieldIndex = -1;
+  int outputRowSize;
+
+  // index of the optional sequence field, -1 if the step does not add one
+  int sequenceFieldIndex = -1;
+
+  // the step copy this data object belongs to, and the number of copies running
+  int copyNr;
+  int copyCount = 1;
+
+  // rows processed by this copy
+  long copyRows;
+
+  // runtime figures of this copy, readable from other threads
+  final DemoStepMetrics metrics = new DemoStepMetrics();
+
+  // the constant written to the output field, resolved and trimmed once in init()
+  String outputValue;
+
+  // the fields this step adds, determined once for processBatch()
+  RowMetaInterface addedRowMeta;
+
+  // rows read but not yet written by the current call to processRow()
+  Object[][] batch;
+
+  // a row read while filling a batch that has a different structure than the batch
+  Object[] pendingRow;
+
+  // output layouts resolved so far, by input row structure object and by structure key
+  final Map<RowMetaInterface, OutputLayout> layoutsByIdentity = new IdentityHashMap<RowMetaInterface, OutputLayout>();
+  final Map<String, OutputLayout> layoutsByStructure = new HashMap<String, OutputLayout>();
+
+  // pipelined mode: the worker threads, the maximum number of batches in flight,
+  // and the batches in flight in the order they were read
+  ExecutorService workers;
+  // with virtual worker threads, one permit per worker; null for a fixed pool of platform threads
+  Semaphore workerPermits;
+  int queueSize;
+  final Queue<PipelinedBatch> pipeline = new ArrayDeque<PipelinedBatch>();
 
   public DemoStepData() {
     super();
   }
+
+  /**
+   * Makes the given output layout the current one.
+   * 
+   * @param inputRowMeta  the input row structure the layout belongs to
+   * @param layout        the output layout to use
+   */
+  void useLayout( RowMetaInterface inputRowMeta, OutputLayout layout ) {
+    this.inputRowMeta = inputRowMeta;
+    this.layout = layout;
+    outputRowMeta = layout.outputRowMeta;
+    outputFieldIndex = layout.outputFieldIndex;
+    sequenceFieldIndex = layout.sequenceFieldIndex;
+    outputRowSize = layout.outputRowSize;
+  }
+
+  /**
+   * Identifies an input row structure by the name, type and storage type of its fields, in order.
+   * Structures with equal keys lead to the same output layout. Unlike toStringMeta(), which is
+   * meant for messages, the key tells apart fields that only differ in their storage type.
+   * 
+   * @param rowMeta  the input row structure
+   * 
+   * @return the structure key
+   */
+  static String structureKey( RowMetaInterface rowMeta ) {
+    StringBuilder key = new StringBuilder();
+    for ( ValueMetaInterface valueMeta : rowMeta.getValueMetaList() ) {
+      // the name length keeps names containing the separators apart
+      key.append( valueMeta.getName().length() ).append( ':' ).append( valueMeta.getName() )
+        .append( ':' ).append( valueMeta.getType() ).append( ':' ).append( valueMeta.getStorageType() ).append( ';' );
+    }
+    return key.toString();
+  }
+
+  /**
+   * The output row structure and field indexes derived from one input row structure.
+   */
+  static class OutputLayout {
+    RowMetaInterface outputRowMeta;
+    // the output row structure with all fields in normal storage, describing the rows
+    // written from columnar batches; the same object as outputRowMeta if that has no binary storage
+    RowMetaInterface columnarRowMeta;
+    int outputFieldIndex = -1;
+    int sequenceFieldIndex = -1;
+    int outputRowSize;
+  }
+
+  /**
+   * A batch handed to the worker threads in pipelined mode.
+   */
+  static class PipelinedBatch {
+    Object[][] rows;
+    int count;
+    RowMetaInterface outputRowMeta;
+    // completes with the number of resized rows once the batch is transformed
+    Future<Integer> resized;
+  }
 }
@@ -44,7 +44,8 @@ import org.pentaho.di.trans.step.StepDialogInterface;
  * It demonstrates the basics of developing a plug-in step for PDI.  
  *  
  * The demo step adds a new string field to the row stream and sets its
- * value to "Hello World!". The user may select the name of the new field.
+ * value to a constant, "Hello World!" by default. The user may select the
+ * name of the new field and its value.
  *  
  * This class is the implementation of StepDialogInterface.
  * Classes implementing this interface need to:
@@ -71,6 +72,23 @@ public class DemoStepDialog extends BaseStepDialog implements StepDialogInterfac
   // text field holding the name of the field to add to the row stream
   private LabelText wHelloFieldName;
 
+  // text field holding the value of the field added to the row stream
+  private LabelText wOutputValue;
+
+  // text field holding the name of the optional sequence field
+  private LabelText wSequenceField;
+
+  // text field holding the number of rows processed per batch
+  private LabelText wBatchSize;
+
+  // text fields holding the settings of the pipelined mode
+  private LabelText wWorkerCount;
+  private LabelText wQueueSize;
+  private Button wVirtualThreads;
+
+  // check box enabling the columnar processing of batches
+  private Button wColumnar;
+
   /**
    * The constructor should simply invoke super() and save the incoming meta
    * object to a local variable, so it can conveniently read and write settings
@@ -163,12 +181,102 @@ public class DemoStepDialog extends BaseStepDialog implements StepDialogInterfac
     fdValName.top = new FormAttachment( wStepname, margin );
     wHelloFieldName.setLayoutData( fdValName );
 
+    wOutputValue = new LabelText( shell, BaseMessages.getString( PKG, "Demo.OutputValue.Label" ), null );
+    props.setLook( wOutputValue );
+    wOutputValue.addModifyListener( lsMod );
+    FormData fdOutputValue = new FormData();
+    fdOutputValue.left = new FormAttachment( 0, 0 );
+    fdOutputValue.right = new FormAttachment( 100, 0 );
+    fdOutputValue.top = new FormAttachment( wHelloFieldName, margin );
+    wOutputValue.setLayoutData( fdOutputValue );
+
+    wSequenceField = new LabelText( shell, BaseMessages.getString( PKG, "Demo.SequenceField.Label" ),
+      BaseMessages.getString( PKG, "Demo.SequenceField.Tooltip" ) );
+    props.setLook( wSequenceField );
+    wSequenceField.addModifyListener( lsMod );
+    FormData fdSequenceField = new FormData();
+    fdSequenceField.left = new FormAttachment( 0, 0 );
+    fdSequenceField.right = new FormAttachment( 100, 0 );
+    fdSequenceField.top = new FormAttachment( wOutputValue, margin );
+    wSequenceField.setLayoutData( fdSequenceField );
+
+    wBatchSize = new LabelText( shell, BaseMessages.getString( PKG, "Demo.BatchSize.Label" ), null );
+    props.setLook( wBatchSize );
+    wBatchSize.addModifyListener( lsMod );
+    FormData fdBatchSize = new FormData();
+    fdBatchSize.left = new FormAttachment( 0, 0 );
+    fdBatchSize.right = new FormAttachment( 100, 0 );
+    fdBatchSize.top = new FormAttachment( wSequenceField, margin );
+    wBatchSize.setLayoutData( fdBatchSize );
+
+    wWorkerCount = new LabelText( shell, BaseMessages.getString( PKG, "Demo.WorkerCount.Label" ), null );
+    props.setLook( wWorkerCount );
+    wWorkerCount.addModifyListener( lsMod );
+    FormData fdWorkerCount = new FormData();
+    fdWorkerCount.left = new FormAttachment( 0, 0 );
+    fdWorkerCount.right = new FormAttachment( 100, 0 );
+    fdWorkerCount.top = new FormAttachment( wBatchSize, margin );
+    wWorkerCount.setLayoutData( fdWorkerCount );
+
+    wQueueSize = new LabelText( shell, BaseMessages.getString( PKG, "Demo.QueueSize.Label" ), null );
+    props.setLook( wQueueSize );
+    wQueueSize.addModifyListener( lsMod );
+    FormData fdQueueSize = new FormData();
+    fdQueueSize.left = new FormAttachment( 0, 0 );
+    fdQueueSize.right = new FormAttachment( 100, 0 );
+    fdQueueSize.top = new FormAttachment( wWorkerCount, margin );
+    wQueueSize.setLayoutData( fdQueueSize );
+
+    Label wlVirtualThreads = new Label( shell, SWT.RIGHT );
+    wlVirtualThreads.setText( BaseMessages.getString( PKG, "Demo.VirtualThreads.Label" ) );
+    props.setLook( wlVirtualThreads );
+    FormData fdlVirtualThreads = new FormData();
+    fdlVirtualThreads.left = new FormAttachment( 0, 0 );
+    fdlVirtualThreads.right = new FormAttachment( middle, -margin );
+    fdlVirtualThreads.top = new FormAttachment( wQueueSize, margin );
+    wlVirtualThreads.setLayoutData( fdlVirtualThreads );
+
+    wVirtualThreads = new Button( shell, SWT.CHECK );
+    props.setLook( wVirtualThreads );
+    wVirtualThreads.addSelectionListener( new SelectionAdapter() {
+      public void widgetSelected( SelectionEvent e ) {
+        meta.setChanged();
+      }
+    } );
+    FormData fdVirtualThreads = new FormData();
+    fdVirtualThreads.left = new FormAttachment( middle, 0 );
+    fdVirtualThreads.right = new FormAttachment( 100, 0 );
+    fdVirtualThreads.top = new FormAttachment( wQueueSize, margin );
+    wVirtualThreads.setLayoutData( fdVirtualThreads );
+
+    Label wlColumnar = new Label( shell, SWT.RIGHT );
+    wlColumnar.setText( BaseMessages.getString( PKG, "Demo.Columnar.Label" ) );
+    props.setLook( wlColumnar );
+    FormData fdlColumnar = new FormData();
+    fdlColumnar.left = new FormAttachment( 0, 0 );
+    fdlColumnar.right = new FormAttachment( middle, -margin );
+    fdlColumnar.top = new FormAttachment( wVirtualThreads, margin );
+    wlColumnar.setLayoutData( fdlColumnar );
+
+    wColumnar = new Button( shell, SWT.CHECK );
+    props.setLook( wColumnar );
+    wColumnar.addSelectionListener( new SelectionAdapter() {
+      public void widgetSelected( SelectionEvent e ) {
+        meta.setChanged();
+      }
+    } );
+    FormData fdColumnar = new FormData();
+    fdColumnar.left = new FormAttachment( middle, 0 );
+    fdColumnar.right = new FormAttachment( 100, 0 );
+    fdColumnar.top = new FormAttachment( wVirtualThreads, margin );
+    wColumnar.setLayoutData( fdColumnar );
+
     // OK and cancel buttons
     wOK = new Button( shell, SWT.PUSH );
     wOK.setText( BaseMessages.getString( PKG, "System.Button.OK" ) );
     wCancel = new Button( shell, SWT.PUSH );
     wCancel.setText( BaseMessages.getString( PKG, "System.Button.Cancel" ) );
-    setButtonPositions( new Button[] { wOK, wCancel }, margin, wHelloFieldName );
+    setButtonPositions( new Button[] { wOK, wCancel }, margin, wColumnar );
 
     // Add listeners for cancel and OK
     lsCancel = new Listener() {
@@ -192,6 +300,11 @@ public class DemoStepDialog extends BaseStepDialog implements StepDialogInterfac
     };
     wStepname.addSelectionListener( lsDef );
     wHelloFieldName.addSelectionListener( lsDef );
+    wOutputValue.addSelectionListener( lsDef );
+    wSequenceField.addSelectionListener( lsDef );
+    wBatchSize.addSelectionListener( lsDef );
+    wWorkerCount.addSelectionListener( lsDef );
+    wQueueSize.addSelectionListener( lsDef );
 
     // Detect X or ALT-F4 or something that kills this window and cancel the dialog properly
     shell.addShellListener( new ShellAdapter() {
@@ -230,6 +343,13 @@ public class DemoStepDialog extends BaseStepDialog implements StepDialogInterfac
   private void populateDialog() {
     wStepname.selectAll();
     wHelloFieldName.setText( meta.getOutputField() );
+    wOutputValue.setText( Const.NVL( meta.getOutputValue(), "" ) );
+    wSequenceField.setText( Const.NVL( meta.getSequenceField(), "" ) );
+    wBatchSize.setText( String.valueOf( meta.getBatchSize() ) );
+    wWorkerCount.setText( String.valueOf( meta.getWorkerCount() ) );
+    wQueueSize.setText( String.valueOf( meta.getQueueSize() ) );
+    wVirtualThreads.setSelection( meta.isVirtualThreads() );
+    wColumnar.setSelection( meta.isColumnar() );
   }
 
   /**
@@ -254,6 +374,13 @@ public class DemoStepDialog extends BaseStepDialog implements StepDialogInterfac
     stepname = wStepname.getText();
     // Setting the  settings to the meta object
     meta.setOutputField( wHelloFieldName.getText() );
+    meta.setOutputValue( wOutputValue.getText() );
+    meta.setSequenceField( wSequenceField.getText() );
+    meta.setBatchSize( Const.toInt( wBatchSize.getText(), DemoStepMeta.DEFAULT_BATCH_SIZE ) );
+    meta.setWorkerCount( Const.toInt( wWorkerCount.getText(), 1 ) );
+    meta.setQueueSize( Const.toInt( wQueueSize.getText(), DemoStepMeta.DEFAULT_QUEUE_SIZE ) );
+    meta.setVirtualThreads( wVirtualThreads.getSelection() );
+    meta.setColumnar( wColumnar.getSelection() );
     // close the SWT dialog window
     dispose();
   }
@@ -19,6 +19,7 @@ import java.util.List;
 import org.eclipse.swt.widgets.Shell;
 import org.pentaho.di.core.CheckResult;
 import org.pentaho.di.core.CheckResultInterface;
+import org.pentaho.di.core.Const;
 import org.pentaho.di.core.annotations.Step;
 import org.pentaho.di.core.database.DatabaseMeta;
 import org.pentaho.di.core.exception.KettleException;
@@ -29,7 +30,9 @@ import org.pentaho.di.core.injection.Injection;
 import org.pentaho.di.core.injection.InjectionSupported;
 import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
 import org.pentaho.di.core.row.value.ValueMetaString;
+import org.pentaho.di.core.util.Utils;
 import org.pentaho.di.core.variables.VariableSpace;
 import org.pentaho.di.core.xml.XMLHandler;
 import org.pentaho.di.i18n.BaseMessages;
@@ -51,7 +54,8 @@ import org.w3c.dom.Node;
  * It demonstrates the basics of developing a plug-in step for PDI. 
  * 
  * The demo step adds a new string field to the row stream and sets its
- * value to "Hello World!". The user may select the name of the new field.
+ * value to a constant, "Hello World!" by default. The user may select the
+ * name of the new field and its value.
  *   
  * This class is the implementation of StepMetaInterface.
  * Classes implementing this interface need to:
@@ -91,6 +95,86 @@ public class DemoStepMeta extends BaseStepMeta implements StepMetaInterface {
   @Injection( name = "OUTPUT_FIELD" )
   private String outputField;
 
+  /**
+   * Stores the constant value written to the output field. May contain variables.
+   */
+  @Injection( name = "OUTPUT_VALUE" )
+  private String outputValue;
+
+  /**
+   * Stores the name of an optional integer field receiving the position of each row
+   * in the original row stream. Downstream steps can use it to restore the input order
+   * when the step runs in multiple copies.
+   * 
+   * Each copy computes the position as its own row number times the number of copies
+   * plus its copy number. That is only the position in the original stream when a single
+   * upstream step copy hands out the rows round robin. With several upstream copies, or
+   * partitioned input, the numbers are still distinct, but they have gaps and do not
+   * reflect the input order.
+   */
+  @Injection( name = "SEQUENCE_FIELD" )
+  private String sequenceField;
+
+  /**
+   * Stores the number of rows the step reads, transforms and writes per call to processRow().
+   * A value of 1 (or less) processes one row at a time.
+   */
+  @Injection( name = "BATCH_SIZE" )
+  private int batchSize;
+
+  /**
+   * Stores the number of worker threads transforming batches in pipelined mode.
+   * A value of 1 (or less) transforms the batches on the step thread.
+   */
+  @Injection( name = "WORKER_COUNT" )
+  private int workerCount;
+
+  /**
+   * Stores the number of batches that may be in flight in pipelined mode
+   * before the step waits for the oldest one to be written.
+   */
+  @Injection( name = "QUEUE_SIZE" )
+  private int queueSize;
+
+  /**
+   * Stores whether the worker threads of the pipelined mode are virtual threads.
+   * Virtual threads require Java 21 or later, platform threads are used otherwise.
+   * 
+   * Only the workers switch: the thread running processRow() is started by PDI. The
+   * worker count still applies, at most that many virtual threads transform batches at
+   * the same time, as the transformation of a batch is CPU-bound.
+   */
+  @Injection( name = "VIRTUAL_THREADS" )
+  private boolean virtualThreads;
+
+  /**
+   * Stores whether batches are converted to columnar batches and transformed with
+   * processBatch(). Only applies when the batches are transformed on the step thread,
+   * pipelined mode always transforms rows.
+   */
+  @Injection( name = "COLUMNAR" )
+  private boolean columnar;
+
+  /**
+   * The number of batches in flight used for newly created steps
+   */
+  public static final int DEFAULT_QUEUE_SIZE = 4;
+
+  /**
+   * The value written to the output field if no value has been configured
+   */
+  public static final String DEFAULT_OUTPUT_VALUE = "Hello World!";
+
+  /**
+   * The batch size used for newly created steps
+   */
+  public static final int DEFAULT_BATCH_SIZE = 1;
+
+  /**
+   * The number of worker threads used for newly created steps
+   */
+  public static final int DEFAULT_WORKER_COUNT = 1;
+
   /**
    * Constructor should call super() to make sure the base class has a chance to initialize properly.
    */
@@ -141,6 +225,12 @@ public class DemoStepMeta extends BaseStepMeta implements StepMetaInterface {
    */
   public void setDefault() {
     setOutputField( "demo_field" );
+    setOutputValue( DEFAULT_OUTPUT_VALUE );
+    setBatchSize( DEFAULT_BATCH_SIZE );
+    setWorkerCount( DEFAULT_WORKER_COUNT );
+    setQueueSize( DEFAULT_QUEUE_SIZE );
+    setVirtualThreads( false );
+    setColumnar( false );
   }
 
   /**
@@ -159,6 +249,118 @@ public class DemoStepMeta extends BaseStepMeta implements StepMetaInterface {
     this.outputField = outputField;
   }
 
+  /**
+   * Getter for the constant value written to the output field
+   * @return the value, possibly containing variables
+   */
+  public String getOutputValue() {
+    return outputValue;
+  }
+
+  /**
+   * Setter for the constant value written to the output field
+   * @param outputValue the value, possibly containing variables
+   */
+  public void setOutputValue( String outputValue ) {
+    this.outputValue = outputValue;
+  }
+
+  /**
+   * Getter for the name of the sequence field
+   * @return the name of the sequence field, empty if no sequence field is added
+   */
+  public String getSequenceField() {
+    return sequenceField;
+  }
+
+  /**
+   * Setter for the name of the sequence field
+   * @param sequenceField the name of the sequence field, empty to not add a sequence field
+   */
+  public void setSequenceField( String sequenceField ) {
+    this.sequenceField = sequenceField;
+  }
+
+  /**
+   * Getter for the number of rows processed per call to processRow()
+   * @return the batch size
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Setter for the number of rows processed per call to processRow()
+   * @param batchSize the batch size, values below 1 are treated as 1 at runtime
+   */
+  public void setBatchSize( int batchSize ) {
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Getter for the number of worker threads used in pipelined mode
+   * @return the number of worker threads
+   */
+  public int getWorkerCount() {
+    return workerCount;
+  }
+
+  /**
+   * Setter for the number of worker threads used in pipelined mode
+   * @param workerCount the number of worker threads, values below 2 disable pipelined mode
+   */
+  public void setWorkerCount( int workerCount ) {
+    this.workerCount = workerCount;
+  }
+
+  /**
+   * Getter for the number of batches that may be in flight in pipelined mode
+   * @return the number of batches
+   */
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  /**
+   * Setter for the number of batches that may be in flight in pipelined mode
+   * @param queueSize the number of batches, values below 1 are treated as 1 at runtime
+   */
+  public void setQueueSize( int queueSize ) {
+    this.queueSize = queueSize;
+  }
+
+  /**
+   * Getter for the worker thread type used in pipelined mode
+   * @return true if virtual threads are used, false for platform threads
+   */
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * Setter for the worker thread type used in pipelined mode
+   * @param virtualThreads true to use virtual threads where the Java runtime supports them
+   */
+  public void setVirtualThreads( boolean virtualThreads ) {
+    this.virtualThreads = virtualThreads;
+  }
+
+  /**
+   * Getter for the columnar processing of batches
+   * @return true if batches are transformed column by column
+   */
+  public boolean isColumnar() {
+    return columnar;
+  }
+
+  /**
+   * Setter for the columnar processing of batches
+   * @param columnar true to transform batches column by column, outside of pipelined mode
+   */
+  public void setColumnar( boolean columnar ) {
+    this.columnar = columnar;
+  }
+
   /**
    * This method is used when a step is duplicated in Spoon. It needs to return a deep copy of this
    * step meta object. Be sure to create proper deep copies if the step configuration is stored in
@@ -185,8 +387,14 @@ public class DemoStepMeta extends BaseStepMeta implements StepMetaInterface {
   public String getXML() throws KettleValueException {
     StringBuilder xml = new StringBuilder();
 
-    // only one field to serialize
     xml.append( XMLHandler.addTagValue( "outputfield", outputField ) );
+    xml.append( XMLHandler.addTagValue( "outputvalue", outputValue ) );
+    xml.append( XMLHandler.addTagValue( "sequence_field", sequenceField ) );
+    xml.append( XMLHandler.addTagValue( "batch_size", batchSize ) );
+    xml.append( XMLHandler.addTagValue( "worker_count", workerCount ) );
+    xml.append( XMLHandler.addTagValue( "queue_size", queueSize ) );
+    xml.append( XMLHandler.addTagValue( "virtual_threads", virtualThreads ) );
+    xml.append( XMLHandler.addTagValue( "columnar", columnar ) );
     return xml.toString();
   }
 
@@ -203,6 +411,14 @@ public class DemoStepMeta extends BaseStepMeta implements StepMetaInterface {
   public void loadXML( Node stepnode, List<DatabaseMeta> databases, IMetaStore metaStore ) throws KettleXMLException {
     try {
       setOutputField( XMLHandler.getNodeValue( XMLHandler.getSubNode( stepnode, "outputfield" ) ) );
+      setOutputValue( XMLHandler.getTagValue( stepnode, "outputvalue" ) );
+      setSequenceField( XMLHandler.getTagValue( stepnode, "sequence_field" ) );
+      // transformations saved before batching was introduced have no batch size, process one row at a time
+      setBatchSize( Const.toInt( XMLHandler.getTagValue( stepnode, "batch_size" ), DEFAULT_BATCH_SIZE ) );
+      setWorkerCount( Const.toInt( XMLHandler.getTagValue( stepnode, "worker_count" ), DEFAULT_WORKER_COUNT ) );
+      setQueueSize( Const.toInt( XMLHandler.getTagValue( stepnode, "queue_size" ), DEFAULT_QUEUE_SIZE ) );
+      setVirtualThreads( "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "virtual_threads" ) ) );
+      setColumnar( "Y".equalsIgnoreCase( XMLHandler.getTagValue( stepnode, "columnar" ) ) );
     } catch ( Exception e ) {
       throw new KettleXMLException( "Demo plugin unable to read step info from XML node", e );
     }
@@ -221,6 +437,13 @@ public class DemoStepMeta extends BaseStepMeta implements StepMetaInterface {
       throws KettleException {
     try {
       rep.saveStepAttribute( id_transformation, id_step, "outputfield", outputField ); //$NON-NLS-1$
+      rep.saveStepAttribute( id_transformation, id_step, "outputvalue", outputValue ); //$NON-NLS-1$
+      rep.saveStepAttribute( id_transformation, id_step, "sequence_field", sequenceField ); //$NON-NLS-1$
+      rep.saveStepAttribute( id_transformation, id_step, "batch_size", batchSize ); //$NON-NLS-1$
+      rep.saveStepAttribute( id_transformation, id_step, "worker_count", workerCount ); //$NON-NLS-1$
+      rep.saveStepAttribute( id_transformation, id_step, "queue_size", queueSize ); //$NON-NLS-1$
+      rep.saveStepAttribute( id_transformation, id_step, "virtual_threads", virtualThreads ); //$NON-NLS-1$
+      rep.saveStepAttribute( id_transformation, id_step, "columnar", columnar ); //$NON-NLS-1$
     } catch ( Exception e ) {
       throw new KettleException( "Unable to save step into repository: " + id_step, e );
     }
@@ -239,6 +462,23 @@ public class DemoStepMeta extends BaseStepMeta implements StepMetaInterface {
       throws KettleException {
     try {
       outputField  = rep.getStepAttributeString( id_step, "outputfield" ); //$NON-NLS-1$
+      outputValue = rep.getStepAttributeString( id_step, "outputvalue" ); //$NON-NLS-1$
+      sequenceField = rep.getStepAttributeString( id_step, "sequence_field" ); //$NON-NLS-1$
+      batchSize = (int) rep.getStepAttributeInteger( id_step, "batch_size" ); //$NON-NLS-1$
+      workerCount = (int) rep.getStepAttributeInteger( id_step, "worker_count" ); //$NON-NLS-1$
+      queueSize = (int) rep.getStepAttributeInteger( id_step, "queue_size" ); //$NON-NLS-1$
+      // not saved in the repository yet, use the same defaults as loadXML()
+      if ( batchSize == 0 ) {
+        batchSize = DEFAULT_BATCH_SIZE;
+      }
+      if ( workerCount == 0 ) {
+        workerCount = DEFAULT_WORKER_COUNT;
+      }
+      if ( queueSize == 0 ) {
+        queueSize = DEFAULT_QUEUE_SIZE;
+      }
+      virtualThreads = rep.getStepAttributeBoolean( id_step, "virtual_threads" ); //$NON-NLS-1$
+      columnar = rep.getStepAttributeBoolean( id_step, "columnar" ); //$NON-NLS-1$
     } catch ( Exception e ) {
       throw new KettleException( "Unable to load step from repository", e );
     }
@@ -268,14 +508,22 @@ public class DemoStepMeta extends BaseStepMeta implements StepMetaInterface {
     // a value meta object contains the meta data for a field
     ValueMetaInterface v = new ValueMetaString( outputField );
 
-    // setting trim type to "both"
-    v.setTrimType( ValueMetaInterface.TRIM_TYPE_BOTH );
+    // the step trims the constant value once during initialization, so there is
+    // nothing left for downstream steps to trim on every row
+    v.setTrimType( ValueMetaInterface.TRIM_TYPE_NONE );
 
     // the name of the step that adds this field
     v.setOrigin( name );
 
     // modify the row structure and add the field this step generates  
     inputRowMeta.addValueMeta( v );
+
+    // optionally add the field holding the position of the row in the original row stream
+    if ( !Utils.isEmpty( sequenceField ) ) {
+      ValueMetaInterface seq = new ValueMetaInteger( sequenceField );
+      seq.setOrigin( name );
+      inputRowMeta.addValueMeta( seq );
+    }
   }
 
   /**
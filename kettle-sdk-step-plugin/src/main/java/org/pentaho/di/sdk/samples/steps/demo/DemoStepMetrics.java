@@ -0,0 +1,220 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.steps.demo;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.pentaho.di.trans.Trans;
+import org.pentaho.di.trans.step.StepMetaDataCombi;
+
+/**
+ * This class is part of the demo step plug-in implementation.
+ *
+ * It collects runtime figures of a demo step copy: rows processed, time spent in processRow(),
+ * time spent waiting for input rows in getRow() and for room in the output buffers in putRow(),
+ * the fill level of the input and output buffers, and the number of rows that had to be resized
+ * to fit the output row structure. Together these show whether a step is
+ * busy itself, starved by the steps before it, or held up by the steps after it.
+ *
+ * Every step copy keeps its own instance in its data object. The step updates it once per batch
+ * using striped counters, so recording takes no locks. The counters are summed up one by one
+ * when they are read, so figures read while the step is running are eventually consistent:
+ * each is up to date on its own, but they may stem from different batches, and a rate or
+ * average may mix them. The figures are exact once the step has finished. Embedding
+ * applications read them through forStep() or forCopy(), passing the running or finished
+ * transformation.
+ */
+public class DemoStepMetrics {
+
+  private final LongAdder rows = new LongAdder();
+  private final LongAdder processRowCalls = new LongAdder();
+  private final LongAdder processRowNanos = new LongAdder();
+  private final LongAdder getRowNanos = new LongAdder();
+  private final LongAdder putRowNanos = new LongAdder();
+  private final LongAdder bufferSamples = new LongAdder();
+  private final LongAdder inputBufferRows = new LongAdder();
+  private final LongAdder outputBufferRows = new LongAdder();
+  private final LongAdder resizedRows = new LongAdder();
+
+  private volatile long startNanos;
+  private volatile long endNanos;
+
+  /**
+   * Marks the moment the step copy started processing rows.
+   */
+  void start() {
+    startNanos = System.nanoTime();
+  }
+
+  /**
+   * Marks the moment the step copy finished processing rows.
+   */
+  void stop() {
+    if ( startNanos != 0 && endNanos == 0 ) {
+      endNanos = System.nanoTime();
+    }
+  }
+
+  /**
+   * Records a call to processRow().
+   *
+   * @param rowCount       the number of rows processed by the call
+   * @param getRowTime     nanoseconds spent reading rows
+   * @param putRowTime     nanoseconds spent writing rows
+   * @param totalTime      nanoseconds spent in processRow()
+   * @param inputBuffered  the number of rows waiting in the input buffers after reading
+   * @param outputBuffered the number of rows waiting in the output buffers after writing
+   */
+  void record( int rowCount, long getRowTime, long putRowTime, long totalTime, int inputBuffered, int outputBuffered ) {
+    rows.add( rowCount );
+    processRowCalls.increment();
+    processRowNanos.add( totalTime );
+    getRowNanos.add( getRowTime );
+    putRowNanos.add( putRowTime );
+    bufferSamples.increment();
+    inputBufferRows.add( inputBuffered );
+    outputBufferRows.add( outputBuffered );
+  }
+
+  /**
+   * Records rows that had no room for the output field and were copied into larger arrays.
+   *
+   * @param rowCount the number of resized rows
+   */
+  void addResizedRows( long rowCount ) {
+    resizedRows.add( rowCount );
+  }
+
+  /**
+   * Adds the figures of another step copy to this one.
+   */
+  void merge( DemoStepMetrics other ) {
+    rows.add( other.rows.sum() );
+    processRowCalls.add( other.processRowCalls.sum() );
+    processRowNanos.add( other.processRowNanos.sum() );
+    getRowNanos.add( other.getRowNanos.sum() );
+    putRowNanos.add( other.putRowNanos.sum() );
+    bufferSamples.add( other.bufferSamples.sum() );
+    inputBufferRows.add( other.inputBufferRows.sum() );
+    outputBufferRows.add( other.outputBufferRows.sum() );
+    resizedRows.add( other.resizedRows.sum() );
+    if ( other.startNanos != 0 && ( startNanos == 0 || other.startNanos < startNanos ) ) {
+      startNanos = other.startNanos;
+    }
+    long otherEnd = other.endNanos == 0 ? System.nanoTime() : other.endNanos;
+    if ( other.startNanos != 0 && otherEnd > endNanos ) {
+      endNanos = otherEnd;
+    }
+  }
+
+  /**
+   * @return the number of rows processed
+   */
+  public long getRows() {
+    return rows.sum();
+  }
+
+  /**
+   * @return the number of rows processed per second since the step started, up to now or until it finished
+   */
+  public double getRowsPerSecond() {
+    if ( startNanos == 0 ) {
+      return 0.0;
+    }
+    long end = endNanos == 0 ? System.nanoTime() : endNanos;
+    return end > startNanos ? getRows() * 1e9 / ( end - startNanos ) : 0.0;
+  }
+
+  /**
+   * @return the average number of nanoseconds spent per call to processRow()
+   */
+  public double getNanosPerProcessRow() {
+    long calls = processRowCalls.sum();
+    return calls == 0 ? 0.0 : (double) processRowNanos.sum() / calls;
+  }
+
+  /**
+   * @return the nanoseconds spent reading rows, mostly waiting for the previous steps
+   */
+  public long getGetRowNanos() {
+    return getRowNanos.sum();
+  }
+
+  /**
+   * @return the nanoseconds spent writing rows, mostly waiting for room in the output buffers
+   */
+  public long getPutRowNanos() {
+    return putRowNanos.sum();
+  }
+
+  /**
+   * @return the average number of rows waiting in the input buffers
+   */
+  public double getAverageInputBufferFill() {
+    long samples = bufferSamples.sum();
+    return samples == 0 ? 0.0 : (double) inputBufferRows.sum() / samples;
+  }
+
+  /**
+   * @return the average number of rows waiting in the output buffers
+   */
+  public double getAverageOutputBufferFill() {
+    long samples = bufferSamples.sum();
+    return samples == 0 ? 0.0 : (double) outputBufferRows.sum() / samples;
+  }
+
+  /**
+   * @return the number of rows that had to be resized to fit the output row structure
+   */
+  public long getResizedRows() {
+    return resizedRows.sum();
+  }
+
+  /**
+   * Returns the figures of all copies of a demo step, merged into one.
+   *
+   * @param trans     the transformation executing the step
+   * @param stepname  the name of the demo step
+   *
+   * @return the merged figures, all zero if the step is not found
+   */
+  public static DemoStepMetrics forStep( Trans trans, String stepname ) {
+    DemoStepMetrics merged = new DemoStepMetrics();
+    for ( StepMetaDataCombi combi : trans.getSteps() ) {
+      if ( combi.stepname.equals( stepname ) && combi.data instanceof DemoStepData ) {
+        merged.merge( ( (DemoStepData) combi.data ).metrics );
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Returns the figures of a single copy of a demo step.
+   *
+   * @param trans     the transformation executing the step
+   * @param stepname  the name of the demo step
+   * @param copy      the copy number
+   *
+   * @return the figures of the step copy, or null if the step copy is not found
+   */
+  public static DemoStepMetrics forCopy( Trans trans, String stepname, int copy ) {
+    for ( StepMetaDataCombi combi : trans.getSteps() ) {
+      if ( combi.stepname.equals( stepname ) && combi.copy == copy && combi.data instanceof DemoStepData ) {
+        return ( (DemoStepData) combi.data ).metrics;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,140 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.steps.demo;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+
+import org.junit.Test;
+import org.pentaho.di.core.exception.KettleException;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaDate;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaNumber;
+import org.pentaho.di.core.row.value.ValueMetaString;
+
+public class ColumnarBatchTest {
+
+  private static RowMetaInterface createRowMeta() {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaInteger( "id" ) );
+    rowMeta.addValueMeta( new ValueMetaNumber( "amount" ) );
+    rowMeta.addValueMeta( new ValueMetaString( "name" ) );
+    rowMeta.addValueMeta( new ValueMetaDate( "created" ) );
+    return rowMeta;
+  }
+
+  // Converting rows to a batch and back must not change any value, including nulls
+  @Test
+  public void testRoundTrip() throws KettleException {
+    Date date = new Date( 1234567890L );
+    Object[][] rows = {
+      { 1L, 1.5, "a", date },
+      { null, null, null, null },
+      { 3L, -2.25, "a", date },
+    };
+
+    ColumnarBatch batch = ColumnarBatch.fromRows( createRowMeta(), rows, rows.length );
+    assertEquals( 3, batch.getRowCount() );
+    assertEquals( 4, batch.getRowMeta().size() );
+
+    Object[][] result = batch.toRows();
+    assertEquals( 3, result.length );
+    for ( int r = 0; r < rows.length; r++ ) {
+      for ( int c = 0; c < rows[r].length; c++ ) {
+        assertEquals( rows[r][c], result[r][c] );
+      }
+    }
+  }
+
+  // Numbers must be kept in primitive arrays, strings must be stored once in the dictionary
+  @Test
+  public void testColumnTypes() throws KettleException {
+    Object[][] rows = {
+      { 1L, 1.5, "x", null },
+      { 2L, 2.5, "y", null },
+      { 3L, 3.5, "x", null },
+    };
+    ColumnarBatch batch = ColumnarBatch.fromRows( createRowMeta(), rows, rows.length );
+
+    long[] ids = ( (ColumnarBatch.LongColumn) batch.getColumn( 0 ) ).getValues();
+    assertArrayEquals( new long[] { 1L, 2L, 3L }, ids );
+
+    double[] amounts = ( (ColumnarBatch.DoubleColumn) batch.getColumn( 1 ) ).getValues();
+    assertArrayEquals( new double[] { 1.5, 2.5, 3.5 }, amounts, 0.0 );
+
+    ColumnarBatch.StringColumn names = (ColumnarBatch.StringColumn) batch.getColumn( 2 );
+    assertEquals( 2, names.getDictionary().size() );
+    assertArrayEquals( new int[] { 0, 1, 0 }, names.getCodes() );
+
+    assertTrue( batch.getColumn( 3 ).isNull( 0 ) );
+    assertNull( batch.getColumn( 3 ).get( 2 ) );
+    assertFalse( batch.getColumn( 0 ).isNull( 1 ) );
+  }
+
+  // Converting back into existing rows must reuse rows with room and only resize the others
+  @Test
+  public void testToExistingRows() throws KettleException {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaInteger( "id" ) );
+    Object[][] rows = { new Object[] { 1L, null }, new Object[] { 2L } };
+    Object[] roomy = rows[0];
+
+    ColumnarBatch batch = ColumnarBatch.fromRows( rowMeta, rows, rows.length );
+    ColumnarBatch.LongColumn twice = (ColumnarBatch.LongColumn) batch.addColumn( new ValueMetaInteger( "twice" ) );
+    twice.getValues()[0] = 2L;
+    twice.getValues()[1] = 4L;
+
+    assertEquals( 1, batch.toRows( rows ) );
+    assertTrue( roomy == rows[0] );
+    assertEquals( 2L, rows[0][1] );
+    assertEquals( 4L, rows[1][1] );
+  }
+
+  // Strings must be kept as they are in the row, without the trimming of their field
+  @Test
+  public void testStringsNotTrimmed() throws KettleException {
+    RowMetaInterface rowMeta = new RowMeta();
+    ValueMetaString name = new ValueMetaString( "name" );
+    name.setTrimType( ValueMetaString.TRIM_TYPE_BOTH );
+    rowMeta.addValueMeta( name );
+    Object[][] rows = { { "  padded  " } };
+
+    ColumnarBatch batch = ColumnarBatch.fromRows( rowMeta, rows, rows.length );
+    assertEquals( "  padded  ", batch.toRows()[0][0] );
+  }
+
+  // The null bitmap must work beyond the first 64 rows
+  @Test
+  public void testNullBitmap() throws KettleException {
+    RowMetaInterface rowMeta = new RowMeta();
+    rowMeta.addValueMeta( new ValueMetaInteger( "id" ) );
+    Object[][] rows = new Object[130][];
+    for ( int i = 0; i < rows.length; i++ ) {
+      rows[i] = new Object[] { i % 3 == 0 ? null : (long) i };
+    }
+
+    ColumnarBatch batch = ColumnarBatch.fromRows( rowMeta, rows, rows.length );
+    for ( int i = 0; i < rows.length; i++ ) {
+      assertEquals( i % 3 == 0, batch.getColumn( 0 ).isNull( i ) );
+    }
+  }
+}
@@ -15,16 +15,62 @@
 package org.pentaho.di.sdk.samples.steps.demo;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
+import org.pentaho.di.core.row.RowMeta;
+import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaString;
 
 public class DemoStepDataTest {
 
   @Test
   public void testDefaults() {
     DemoStepData data = new DemoStepData();
+    assertNull( data.inputRowMeta );
     assertNull( data.outputRowMeta );
     assertEquals( -1, data.outputFieldIndex );
+    assertNull( data.batch );
+    assertNull( data.outputValue );
+    assertEquals( -1, data.sequenceFieldIndex );
+    assertEquals( 1, data.copyCount );
+    assertEquals( 0, data.copyRows );
+    assertNull( data.pendingRow );
+    assertTrue( data.layoutsByIdentity.isEmpty() );
+    assertTrue( data.layoutsByStructure.isEmpty() );
+    assertNull( data.workers );
+    assertNull( data.workerPermits );
+    assertTrue( data.pipeline.isEmpty() );
+    assertEquals( 0, data.metrics.getResizedRows() );
+  }
+
+  // The structure key must be equal for copies of a structure, and tell apart field order,
+  // type and storage type
+  @Test
+  public void testStructureKey() {
+    RowMetaInterface structure = rowMeta( new ValueMetaString( "a" ), new ValueMetaInteger( "b" ) );
+    String key = DemoStepData.structureKey( structure );
+    assertEquals( key, DemoStepData.structureKey( structure.clone() ) );
+
+    assertFalse( key.equals( DemoStepData.structureKey( rowMeta( new ValueMetaInteger( "b" ), new ValueMetaString( "a" ) ) ) ) );
+    assertFalse( key.equals( DemoStepData.structureKey( rowMeta( new ValueMetaInteger( "a" ), new ValueMetaInteger( "b" ) ) ) ) );
+    ValueMetaString binary = new ValueMetaString( "a" );
+    binary.setStorageType( ValueMetaInterface.STORAGE_TYPE_BINARY_STRING );
+    assertFalse( key.equals( DemoStepData.structureKey( rowMeta( binary, new ValueMetaInteger( "b" ) ) ) ) );
+    // separators in names must not make different structures look the same
+    assertFalse( DemoStepData.structureKey( rowMeta( new ValueMetaString( "a:2:1;" ) ) )
+      .equals( DemoStepData.structureKey( rowMeta( new ValueMetaString( "a" ), new ValueMetaString( "" ) ) ) ) );
+  }
+
+  private static RowMetaInterface rowMeta( ValueMetaInterface... fields ) {
+    RowMetaInterface rowMeta = new RowMeta();
+    for ( ValueMetaInterface field : fields ) {
+      rowMeta.addValueMeta( field );
+    }
+    return rowMeta;
   }
 }
@@ -19,6 +19,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -43,10 +44,12 @@ import org.pentaho.di.core.row.RowMetaInterface;
 import org.pentaho.di.core.row.ValueMetaInterface;
 import org.pentaho.di.core.variables.Variables;
 import org.pentaho.di.i18n.BaseMessages;
+import org.pentaho.di.repository.Repository;
 import org.pentaho.di.trans.TransMeta;
 import org.pentaho.di.trans.step.StepMeta;
 import org.pentaho.di.trans.steps.loadsave.LoadSaveTester;
 import org.pentaho.di.trans.steps.loadsave.MemoryRepository;
+import org.pentaho.metastore.api.IMetaStore;
 
 public class DemoStepMetaTest {
 
@@ -128,6 +131,10 @@ public class DemoStepMetaTest {
     assertEquals( rowMeta.getValueMeta(0).getType(), ValueMetaInterface.TYPE_STRING );
     assertEquals( rowMeta.getValueMeta(0).getStorageType(), ValueMetaInterface.STORAGE_TYPE_NORMAL );
     assertEquals( rowMeta.getFieldNames()[0], m.getOutputField() );
+
+    // the value is trimmed by the step itself, so the field must not ask for trimming again
+    assertEquals( ValueMetaInterface.TRIM_TYPE_NONE, rowMeta.getValueMeta( 0 ).getTrimType() );
+    assertEquals( DemoStepMeta.DEFAULT_OUTPUT_VALUE, m.getOutputValue() );
   }
 
   @Test
@@ -139,7 +146,8 @@ public class DemoStepMetaTest {
      *
      * If needed, add a Map if the getter or setter method does not follow typical naming conventions.
      */
-    List<String> attributes = Arrays.asList( "OutputField" );
+    List<String> attributes = Arrays.asList( "OutputField", "OutputValue", "SequenceField", "BatchSize",
+      "WorkerCount", "QueueSize", "VirtualThreads", "Columnar" );
 
     /*
      * If custom object types are used, additional arguments may need to be passed to the LoadSaveTester.
@@ -155,6 +163,18 @@ public class DemoStepMetaTest {
     tester.testSerialization();
   }
 
+  // Steps saved to a repository before batching and pipelining were introduced must get the
+  // same defaults as steps loaded from XML without these settings
+  @Test
+  public void testReadRepDefaults() throws KettleException {
+    DemoStepMeta m = new DemoStepMeta();
+    m.readRep( mock( Repository.class ), (IMetaStore) null, null, null );
+
+    assertEquals( DemoStepMeta.DEFAULT_BATCH_SIZE, m.getBatchSize() );
+    assertEquals( DemoStepMeta.DEFAULT_WORKER_COUNT, m.getWorkerCount() );
+    assertEquals( DemoStepMeta.DEFAULT_QUEUE_SIZE, m.getQueueSize() );
+  }
+
   @Test
   public void testChecks() {
     DemoStepMeta m = new DemoStepMeta();
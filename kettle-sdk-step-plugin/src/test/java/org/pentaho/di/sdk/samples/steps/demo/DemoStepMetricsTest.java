@@ -0,0 +1,81 @@
+/*! ******************************************************************************
+ *
+ * Pentaho
+ *
+ * Copyright (C) 2026 by Pentaho Canada Inc. : http://www.pentaho.com
+ *
+ * Use of this software is governed by the Business Source License included
+ * in the LICENSE.TXT file.
+ *
+ * Change Date: 2030-06-15
+ ******************************************************************************/
+
+
+
+package org.pentaho.di.sdk.samples.steps.demo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class DemoStepMetricsTest {
+
+  @Test
+  public void testDefaults() {
+    DemoStepMetrics metrics = new DemoStepMetrics();
+    assertEquals( 0, metrics.getRows() );
+    assertEquals( 0.0, metrics.getRowsPerSecond(), 0.0 );
+    assertEquals( 0.0, metrics.getNanosPerProcessRow(), 0.0 );
+    assertEquals( 0.0, metrics.getAverageInputBufferFill(), 0.0 );
+    assertEquals( 0, metrics.getResizedRows() );
+  }
+
+  @Test
+  public void testRecord() throws InterruptedException {
+    DemoStepMetrics metrics = new DemoStepMetrics();
+    metrics.start();
+    metrics.record( 100, 1000L, 3000L, 5000L, 10, 20 );
+    metrics.record( 50, 2000L, 1000L, 3000L, 30, 0 );
+    Thread.sleep( 2 );
+    metrics.stop();
+
+    assertEquals( 150, metrics.getRows() );
+    assertEquals( 3000L, metrics.getGetRowNanos() );
+    assertEquals( 4000L, metrics.getPutRowNanos() );
+    assertEquals( 4000.0, metrics.getNanosPerProcessRow(), 0.0 );
+    assertEquals( 20.0, metrics.getAverageInputBufferFill(), 0.0 );
+    assertEquals( 10.0, metrics.getAverageOutputBufferFill(), 0.0 );
+    assertTrue( metrics.getRowsPerSecond() > 0.0 );
+
+    // a stopped copy must report a stable throughput
+    double rowsPerSecond = metrics.getRowsPerSecond();
+    Thread.sleep( 2 );
+    assertEquals( rowsPerSecond, metrics.getRowsPerSecond(), 0.0 );
+  }
+
+  @Test
+  public void testMerge() {
+    DemoStepMetrics copy0 = new DemoStepMetrics();
+    copy0.start();
+    copy0.record( 10, 100L, 200L, 400L, 1, 2 );
+    copy0.addResizedRows( 5 );
+    copy0.stop();
+    DemoStepMetrics copy1 = new DemoStepMetrics();
+    copy1.start();
+    copy1.record( 30, 300L, 400L, 800L, 3, 4 );
+    copy1.addResizedRows( 7 );
+    copy1.stop();
+
+    DemoStepMetrics merged = new DemoStepMetrics();
+    merged.merge( copy0 );
+    merged.merge( copy1 );
+    assertEquals( 40, merged.getRows() );
+    assertEquals( 400L, merged.getGetRowNanos() );
+    assertEquals( 600L, merged.getPutRowNanos() );
+    assertEquals( 600.0, merged.getNanosPerProcessRow(), 0.0 );
+    assertEquals( 2.0, merged.getAverageInputBufferFill(), 0.0 );
+    assertEquals( 3.0, merged.getAverageOutputBufferFill(), 0.0 );
+    assertEquals( 12, merged.getResizedRows() );
+  }
+}
@@ -15,10 +15,14 @@
 package org.pentaho.di.sdk.samples.steps.demo;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -29,10 +33,16 @@ import org.pentaho.di.core.RowMetaAndData;
 import org.pentaho.di.core.exception.KettleException;
 import org.pentaho.di.core.row.RowMeta;
 import org.pentaho.di.core.row.RowMetaInterface;
+import org.pentaho.di.core.row.ValueMetaInterface;
+import org.pentaho.di.core.row.value.ValueMetaInteger;
+import org.pentaho.di.core.row.value.ValueMetaNumber;
 import org.pentaho.di.core.row.value.ValueMetaString;
 import org.pentaho.di.core.variables.Variables;
+import org.pentaho.di.trans.RowProducer;
+import org.pentaho.di.trans.Trans;
 import org.pentaho.di.trans.TransMeta;
 import org.pentaho.di.trans.TransTestFactory;
+import org.pentaho.di.trans.step.RowAdapter;
 
 public class DemoStepTest {
 
@@ -99,6 +109,303 @@ public class DemoStepTest {
     }
   }
 
+  // If the step processes rows in batches, every row must come out once and in order,
+  // including the last partially filled batch
+  @Test
+  public void testBatchInput() throws KettleException {
+    DemoStepMeta meta = new DemoStepMeta();
+    meta.setOutputField( "aFieldName" );
+    meta.setBatchSize( 1000 );
+    TransMeta tm = TransTestFactory.generateTestTransformation( new Variables(), meta, STEP_NAME );
+
+    List<RowMetaAndData> input = generateInputData( 2501, true );
+    List<RowMetaAndData> result = TransTestFactory.executeTestTransformation( tm, TransTestFactory.INJECTOR_STEPNAME,
+      STEP_NAME, TransTestFactory.DUMMY_STEPNAME, input );
+
+    assertNotNull( result );
+    assertEquals( 2501, result.size() );
+    for ( int i = 0; i < 2501; i++ ) {
+      assertEquals( 2, result.get( i ).size() );
+      assertEquals( input.get( i ).getString( 0, null ), result.get( i ).getString( 0, "default value" ) );
+      assertEquals( "Hello World!", result.get( i ).getString( 1, "default value" ) );
+    }
+  }
+
+  // A configured output value has its variables resolved and is trimmed before it is written
+  @Test
+  public void testOutputValue() throws KettleException {
+    DemoStepMeta meta = new DemoStepMeta();
+    meta.setOutputField( "aFieldName" );
+    meta.setOutputValue( "  ${greeting} world " );
+    Variables variables = new Variables();
+    variables.setVariable( "greeting", "Hi" );
+    TransMeta tm = TransTestFactory.generateTestTransformation( variables, meta, STEP_NAME );
+
+    List<RowMetaAndData> result = TransTestFactory.executeTestTransformation( tm, TransTestFactory.INJECTOR_STEPNAME,
+      STEP_NAME, TransTestFactory.DUMMY_STEPNAME, generateInputData( 5, false ) );
+
+    assertNotNull( result );
+    assertEquals( 5, result.size() );
+    for ( int i = 0; i < 5; i++ ) {
+      assertEquals( "Hi world", result.get( i ).getString( 0, "default value" ) );
+    }
+  }
+
+  // If the step runs in multiple copies, the sequence field must number the rows of the
+  // original stream without gaps or duplicates
+  @Test
+  public void testSequenceFieldMultipleCopies() throws KettleException {
+    DemoStepMeta meta = new DemoStepMeta();
+    meta.setOutputField( "aFieldName" );
+    meta.setSequenceField( "seq" );
+    TransMeta tm = TransTestFactory.generateTestTransformation( new Variables(), meta, STEP_NAME );
+    tm.findStep( STEP_NAME ).setCopies( 4 );
+
+    List<RowMetaAndData> result = TransTestFactory.executeTestTransformation( tm, TransTestFactory.INJECTOR_STEPNAME,
+      STEP_NAME, TransTestFactory.DUMMY_STEPNAME, generateInputData( 1001, false ) );
+
+    assertNotNull( result );
+    assertEquals( 1001, result.size() );
+    boolean[] seen = new boolean[1001];
+    for ( RowMetaAndData row : result ) {
+      assertEquals( 2, row.size() );
+      int seq = (int) row.getInteger( "seq", -1L );
+      assertFalse( "Duplicate sequence number " + seq, seen[seq] );
+      seen[seq] = true;
+    }
+  }
+
+  // The rows processed by every copy must be reported per copy, and add up to all rows
+  @Test
+  public void testRowsPerCopy() throws KettleException {
+    DemoStepMeta meta = new DemoStepMeta();
+    meta.setOutputField( "aFieldName" );
+    TransMeta tm = TransTestFactory.generateTestTransformation( new Variables(), meta, STEP_NAME );
+    tm.findStep( STEP_NAME ).setCopies( 4 );
+
+    Trans trans = new Trans( tm );
+    trans.prepareExecution( null );
+    RowProducer producer = trans.addRowProducer( TransTestFactory.INJECTOR_STEPNAME, 0 );
+    trans.startThreads();
+    for ( RowMetaAndData row : generateInputData( 1001, true ) ) {
+      producer.putRow( row.getRowMeta(), row.getData() );
+    }
+    producer.finished();
+    trans.waitUntilFinished();
+
+    long[] rows = DemoStep.getRowsPerCopy( trans, STEP_NAME );
+    assertEquals( 4, rows.length );
+    long total = 0;
+    for ( long count : rows ) {
+      // the single injector copy hands out the rows round robin
+      assertTrue( "unbalanced copies: " + Arrays.toString( rows ), count == 250 || count == 251 );
+      total += count;
+    }
+    assertEquals( 1001, total );
+    assertEquals( 0, DemoStep.getRowsPerCopy( trans, "no such step" ).length );
+  }
+
+  // In pipelined mode, rows must leave the step in the order they came in
+  @Test
+  public void testPipelinedInput() throws KettleException {
+    DemoStepMeta meta = new DemoStepMeta();
+    meta.setOutputField( "aFieldName" );
+    meta.setBatchSize( 64 );
+    meta.setWorkerCount( 4 );
+    meta.setQueueSize( 3 );
+    TransMeta tm = TransTestFactory.generateTestTransformation( new Variables(), meta, STEP_NAME );
+
+    List<RowMetaAndData> input = generateInputData( 5001, true );
+    List<RowMetaAndData> result = TransTestFactory.executeTestTransformation( tm, TransTestFactory.INJECTOR_STEPNAME,
+      STEP_NAME, TransTestFactory.DUMMY_STEPNAME, input );
+
+    assertNotNull( result );
+    assertEquals( 5001, result.size() );
+    for ( int i = 0; i < 5001; i++ ) {
+      assertEquals( 2, result.get( i ).size() );
+      assertEquals( input.get( i ).getString( 0, null ), result.get( i ).getString( 0, "default value" ) );
+      assertEquals( "Hello World!", result.get( i ).getString( 1, "default value" ) );
+    }
+  }
+
+  // Virtual worker threads are used where available, platform threads otherwise; the result must be the same
+  @Test
+  public void testPipelinedVirtualThreads() throws KettleException {
+    DemoStepMeta meta = new DemoStepMeta();
+    meta.setOutputField( "aFieldName" );
+    meta.setBatchSize( 10 );
+    meta.setWorkerCount( 2 );
+    meta.setQueueSize( 8 );
+    meta.setVirtualThreads( true );
+    TransMeta tm = TransTestFactory.generateTestTransformation( new Variables(), meta, STEP_NAME );
+
+    List<RowMetaAndData> input = generateInputData( 1001, true );
+    List<RowMetaAndData> result = TransTestFactory.executeTestTransformation( tm, TransTestFactory.INJECTOR_STEPNAME,
+      STEP_NAME, TransTestFactory.DUMMY_STEPNAME, input );
+
+    assertNotNull( result );
+    assertEquals( 1001, result.size() );
+    for ( int i = 0; i < 1001; i++ ) {
+      assertEquals( input.get( i ).getString( 0, null ), result.get( i ).getString( 0, "default value" ) );
+      assertEquals( "Hello World!", result.get( i ).getString( 1, "default value" ) );
+    }
+  }
+
+  // If every row arrives with its own row structure object, the output must still be correct
+  @Test
+  public void testChangingRowMetaObjects() throws KettleException {
+    DemoStepMeta meta = new DemoStepMeta();
+    meta.setOutputField( "aFieldName" );
+    meta.setBatchSize( 10 );
+    TransMeta tm = TransTestFactory.generateTestTransformation( new Variables(), meta, STEP_NAME );
+
+    List<RowMetaAndData> input = new ArrayList<RowMetaAndData>();
+    for ( RowMetaAndData row : generateInputData( 105, true ) ) {
+      input.add( new RowMetaAndData( row.getRowMeta().clone(), row.getData() ) );
+    }
+    List<RowMetaAndData> result = TransTestFactory.executeTestTransformation( tm, TransTestFactory.INJECTOR_STEPNAME,
+      STEP_NAME, TransTestFactory.DUMMY_STEPNAME, input );
+
+    assertNotNull( result );
+    assertEquals( 105, result.size() );
+    for ( int i = 0; i < 105; i++ ) {
+      assertEquals( 2, result.get( i ).size() );
+      assertEquals( input.get( i ).getString( 0, null ), result.get( i ).getString( 0, "default value" ) );
+      assertEquals( "Hello World!", result.get( i ).getString( 1, "default value" ) );
+    }
+  }
+
+  // Rows whose structure switches to a different field order, type or storage type mid-stream
+  // must each be written with an output structure derived from their own input structure
+  @Test
+  public void testChangingRowStructures() throws KettleException {
+    DemoStepMeta meta = new DemoStepMeta();
+    meta.setOutputField( "aFieldName" );
+    meta.setBatchSize( 10 );
+    TransMeta tm = TransTestFactory.generateTestTransformation( new Variables(), meta, STEP_NAME );
+
+    ValueMetaString binaryName = new ValueMetaString( "name" );
+    binaryName.setStorageType( ValueMetaInterface.STORAGE_TYPE_BINARY_STRING );
+    binaryName.setStorageMetadata( new ValueMetaString( "name" ) );
+    RowMetaInterface[] structures = {
+      createRowMeta( new ValueMetaString( "name" ), new ValueMetaInteger( "id" ) ),
+      createRowMeta( new ValueMetaInteger( "id" ), new ValueMetaString( "name" ) ),
+      createRowMeta( binaryName, new ValueMetaInteger( "id" ) ),
+      createRowMeta( new ValueMetaInteger( "name" ), new ValueMetaInteger( "id" ) ) };
+
+    // switch structures every 7 rows, so they change within batches, and send a new
+    // structure object with every row, so only the structure itself can be recognized
+    List<RowMetaAndData> input = new ArrayList<RowMetaAndData>();
+    for ( int i = 0; i < 100; i++ ) {
+      int structure = ( i / 7 ) % structures.length;
+      Object[] data;
+      switch ( structure ) {
+        case 0:
+          data = new Object[] { "name " + i, (long) i };
+          break;
+        case 1:
+          data = new Object[] { (long) i, "name " + i };
+          break;
+        case 2:
+          data = new Object[] { ( "name " + i ).getBytes(), (long) i };
+          break;
+        default:
+          data = new Object[] { (long) i, (long) i };
+          break;
+      }
+      input.add( new RowMetaAndData( structures[structure].clone(), data ) );
+    }
+    List<RowMetaAndData> result = TransTestFactory.executeTestTransformation( tm, TransTestFactory.INJECTOR_STEPNAME,
+      STEP_NAME, TransTestFactory.DUMMY_STEPNAME, input );
+
+    assertNotNull( result );
+    assertEquals( 100, result.size() );
+    for ( int i = 0; i < 100; i++ ) {
+      RowMetaInterface inputRowMeta = input.get( i ).getRowMeta();
+      RowMetaInterface outputRowMeta = result.get( i ).getRowMeta();
+      assertEquals( 3, result.get( i ).size() );
+      for ( int c = 0; c < 2; c++ ) {
+        ValueMetaInterface expected = inputRowMeta.getValueMeta( c );
+        ValueMetaInterface actual = outputRowMeta.getValueMeta( c );
+        assertEquals( "row " + i, expected.getName(), actual.getName() );
+        assertEquals( "row " + i, expected.getType(), actual.getType() );
+        assertEquals( "row " + i, expected.getStorageType(), actual.getStorageType() );
+        assertEquals( "row " + i, input.get( i ).getString( c, null ), result.get( i ).getString( c, "default value" ) );
+      }
+      assertEquals( "Hello World!", result.get( i ).getString( 2, "default value" ) );
+    }
+  }
+
+  private static RowMetaInterface createRowMeta( ValueMetaInterface... fields ) {
+    RowMetaInterface rowMeta = new RowMeta();
+    for ( ValueMetaInterface field : fields ) {
+      rowMeta.addValueMeta( field );
+    }
+    return rowMeta;
+  }
+
+  // Columnar batches must produce exactly the rows of the row path, including the values of
+  // trimmed fields, nulls, numbers, the partial last batch and the sequence field
+  @Test
+  public void testColumnarMatchesRows() throws KettleException {
+    RowMetaInterface rowMeta = new RowMeta();
+    ValueMetaString name = new ValueMetaString( "name" );
+    name.setTrimType( ValueMetaInterface.TRIM_TYPE_BOTH );
+    rowMeta.addValueMeta( name );
+    rowMeta.addValueMeta( new ValueMetaInteger( "id" ) );
+    rowMeta.addValueMeta( new ValueMetaNumber( "amount" ) );
+    List<RowMetaAndData> input = new ArrayList<RowMetaAndData>();
+    for ( int i = 0; i < 1001; i++ ) {
+      input.add( new RowMetaAndData( rowMeta, i % 7 == 0 ? null : "  name " + ( i % 13 ) + " ",
+        i % 5 == 0 ? null : (long) i, i * 0.5 ) );
+    }
+
+    List<RowMetaAndData> expected = runSequenced( false, input );
+    List<RowMetaAndData> result = runSequenced( true, input );
+
+    assertEquals( 1001, result.size() );
+    for ( int i = 0; i < 1001; i++ ) {
+      assertEquals( expected.get( i ).size(), result.get( i ).size() );
+      for ( int c = 0; c < expected.get( i ).size(); c++ ) {
+        assertEquals( "row " + i + ", field " + c, expected.get( i ).getData()[c], result.get( i ).getData()[c] );
+      }
+      // every batch must be written with the same row structure object, so downstream caches keep hitting
+      assertSame( "row " + i, result.get( 0 ).getRowMeta(), result.get( i ).getRowMeta() );
+    }
+  }
+
+  /**
+   * Runs the demo step with a sequence field over the input, and returns the rows as the
+   * step wrote them, together with the row structure object each was written with.
+   */
+  private static List<RowMetaAndData> runSequenced( boolean columnar, List<RowMetaAndData> input )
+    throws KettleException {
+    DemoStepMeta meta = new DemoStepMeta();
+    meta.setOutputField( "aFieldName" );
+    meta.setSequenceField( "seq" );
+    meta.setBatchSize( 100 );
+    meta.setColumnar( columnar );
+    TransMeta tm = TransTestFactory.generateTestTransformation( new Variables(), meta, STEP_NAME );
+
+    Trans trans = new Trans( tm );
+    trans.prepareExecution( null );
+    final List<RowMetaAndData> written = new ArrayList<RowMetaAndData>();
+    trans.findRunThread( STEP_NAME ).addRowListener( new RowAdapter() {
+      @Override
+      public void rowWrittenEvent( RowMetaInterface rowMeta, Object[] row ) {
+        written.add( new RowMetaAndData( rowMeta, row ) );
+      }
+    } );
+    RowProducer producer = trans.addRowProducer( TransTestFactory.INJECTOR_STEPNAME, 0 );
+    trans.startThreads();
+    for ( RowMetaAndData row : input ) {
+      producer.putRow( row.getRowMeta(), row.getData() );
+    }
+    producer.finished();
+    trans.waitUntilFinished();
+    return written;
+  }
+
   /**
    * 
    * @param rowCount  The number of rows that should be returned